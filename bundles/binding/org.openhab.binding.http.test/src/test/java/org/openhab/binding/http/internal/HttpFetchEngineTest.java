@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.http.internal;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Sven Schreier
+ * @since 1.11.0
+ */
+public class HttpFetchEngineTest {
+
+    private HttpFetchEngine engine;
+
+    @Before
+    public void init() {
+        engine = new HttpFetchEngine();
+        engine.setMaxRequests(4);
+        engine.setMaxRequestsPerHost(1);
+    }
+
+    @Test
+    public void testPendingRequestIsShared() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        Callable<String> request = new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                calls.incrementAndGet();
+                release.await(5, TimeUnit.SECONDS);
+                return "response";
+            }
+        };
+        Listener listener = new Listener(2);
+
+        engine.fetch("http://host/a", "host", request, listener);
+        engine.fetch("http://host/a", "host", request, listener);
+        release.countDown();
+
+        Assert.assertTrue(listener.await());
+        Assert.assertEquals(1, calls.get());
+        Assert.assertEquals("response", listener.responses.get(0));
+        Assert.assertEquals("response", listener.responses.get(1));
+        engine.shutdown();
+    }
+
+    @Test
+    public void testRequestsPerHostAreLimited() throws Exception {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        Callable<String> request = new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                int current = running.incrementAndGet();
+                maxRunning.set(Math.max(maxRunning.get(), current));
+                Thread.sleep(50);
+                running.decrementAndGet();
+                return "response";
+            }
+        };
+        Listener listener = new Listener(3);
+
+        engine.fetch("http://host/a", "host", request, listener);
+        engine.fetch("http://host/b", "host", request, listener);
+        engine.fetch("http://host/c", "host", request, listener);
+
+        Assert.assertTrue(listener.await());
+        Assert.assertEquals(1, maxRunning.get());
+        Assert.assertEquals(0, engine.getPendingCount());
+        engine.shutdown();
+    }
+
+    @Test
+    public void testFailedRequestReturnsNull() throws Exception {
+        Callable<String> request = new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                throw new IllegalStateException("failed");
+            }
+        };
+        Listener listener = new Listener(1);
+
+        engine.fetch("http://host/a", "host", request, listener);
+
+        Assert.assertTrue(listener.await());
+        Assert.assertNull(listener.responses.get(0));
+        engine.shutdown();
+    }
+
+    private static class Listener implements HttpFetchEngine.ResponseListener {
+        final List<String> responses = new CopyOnWriteArrayList<String>();
+        final CountDownLatch received;
+
+        Listener(int count) {
+            received = new CountDownLatch(count);
+        }
+
+        @Override
+        public void responseReceived(String response) {
+            responses.add(response);
+            received.countDown();
+        }
+
+        boolean await() throws InterruptedException {
+            return received.await(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.http.internal;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Sven Schreier
+ * @since 1.11.0
+ */
+public class HttpRefreshWheelTest {
+
+    private HttpRefreshWheel<String> wheel;
+
+    @Before
+    public void init() {
+        wheel = new HttpRefreshWheel<String>(1000);
+    }
+
+    @Test
+    public void testNewItemsAreDueOnFirstTick() {
+        wheel.add("a", 5000);
+        wheel.add("b", 60000);
+
+        List<String> due = wheel.advance(100000);
+        Collections.sort(due);
+
+        Assert.assertEquals(Arrays.asList("a", "b"), due);
+    }
+
+    @Test
+    public void testItemsAreDueAfterRefreshInterval() {
+        wheel.add("a", 5000);
+        wheel.add("b", 3000);
+        wheel.advance(100000);
+
+        Assert.assertEquals(Collections.emptyList(), wheel.advance(101000));
+        Assert.assertEquals(Collections.emptyList(), wheel.advance(102000));
+        Assert.assertEquals(Arrays.asList("b"), wheel.advance(103000));
+        Assert.assertEquals(Collections.emptyList(), wheel.advance(104000));
+        Assert.assertEquals(Arrays.asList("a"), wheel.advance(105000));
+        Assert.assertEquals(Arrays.asList("b"), wheel.advance(106000));
+    }
+
+    @Test
+    public void testRefreshIntervalIsRoundedUpToTicks() {
+        wheel.add("a", 1500);
+        wheel.advance(100000);
+
+        Assert.assertEquals(Collections.emptyList(), wheel.advance(101000));
+        Assert.assertEquals(Arrays.asList("a"), wheel.advance(102000));
+    }
+
+    @Test
+    public void testItemWithoutIntervalIsDueOnEveryTick() {
+        wheel.add("a", 0);
+        wheel.advance(100000);
+
+        Assert.assertEquals(Arrays.asList("a"), wheel.advance(101000));
+        Assert.assertEquals(Arrays.asList("a"), wheel.advance(102000));
+    }
+
+    @Test
+    public void testSkippedTicksAreCaughtUp() {
+        wheel.add("a", 2000);
+        wheel.advance(100000);
+
+        Assert.assertEquals(Arrays.asList("a"), wheel.advance(105000));
+        Assert.assertEquals(Arrays.asList("a"), wheel.advance(107000));
+    }
+
+    @Test
+    public void testLongIntervalsWrapAroundTheWheel() {
+        wheel.add("a", 600000);
+        wheel.advance(100000);
+
+        Assert.assertEquals(Collections.emptyList(), wheel.advance(100000 + 256000));
+        Assert.assertEquals(Collections.emptyList(), wheel.advance(100000 + 512000));
+        Assert.assertEquals(Arrays.asList("a"), wheel.advance(100000 + 600000));
+    }
+
+    @Test
+    public void testAddedItemIsDueOnNextTick() {
+        wheel.add("a", 60000);
+        wheel.advance(100000);
+        wheel.add("b", 60000);
+
+        Assert.assertEquals(Arrays.asList("b"), wheel.advance(101000));
+    }
+
+    @Test
+    public void testRemovedItemIsNotDue() {
+        wheel.add("a", 1000);
+        wheel.advance(100000);
+
+        Assert.assertTrue(wheel.remove("a"));
+        Assert.assertFalse(wheel.remove("a"));
+        Assert.assertEquals(Collections.emptyList(), wheel.advance(101000));
+        Assert.assertEquals(-1, wheel.getRefreshInterval("a"));
+    }
+}
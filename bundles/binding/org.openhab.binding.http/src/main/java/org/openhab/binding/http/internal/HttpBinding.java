@@ -12,13 +12,18 @@ import static org.openhab.binding.http.internal.HttpGenericBindingProvider.CHANG
 
 import java.io.InputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Dictionary;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -27,6 +32,7 @@ import org.apache.commons.lang.StringUtils;
 
 import org.openhab.binding.http.HttpBindingProvider;
 import org.openhab.core.binding.AbstractActiveBinding;
+import org.openhab.core.binding.BindingProvider;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationHelper;
 import org.openhab.core.transform.TransformationService;
@@ -59,6 +65,8 @@ public class HttpBinding extends AbstractActiveBinding<HttpBindingProvider> impl
     protected static final String CONFIG_TIMEOUT = "timeout";
     protected static final String CONFIG_GRANULARITY = "granularity";
     protected static final String CONFIG_FORMAT = "format";
+    protected static final String CONFIG_MAX_REQUESTS = "maxRequests";
+    protected static final String CONFIG_MAX_REQUESTS_PER_HOST = "maxRequestsPerHost";
 
     /** the timeout to use for connecting to a given host (defaults to 5000 milliseconds) */
     private int timeout = 5000;
@@ -69,7 +77,20 @@ public class HttpBinding extends AbstractActiveBinding<HttpBindingProvider> impl
     /** whether to substitute time and/or state into the URL */
     private boolean format = true;
 
-    private Map<String, Long> lastUpdateMap = new HashMap<String, Long>();
+    /** the maximum number of requests of the HTTP-In-Binding running at the same time (defaults to 4) */
+    private int maxRequests = 4;
+
+    /** the maximum number of requests to the same host running at the same time (defaults to 2) */
+    private int maxRequestsPerHost = 2;
+
+    /** runs the requests of the HTTP-In-Binding */
+    private HttpFetchEngine fetchEngine;
+
+    /** schedules the refresh of the in-binding items */
+    private HttpRefreshWheel<RefreshItem> refreshWheel;
+
+    /** whether the in-binding items have to be synchronized with the refresh wheel */
+    private volatile boolean itemsChanged = true;
 
     /** RegEx to extract a parse a function String <code>'(.*?)\((.*)\)'</code> */
     private static final Pattern EXTRACT_FUNCTION_PATTERN = Pattern.compile("(.*?)\\((.*)\\)");
@@ -102,16 +123,52 @@ public class HttpBinding extends AbstractActiveBinding<HttpBindingProvider> impl
 
     @Override
     public void activate() {
+        synchronized (this) {
+            fetchEngine = new HttpFetchEngine();
+            fetchEngine.setMaxRequests(maxRequests);
+            fetchEngine.setMaxRequestsPerHost(maxRequestsPerHost);
+        }
         super.activate();
         setProperlyConfigured(true);
     }
 
+    @Override
+    public void deactivate() {
+        super.deactivate();
+        synchronized (this) {
+            if (fetchEngine != null) {
+                fetchEngine.shutdown();
+                fetchEngine = null;
+            }
+        }
+    }
+
     protected void addBindingProvider(HttpBindingProvider bindingProvider) {
         super.addBindingProvider(bindingProvider);
+        itemsChanged = true;
     }
 
     protected void removeBindingProvider(HttpBindingProvider bindingProvider) {
         super.removeBindingProvider(bindingProvider);
+        itemsChanged = true;
+    }
+
+    /**
+     * @{inheritDoc}
+     */
+    @Override
+    public void bindingChanged(BindingProvider provider, String itemName) {
+        super.bindingChanged(provider, itemName);
+        itemsChanged = true;
+    }
+
+    /**
+     * @{inheritDoc}
+     */
+    @Override
+    public void allBindingsChanged(BindingProvider provider) {
+        super.allBindingsChanged(provider);
+        itemsChanged = true;
     }
 
     /**
@@ -135,87 +192,185 @@ public class HttpBinding extends AbstractActiveBinding<HttpBindingProvider> impl
      */
     @Override
     public void execute() {
+        HttpFetchEngine engine;
+        synchronized (this) {
+            engine = fetchEngine;
+        }
+        if (engine == null) {
+            return;
+        }
 
-        for (HttpBindingProvider provider : providers) {
-            for (String itemName : provider.getInBindingItemNames()) {
+        List<RefreshItem> dueItems = getRefreshWheel().advance(System.currentTimeMillis());
+        if (dueItems.isEmpty()) {
+            return;
+        }
 
-                String url = provider.getUrl(itemName);
-                if (format) {
-                    url = String.format(url, Calendar.getInstance().getTime());
-                }
+        // the items requesting the same URL in this cycle share a single request
+        Map<String, List<RefreshItem>> itemsByRequest = new LinkedHashMap<String, List<RefreshItem>>();
+        Map<String, String> urlsByRequest = new HashMap<String, String>();
+        Map<String, Callable<String>> requests = new HashMap<String, Callable<String>>();
 
-                Properties headers = provider.getHttpHeaders(itemName);
-                int refreshInterval = provider.getRefreshInterval(itemName);
-                String transformation = provider.getTransformation(itemName);
+        for (RefreshItem item : dueItems) {
+            String itemName = item.itemName;
+            String url = item.provider.getUrl(itemName);
+            if (url == null) {
+                continue;
+            }
+            if (format) {
+                url = String.format(url, Calendar.getInstance().getTime());
+            }
 
-                Long lastUpdateTimeStamp = lastUpdateMap.get(itemName);
-                if (lastUpdateTimeStamp == null) {
-                    lastUpdateTimeStamp = 0L;
-                }
+            String requestKey;
+            Callable<String> request;
+
+            // check if special URL is used and data should get from
+            // cache rather than directly from server
+            if (isCacheConfig(url)) {
+                logger.debug("item '{}' is fetched from cache", itemName);
+                requestKey = "cache:" + url;
+                request = createCacheRequest(url);
+            } else if (isValidUrl(url)) {
+                logger.debug("item '{}' is about to be refreshed now", itemName);
+                Properties headers = item.provider.getHttpHeaders(itemName);
+                requestKey = headers == null || headers.isEmpty() ? url
+                        : url + " " + new TreeMap<Object, Object>(headers);
+                request = createUrlRequest(url, headers);
+            } else {
+                logger.debug("item '{}' is not a valid URL or is a cache id yet to be initialised ({})", itemName,
+                        url);
+                continue;
+            }
 
-                long age = System.currentTimeMillis() - lastUpdateTimeStamp;
-                boolean needsUpdate = age >= refreshInterval;
+            List<RefreshItem> items = itemsByRequest.get(requestKey);
+            if (items == null) {
+                items = new ArrayList<RefreshItem>();
+                itemsByRequest.put(requestKey, items);
+                urlsByRequest.put(requestKey, url);
+                requests.put(requestKey, request);
+            }
+            items.add(item);
+        }
 
-                if (needsUpdate) {
+        for (Map.Entry<String, List<RefreshItem>> entry : itemsByRequest.entrySet()) {
+            final String url = urlsByRequest.get(entry.getKey());
+            final List<RefreshItem> items = entry.getValue();
+            engine.fetch(entry.getKey(), getHost(url), requests.get(entry.getKey()),
+                    new HttpFetchEngine.ResponseListener() {
+                        @Override
+                        public void responseReceived(String response) {
+                            for (RefreshItem item : items) {
+                                updateItem(item, url, response);
+                            }
+                        }
+                    });
+        }
+    }
 
-                    String response = null;
+    /**
+     * Synchronizes the refresh wheel with the in-binding items of all providers, if they have changed.
+     *
+     * @return the refresh wheel
+     */
+    private HttpRefreshWheel<RefreshItem> getRefreshWheel() {
+        if (refreshWheel == null || refreshWheel.getTickDuration() != granularity) {
+            refreshWheel = new HttpRefreshWheel<RefreshItem>(granularity);
+            itemsChanged = true;
+        }
+        if (!itemsChanged) {
+            return refreshWheel;
+        }
+        itemsChanged = false;
 
-                    // check if special URL is used and data should get from
-                    // cache rather than directly from server
-                    if (isCacheConfig(url)) {
-                        logger.debug("item '{}' is fetched from cache", itemName);
-                        response = getCacheData(url);
-                    } else if (isValidUrl(url)) {
-                        logger.debug("item '{}' is about to be refreshed now", itemName);
-                        response = HttpUtil.executeUrl("GET", url, headers, null, null, timeout);
-                    } else {
-                        logger.debug("item '{}' is not a valid URL or is a cache id yet to be initialised ({})",
-                                itemName, url);
-                        continue;
-                    }
+        Map<RefreshItem, Integer> refreshIntervals = new HashMap<RefreshItem, Integer>();
+        for (HttpBindingProvider provider : providers) {
+            for (String itemName : provider.getInBindingItemNames()) {
+                refreshIntervals.put(new RefreshItem(provider, itemName), provider.getRefreshInterval(itemName));
+            }
+        }
+        for (RefreshItem item : refreshWheel.getItems()) {
+            if (!refreshIntervals.containsKey(item)) {
+                refreshWheel.remove(item);
+            }
+        }
+        for (Map.Entry<RefreshItem, Integer> entry : refreshIntervals.entrySet()) {
+            if (refreshWheel.getRefreshInterval(entry.getKey()) != entry.getValue()) {
+                refreshWheel.add(entry.getKey(), entry.getValue());
+            }
+        }
+        return refreshWheel;
+    }
 
-                    if (response == null) {
-                        logger.error("No response received from '{}'", url);
-                    } else {
-                        String transformedResponse;
-                        try {
-                            String[] parts = splitTransformationConfig(transformation);
-                            String transformationType = parts[0];
-                            String transformationFunction = parts[1];
-
-                            TransformationService transformationService = TransformationHelper
-                                    .getTransformationService(HttpActivator.getContext(), transformationType);
-                            if (transformationService != null) {
-                                transformedResponse = transformationService.transform(transformationFunction, response);
-                            } else {
-                                transformedResponse = response;
-                                logger.warn(
-                                        "Couldn't transform response because transformationService of type '{}' is unavailable",
-                                        transformationType);
-                            }
-                        } catch (TransformationException te) {
-                            logger.error("Transformation '{}' threw an exception. [response={}]", transformation,
-                                    response, te);
+    private Callable<String> createUrlRequest(final String url, final Properties headers) {
+        return new Callable<String>() {
+            @Override
+            public String call() {
+                return HttpUtil.executeUrl("GET", url, headers, null, null, timeout);
+            }
+        };
+    }
 
-                            // in case of an error we return the response without any
-                            // transformation
-                            transformedResponse = response;
-                        }
+    private Callable<String> createCacheRequest(final String cacheId) {
+        return new Callable<String>() {
+            @Override
+            public String call() {
+                return getCacheData(cacheId);
+            }
+        };
+    }
 
-                        logger.debug("transformed response is '{}'", transformedResponse);
+    /**
+     * Transforms a response according to the configuration of an item, and
+     * posts the resulting state.
+     *
+     * @param item the item to update
+     * @param url the url the response was received from
+     * @param response the response, or <code>null</code> if the request failed
+     */
+    private void updateItem(RefreshItem item, String url, String response) {
+        String itemName = item.itemName;
+        HttpBindingProvider provider = item.provider;
 
-                        State state = provider.getState(itemName, transformedResponse);
-                        if (state != null) {
-                            eventPublisher.postUpdate(itemName, state);
-                        } else {
-                            logger.debug("Couldn't create state for item '{}' from string '{}'", itemName,
-                                    transformedResponse);
-                        }
-                    }
+        if (response == null) {
+            logger.error("No response received from '{}'", url);
+            return;
+        }
 
-                    lastUpdateMap.put(itemName, System.currentTimeMillis());
-                }
+        String transformation = provider.getTransformation(itemName);
+        if (transformation == null) {
+            // the binding of the item has been removed in the meantime
+            return;
+        }
+
+        String transformedResponse;
+        try {
+            String[] parts = splitTransformationConfig(transformation);
+            String transformationType = parts[0];
+            String transformationFunction = parts[1];
+
+            TransformationService transformationService = TransformationHelper
+                    .getTransformationService(HttpActivator.getContext(), transformationType);
+            if (transformationService != null) {
+                transformedResponse = transformationService.transform(transformationFunction, response);
+            } else {
+                transformedResponse = response;
+                logger.warn("Couldn't transform response because transformationService of type '{}' is unavailable",
+                        transformationType);
             }
+        } catch (TransformationException te) {
+            logger.error("Transformation '{}' threw an exception. [response={}]", transformation, response, te);
+
+            // in case of an error we return the response without any
+            // transformation
+            transformedResponse = response;
+        }
+
+        logger.debug("transformed response is '{}'", transformedResponse);
+
+        State state = provider.getState(itemName, transformedResponse);
+        if (state != null) {
+            eventPublisher.postUpdate(itemName, state);
+        } else {
+            logger.debug("Couldn't create state for item '{}' from string '{}'", itemName, transformedResponse);
         }
     }
 
@@ -318,6 +473,25 @@ public class HttpBinding extends AbstractActiveBinding<HttpBindingProvider> impl
         return firstMatchingProvider;
     }
 
+    /**
+     * Extracts the host (and port) of a URL, to limit the requests per host.
+     *
+     * @param url
+     * @return the host of the URL, or the URL itself if it has none
+     */
+    private static String getHost(String url) {
+        int start = url.indexOf("://");
+        if (start < 0) {
+            return url;
+        }
+        start += 3;
+        int end = start;
+        while (end < url.length() && "/?#".indexOf(url.charAt(end)) < 0) {
+            end++;
+        }
+        return url.substring(start, end).toLowerCase();
+    }
+
     /**
      * Check a URL is a valid HTTP request
      *
@@ -358,31 +532,38 @@ public class HttpBinding extends AbstractActiveBinding<HttpBindingProvider> impl
      * @return the cached (or refreshed) dats
      */
     private String getCacheData(String cacheId) {
+        CacheConfig cacheConfig;
+        String url;
+        Properties headers;
         synchronized (itemCacheLock) {
             // check again in case the cache was cleared in between taking
             // the lock when checking in isCacheConfig() and now
-            if (!itemCache.containsKey(cacheId)) {
+            cacheConfig = itemCache.get(cacheId);
+            if (cacheConfig == null) {
                 return null;
             }
 
-            CacheConfig cacheConfig = itemCache.get(cacheId);
-
             long cacheAge = System.currentTimeMillis() - cacheConfig.lastUpdate;
-            boolean cacheNeedsUpdate = cacheAge >= cacheConfig.updateInterval;
-
-            if (cacheNeedsUpdate) {
+            if (cacheAge < cacheConfig.updateInterval) {
+                return cacheConfig.data;
+            }
+            url = cacheConfig.url;
+            headers = cacheConfig.headers;
+        }
 
-                // update and store data on cache
-                logger.debug("updating cache for '{}' ('{}')", cacheId, cacheConfig.url);
-                cacheConfig.data = HttpUtil.executeUrl("GET", cacheConfig.url, cacheConfig.headers, null, null,
-                        timeout);
+        // the request is made without holding the lock, so that other cache items are not blocked by a slow host
+        logger.debug("updating cache for '{}' ('{}')", cacheId, url);
+        String data = HttpUtil.executeUrl("GET", url, headers, null, null, timeout);
 
-                if (cacheConfig.data != null) {
+        synchronized (itemCacheLock) {
+            // the cache item may have been removed or reconfigured in the meantime
+            if (itemCache.get(cacheId) == cacheConfig && url.equals(cacheConfig.url)) {
+                cacheConfig.data = data;
+                if (data != null) {
                     cacheConfig.lastUpdate = System.currentTimeMillis();
                 }
             }
-
-            return cacheConfig.data;
+            return data;
         }
     }
 
@@ -412,6 +593,23 @@ public class HttpBinding extends AbstractActiveBinding<HttpBindingProvider> impl
                     format = formatString.equalsIgnoreCase("true");
                 }
 
+                String maxRequestsString = Objects.toString(config.get(CONFIG_MAX_REQUESTS), null);
+                if (StringUtils.isNotBlank(maxRequestsString)) {
+                    maxRequests = Integer.parseInt(maxRequestsString);
+                }
+
+                String maxRequestsPerHostString = Objects.toString(config.get(CONFIG_MAX_REQUESTS_PER_HOST), null);
+                if (StringUtils.isNotBlank(maxRequestsPerHostString)) {
+                    maxRequestsPerHost = Integer.parseInt(maxRequestsPerHostString);
+                }
+
+                synchronized (this) {
+                    if (fetchEngine != null) {
+                        fetchEngine.setMaxRequests(maxRequests);
+                        fetchEngine.setMaxRequestsPerHost(maxRequestsPerHost);
+                    }
+                }
+
                 // Parse page cache config
 
                 @SuppressWarnings("unchecked")
@@ -422,7 +620,8 @@ public class HttpBinding extends AbstractActiveBinding<HttpBindingProvider> impl
 
                     // the config-key enumeration contains additional keys that we
                     // don't want to process here ...
-                    if (CONFIG_TIMEOUT.equals(key) || CONFIG_GRANULARITY.equals(key) || "service.pid".equals(key)) {
+                    if (CONFIG_TIMEOUT.equals(key) || CONFIG_GRANULARITY.equals(key) || CONFIG_MAX_REQUESTS.equals(key)
+                            || CONFIG_MAX_REQUESTS_PER_HOST.equals(key) || "service.pid".equals(key)) {
                         continue;
                     }
 
@@ -488,6 +687,39 @@ public class HttpBinding extends AbstractActiveBinding<HttpBindingProvider> impl
         return headers;
     }
 
+    /**
+     * An in-binding item of a provider, as scheduled for refresh.
+     */
+    private static class RefreshItem {
+
+        final HttpBindingProvider provider;
+        final String itemName;
+
+        RefreshItem(HttpBindingProvider provider, String itemName) {
+            this.provider = provider;
+            this.itemName = itemName;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(provider) + itemName.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof RefreshItem)) {
+                return false;
+            }
+            RefreshItem other = (RefreshItem) obj;
+            return provider == other.provider && itemName.equals(other.itemName);
+        }
+
+        @Override
+        public String toString() {
+            return itemName;
+        }
+    }
+
     /**
      * Internal data structure for data cache purposes
      *
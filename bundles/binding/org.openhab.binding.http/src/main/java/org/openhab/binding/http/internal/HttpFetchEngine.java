@@ -0,0 +1,232 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.http.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the requests of the HTTP-In-Binding on a pool of threads, so that slow hosts don't delay the refresh of other
+ * items. The number of requests running at the same time is limited, overall and per host. A request for a key that
+ * is already queued or running is not made again; its listener receives the response of the pending request.
+ *
+ * @author Sven Schreier
+ * @since 1.11.0
+ */
+class HttpFetchEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpFetchEngine.class);
+
+    /**
+     * Receives the response of a request.
+     */
+    interface ResponseListener {
+
+        /**
+         * @param response the response, or null if the request has failed
+         */
+        void responseReceived(String response);
+    }
+
+    private final ThreadPoolExecutor executor;
+
+    private int maxRequestsPerHost = 2;
+
+    /** the pending requests by key */
+    private final Map<String, Fetch> pending = new HashMap<String, Fetch>();
+
+    /** the number of running requests by host */
+    private final Map<String, Integer> runningPerHost = new HashMap<String, Integer>();
+
+    /** the requests waiting for a host to have less running requests, by host */
+    private final Map<String, Deque<Fetch>> waitingPerHost = new HashMap<String, Deque<Fetch>>();
+
+    HttpFetchEngine() {
+        final AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(4, 4, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "HTTP Refresh Worker #" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Set the maximum number of requests running at the same time.
+     *
+     * @param maxRequests the maximum number of requests
+     */
+    void setMaxRequests(int maxRequests) {
+        int threads = Math.max(1, maxRequests);
+        if (threads > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(threads);
+            executor.setCorePoolSize(threads);
+        } else {
+            executor.setCorePoolSize(threads);
+            executor.setMaximumPoolSize(threads);
+        }
+    }
+
+    /**
+     * Set the maximum number of requests to the same host running at the same time.
+     *
+     * @param maxRequestsPerHost the maximum number of requests per host
+     */
+    synchronized void setMaxRequestsPerHost(int maxRequestsPerHost) {
+        this.maxRequestsPerHost = Math.max(1, maxRequestsPerHost);
+    }
+
+    /**
+     * Requests a response. If a request with the same key is pending, the listener receives its response instead.
+     *
+     * @param key identifies the response, e.g. the URL and headers
+     * @param host the host the request goes to
+     * @param request makes the request and returns the response, or null if it has failed
+     * @param listener receives the response, on a thread of the engine
+     */
+    synchronized void fetch(String key, String host, Callable<String> request, ResponseListener listener) {
+        Fetch fetch = pending.get(key);
+        if (fetch != null) {
+            logger.trace("Request '{}' is already pending, sharing its response", key);
+            fetch.listeners.add(listener);
+            return;
+        }
+
+        fetch = new Fetch(key, host, request);
+        fetch.listeners.add(listener);
+        pending.put(key, fetch);
+
+        Integer running = runningPerHost.get(host);
+        if (running != null && running >= maxRequestsPerHost) {
+            Deque<Fetch> waiting = waitingPerHost.get(host);
+            if (waiting == null) {
+                waiting = new ArrayDeque<Fetch>();
+                waitingPerHost.put(host, waiting);
+            }
+            waiting.add(fetch);
+        } else {
+            start(fetch);
+        }
+    }
+
+    /**
+     * @return the number of pending requests, queued or running
+     */
+    synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Stops the threads. Pending requests are dropped.
+     */
+    synchronized void shutdown() {
+        executor.shutdownNow();
+        pending.clear();
+        runningPerHost.clear();
+        waitingPerHost.clear();
+    }
+
+    private void start(final Fetch fetch) {
+        Integer running = runningPerHost.get(fetch.host);
+        runningPerHost.put(fetch.host, running == null ? 1 : running + 1);
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    execute(fetch);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("HTTP refresh stopped, dropping request '{}'", fetch.key);
+            finished(fetch);
+        }
+    }
+
+    private void execute(Fetch fetch) {
+        String response = null;
+        try {
+            response = fetch.request.call();
+        } catch (Exception e) {
+            logger.warn("Request '{}' failed: {}", fetch.key, e.getMessage());
+        }
+
+        List<ResponseListener> listeners;
+        synchronized (this) {
+            listeners = finished(fetch);
+        }
+        for (ResponseListener listener : listeners) {
+            try {
+                listener.responseReceived(response);
+            } catch (RuntimeException e) {
+                logger.error("Error processing the response of request '{}'", fetch.key, e);
+            }
+        }
+    }
+
+    /**
+     * Removes a request from the pending ones and starts the next request waiting for its host.
+     *
+     * @return the listeners of the request
+     */
+    private List<ResponseListener> finished(Fetch fetch) {
+        if (pending.get(fetch.key) == fetch) {
+            pending.remove(fetch.key);
+        }
+
+        Integer running = runningPerHost.get(fetch.host);
+        if (running != null && running > 1) {
+            runningPerHost.put(fetch.host, running - 1);
+        } else {
+            runningPerHost.remove(fetch.host);
+        }
+
+        Deque<Fetch> waiting = waitingPerHost.get(fetch.host);
+        if (waiting != null) {
+            Fetch next = waiting.poll();
+            if (waiting.isEmpty()) {
+                waitingPerHost.remove(fetch.host);
+            }
+            if (next != null) {
+                start(next);
+            }
+        }
+        return fetch.listeners;
+    }
+
+    private static class Fetch {
+        final String key;
+        final String host;
+        final Callable<String> request;
+        final List<ResponseListener> listeners = new ArrayList<ResponseListener>(1);
+
+        Fetch(String key, String host, Callable<String> request) {
+            this.key = key;
+            this.host = host;
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.http.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schedules the refresh of items with a timing wheel: the items are kept in a ring of slots, one slot per tick of
+ * the refresh thread. Each tick only looks at the items of its slot instead of checking every item, and an item is
+ * placed in the slot of the tick it is due again after it has been refreshed.
+ *
+ * @author Sven Schreier
+ * @since 1.11.0
+ *
+ * @param <T> the type of the scheduled items
+ */
+class HttpRefreshWheel<T> {
+
+    private static final int SLOTS = 256;
+
+    private final long tickDuration;
+    private final List<List<Entry<T>>> slots;
+    private final Map<T, Entry<T>> entries = new HashMap<T, Entry<T>>();
+
+    /** the next tick to process */
+    private long tick = -1;
+
+    /**
+     * @param tickDuration the time in milliseconds between two ticks
+     */
+    HttpRefreshWheel(long tickDuration) {
+        this.tickDuration = Math.max(1, tickDuration);
+        this.slots = new ArrayList<List<Entry<T>>>(SLOTS);
+        for (int i = 0; i < SLOTS; i++) {
+            slots.add(new LinkedList<Entry<T>>());
+        }
+    }
+
+    /**
+     * Adds an item, or changes the refresh interval of an added item. The item is due on the next tick.
+     *
+     * @param item the item
+     * @param refreshInterval the time in milliseconds between two refreshes of the item
+     */
+    synchronized void add(T item, long refreshInterval) {
+        remove(item);
+        Entry<T> entry = new Entry<T>(item, refreshInterval);
+        entries.put(item, entry);
+        schedule(entry, Math.max(tick, 0));
+    }
+
+    /**
+     * Removes an item.
+     *
+     * @param item the item
+     * @return true if the item was scheduled
+     */
+    synchronized boolean remove(T item) {
+        Entry<T> entry = entries.remove(item);
+        if (entry == null) {
+            return false;
+        }
+        slots.get(slot(entry.dueTick)).remove(entry);
+        return true;
+    }
+
+    /**
+     * @return the refresh interval of an item, or -1 if the item is not scheduled
+     */
+    synchronized long getRefreshInterval(T item) {
+        Entry<T> entry = entries.get(item);
+        return entry != null ? entry.refreshInterval : -1;
+    }
+
+    /**
+     * @return the scheduled items
+     */
+    synchronized List<T> getItems() {
+        return new ArrayList<T>(entries.keySet());
+    }
+
+    /**
+     * @return the time in milliseconds between two ticks
+     */
+    long getTickDuration() {
+        return tickDuration;
+    }
+
+    /**
+     * @return the number of scheduled items
+     */
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Advances the wheel to the given time and returns the items which are due. The returned items are scheduled
+     * again according to their refresh interval.
+     *
+     * @param now the current time in milliseconds
+     * @return the due items
+     */
+    synchronized List<T> advance(long now) {
+        long currentTick = now / tickDuration;
+        if (tick < 0) {
+            // the items added before the first tick are due now
+            for (Entry<T> entry : entries.values()) {
+                slots.get(slot(entry.dueTick)).remove(entry);
+                entry.dueTick = currentTick;
+                slots.get(slot(currentTick)).add(entry);
+            }
+            tick = currentTick;
+        }
+
+        List<T> due = new ArrayList<T>();
+        List<Entry<T>> rescheduled = new ArrayList<Entry<T>>();
+        // after a long pause, each slot is visited at most once
+        long firstTick = Math.max(tick, currentTick - SLOTS + 1);
+        for (long t = firstTick; t <= currentTick; t++) {
+            Iterator<Entry<T>> iterator = slots.get(slot(t)).iterator();
+            while (iterator.hasNext()) {
+                Entry<T> entry = iterator.next();
+                if (entry.dueTick <= currentTick) {
+                    iterator.remove();
+                    due.add(entry.item);
+                    rescheduled.add(entry);
+                }
+            }
+        }
+        tick = currentTick + 1;
+
+        for (Entry<T> entry : rescheduled) {
+            long ticks = (entry.refreshInterval + tickDuration - 1) / tickDuration;
+            schedule(entry, currentTick + Math.max(1, ticks));
+        }
+        return due;
+    }
+
+    private void schedule(Entry<T> entry, long dueTick) {
+        entry.dueTick = dueTick;
+        slots.get(slot(dueTick)).add(entry);
+    }
+
+    private static int slot(long tick) {
+        return (int) (tick % SLOTS);
+    }
+
+    private static class Entry<T> {
+        final T item;
+        final long refreshInterval;
+        long dueTick;
+
+        Entry(T item, long refreshInterval) {
+            this.item = item;
+            this.refreshInterval = refreshInterval;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.bus;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * @author Sven Schreier
+ * @since 1.11.0
+ */
+public class KNXReadPacerTest {
+
+    @Test
+    public void testConfiguredPauseWhileBusAnswers() {
+        KNXReadPacer pacer = new KNXReadPacer(50);
+        assertEquals(50, pacer.getPause());
+        for (int i = 0; i < 10; i++) {
+            pacer.readSucceeded(20);
+        }
+        assertEquals(50, pacer.getPause());
+        assertEquals(20, pacer.getAverageResponseTime());
+    }
+
+    @Test
+    public void testBackOffOnFailures() {
+        KNXReadPacer pacer = new KNXReadPacer(50);
+        pacer.readFailed();
+        assertEquals(100, pacer.getPause());
+        pacer.readFailed();
+        assertEquals(200, pacer.getPause());
+        for (int i = 0; i < 10; i++) {
+            pacer.readFailed();
+        }
+        assertEquals(KNXReadPacer.MAX_PAUSE, pacer.getPause());
+
+        pacer.readSucceeded(20);
+        assertEquals(50 + (KNXReadPacer.MAX_PAUSE - 50) / 2, pacer.getPause());
+        for (int i = 0; i < 20; i++) {
+            pacer.readSucceeded(20);
+        }
+        assertEquals(50, pacer.getPause());
+    }
+
+    @Test
+    public void testBackOffWithoutConfiguredPause() {
+        KNXReadPacer pacer = new KNXReadPacer(0);
+        assertEquals(0, pacer.getPause());
+        pacer.readFailed();
+        assertEquals(KNXReadPacer.MIN_BACKOFF_PAUSE, pacer.getPause());
+    }
+
+    @Test
+    public void testConfiguredPauseAboveMaximumIsKept() {
+        long basePause = KNXReadPacer.MAX_PAUSE + 1000;
+        KNXReadPacer pacer = new KNXReadPacer(basePause);
+        pacer.readFailed();
+        assertEquals(basePause, pacer.getPause());
+        pacer.readSucceeded(20);
+        pacer.readSucceeded(500);
+        assertEquals(basePause, pacer.getPause());
+        pacer.readSucceeded(20);
+        assertEquals(basePause, pacer.getPause());
+    }
+
+    @Test
+    public void testSlowResponsesExtendPause() {
+        KNXReadPacer pacer = new KNXReadPacer(50);
+        pacer.readSucceeded(20);
+        pacer.readSucceeded(120);
+        assertEquals(150, pacer.getPause());
+        pacer.readSucceeded(20);
+        assertEquals(100, pacer.getPause());
+    }
+}
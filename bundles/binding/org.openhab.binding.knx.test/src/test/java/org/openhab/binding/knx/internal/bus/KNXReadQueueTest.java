@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.bus;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+import tuwien.auto.calimero.exception.KNXFormatException;
+
+/**
+ * @author Sven Schreier
+ * @since 1.11.0
+ */
+public class KNXReadQueueTest {
+
+    private KNXReadQueue queue;
+
+    @Before
+    public void setUp() throws Exception {
+        queue = new KNXReadQueue();
+    }
+
+    @Test
+    public void testReadsOfSameGroupAddressAreQueuedOnce() throws Exception {
+        Datapoint switchDP = createDP("1/1/1", "switch");
+        Datapoint statusDP = createDP("1/1/1", "status");
+
+        queue.addAll(Arrays.asList(switchDP, statusDP, switchDP));
+        assertEquals(1, queue.size());
+        assertSame(switchDP, queue.take());
+        assertEquals(0, queue.size());
+
+        queue.add(statusDP);
+        assertEquals(1, queue.size());
+        assertSame(statusDP, queue.take());
+    }
+
+    @Test
+    public void testUnansweredReadsComeFirst() throws Exception {
+        Datapoint answeredDP = createDP("1/1/1", "answered");
+        Datapoint unansweredDP = createDP("1/1/2", "unanswered");
+        queue.valueReceived(answeredDP.getMainAddress());
+
+        queue.add(answeredDP);
+        queue.add(unansweredDP);
+        assertSame(unansweredDP, queue.take());
+        assertSame(answeredDP, queue.take());
+    }
+
+    @Test
+    public void testReadIsSkippedIfValueArrivesMeanwhile() throws Exception {
+        Datapoint firstDP = createDP("1/1/1", "first");
+        Datapoint secondDP = createDP("1/1/2", "second");
+
+        queue.add(firstDP);
+        queue.add(secondDP);
+        queue.valueReceived(firstDP.getMainAddress());
+        assertSame(secondDP, queue.take());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testRetry() throws Exception {
+        Datapoint datapoint = createDP("1/1/1", "retried");
+
+        assertEquals(1, queue.retry(datapoint, 2));
+        assertSame(datapoint, queue.take());
+        assertEquals(0, queue.retry(datapoint, 2));
+        assertSame(datapoint, queue.take());
+        assertEquals(-1, queue.retry(datapoint, 2));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        Datapoint datapoint = createDP("1/1/1", "cleared");
+        queue.add(datapoint);
+        queue.add(createDP("1/1/2", "other"));
+        queue.clear();
+        assertEquals(0, queue.size());
+
+        queue.add(datapoint);
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testResetAnswered() throws Exception {
+        Datapoint answeredDP = createDP("1/1/1", "answered");
+        Datapoint unansweredDP = createDP("1/1/2", "unanswered");
+        queue.valueReceived(answeredDP.getMainAddress());
+        queue.resetAnswered();
+
+        queue.add(answeredDP);
+        queue.add(unansweredDP);
+        assertSame(answeredDP, queue.take());
+        assertSame(unansweredDP, queue.take());
+    }
+
+    private Datapoint createDP(String groupAddress, String name) throws KNXFormatException {
+        return new CommandDP(new GroupAddress(groupAddress), name, 1, "1.001");
+    }
+}
@@ -11,6 +11,8 @@ package org.openhab.binding.knx.internal.config;
 import static junit.framework.Assert.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -209,6 +211,41 @@ public class KNXGenericBindingProviderTest {
         assertFalse(provider.isStartStopGA(new GroupAddress("4/2/13")));
     }
 
+    @Test
+    public void testGetListeningItemNames() throws BindingConfigParseException, KNXFormatException {
+        provider.processBindingConfiguration("text", item1, "<4/2/10+0/2/10, 5.005:4/2/11+0/2/11");
+        provider.processBindingConfiguration("other", item2, "0/2/10, 5.005:4/2/12");
+
+        // method under Test
+        assertEquals(Arrays.asList("item1", "item2"), getListeningItemNames("0/2/10"));
+        assertEquals(Arrays.asList("item1"), getListeningItemNames("4/2/11"));
+        assertEquals(Collections.emptyList(), getListeningItemNames("4/2/13"));
+
+        Iterator<Datapoint> datapoints = provider.getDatapoints("item1", new GroupAddress("0/2/11")).iterator();
+        assertEquals(true, datapoints.hasNext());
+        assertEquals(new GroupAddress("4/2/11"), datapoints.next().getMainAddress());
+        assertEquals(false, datapoints.hasNext());
+        assertEquals(false, provider.getDatapoints("item2", new GroupAddress("0/2/11")).iterator().hasNext());
+
+        // a changed configuration replaces the previous one
+        provider.processBindingConfiguration("text", item1, "<4/2/10, 5.005:4/2/11+0/2/11");
+        assertEquals(Arrays.asList("item2"), getListeningItemNames("0/2/10"));
+        assertEquals(Arrays.asList("item1"), getListeningItemNames("4/2/10"));
+
+        provider.removeConfigurations("other");
+        assertEquals(Collections.emptyList(), getListeningItemNames("0/2/10"));
+        assertEquals(Collections.emptyList(), getListeningItemNames("4/2/12"));
+        assertEquals(Arrays.asList("item1"), getListeningItemNames("0/2/11"));
+    }
+
+    private List<String> getListeningItemNames(String groupAddress) throws KNXFormatException {
+        List<String> itemNames = new ArrayList<String>();
+        for (String itemName : provider.getListeningItemNames(new GroupAddress(groupAddress))) {
+            itemNames.add(itemName);
+        }
+        return itemNames;
+    }
+
     private class TestItem extends GenericItem {
 
         private List<Class<? extends State>> acceptedDataTypes = new ArrayList<Class<? extends State>>();
@@ -72,6 +72,9 @@ public class KNXBinding extends AbstractBinding<KNXBindingProvider> implements P
     private Map<String, DimmerThread> itemDimmerThreads = Collections
             .synchronizedMap(new HashMap<String, DimmerThread>());
 
+    /** number of received telegrams and the time it took to dispatch them */
+    private final KNXTelegramStatistics telegramStatistics = new KNXTelegramStatistics();
+
     public void activate(ComponentContext componentContext) {
         logger.debug("Calimero library version {}", Settings.getLibraryVersion());
         logger.trace("KNXBinding: activating");
@@ -89,6 +92,7 @@ public class KNXBinding extends AbstractBinding<KNXBindingProvider> implements P
         providers.clear();
         mKNXBusReaderScheduler.stop();
         KNXConnection.disconnect();
+        logger.debug("Telegram statistics: {}", telegramStatistics);
     }
 
     public void addKNXTypeMapper(KNXTypeMapper typeMapper) {
@@ -184,7 +188,9 @@ public class KNXBinding extends AbstractBinding<KNXBindingProvider> implements P
         logger.debug("Received groupWrite Event.");
         if (!(KNXConnection.getIgnoreLocalSourceEvents()
                 && e.getSourceAddr().toString().equalsIgnoreCase(KNXConnection.getLocalSourceAddr()))) {
+            long start = System.nanoTime();
             readFromKNX(e);
+            telegramStatistics.telegramDispatched(System.nanoTime() - start);
         } else {
             logger.debug("Ignoring local Event, received from my local Source address {} for Group address {}.",
                     e.getSourceAddr().toString(), e.getDestination().toString());
@@ -203,7 +209,7 @@ public class KNXBinding extends AbstractBinding<KNXBindingProvider> implements P
 
     /**
      * Handles the given {@link ProcessEvent}. After finding the corresponding
-     * Item (by iterating through all known group addresses) this Item is updated.
+     * Item (by looking up the group address in the binding providers) this Item is updated.
      * Each item is added to a special list to identify and avoid echo's in
      * the <code>receiveUpdate</code> and <code>receiveCommand</code> methods.
      *
@@ -216,6 +222,7 @@ public class KNXBinding extends AbstractBinding<KNXBindingProvider> implements P
             if (asdu.length == 0) {
                 return;
             }
+            mKNXBusReaderScheduler.valueReceived(destination);
             String[] itemList = getItemNames(destination);
             if (itemList.length == 0) {
                 logger.debug("Received telegram for unknown group address {}", destination.toString());
@@ -363,6 +370,8 @@ public class KNXBinding extends AbstractBinding<KNXBindingProvider> implements P
     public void connectionEstablished() {
         logger.trace("connectionEstablished() msg received. Initializing readable DPs.");
         mKNXConnectionEstablished = true;
+        mKNXBusReaderScheduler.resetAnswered();
+        mKNXBusReaderScheduler.startReaderTasks();
         for (KNXBindingProvider knxProvider : providers) {
             for (Datapoint datapoint : knxProvider.getReadableDatapoints()) {
                 mKNXBusReaderScheduler.readOnce(datapoint);
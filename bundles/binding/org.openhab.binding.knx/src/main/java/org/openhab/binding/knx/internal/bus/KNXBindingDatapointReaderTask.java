@@ -11,9 +11,7 @@
  */
 package org.openhab.binding.knx.internal.bus;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.openhab.binding.knx.internal.connection.KNXConnection;
 import org.openhab.binding.knx.internal.connection.KNXConnectionListener;
@@ -35,15 +33,22 @@ import tuwien.auto.calimero.process.ProcessCommunicator;
  */
 public class KNXBindingDatapointReaderTask extends Thread implements KNXConnectionListener {
 
-    private final BlockingQueue<Datapoint> readQueue;
-    private final Map<Datapoint, Integer> dpReadRetries = new HashMap<Datapoint, Integer>();
+    private final KNXReadQueue readQueue;
+    private final int connectionIndex;
+    private final KNXReadPacer readPacer = new KNXReadPacer(KNXConnection.getReadingPause());
     private final static Logger sLogger = LoggerFactory.getLogger(KNXBindingDatapointReaderTask.class);
     private boolean mKNXConnected = true;
 
-    public KNXBindingDatapointReaderTask(BlockingQueue<Datapoint> queue) {
-        super("KNXBinding/DatapointReaderTask");
+    /**
+     * @param queue the queue to take the datapoints to read from
+     * @param connectionIndex the index of the connection to read with, see
+     *            {@link KNXConnection#getReadCommunicator(int)}
+     */
+    KNXBindingDatapointReaderTask(KNXReadQueue queue, int connectionIndex) {
+        super("KNXBinding/DatapointReaderTask-" + connectionIndex);
         setDaemon(true);
         this.readQueue = queue;
+        this.connectionIndex = connectionIndex;
         KNXConnection.addConnectionListener(this);
     }
 
@@ -66,7 +71,7 @@ public class KNXBindingDatapointReaderTask extends Thread implements KNXConnecti
                         sLogger.debug("Autorefresh: Trying to read from KNX bus: {}", dp);
                         readFromKNXBus(dp);
 
-                        long readingPause = KNXConnection.getReadingPause();
+                        long readingPause = readPacer.getPause();
                         if (readingPause > 0) {
                             try {
                                 sLogger.debug(
@@ -86,17 +91,21 @@ public class KNXBindingDatapointReaderTask extends Thread implements KNXConnecti
             }
         } catch (InterruptedException ex) {
             sLogger.debug("Autorefresh: DatapointReaderTask wait on blockingqueue interrupted: {}", ex.getMessage());
+        } finally {
+            KNXConnection.removeConnectionListener(this);
         }
         sLogger.debug("Autorefresh: DatapointReaderTask interrupted.");
     }
 
     private void readFromKNXBus(Datapoint datapoint) throws InterruptedException {
         try {
-            ProcessCommunicator pc = KNXConnection.getCommunicator();
+            ProcessCommunicator pc = KNXConnection.getReadCommunicator(connectionIndex);
             if (pc != null) {
                 sLogger.debug("Autorefresh: Sending read request to KNX for item '{}' DPT '{}'", datapoint.getName(),
                         datapoint.getDPT());
+                long start = System.nanoTime();
                 pc.read(datapoint);
+                readPacer.readSucceeded(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
             } else {
                 sLogger.debug(
                         "Autorefresh: Couldn't sent read request to KNX for item '{}'. Connection to KNX bus not (yet) established.",
@@ -111,13 +120,16 @@ public class KNXBindingDatapointReaderTask extends Thread implements KNXConnecti
         } catch (KNXTimeoutException e) {
             sLogger.warn("Autorefresh: Cannot read value for item '{}' from KNX bus: {}: timeout", datapoint.getName(),
                     e.getMessage());
+            readPacer.readFailed();
             addToReadQueue(datapoint);
         } catch (KNXLinkClosedException e) {
             sLogger.warn("Autorefresh: Cannot read value for item '{}' from KNX bus: {}: link closed",
                     datapoint.getName(), e.getMessage());
+            readPacer.readFailed();
         } catch (KNXException e) {
             sLogger.warn("Autorefresh: Cannot read value for item '{}' from KNX bus: {}", datapoint.getName(),
                     e.getMessage());
+            readPacer.readFailed();
         } catch (KNXIllegalArgumentException e) {
             sLogger.warn("Autorefresh: Error sending KNX read request for '{}': {}", datapoint.getName(),
                     e.getMessage());
@@ -126,20 +138,15 @@ public class KNXBindingDatapointReaderTask extends Thread implements KNXConnecti
     }
 
     /**
-     * Adds or re-adds a datapoint to readQueue,
-     * if datapoint is known in dpReadRetries, retries will be reduced.
-     * Otherwise it will be registered in dpReadRetries with retriesLimit.
+     * Re-adds a datapoint to readQueue, as long as its retries are not exhausted.
      * 
      * @param datapoint
      */
-    private void addToReadQueue(Datapoint datapoint) throws InterruptedException {
-        Integer r = dpReadRetries.remove(datapoint);
-        int retries = (r != null ? r : KNXConnection.getReadRetriesLimit()) - 1;
+    private void addToReadQueue(Datapoint datapoint) {
+        int retries = readQueue.retry(datapoint, KNXConnection.getReadRetriesLimit());
         if (retries >= 0) {
             sLogger.warn("Autorefresh: Remaining retries for address '{}' = '{}'",
                     datapoint.getMainAddress().toString(), retries);
-            readQueue.put(datapoint);
-            dpReadRetries.put(datapoint, retries);
         } else if (retries == -1) {
             sLogger.warn("Autorefresh: Give up, could not read address '{}' after '{}' retries.",
                     datapoint.getMainAddress().toString(), KNXConnection.getReadRetriesLimit());
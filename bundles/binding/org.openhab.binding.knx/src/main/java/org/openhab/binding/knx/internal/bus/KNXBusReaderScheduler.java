@@ -8,14 +8,13 @@
  */
 package org.openhab.binding.knx.internal.bus;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -23,10 +22,12 @@ import org.openhab.binding.knx.internal.connection.KNXConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import tuwien.auto.calimero.GroupAddress;
 import tuwien.auto.calimero.datapoint.Datapoint;
 
 /**
  * This is the central class that takes care of the refreshing (cyclical reading) of GAs from the KNX bus.
+ * Pending reads are kept in a {@link KNXReadQueue} and executed by a reader task per configured read connection.
  *
  * @author Volker Daube
  * @since 1.6.0
@@ -35,13 +36,13 @@ import tuwien.auto.calimero.datapoint.Datapoint;
 public class KNXBusReaderScheduler {
     private static final Logger sLogger = LoggerFactory.getLogger(KNXBusReaderScheduler.class);
 
-    private final BlockingQueue<Datapoint> mReadQueue = new LinkedBlockingQueue<Datapoint>();
+    private final KNXReadQueue mReadQueue = new KNXReadQueue();
 
     private static Map<Integer, List<Datapoint>> mScheduleMap = new ConcurrentHashMap<Integer, List<Datapoint>>();
     private ScheduledExecutorService mScheduledExecutorService;
     private boolean mIsRunning = false;
-    /** the datapoint initializer, which runs in a separate thread */
-    private KNXBindingDatapointReaderTask mDatapointReaderTask = null;
+    /** the datapoint readers, each of them runs in a separate thread */
+    private final List<KNXBindingDatapointReaderTask> mReaderTasks = new ArrayList<KNXBindingDatapointReaderTask>();
 
     /**
      * Starts the scheduler
@@ -49,14 +50,27 @@ public class KNXBusReaderScheduler {
     public void start() {
         sLogger.trace("Starting auto refresh scheduler");
 
-        sLogger.debug("Starting reader task.");
-        mDatapointReaderTask = new KNXBindingDatapointReaderTask(mReadQueue);
-        mDatapointReaderTask.start();
+        mIsRunning = true;
+        startReaderTasks();
 
         sLogger.debug("Starting schedule executor.");
         mScheduledExecutorService = Executors.newScheduledThreadPool(KNXConnection.getNumberOfThreads());
+    }
 
-        mIsRunning = true;
+    /**
+     * Starts a reader task for each configured read connection that doesn't have one yet. The number of read
+     * connections may have been changed by the configuration after the scheduler was started.
+     */
+    public synchronized void startReaderTasks() {
+        if (!mIsRunning) {
+            return;
+        }
+        for (int i = mReaderTasks.size(); i < Math.max(1, KNXConnection.getReadConnections()); i++) {
+            sLogger.debug("Starting reader task {}.", i);
+            KNXBindingDatapointReaderTask readerTask = new KNXBindingDatapointReaderTask(mReadQueue, i);
+            mReaderTasks.add(readerTask);
+            readerTask.start();
+        }
     }
 
     /**
@@ -82,15 +96,37 @@ public class KNXBusReaderScheduler {
             Thread.currentThread().interrupt();
         }
 
-        sLogger.trace("Stopping reader task");
-        mDatapointReaderTask.interrupt();
-        mIsRunning = false;
+        sLogger.trace("Stopping reader tasks");
+        synchronized (this) {
+            for (KNXBindingDatapointReaderTask readerTask : mReaderTasks) {
+                readerTask.interrupt();
+            }
+            mReaderTasks.clear();
+            mIsRunning = false;
+        }
     }
 
     public boolean isRunning() {
         return mIsRunning;
     }
 
+    /**
+     * Notifies the scheduler that a group address has received a value. Reads of group addresses that haven't
+     * received a value yet take precedence over the others.
+     *
+     * @param groupAddress the group address
+     */
+    public void valueReceived(GroupAddress groupAddress) {
+        mReadQueue.valueReceived(groupAddress);
+    }
+
+    /**
+     * Forgets which group addresses have received a value, so that all of them are read with precedence again.
+     */
+    public void resetAnswered() {
+        mReadQueue.resetAnswered();
+    }
+
     /**
      * Clears all datapoints from the scheduler
      */
@@ -148,7 +184,8 @@ public class KNXBusReaderScheduler {
         }
 
         sLogger.debug("Datapoint '{}':  one time reading scheduled.", datapoint.getName());
-        return mReadQueue.add(datapoint);
+        mReadQueue.add(datapoint);
+        return true;
     }
 
     /**
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.bus;
+
+/**
+ * Determines the pause between two read requests of a connection. The configured pause is used as long as the bus
+ * answers in time. The pause is doubled on each failed read, and it is extended by the delay of responses that
+ * take longer than usual, as both indicate a busy bus. Once the bus answers again, the pause returns to the
+ * configured one step by step.
+ *
+ * @author Sven Schreier
+ * @since 1.11.0
+ */
+class KNXReadPacer {
+
+    /** the longest pause in milliseconds, unless the configured pause is longer */
+    static final long MAX_PAUSE = 5000;
+
+    /** the pause in milliseconds after the first failed read, if the configured pause is shorter */
+    static final long MIN_BACKOFF_PAUSE = 100;
+
+    /** weight of a response time in the average response time */
+    private static final double RESPONSE_TIME_WEIGHT = 0.1;
+
+    private final long basePause;
+    private final long maxPause;
+    private long pause;
+    private double averageResponseTime = -1;
+
+    /**
+     * @param basePause the configured pause in milliseconds
+     */
+    KNXReadPacer(long basePause) {
+        this.basePause = Math.max(0, basePause);
+        this.maxPause = Math.max(this.basePause, MAX_PAUSE);
+        this.pause = this.basePause;
+    }
+
+    /**
+     * Records a successful read.
+     *
+     * @param responseTime the time in milliseconds it took until the read has been answered
+     */
+    synchronized void readSucceeded(long responseTime) {
+        long delay = averageResponseTime < 0 ? 0 : responseTime - Math.round(averageResponseTime);
+        averageResponseTime = averageResponseTime < 0 ? responseTime
+                : averageResponseTime + RESPONSE_TIME_WEIGHT * (responseTime - averageResponseTime);
+
+        // approach the configured pause again after failed reads
+        pause = basePause + (pause - basePause) / 2;
+        if (delay > 0) {
+            pause = Math.min(maxPause, Math.max(pause, basePause + delay));
+        }
+    }
+
+    /**
+     * Records a read that has failed due to the bus or the connection, e.g. a timeout.
+     */
+    synchronized void readFailed() {
+        pause = Math.min(maxPause, Math.max(2 * pause, Math.max(basePause, MIN_BACKOFF_PAUSE)));
+    }
+
+    /**
+     * @return the pause in milliseconds before the next read
+     */
+    synchronized long getPause() {
+        return pause;
+    }
+
+    /**
+     * @return the average time in milliseconds it took until reads have been answered, -1 if there was none yet
+     */
+    synchronized long getAverageResponseTime() {
+        return Math.round(averageResponseTime);
+    }
+}
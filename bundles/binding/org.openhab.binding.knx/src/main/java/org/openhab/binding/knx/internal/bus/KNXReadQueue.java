@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.bus;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * The queue of pending read requests. A group address is only queued once, as a single read updates all items
+ * listening to it. Reads of group addresses that haven't received a value yet are served first, and they are
+ * skipped if a value arrives while they are waiting.
+ *
+ * @author Sven Schreier
+ * @since 1.11.0
+ */
+class KNXReadQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(KNXReadQueue.class);
+
+    /** reads of group addresses that haven't received a value yet */
+    private final Deque<Datapoint> unansweredReads = new ArrayDeque<Datapoint>();
+
+    /** reads of group addresses that have received a value before */
+    private final Deque<Datapoint> reads = new ArrayDeque<Datapoint>();
+
+    /** the group addresses of all the queued reads */
+    private final Set<GroupAddress> pendingAddresses = new HashSet<GroupAddress>();
+
+    /** the group addresses that have received a value */
+    private final Set<GroupAddress> answeredAddresses = Collections
+            .newSetFromMap(new ConcurrentHashMap<GroupAddress, Boolean>());
+
+    /** the remaining retries of datapoints whose read has failed */
+    private final Map<Datapoint, Integer> readRetries = new HashMap<Datapoint, Integer>();
+
+    /**
+     * Queues a read of a datapoint, unless a read of its group address is already pending.
+     *
+     * @param datapoint the datapoint to read
+     */
+    synchronized void add(Datapoint datapoint) {
+        GroupAddress groupAddress = datapoint.getMainAddress();
+        if (!pendingAddresses.add(groupAddress)) {
+            logger.trace("Read of group address {} is already pending, ignoring datapoint '{}'", groupAddress,
+                    datapoint.getName());
+            return;
+        }
+        if (answeredAddresses.contains(groupAddress)) {
+            reads.add(datapoint);
+        } else {
+            unansweredReads.add(datapoint);
+        }
+        notifyAll();
+    }
+
+    /**
+     * Queues reads of all the given datapoints.
+     *
+     * @param datapoints the datapoints to read
+     */
+    synchronized void addAll(Collection<Datapoint> datapoints) {
+        for (Datapoint datapoint : datapoints) {
+            add(datapoint);
+        }
+    }
+
+    /**
+     * Queues a datapoint again after its read has failed, as long as its retries are not exhausted.
+     *
+     * @param datapoint the datapoint whose read has failed
+     * @param retriesLimit the number of retries of a datapoint
+     * @return the remaining retries, -1 if the read is given up
+     */
+    synchronized int retry(Datapoint datapoint, int retriesLimit) {
+        Integer r = readRetries.remove(datapoint);
+        int retries = (r != null ? r : retriesLimit) - 1;
+        if (retries >= 0) {
+            add(datapoint);
+            readRetries.put(datapoint, retries);
+        }
+        return retries;
+    }
+
+    /**
+     * Takes the next datapoint to read, waiting until there is one.
+     *
+     * @return the datapoint to read
+     * @throws InterruptedException if interrupted while waiting
+     */
+    synchronized Datapoint take() throws InterruptedException {
+        while (true) {
+            Datapoint datapoint = unansweredReads.poll();
+            if (datapoint != null) {
+                pendingAddresses.remove(datapoint.getMainAddress());
+                if (answeredAddresses.contains(datapoint.getMainAddress())) {
+                    logger.trace("Group address {} received a value in the meantime, skipping read of '{}'",
+                            datapoint.getMainAddress(), datapoint.getName());
+                    continue;
+                }
+                return datapoint;
+            }
+            datapoint = reads.poll();
+            if (datapoint != null) {
+                pendingAddresses.remove(datapoint.getMainAddress());
+                return datapoint;
+            }
+            wait();
+        }
+    }
+
+    /**
+     * Records that a group address has received a value.
+     *
+     * @param groupAddress the group address
+     */
+    void valueReceived(GroupAddress groupAddress) {
+        answeredAddresses.add(groupAddress);
+    }
+
+    /**
+     * Forgets which group addresses have received a value, e.g. after the connection has been established again,
+     * as the devices may have changed or restarted in the meantime.
+     */
+    void resetAnswered() {
+        answeredAddresses.clear();
+    }
+
+    /**
+     * @return the number of queued reads
+     */
+    synchronized int size() {
+        return unansweredReads.size() + reads.size();
+    }
+
+    /**
+     * Removes all the queued reads. The group addresses that have received a value are kept.
+     */
+    synchronized void clear() {
+        unansweredReads.clear();
+        reads.clear();
+        pendingAddresses.clear();
+    }
+}
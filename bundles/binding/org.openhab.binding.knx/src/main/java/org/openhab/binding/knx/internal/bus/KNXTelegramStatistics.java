@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.bus;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of the number of received telegrams and of the time it takes to dispatch them to the openHAB items.
+ * The telegram rate is determined per interval of one second, the statistics of the past interval are logged on
+ * debug level.
+ *
+ * @author Sven Schreier
+ * @since 1.11.0
+ */
+class KNXTelegramStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(KNXTelegramStatistics.class);
+
+    private static final long INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private long telegramCount = 0;
+    private long totalDispatchNanos = 0;
+    private long maxDispatchNanos = 0;
+
+    private long intervalStart = System.nanoTime();
+    private long intervalTelegramCount = 0;
+    private long intervalDispatchNanos = 0;
+    private double telegramsPerSecond = 0;
+
+    /**
+     * Records a telegram
+     *
+     * @param dispatchNanos the time in nanoseconds it took to dispatch the telegram
+     */
+    synchronized void telegramDispatched(long dispatchNanos) {
+        telegramCount++;
+        totalDispatchNanos += dispatchNanos;
+        maxDispatchNanos = Math.max(maxDispatchNanos, dispatchNanos);
+        intervalTelegramCount++;
+        intervalDispatchNanos += dispatchNanos;
+
+        long now = System.nanoTime();
+        long elapsed = now - intervalStart;
+        if (elapsed >= INTERVAL_NANOS) {
+            telegramsPerSecond = intervalTelegramCount * (double) INTERVAL_NANOS / elapsed;
+            if (logger.isDebugEnabled()) {
+                logger.debug("Received {} telegrams/s, average dispatch time {} microseconds",
+                        String.format("%.1f", telegramsPerSecond),
+                        TimeUnit.NANOSECONDS.toMicros(intervalDispatchNanos / intervalTelegramCount));
+            }
+            intervalStart = now;
+            intervalTelegramCount = 0;
+            intervalDispatchNanos = 0;
+        }
+    }
+
+    /**
+     * @return the number of telegrams received since the binding has been started
+     */
+    synchronized long getTelegramCount() {
+        return telegramCount;
+    }
+
+    /**
+     * @return the telegram rate of the last completed interval in which telegrams have been received
+     */
+    synchronized double getTelegramsPerSecond() {
+        return telegramsPerSecond;
+    }
+
+    /**
+     * @return the average time in microseconds it took to dispatch a telegram, <code>0</code> if none has been
+     *         received yet
+     */
+    synchronized long getAverageDispatchMicros() {
+        return telegramCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalDispatchNanos / telegramCount);
+    }
+
+    /**
+     * @return the longest time in microseconds it took to dispatch a telegram
+     */
+    synchronized long getMaxDispatchMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxDispatchNanos);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "KNXTelegramStatistics [telegramCount=" + telegramCount + ", telegramsPerSecond="
+                + String.format("%.1f", telegramsPerSecond) + ", averageDispatchMicros=" + getAverageDispatchMicros()
+                + ", maxDispatchMicros=" + getMaxDispatchMicros() + "]";
+    }
+}
@@ -8,11 +8,18 @@
  */
 package org.openhab.binding.knx.internal.config;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.openhab.binding.knx.config.KNXBindingProvider;
 import org.openhab.binding.knx.internal.dpt.KNXCoreTypeMapper;
@@ -104,6 +111,12 @@ public class KNXGenericBindingProvider extends AbstractGenericBindingProvider
     //Logger
     private static Logger logger = LoggerFactory.getLogger(KNXGenericBindingProvider.class);
 
+    /**
+     * the config items of all items, indexed by the group addresses of their datapoints. The lists are never modified
+     * but replaced, so that incoming telegrams can be dispatched without locking.
+     */
+    private final ConcurrentMap<GroupAddress, List<KNXBindingConfigItem>> configItemsByGroupAddress = new ConcurrentHashMap<GroupAddress, List<KNXBindingConfigItem>>();
+
     /**
      * {@inheritDoc}
      */
@@ -136,38 +149,97 @@ public class KNXGenericBindingProvider extends AbstractGenericBindingProvider
      * {@inheritDoc}
      */
     @Override
-    @SuppressWarnings("unchecked")
-    public Iterable<Datapoint> getDatapoints(final String itemName, final GroupAddress groupAddress) {
-        synchronized (bindingConfigs) {
-            try {
-                Iterable<KNXBindingConfig> configList = Iterables.filter(Iterables.concat(bindingConfigs.values()),
-                        KNXBindingConfig.class);
-                Iterable<KNXBindingConfigItem> configItemList = Iterables.filter(Iterables.concat(configList),
-                        KNXBindingConfigItem.class);
+    protected void addBindingConfig(Item item, BindingConfig config) {
+        synchronized (configItemsByGroupAddress) {
+            removeFromIndex(bindingConfigs.get(item.getName()));
+            addToIndex(config);
+        }
+        super.addBindingConfig(item, config);
+    }
 
-                Iterable<KNXBindingConfigItem> bindingConfigs = Iterables.filter(configItemList,
-                        new Predicate<KNXBindingConfigItem>() {
-                            @Override
-                            public boolean apply(KNXBindingConfigItem input) {
-                                return input.itemName.equals(itemName) && input.allDataPoints.contains(groupAddress);
-                            }
-                        });
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeConfigurations(String context) {
+        Set<Item> items = contextMap.get(context);
+        if (items != null) {
+            synchronized (configItemsByGroupAddress) {
+                for (Item item : items) {
+                    removeFromIndex(bindingConfigs.get(item.getName()));
+                }
+            }
+        }
+        super.removeConfigurations(context);
+    }
 
-                Iterable<Datapoint> datapoints = Iterables.transform(bindingConfigs,
-                        new Function<KNXBindingConfigItem, Datapoint>() {
-                            @Override
-                            public Datapoint apply(KNXBindingConfigItem configItem) {
-                                return configItem.mainDataPoint;
-                            }
-                        });
+    private void addToIndex(BindingConfig config) {
+        if (!(config instanceof KNXBindingConfig)) {
+            return;
+        }
+        for (KNXBindingConfigItem configItem : (KNXBindingConfig) config) {
+            for (Datapoint datapoint : getAllDatapoints(configItem)) {
+                GroupAddress groupAddress = datapoint.getMainAddress();
+                List<KNXBindingConfigItem> configItems = new ArrayList<KNXBindingConfigItem>(
+                        getConfigItems(groupAddress));
+                configItems.add(configItem);
+                configItemsByGroupAddress.put(groupAddress, Collections.unmodifiableList(configItems));
+            }
+        }
+    }
 
-                return datapoints;
-            } catch (NoSuchElementException e) {
-                return null;
+    private void removeFromIndex(BindingConfig config) {
+        if (!(config instanceof KNXBindingConfig)) {
+            return;
+        }
+        for (KNXBindingConfigItem configItem : (KNXBindingConfig) config) {
+            for (Datapoint datapoint : getAllDatapoints(configItem)) {
+                GroupAddress groupAddress = datapoint.getMainAddress();
+                List<KNXBindingConfigItem> configItems = new ArrayList<KNXBindingConfigItem>(
+                        getConfigItems(groupAddress));
+                configItems.remove(configItem);
+                if (configItems.isEmpty()) {
+                    configItemsByGroupAddress.remove(groupAddress);
+                } else {
+                    configItemsByGroupAddress.put(groupAddress, Collections.unmodifiableList(configItems));
+                }
             }
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private static Collection<Datapoint> getAllDatapoints(KNXBindingConfigItem configItem) {
+        return configItem.allDataPoints.getDatapoints();
+    }
+
+    /**
+     * Returns the config items having a datapoint with the given group address.
+     *
+     * @param groupAddress the group address
+     * @return the config items, an empty list if there are none
+     */
+    private List<KNXBindingConfigItem> getConfigItems(GroupAddress groupAddress) {
+        List<KNXBindingConfigItem> configItems = configItemsByGroupAddress.get(groupAddress);
+        if (configItems == null) {
+            return Collections.emptyList();
+        }
+        return configItems;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterable<Datapoint> getDatapoints(final String itemName, final GroupAddress groupAddress) {
+        List<Datapoint> datapoints = new ArrayList<Datapoint>();
+        for (KNXBindingConfigItem configItem : getConfigItems(groupAddress)) {
+            if (configItem.itemName.equals(itemName)) {
+                datapoints.add(configItem.mainDataPoint);
+            }
+        }
+        return datapoints;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -215,33 +287,13 @@ public class KNXGenericBindingProvider extends AbstractGenericBindingProvider
      * {@inheritDoc}
      */
     @Override
-    @SuppressWarnings("unchecked")
     public Iterable<String> getListeningItemNames(final GroupAddress groupAddress) {
-        synchronized (bindingConfigs) {
-            Iterable<KNXBindingConfig> configList = Iterables.filter(Iterables.concat(bindingConfigs.values()),
-                    KNXBindingConfig.class);
-            Iterable<KNXBindingConfigItem> configItemList = Iterables.filter(Iterables.concat(configList),
-                    KNXBindingConfigItem.class);
-            Iterable<KNXBindingConfigItem> filteredBindingConfigs = Iterables.filter(configItemList,
-                    new Predicate<KNXBindingConfigItem>() {
-                        @Override
-                        public boolean apply(KNXBindingConfigItem input) {
-                            if (input == null) {
-                                return false;
-                            }
-                            return input.allDataPoints.contains(groupAddress);
-                        }
-                    });
-            return Iterables.transform(filteredBindingConfigs, new Function<KNXBindingConfigItem, String>() {
-                @Override
-                public String apply(KNXBindingConfigItem from) {
-                    if (from == null) {
-                        return null;
-                    }
-                    return from.itemName;
-                }
-            });
+        List<KNXBindingConfigItem> configItems = getConfigItems(groupAddress);
+        List<String> itemNames = new ArrayList<String>(configItems.size());
+        for (KNXBindingConfigItem configItem : configItems) {
+            itemNames.add(configItem.itemName);
         }
+        return itemNames;
     }
 
     /*
@@ -251,24 +303,17 @@ public class KNXGenericBindingProvider extends AbstractGenericBindingProvider
      */
     @Override
     public boolean isCommandGA(final GroupAddress groupAddress) {
-        synchronized (bindingConfigs) {
-            for (BindingConfig config : bindingConfigs.values()) {
-                KNXBindingConfig knxConfig = (KNXBindingConfig) config;
-                for (KNXBindingConfigItem configItem : knxConfig) {
-                    if (configItem.allDataPoints.contains(groupAddress)) {
-                        if (configItem.mainDataPoint instanceof CommandDP) {
-                            if (configItem.mainDataPoint.getMainAddress().equals(groupAddress)) {
-                                // the first GA in a CommandDP is always a command GA
-                                return true;
-                            } else {
-                                return false;
-                            }
-                        } else {
-                            // it is a StateDP, so the GA cannot be a command GA
-                            return false;
-                        }
-                    }
+        for (KNXBindingConfigItem configItem : getConfigItems(groupAddress)) {
+            if (configItem.mainDataPoint instanceof CommandDP) {
+                if (configItem.mainDataPoint.getMainAddress().equals(groupAddress)) {
+                    // the first GA in a CommandDP is always a command GA
+                    return true;
+                } else {
+                    return false;
                 }
+            } else {
+                // it is a StateDP, so the GA cannot be a command GA
+                return false;
             }
         }
         return false;
@@ -553,15 +598,10 @@ public class KNXGenericBindingProvider extends AbstractGenericBindingProvider
      */
     @Override
     public boolean isStartStopGA(GroupAddress groupAddress) {
-        synchronized (bindingConfigs) {
-            for (BindingConfig config : bindingConfigs.values()) {
-                KNXBindingConfig knxConfig = (KNXBindingConfig) config;
-                for (KNXBindingConfigItem configItem : knxConfig) {
-                    Boolean startStopBehavior = configItem.startStopMap.get(groupAddress);
-                    if (startStopBehavior != null) {
-                        return startStopBehavior;
-                    }
-                }
+        for (KNXBindingConfigItem configItem : getConfigItems(groupAddress)) {
+            Boolean startStopBehavior = configItem.startStopMap.get(groupAddress);
+            if (startStopBehavior != null) {
+                return startStopBehavior;
             }
         }
         return false;
@@ -11,12 +11,14 @@ package org.openhab.binding.knx.internal.connection;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.Dictionary;
 import java.util.Enumeration;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.apache.commons.lang.StringUtils;
 import org.osgi.service.cm.ConfigurationException;
@@ -57,6 +59,12 @@ public class KNXConnection implements ManagedService {
 
     private static KNXNetworkLink sLink;
 
+    /** the communicators of the additional tunnel connections used for reading only */
+    private static List<ProcessCommunicator> sReadPCs = new ArrayList<ProcessCommunicator>();
+
+    /** the links of the additional tunnel connections, in the order of their communicators */
+    private static List<KNXNetworkLink> sReadLinks = new ArrayList<KNXNetworkLink>();
+
     /** signals that the connection is shut down on purpose */
     public static boolean sShutdown = false;
 
@@ -88,11 +96,17 @@ public class KNXConnection implements ManagedService {
     private static String sSerialPort;
 
     /**
-     * time in milliseconds of how long should be paused between two read requests to the bus during initialization.
-     * Default value is <code>50</Code>
+     * time in milliseconds of how long should be paused at least between two read requests to the bus of a
+     * connection. The pause is extended while the bus is busy. Default value is <code>50</Code>
      */
     private static long sReadingPause = 50;
 
+    /**
+     * the number of tunnel connections used for reading datapoints in parallel, including the main connection.
+     * Default value is <code>1</code>
+     */
+    private static int sReadConnections = 1;
+
     /** timeout in milliseconds to wait for a response from the KNX bus. Default value is <code>10000</code> */
     private static long sResponseTimeout = 10000;
 
@@ -126,7 +140,7 @@ public class KNXConnection implements ManagedService {
     private static boolean sUseNAT = false;
 
     /** listeners for connection/re-connection events */
-    private static Set<KNXConnectionListener> sConnectionListeners = new HashSet<KNXConnectionListener>();
+    private static Set<KNXConnectionListener> sConnectionListeners = new CopyOnWriteArraySet<KNXConnectionListener>();
 
     /**
      * Returns the KNXNetworkLink for talking to the KNX bus.
@@ -141,6 +155,23 @@ public class KNXConnection implements ManagedService {
         return sPC;
     }
 
+    /**
+     * Returns the communicator to read datapoints with. Index <code>0</code> denotes the main connection, the
+     * others denote the additional tunnel connections used for reading only. If the requested connection is not
+     * available, the main connection is returned.
+     *
+     * @param index the index of the connection
+     * @return the communicator, <code>null</code> if the connection has not (yet) been established
+     */
+    public static synchronized ProcessCommunicator getReadCommunicator(int index) {
+        if (index > 0 && index <= sReadPCs.size()) {
+            if (sReadLinks.get(index - 1).isOpen()) {
+                return sReadPCs.get(index - 1);
+            }
+        }
+        return getCommunicator();
+    }
+
     public void setProcessListener(ProcessListener listener) {
         if (sPC != null) {
             sPC.removeProcessListener(KNXConnection.sProcessCommunicationListener);
@@ -231,6 +262,11 @@ public class KNXConnection implements ManagedService {
                 sPC.addProcessListener(sProcessCommunicationListener);
             }
 
+            closeReadConnections();
+            if (sLink instanceof KNXNetworkLinkIP && sIpConnectionType == KNXNetworkLinkIP.TUNNELING) {
+                connectReadConnections();
+            }
+
             if (sLogger.isInfoEnabled()) {
                 if (sLink instanceof KNXNetworkLinkIP) {
                     String ipConnectionTypeString = KNXConnection.sIpConnectionType == KNXNetworkLinkIP.ROUTING
@@ -271,6 +307,44 @@ public class KNXConnection implements ManagedService {
                 link.close();
             }
         }
+        closeReadConnections();
+    }
+
+    /**
+     * Establishes the additional tunnel connections used for reading. They don't get a process listener, as the
+     * responses to their read requests are received by the main connection as well.
+     */
+    private static void connectReadConnections() throws InterruptedException {
+        for (int i = 1; i < sReadConnections; i++) {
+            try {
+                KNXNetworkLink link = connectByIp(sIpConnectionType, sLocalIp, sIp, sPort);
+                ProcessCommunicator pc = new ProcessCommunicatorImpl(link);
+                pc.setResponseTimeout((int) sResponseTimeout / 1000);
+                sReadLinks.add(link);
+                sReadPCs.add(pc);
+            } catch (KNXException e) {
+                sLogger.warn("Error establishing additional KNX read connection {}: {}", i, e.getMessage());
+                break;
+            } catch (UnknownHostException e) {
+                sLogger.warn("Error establishing additional KNX read connection {} (unknown host): {}", i,
+                        e.getMessage());
+                break;
+            }
+        }
+        if (!sReadPCs.isEmpty()) {
+            sLogger.info("Established {} additional connection(s) to KNX bus for reading.", sReadPCs.size());
+        }
+    }
+
+    private static void closeReadConnections() {
+        for (ProcessCommunicator pc : sReadPCs) {
+            pc.detach();
+        }
+        for (KNXNetworkLink link : sReadLinks) {
+            link.close();
+        }
+        sReadPCs.clear();
+        sReadLinks.clear();
     }
 
     private static KNXNetworkLink connectByIp(int ipConnectionType, String localIp, String ip, int port)
@@ -372,6 +446,20 @@ public class KNXConnection implements ManagedService {
                 sReadingPause = Long.parseLong(readingPauseString);
             }
 
+            String readConnectionsString = (String) config.get("readConnections");
+            if (StringUtils.isNotBlank(readConnectionsString)) {
+                try {
+                    int readConnectionsValue = Integer.parseInt(readConnectionsString);
+                    if (readConnectionsValue > 0) {
+                        sReadConnections = readConnectionsValue;
+                    }
+                } catch (NumberFormatException e) {
+                    sLogger.warn(
+                            "Error when trying to read parameter 'readConnections' from configuration. '{}' is not a number: using default.",
+                            readConnectionsString);
+                }
+            }
+
             String responseTimeoutString = (String) config.get("timeout");
             if (StringUtils.isNotBlank(responseTimeoutString)) {
                 long timeout = Long.parseLong(responseTimeoutString);
@@ -475,6 +563,13 @@ public class KNXConnection implements ManagedService {
         return sReadingPause;
     }
 
+    /**
+     * @return the number of connections used for reading, including the main connection
+     */
+    public static int getReadConnections() {
+        return sReadConnections;
+    }
+
     public static int getReadRetriesLimit() {
         return sReadRetriesLimit;
     }
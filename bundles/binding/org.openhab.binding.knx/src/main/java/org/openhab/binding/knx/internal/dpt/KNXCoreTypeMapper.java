@@ -9,6 +9,7 @@
 package org.openhab.binding.knx.internal.dpt;
 
 import java.awt.Color;
+import java.math.BigDecimal;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.text.ParseException;
@@ -18,6 +19,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openhab.binding.knx.config.KNXTypeMapper;
 import org.openhab.core.library.types.DateTimeType;
@@ -81,6 +83,98 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     /** stores the default KNX DPT to use for each openHAB type */
     static private Map<Class<? extends Type>, String> defaultDptMap;
 
+    /** stores the resolved datapoint types by datapoint type id, they are resolved on first use */
+    static private final Map<String, DPTInfo> dptInfoMap = new ConcurrentHashMap<String, DPTInfo>();
+
+    /**
+     * The datapoint types whose data is decoded directly, without a translator and without parsing the value string
+     * of the translator.
+     */
+    private enum Decoding {
+        NONE,
+        BOOLEAN,
+        SCALING,
+        ANGLE,
+        UNSIGNED_8BIT,
+        FLOAT_2BYTE,
+        FLOAT_4BYTE
+    }
+
+    /**
+     * A datapoint type id resolved to the Calimero datapoint type, main and sub number, openHAB type class and the
+     * way its data is decoded.
+     */
+    static private final class DPTInfo {
+        private final DPT dpt;
+        private final int mainNumber;
+        private final int subNumber;
+        private final Class<? extends Type> typeClass;
+        private final Decoding decoding;
+        /** the openHAB types of a boolean datapoint type for the values false and true */
+        private final Type falseType;
+        private final Type trueType;
+
+        private DPTInfo(DPT dpt, int mainNumber, int subNumber, Class<? extends Type> typeClass) {
+            this.dpt = dpt;
+            this.mainNumber = mainNumber;
+            this.subNumber = subNumber;
+            this.typeClass = typeClass;
+
+            Type falseType = null;
+            Type trueType = null;
+            Decoding decoding = Decoding.NONE;
+            switch (mainNumber) {
+                case 1:
+                    decoding = Decoding.BOOLEAN;
+                    switch (subNumber) {
+                        case 8:
+                            falseType = UpDownType.UP;
+                            trueType = UpDownType.DOWN;
+                            break;
+                        case 9:
+                        case 19:
+                            falseType = OpenClosedType.CLOSED;
+                            trueType = OpenClosedType.OPEN;
+                            break;
+                        case 10:
+                            falseType = StopMoveType.STOP;
+                            trueType = StopMoveType.MOVE;
+                            break;
+                        case 22:
+                            falseType = new DecimalType(0);
+                            trueType = new DecimalType(1);
+                            break;
+                        default:
+                            falseType = OnOffType.OFF;
+                            trueType = OnOffType.ON;
+                    }
+                    break;
+                case 5:
+                    if (DPTXlator8BitUnsigned.DPT_SCALING.equals(dpt) && PercentType.class.equals(typeClass)) {
+                        decoding = Decoding.SCALING;
+                    } else if (DPTXlator8BitUnsigned.DPT_ANGLE.equals(dpt) && DecimalType.class.equals(typeClass)) {
+                        decoding = Decoding.ANGLE;
+                    } else if (DecimalType.class.equals(typeClass)) {
+                        decoding = Decoding.UNSIGNED_8BIT;
+                    }
+                    break;
+                case 9:
+                    if (DecimalType.class.equals(typeClass)) {
+                        decoding = Decoding.FLOAT_2BYTE;
+                    }
+                    break;
+                case 14:
+                    if (DecimalType.class.equals(typeClass)) {
+                        decoding = Decoding.FLOAT_4BYTE;
+                    }
+                    break;
+            }
+            this.decoding = decoding;
+            this.falseType = falseType;
+            this.trueType = trueType;
+        }
+    }
+
     static {
         dptTypeMap = new HashMap<String, Class<? extends Type>>();
 
@@ -241,21 +335,19 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     @Override
     public String toDPTValue(Type type, String dptID) {
 
-        DPT dpt;
-        int mainNumber = getMainNumber(dptID);
-        if (mainNumber == -1) {
-            logger.error("toDPTValue couldn't identify mainnumber in dptID: {}", dptID);
-            return null;
-        }
-
+        DPTInfo dptInfo;
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(mainNumber, dptID);
-            dpt = translator.getType();
-
+            dptInfo = getDPTInfo(dptID);
         } catch (KNXException e) {
             e.printStackTrace();
             return null;
         }
+        if (dptInfo == null) {
+            logger.error("toDPTValue couldn't identify mainnumber in dptID: {}", dptID);
+            return null;
+        }
+        DPT dpt = dptInfo.dpt;
+        int mainNumber = dptInfo.mainNumber;
 
         // check for HSBType first, because it extends PercentType as well
         if (type instanceof HSBType) {
@@ -320,23 +412,30 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
-            translator.setData(data);
-            String value = translator.getValue();
+            logger.trace("toType datapoint DPT = {}", datapoint.getDPT());
 
-            String id = translator.getType().getID();
-            logger.trace("toType datapoint DPT = " + datapoint.getDPT());
-
-            int mainNumber = getMainNumber(id);
-            if (mainNumber == -1) {
-                logger.debug("toType: couldn't identify mainnumber in dptID: {}.", id);
+            DPTInfo dptInfo = getDPTInfo(datapoint.getDPT());
+            if (dptInfo == null) {
+                logger.debug("toType: couldn't identify mainnumber in dptID: {}.", datapoint.getDPT());
                 return null;
             }
-            int subNumber = getSubNumber(id);
+            int mainNumber = dptInfo.mainNumber;
+            int subNumber = dptInfo.subNumber;
             if (subNumber == -1) {
-                logger.debug("toType: couldn't identify sub number in dptID: {}.", id);
+                logger.debug("toType: couldn't identify sub number in dptID: {}.", datapoint.getDPT());
                 return null;
             }
+
+            Type type = decode(dptInfo, data);
+            if (type != null) {
+                return type;
+            }
+
+            DPTXlator translator = TranslatorTypes.createTranslator(mainNumber, datapoint.getDPT());
+            translator.setData(data);
+            String value = translator.getValue();
+            String id = translator.getType().getID();
+
             /*
              * Following code section deals with specific mapping of values from KNX to openHAB types were the String
              * received from the DPTXlator is not sufficient to set the openHAB type or has bugs
@@ -464,7 +563,7 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
                     break;
             }
 
-            Class<? extends Type> typeClass = toTypeClass(id);
+            Class<? extends Type> typeClass = dptInfo.typeClass;
             if (typeClass == null) {
                 return null;
             }
@@ -511,6 +610,81 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         return null;
     }
 
+    /**
+     * Resolves a datapoint type id, the result is cached.
+     *
+     * @param dptID the datapoint type id
+     * @return the resolved datapoint type or {@code null} if the main number of the id couldn't be identified
+     * @throws KNXException if Calimero doesn't know the datapoint type
+     */
+    private DPTInfo getDPTInfo(String dptID) throws KNXException {
+        DPTInfo dptInfo = dptInfoMap.get(dptID);
+        if (dptInfo == null) {
+            int mainNumber = getMainNumber(dptID);
+            if (mainNumber == -1) {
+                return null;
+            }
+            DPT dpt = TranslatorTypes.createTranslator(mainNumber, dptID).getType();
+            dptInfo = new DPTInfo(dpt, mainNumber, getSubNumber(dpt.getID()), toTypeClass(dpt.getID()));
+            dptInfoMap.put(dptID, dptInfo);
+        }
+        return dptInfo;
+    }
+
+    /**
+     * Decodes the data of the most common datapoint types directly from the bytes received from the KNX bus, the
+     * results are the same as the ones of the Calimero translators.
+     *
+     * @param dptInfo the datapoint type of the data
+     * @param data the raw data from the KNX bus
+     * @return the openHAB type or {@code null} if the data has to be decoded by a translator
+     */
+    private Type decode(DPTInfo dptInfo, byte[] data) {
+        switch (dptInfo.decoding) {
+            case BOOLEAN:
+                if (data.length >= 1) {
+                    return (data[0] & 0x01) != 0 ? dptInfo.trueType : dptInfo.falseType;
+                }
+                break;
+            case SCALING:
+                if (data.length >= 1) {
+                    return new PercentType(Math.round((data[0] & 0xff) * 100.0f / 255.0f));
+                }
+                break;
+            case ANGLE:
+                if (data.length >= 1) {
+                    return new DecimalType(Math.round((data[0] & 0xff) * 360.0f / 255.0f));
+                }
+                break;
+            case UNSIGNED_8BIT:
+                if (data.length >= 1) {
+                    return new DecimalType(data[0] & 0xff);
+                }
+                break;
+            case FLOAT_2BYTE:
+                if (data.length >= 2) {
+                    // 1 bit sign, 4 bit exponent and 11 bit mantissa, the mantissa is in two's complement
+                    int mantissa = ((data[0] & 0x80) << 24 | (data[0] & 0x07) << 28 | (data[1] & 0xff) << 20) >> 20;
+                    int exponent = (data[0] & 0x78) >> 3;
+                    return new DecimalType(BigDecimal.valueOf((1 << exponent) * mantissa * 0.01));
+                }
+                break;
+            case FLOAT_4BYTE:
+                if (data.length >= 4) {
+                    float f = Float.intBitsToFloat(
+                            (data[0] & 0xff) << 24 | (data[1] & 0xff) << 16 | (data[2] & 0xff) << 8 | (data[3] & 0xff));
+                    // large values and NaN are formatted by the translator, see the workaround in toType
+                    if (Math.abs(f) < 100000) {
+                        return new DecimalType(new BigDecimal(Float.toString(f)));
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+        return null;
+    }
+
     /**
      * Converts a datapoint type id into an openHAB type class
      *
@@ -518,7 +692,7 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
      * @return the openHAB type (command or state) class or {@code null} if the datapoint type id is not supported.
      */
     static public Class<? extends Type> toTypeClass(String dptId) {
-        logger.trace("toTypeClass looking for dptId = " + dptId);
+        logger.trace("toTypeClass looking for dptId = {}", dptId);
         return dptTypeMap.get(dptId);
     }
 
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.binding.modbus.ModbusBindingProvider;
+import org.openhab.binding.modbus.internal.ModbusReadPlanner.ReadBlock;
+
+/**
+ * Testing how the read requests of slaves are combined
+ *
+ */
+public class ModbusReadPlannerTest {
+
+    private static ModbusSlave newSlave(String name, int id, String type, int start, int length) {
+        ModbusSlave slave = new ModbusTcpSlave(name, null);
+        slave.setId(id);
+        slave.setType(type);
+        slave.setStart(start);
+        slave.setLength(length);
+        return slave;
+    }
+
+    private static void assertBlock(ReadBlock block, int start, int length, ModbusSlave... slaves) {
+        assertThat(block.getStart(), is(equalTo(start)));
+        assertThat(block.getLength(), is(equalTo(length)));
+        assertThat(block.getSlaves(), is(equalTo(Arrays.asList(slaves))));
+    }
+
+    @Test
+    public void testCoalescingDisabled() {
+        ModbusSlave slave1 = newSlave("slave1", 1, ModbusBindingProvider.TYPE_HOLDING, 0, 2);
+        ModbusSlave slave2 = newSlave("slave2", 1, ModbusBindingProvider.TYPE_HOLDING, 2, 2);
+        List<ReadBlock> blocks = ModbusReadPlanner.plan(Arrays.asList(slave1, slave2), -1);
+        assertThat(blocks.size(), is(equalTo(2)));
+        assertBlock(blocks.get(0), 0, 2, slave1);
+        assertBlock(blocks.get(1), 2, 2, slave2);
+    }
+
+    @Test
+    public void testAdjacentAndOverlappingRanges() {
+        ModbusSlave slave1 = newSlave("slave1", 1, ModbusBindingProvider.TYPE_HOLDING, 4, 2);
+        ModbusSlave slave2 = newSlave("slave2", 1, ModbusBindingProvider.TYPE_HOLDING, 0, 4);
+        ModbusSlave slave3 = newSlave("slave3", 1, ModbusBindingProvider.TYPE_HOLDING, 1, 2);
+        ModbusSlave slave4 = newSlave("slave4", 1, ModbusBindingProvider.TYPE_HOLDING, 7, 1);
+        List<ReadBlock> blocks = ModbusReadPlanner.plan(Arrays.asList(slave1, slave2, slave3, slave4), 0);
+        assertThat(blocks.size(), is(equalTo(2)));
+        assertBlock(blocks.get(0), 0, 6, slave2, slave3, slave1);
+        assertBlock(blocks.get(1), 7, 1, slave4);
+    }
+
+    @Test
+    public void testGapTolerance() {
+        ModbusSlave slave1 = newSlave("slave1", 1, ModbusBindingProvider.TYPE_COIL, 0, 8);
+        ModbusSlave slave2 = newSlave("slave2", 1, ModbusBindingProvider.TYPE_COIL, 11, 5);
+        ModbusSlave slave3 = newSlave("slave3", 1, ModbusBindingProvider.TYPE_COIL, 20, 1);
+        List<ReadBlock> blocks = ModbusReadPlanner.plan(Arrays.asList(slave1, slave2, slave3), 3);
+        assertThat(blocks.size(), is(equalTo(2)));
+        assertBlock(blocks.get(0), 0, 16, slave1, slave2);
+        assertBlock(blocks.get(1), 20, 1, slave3);
+    }
+
+    @Test
+    public void testDifferentIdsAndTypesAreNotCombined() {
+        ModbusSlave slave1 = newSlave("slave1", 1, ModbusBindingProvider.TYPE_HOLDING, 0, 2);
+        ModbusSlave slave2 = newSlave("slave2", 2, ModbusBindingProvider.TYPE_HOLDING, 2, 2);
+        ModbusSlave slave3 = newSlave("slave3", 1, ModbusBindingProvider.TYPE_INPUT, 2, 2);
+        List<ReadBlock> blocks = ModbusReadPlanner.plan(Arrays.asList(slave1, slave2, slave3), 10);
+        assertThat(blocks.size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testProtocolLimit() {
+        ModbusSlave slave1 = newSlave("slave1", 1, ModbusBindingProvider.TYPE_INPUT, 0, 100);
+        ModbusSlave slave2 = newSlave("slave2", 1, ModbusBindingProvider.TYPE_INPUT, 100, 25);
+        ModbusSlave slave3 = newSlave("slave3", 1, ModbusBindingProvider.TYPE_INPUT, 125, 1);
+        List<ReadBlock> blocks = ModbusReadPlanner.plan(Arrays.asList(slave1, slave2, slave3), 0);
+        assertThat(blocks.size(), is(equalTo(2)));
+        assertBlock(blocks.get(0), 0, ModbusReadPlanner.MAX_REGISTERS_PER_READ, slave1, slave2);
+        assertBlock(blocks.get(1), 125, 1, slave3);
+    }
+}
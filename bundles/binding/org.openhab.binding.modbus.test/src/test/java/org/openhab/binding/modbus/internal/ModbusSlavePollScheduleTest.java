@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Testing the scheduling and statistics of slave specific poll periods
+ *
+ */
+public class ModbusSlavePollScheduleTest {
+
+    private static final long BINDING_POLL_INTERVAL = 200;
+
+    private ModbusSlave slave;
+
+    @Before
+    public void setUp() {
+        slave = new ModbusTcpSlave("slave1", null);
+    }
+
+    @Test
+    public void testWithoutPollIntervalSlaveIsAlwaysDue() {
+        assertTrue(slave.isPollDue(1000));
+        slave.pollCompleted(1000, 1010, BINDING_POLL_INTERVAL);
+        assertTrue(slave.isPollDue(1010));
+        assertThat(slave.getPollCount(), is(equalTo(1L)));
+        assertThat(slave.getLastPollDuration(), is(equalTo(10L)));
+        assertThat(slave.getMissedDeadlines(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testWithoutPollIntervalBindingPollIntervalIsTheDeadline() {
+        slave.pollCompleted(1000, 1000 + BINDING_POLL_INTERVAL + 1, BINDING_POLL_INTERVAL);
+        assertThat(slave.getMissedDeadlines(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void testPollInterval() {
+        slave.setPollInterval(1000);
+        assertTrue(slave.isPollDue(1000));
+        slave.pollCompleted(1000, 1050, BINDING_POLL_INTERVAL);
+        assertFalse(slave.isPollDue(1200));
+        assertFalse(slave.isPollDue(1999));
+        assertTrue(slave.isPollDue(2000));
+
+        // started late due to the poll rounds of the binding, the schedule does not drift
+        slave.pollCompleted(2100, 2150, BINDING_POLL_INTERVAL);
+        assertFalse(slave.isPollDue(2999));
+        assertTrue(slave.isPollDue(3000));
+
+        assertThat(slave.getPollCount(), is(equalTo(2L)));
+        assertThat(slave.getAveragePollDuration(), is(equalTo(50L)));
+        assertThat(slave.getMissedDeadlines(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testMissedDeadline() {
+        slave.setPollInterval(1000);
+        slave.pollCompleted(1000, 2500, BINDING_POLL_INTERVAL);
+        assertThat(slave.getMissedDeadlines(), is(equalTo(1L)));
+        // missed polls are not caught up, the next poll is due right away
+        assertTrue(slave.isPollDue(2500));
+        slave.pollCompleted(2500, 2510, BINDING_POLL_INTERVAL);
+        assertFalse(slave.isPollDue(3499));
+        assertTrue(slave.isPollDue(3500));
+        assertThat(slave.getMissedDeadlines(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void testStatisticsBeforeFirstPoll() {
+        assertThat(slave.getPollCount(), is(equalTo(0L)));
+        assertThat(slave.getLastPollDuration(), is(equalTo(-1L)));
+        assertThat(slave.getAveragePollDuration(), is(equalTo(-1L)));
+    }
+}
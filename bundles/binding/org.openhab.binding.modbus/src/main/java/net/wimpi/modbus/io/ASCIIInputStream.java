@@ -59,18 +59,16 @@ public class ASCIIInputStream extends FilterInputStream {
      */
     @Override
     public int read() throws IOException {
-        StringBuffer sbuf = new StringBuffer(2);
         int ch = in.read(); // !@todo that thing blocks until something was received
         if (ch == -1) {
             return -1;
         }
         // System.out.println("Read "+ch+ "="+(char)ch);
-        sbuf.append((char) ch);
-        if (sbuf.charAt(0) == ':') {
+        if (ch == ':') {
             // System.out.println("FRAME START");
             return ModbusASCIITransport.FRAME_START;
         } else {
-            if (sbuf.charAt(0) == '\r') {
+            if (ch == '\r') {
                 if (in.read() == 10) {
                     // System.out.println("FRAME END");
                     return ModbusASCIITransport.FRAME_END;
@@ -79,16 +77,19 @@ public class ASCIIInputStream extends FilterInputStream {
                     throw new IOException("Malformed Stream No Frame Delims");
                 }
             } else {
-                try {
-                    sbuf.append((char) in.read());
-                    logger.trace("Read byte: {}", sbuf.toString().toLowerCase());
-                    return Integer.parseInt(sbuf.toString().toLowerCase(), 16);
-                } catch (NumberFormatException ex) {
+                // decode the two hexadecimal digits without intermediate strings
+                int ch2 = in.read();
+                int hi = Character.digit(ch, 16);
+                int lo = ch2 == -1 ? -1 : Character.digit(ch2, 16);
+                if (hi == -1 || lo == -1) {
                     // malformed stream
                     final String errMsg = "Malformed Stream - Wrong Characters";
-                    logger.debug("{}: {}", errMsg, sbuf.toString());
+                    logger.debug("{}: {}{}", errMsg, (char) ch, ch2 == -1 ? "" : String.valueOf((char) ch2));
                     throw new IOException(errMsg);
                 }
+                int b = (hi << 4) | lo;
+                logger.trace("Read byte: {}", b);
+                return b;
             }
         }
     }// read
@@ -20,8 +20,6 @@ import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 
-import net.wimpi.modbus.util.ModbusUtil;
-
 /**
  * Class implementing a specialized <tt>OutputStream</tt> which
  * encodes bytes written to the stream into two hexadecimal
@@ -38,6 +36,9 @@ import net.wimpi.modbus.util.ModbusUtil;
  */
 public class ASCIIOutputStream extends FilterOutputStream {
 
+    private static final byte[] HEX_DIGITS = { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D',
+            'E', 'F' };
+
     /**
      * Constructs a new <tt>ASCIIOutputStream</tt> instance
      * writing to the given <tt>OutputStream</tt>.
@@ -67,8 +68,9 @@ public class ASCIIOutputStream extends FilterOutputStream {
             // System.out.println("Wrote FRAME_END");
             return;
         } else {
-            out.write(ModbusUtil.toHex(b));
-            // System.out.println("Wrote byte "+b+"="+new String(ModbusUtil.toHex(b)));
+            // same as ModbusUtil.toHex(b), without allocating
+            out.write(HEX_DIGITS[(b >> 4) & 0x0f]);
+            out.write(HEX_DIGITS[b & 0x0f]);
         }
     }// write
 
@@ -80,7 +80,9 @@ public class ModbusASCIITransport extends ModbusSerialTransport {
                 // write message
                 m_OutputStream.write(FRAME_START); // FRAMESTART
                 m_OutputStream.write(buf, 0, len); // PDU
-                logger.debug("Writing: {}", ModbusUtil.toHex(buf, 0, len));
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Writing: {}", ModbusUtil.toHex(buf, 0, len));
+                }
                 m_OutputStream.write(ModbusUtil.calculateLRC(buf, 0, len)); // LRC
                 m_OutputStream.write(FRAME_END); // FRAMEEND
                 m_OutputStream.flush();
@@ -177,7 +179,9 @@ public class ModbusASCIITransport extends ModbusSerialTransport {
                         m_ByteInOut.writeByte(in);
                     }
                     int len = m_ByteInOut.size();
-                    logger.debug("Received: {}", ModbusUtil.toHex(m_InBuffer, 0, len));
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Received: {}", ModbusUtil.toHex(m_InBuffer, 0, len));
+                    }
                     // check LRC
                     if ((m_InBuffer[len - 1] & 0xff) != ModbusUtil.calculateLRC(m_InBuffer, 0, len - 1)) {
                         logger.debug("LRC is wrong: received={} calculated={}", (m_InBuffer[len - 1] & 0xff),
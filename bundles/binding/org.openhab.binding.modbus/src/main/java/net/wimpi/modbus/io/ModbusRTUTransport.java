@@ -51,7 +51,9 @@ public class ModbusRTUTransport extends ModbusSerialTransport {
     private BytesInputStream m_ByteIn; // to read message from
     private BytesOutputStream m_ByteInOut; // to buffer message to
     private BytesOutputStream m_ByteOut; // write frames
-    private byte[] lastRequest = null;
+    private byte[] m_ReadBuffer = new byte[256]; // function specific bytes and cleared input
+    private byte[] m_LastRequest = new byte[Modbus.MAX_MESSAGE_LENGTH];
+    private int m_LastRequestLength = 0;
 
     @Override
     public void writeMessage(ModbusMessage msg) throws ModbusIOException {
@@ -74,14 +76,16 @@ public class ModbusRTUTransport extends ModbusSerialTransport {
                 byte buf[] = m_ByteOut.getBuffer();
                 m_OutputStream.write(buf, 0, len); // PDU + CRC
                 m_OutputStream.flush();
-                logger.debug("Sent: {}", ModbusUtil.toHex(buf, 0, len));
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Sent: {}", ModbusUtil.toHex(buf, 0, len));
+                }
                 // clears out the echoed message
                 // for RS485
                 if (m_Echo) {
                     readEcho(len);
                 }
-                lastRequest = new byte[len];
-                System.arraycopy(buf, 0, lastRequest, 0, len);
+                m_LastRequestLength = Math.min(len, m_LastRequest.length);
+                System.arraycopy(buf, 0, m_LastRequest, 0, m_LastRequestLength);
             }
 
         } catch (Exception ex) {
@@ -102,11 +106,16 @@ public class ModbusRTUTransport extends ModbusSerialTransport {
      * @throws IOException
      */
     public void clearInput() throws IOException {
-        if (m_InputStream.available() > 0) {
-            int len = m_InputStream.available();
-            byte buf[] = new byte[len];
-            m_InputStream.read(buf, 0, len);
-            logger.debug("Clear input: {}", ModbusUtil.toHex(buf, 0, len));
+        int remaining = m_InputStream.available();
+        while (remaining > 0) {
+            int len = m_InputStream.read(m_ReadBuffer, 0, Math.min(remaining, m_ReadBuffer.length));
+            if (len <= 0) {
+                break;
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("Clear input: {}", ModbusUtil.toHex(m_ReadBuffer, 0, len));
+            }
+            remaining -= len;
         }
     }// cleanInput
 
@@ -142,7 +151,9 @@ public class ModbusRTUTransport extends ModbusSerialTransport {
                         // timeout and to message specific parsing to read a response.
                         getResponse(fc, m_ByteInOut);
                         dlength = m_ByteInOut.size() - 2; // less the crc
-                        logger.debug("Response: {}", ModbusUtil.toHex(m_ByteInOut.getBuffer(), 0, dlength + 2));
+                        if (logger.isDebugEnabled()) {
+                            logger.debug("Response: {}", ModbusUtil.toHex(m_ByteInOut.getBuffer(), 0, dlength + 2));
+                        }
 
                         m_ByteIn.reset(m_InBuffer, dlength);
 
@@ -168,7 +179,7 @@ public class ModbusRTUTransport extends ModbusSerialTransport {
             return response;
         } catch (Exception ex) {
             final String errMsg = "failed to read";
-            logger.error("Last request: {}", ModbusUtil.toHex(lastRequest));
+            logger.error("Last request: {}", ModbusUtil.toHex(m_LastRequest, 0, m_LastRequestLength));
             logger.error("{}: {}", errMsg, ex.getMessage());
             throw new ModbusIOException("I/O exception - " + errMsg);
         } finally {
@@ -205,7 +216,7 @@ public class ModbusRTUTransport extends ModbusSerialTransport {
     private void getResponse(int fn, BytesOutputStream out) throws IOException {
         int bc = -1, bc2 = -1, bcw = -1;
         int inpBytes = 0;
-        byte inpBuf[] = new byte[256];
+        byte inpBuf[] = m_ReadBuffer;
 
         try {
             switch (fn) {
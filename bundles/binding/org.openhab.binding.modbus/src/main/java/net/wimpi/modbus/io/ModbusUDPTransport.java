@@ -39,6 +39,7 @@ public class ModbusUDPTransport implements ModbusTransport {
     private UDPTerminal m_Terminal;
     private BytesOutputStream m_ByteOut;
     private BytesInputStream m_ByteIn;
+    private byte[] m_InBuffer; // responses are received to the same buffer with every message
 
     /**
      * Constructs a new <tt>ModbusTransport</tt> instance,
@@ -51,6 +52,7 @@ public class ModbusUDPTransport implements ModbusTransport {
         m_Terminal = terminal;
         m_ByteOut = new BytesOutputStream(Modbus.MAX_MESSAGE_LENGTH);
         m_ByteIn = new BytesInputStream(Modbus.MAX_MESSAGE_LENGTH);
+        m_InBuffer = new byte[Modbus.MAX_MESSAGE_LENGTH];
     }// constructor
 
     @Override
@@ -64,7 +66,8 @@ public class ModbusUDPTransport implements ModbusTransport {
             synchronized (m_ByteOut) {
                 m_ByteOut.reset();
                 msg.writeTo(m_ByteOut);
-                m_Terminal.sendMessage(m_ByteOut.toByteArray());
+                // send directly from the buffer, the terminal must not keep a reference to it
+                m_Terminal.sendMessage(m_ByteOut.getBuffer(), m_ByteOut.size());
             }
         } catch (Exception ex) {
             throw new ModbusIOException("I/O exception - failed to write.");
@@ -95,7 +98,7 @@ public class ModbusUDPTransport implements ModbusTransport {
         try {
             ModbusResponse res = null;
             synchronized (m_ByteIn) {
-                m_ByteIn.reset(m_Terminal.receiveMessage());
+                m_ByteIn.reset(m_InBuffer, m_Terminal.receiveMessage(m_InBuffer));
                 m_ByteIn.skip(7);
                 int functionCode = m_ByteIn.readUnsignedByte();
                 m_ByteIn.reset();
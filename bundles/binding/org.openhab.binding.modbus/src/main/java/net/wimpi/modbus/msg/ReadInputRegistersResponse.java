@@ -21,9 +21,8 @@ import java.io.DataOutput;
 import java.io.IOException;
 
 import net.wimpi.modbus.Modbus;
-import net.wimpi.modbus.ModbusCoupler;
+import net.wimpi.modbus.procimg.ByteArrayRegister;
 import net.wimpi.modbus.procimg.InputRegister;
-import net.wimpi.modbus.procimg.ProcessImageFactory;
 
 /**
  * Class implementing a <tt>ReadInputRegistersRequest</tt>.
@@ -163,12 +162,10 @@ public final class ReadInputRegistersResponse extends ModbusResponse {
     public void readData(DataInput din) throws IOException {
         setByteCount(din.readUnsignedByte());
 
-        InputRegister[] registers = new InputRegister[getWordCount()];
-        ProcessImageFactory pimf = ModbusCoupler.getReference().getProcessImageFactory();
-        for (int k = 0; k < getWordCount(); k++) {
-            registers[k] = pimf.createInputRegister(din.readByte(), din.readByte());
-        }
-        m_Registers = registers;
+        // registers are views to a single array holding the data of all the registers
+        byte[] data = new byte[getWordCount() * 2];
+        din.readFully(data);
+        m_Registers = ByteArrayRegister.createRegisters(data);
         // update data length
         setDataLength(getByteCount() + 1);
     }// readData
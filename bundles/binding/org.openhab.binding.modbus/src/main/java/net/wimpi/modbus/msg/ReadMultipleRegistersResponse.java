@@ -21,8 +21,7 @@ import java.io.DataOutput;
 import java.io.IOException;
 
 import net.wimpi.modbus.Modbus;
-import net.wimpi.modbus.ModbusCoupler;
-import net.wimpi.modbus.procimg.ProcessImageFactory;
+import net.wimpi.modbus.procimg.ByteArrayRegister;
 import net.wimpi.modbus.procimg.Register;
 
 /**
@@ -161,12 +160,10 @@ public final class ReadMultipleRegistersResponse extends ModbusResponse {
     public void readData(DataInput din) throws IOException {
         setByteCount(din.readUnsignedByte());
 
-        m_Registers = new Register[getWordCount()];
-        ProcessImageFactory pimf = ModbusCoupler.getReference().getProcessImageFactory();
-
-        for (int k = 0; k < getWordCount(); k++) {
-            m_Registers[k] = pimf.createRegister(din.readByte(), din.readByte());
-        }
+        // registers are views to a single array holding the data of all the registers
+        byte[] data = new byte[getWordCount() * 2];
+        din.readFully(data);
+        m_Registers = ByteArrayRegister.createRegisters(data);
 
         // update data length
         setDataLength(getByteCount() + 1);
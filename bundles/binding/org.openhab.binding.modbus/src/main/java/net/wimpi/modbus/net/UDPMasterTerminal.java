@@ -206,6 +206,14 @@ class UDPMasterTerminal implements UDPTerminal {
         }
     }// sendPackage
 
+    @Override
+    public void sendMessage(byte[] buffer, int length) throws Exception {
+        DatagramPacket req = new DatagramPacket(buffer, length, m_RemoteAddress, m_RemotePort);
+        synchronized (m_Socket) {
+            m_Socket.send(req);
+        }
+    }// sendPackage
+
     @Override
     public byte[] receiveMessage() throws Exception {
 
@@ -219,10 +227,14 @@ class UDPMasterTerminal implements UDPTerminal {
         return buffer;
     }// receiveMessage
 
-    public void receiveMessage(byte[] buffer) throws Exception {
+    @Override
+    public int receiveMessage(byte[] buffer) throws Exception {
         DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
-        m_Socket.setSoTimeout(m_Timeout);
-        m_Socket.receive(packet);
+        synchronized (m_Socket) {
+            m_Socket.setSoTimeout(m_Timeout);
+            m_Socket.receive(packet);
+        }
+        return packet.getLength();
     }// receiveMessage
 
 }// class UDPMasterTerminal
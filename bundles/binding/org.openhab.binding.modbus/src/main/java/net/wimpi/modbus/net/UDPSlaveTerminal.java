@@ -245,11 +245,27 @@ public class UDPSlaveTerminal implements UDPTerminal {
         m_SendQueue.put(msg);
     }// sendPackage
 
+    @Override
+    public void sendMessage(byte[] buffer, int length) throws Exception {
+        // the message is queued, thus it cannot share the buffer of the caller
+        byte[] msg = new byte[length];
+        System.arraycopy(buffer, 0, msg, 0, length);
+        m_SendQueue.put(msg);
+    }// sendPackage
+
     @Override
     public byte[] receiveMessage() throws Exception {
         return (byte[]) m_ReceiveQueue.take();
     }// receiveMessage
 
+    @Override
+    public int receiveMessage(byte[] buffer) throws Exception {
+        byte[] msg = (byte[]) m_ReceiveQueue.take();
+        int length = Math.min(msg.length, buffer.length);
+        System.arraycopy(msg, 0, buffer, 0, length);
+        return length;
+    }// receiveMessage
+
     class PacketSender implements Runnable {
 
         private boolean m_Continue;
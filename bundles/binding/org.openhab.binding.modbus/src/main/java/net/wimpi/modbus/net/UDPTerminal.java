@@ -77,6 +77,16 @@ public interface UDPTerminal {
      */
     public void sendMessage(byte[] msg) throws Exception;
 
+    /**
+     * Sends the first <tt>length</tt> bytes of the given buffer as a message.
+     * The buffer may be reused by the caller once this method returns.
+     *
+     * @param buffer the buffer holding the message.
+     * @param length the length of the message.
+     * @throws Exception if sending the message fails.
+     */
+    public void sendMessage(byte[] buffer, int length) throws Exception;
+
     /**
      * Receives and returns a message.
      *
@@ -85,4 +95,13 @@ public interface UDPTerminal {
      */
     public byte[] receiveMessage() throws Exception;
 
+    /**
+     * Receives a message into the given buffer.
+     *
+     * @param buffer the buffer to receive the message to.
+     * @return the length of the message.
+     * @throws Exception if receiving a message fails.
+     */
+    public int receiveMessage(byte[] buffer) throws Exception;
+
 }// interface UDPTerminal
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package net.wimpi.modbus.procimg;
+
+/**
+ * Register that is a view to two bytes of a byte array shared by all the registers of a response. Responses
+ * with many registers thus allocate a single array instead of an array per register.
+ *
+ * @author Sven Schreier
+ * @since 1.11.0
+ */
+public class ByteArrayRegister implements Register {
+
+    private final byte[] m_Data;
+    private final int m_Offset;
+
+    /**
+     * Constructs a new <tt>ByteArrayRegister</tt> instance.
+     *
+     * @param data the array holding the register data, hi byte first
+     * @param offset offset of the hi byte of this register
+     */
+    public ByteArrayRegister(byte[] data, int offset) {
+        if (offset < 0 || offset + 1 >= data.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        m_Data = data;
+        m_Offset = offset;
+    }// constructor
+
+    /**
+     * Creates views to all the registers of the given data.
+     *
+     * @param data register data, two bytes per register
+     * @return the registers
+     */
+    public static Register[] createRegisters(byte[] data) {
+        Register[] registers = new Register[data.length / 2];
+        for (int k = 0; k < registers.length; k++) {
+            registers[k] = new ByteArrayRegister(data, 2 * k);
+        }
+        return registers;
+    }// createRegisters
+
+    @Override
+    public int getValue() {
+        return toUnsignedShort();
+    }// getValue
+
+    @Override
+    public int toUnsignedShort() {
+        return ((m_Data[m_Offset] & 0xff) << 8 | (m_Data[m_Offset + 1] & 0xff));
+    }// toUnsignedShort
+
+    @Override
+    public short toShort() {
+        return (short) ((m_Data[m_Offset] << 8) | (m_Data[m_Offset + 1] & 0xff));
+    }// toShort
+
+    /**
+     * Returns a copy of the register bytes, as the underlying array is shared with other registers.
+     */
+    @Override
+    public byte[] toBytes() {
+        return new byte[] { m_Data[m_Offset], m_Data[m_Offset + 1] };
+    }// toBytes
+
+    @Override
+    public void setValue(int v) {
+        setValue((short) v);
+    }// setValue
+
+    @Override
+    public void setValue(short s) {
+        synchronized (m_Data) {
+            m_Data[m_Offset] = (byte) (0xff & (s >> 8));
+            m_Data[m_Offset + 1] = (byte) (0xff & s);
+        }
+    }// setValue
+
+    @Override
+    public void setValue(byte[] bytes) {
+        if (bytes.length < 2) {
+            throw new IllegalArgumentException();
+        }
+        synchronized (m_Data) {
+            m_Data[m_Offset] = bytes[0];
+            m_Data[m_Offset + 1] = bytes[1];
+        }
+    }// setValue
+
+    @Override
+    public String toString() {
+        return Integer.toString(toUnsignedShort());
+    }// toString
+
+}// class ByteArrayRegister
@@ -9,14 +9,13 @@
 package org.openhab.binding.modbus.internal;
 
 import java.math.BigDecimal;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Dictionary;
 import java.util.Enumeration;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +23,11 @@ import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -36,6 +40,7 @@ import org.apache.commons.pool2.SwallowedExceptionListener;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
 import org.openhab.binding.modbus.ModbusBindingProvider;
+import org.openhab.binding.modbus.internal.ModbusReadPlanner.ReadBlock;
 import org.openhab.binding.modbus.internal.pooling.EndpointPoolConfiguration;
 import org.openhab.binding.modbus.internal.pooling.ModbusSlaveConnectionFactoryImpl;
 import org.openhab.binding.modbus.internal.pooling.ModbusSlaveEndpoint;
@@ -67,6 +72,8 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>
 
     private static final long DEFAULT_POLL_INTERVAL = 200;
 
+    private static final int DEFAULT_COALESCE_GAP = -1;
+
     /**
      * Time to wait between connection passive+borrow, i.e. time to wait between
      * transactions
@@ -89,7 +96,7 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>
     private static final String TCP_PREFIX = "tcp";
     private static final String SERIAL_PREFIX = "serial";
 
-    private static final String VALID_CONFIG_KEYS = "connection|id|start|length|type|valuetype|rawdatamultiplier|writemultipleregisters|updateunchangeditems|postundefinedonreaderror";
+    private static final String VALID_CONFIG_KEYS = "connection|id|start|length|type|valuetype|rawdatamultiplier|writemultipleregisters|updateunchangeditems|postundefinedonreaderror|poll";
     private static final Pattern EXTRACT_MODBUS_CONFIG_PATTERN = Pattern.compile(
             "^(" + TCP_PREFIX + "|" + UDP_PREFIX + "|" + SERIAL_PREFIX + "|)\\.(.*?)\\.(" + VALID_CONFIG_KEYS + ")$");
 
@@ -154,9 +161,42 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>
         return connectionPool;
     }
 
+    /**
+     * Read connection of an item to a slave
+     */
+    private static final class ReadBinding {
+        private final String itemName;
+        private final ModbusBindingConfig config;
+        private final ItemIOConnection connection;
+
+        private ReadBinding(String itemName, ModbusBindingConfig config, ItemIOConnection connection) {
+            this.itemName = itemName;
+            this.config = config;
+            this.connection = connection;
+        }
+    }
+
+    /**
+     * Read connections of the items by slave name. Built on demand from the binding providers, and discarded when the
+     * item bindings change. This way polling a slave touches only the items bound to it.
+     */
+    private volatile Map<String, List<ReadBinding>> readBindingsBySlave;
+
     /** slaves update interval in milliseconds */
     public static long pollInterval = DEFAULT_POLL_INTERVAL;
 
+    /**
+     * Maximum number of unused coils/discrete inputs/registers between the ranges of two slaves that are read with
+     * a single request. Negative value disables combining the requests of different slaves.
+     */
+    private int coalesceGap = DEFAULT_COALESCE_GAP;
+
+    /**
+     * Polls the endpoints in parallel. Threads are created on demand, i.e. there are at most as many threads as
+     * there are endpoints with slaves due at the same time.
+     */
+    private ExecutorService pollExecutor;
+
     @Override
     public void activate() {
     }
@@ -164,6 +204,24 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>
     @Override
     public void deactivate() {
         clearAndClose();
+        synchronized (this) {
+            if (pollExecutor != null) {
+                pollExecutor.shutdown();
+                pollExecutor = null;
+            }
+        }
+    }
+
+    private synchronized ExecutorService getPollExecutor() {
+        if (pollExecutor == null) {
+            final AtomicInteger threadNumber = new AtomicInteger();
+            pollExecutor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "Modbus Poller-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return pollExecutor;
     }
 
     @Override
@@ -176,6 +234,55 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>
         return "Modbus Polling Service";
     }
 
+    @Override
+    public void bindingChanged(BindingProvider provider, String itemName) {
+        super.bindingChanged(provider, itemName);
+        invalidateReadBindings();
+    }
+
+    @Override
+    public void allBindingsChanged(BindingProvider provider) {
+        super.allBindingsChanged(provider);
+        invalidateReadBindings();
+    }
+
+    private synchronized void invalidateReadBindings() {
+        readBindingsBySlave = null;
+    }
+
+    /**
+     * Returns the read connections of all items bound to the given slave
+     */
+    private List<ReadBinding> getReadBindings(String slaveName) {
+        Map<String, List<ReadBinding>> index = readBindingsBySlave;
+        if (index == null) {
+            index = indexReadBindings();
+        }
+        List<ReadBinding> readBindings = index.get(slaveName);
+        return readBindings == null ? Collections.<ReadBinding> emptyList() : readBindings;
+    }
+
+    private synchronized Map<String, List<ReadBinding>> indexReadBindings() {
+        if (readBindingsBySlave == null) {
+            Map<String, List<ReadBinding>> index = new HashMap<>();
+            for (ModbusBindingProvider provider : providers) {
+                for (String itemName : provider.getItemNames()) {
+                    ModbusBindingConfig config = provider.getConfig(itemName);
+                    if (config == null) {
+                        continue;
+                    }
+                    for (ItemIOConnection connection : config.getReadConnections()) {
+                        index.computeIfAbsent(connection.getSlaveName(), slave -> new ArrayList<>())
+                                .add(new ReadBinding(itemName, config, connection));
+                    }
+                }
+            }
+            logger.debug("Indexed read connections of {} slaves", index.size());
+            readBindingsBySlave = index;
+        }
+        return readBindingsBySlave;
+    }
+
     /**
      * Parses configuration creating Modbus slave instances defined in cfg file
      * {@inheritDoc}
@@ -219,92 +326,82 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>
     }
 
     /**
-     * Posts update event to OpenHAB bus for "holding" and "input register" type slaves
+     * Posts update events to OpenHAB bus for the items bound to "holding" and "input register" type slaves
      *
-     * @param binding ModbusBinding to get item configuration from BindingProviding
+     * @param slaveName name of the polled slave
      * @param registers data received from slave device in the last pollInterval
-     * @param itemName item to update
      */
-    protected void internalUpdateItem(String slaveName, InputRegister[] registers, String itemName) {
-        for (ModbusBindingProvider provider : providers) {
-            if (!provider.providesBindingFor(itemName)) {
-                continue;
+    protected void internalUpdateItems(String slaveName, InputRegister[] registers) {
+        ModbusSlave slave = modbusSlaves.get(slaveName);
+        if (slave == null) {
+            return;
+        }
+        String slaveValueType = slave.getValueType();
+        double rawDataMultiplier = slave.getRawDataMultiplier();
+        for (ReadBinding readBinding : getReadBindings(slaveName)) {
+            String itemName = readBinding.itemName;
+            ModbusBindingConfig config = readBinding.config;
+            ItemIOConnection connection = readBinding.connection;
+            String valueType = connection.getEffectiveValueType(slaveValueType);
+
+            /* receive data manipulation */
+            State newState = extractStateFromRegisters(registers, connection.getIndex(), valueType);
+            // Convert newState (DecimalType) to on/off kind of state if we have "boolean item" (Switch, Contact
+            // etc). In other cases (such as Number items) newStateBoolean will be UNDEF
+            State newStateBoolean = config.translateBoolean2State(connection.getPreviouslyPolledState(),
+                    !newState.equals(DecimalType.ZERO));
+            // If we have boolean item (newStateBoolean is not UNDEF)
+            if (!UnDefType.UNDEF.equals(newStateBoolean)) {
+                newState = newStateBoolean;
+            } else if ((rawDataMultiplier != 1) && (config.getItemClass().isAssignableFrom(NumberItem.class))) {
+                double tmpValue = ((DecimalType) newState).doubleValue() * rawDataMultiplier;
+                newState = new DecimalType(String.valueOf(tmpValue));
             }
-            ModbusBindingConfig config = provider.getConfig(itemName);
-            List<ItemIOConnection> connections = config.getReadConnectionsBySlaveName(slaveName);
-            for (ItemIOConnection connection : connections) {
-                ModbusSlave slave = modbusSlaves.get(slaveName);
-                String slaveValueType = slave.getValueType();
-                double rawDataMultiplier = slave.getRawDataMultiplier();
-
-                String valueType = connection.getEffectiveValueType(slaveValueType);
-
-                /* receive data manipulation */
-                State newState = extractStateFromRegisters(registers, connection.getIndex(), valueType);
-                // Convert newState (DecimalType) to on/off kind of state if we have "boolean item" (Switch, Contact
-                // etc). In other cases (such as Number items) newStateBoolean will be UNDEF
-                State newStateBoolean = provider.getConfig(itemName).translateBoolean2State(
-                        connection.getPreviouslyPolledState(), !newState.equals(DecimalType.ZERO));
-                // If we have boolean item (newStateBoolean is not UNDEF)
-                if (!UnDefType.UNDEF.equals(newStateBoolean)) {
-                    newState = newStateBoolean;
-                } else if ((rawDataMultiplier != 1) && (config.getItemClass().isAssignableFrom(NumberItem.class))) {
-                    double tmpValue = ((DecimalType) newState).doubleValue() * rawDataMultiplier;
-                    newState = new DecimalType(String.valueOf(tmpValue));
-                }
-                boolean stateChanged = !newState.equals(connection.getPreviouslyPolledState());
-                if (connection.supportsState(newState, stateChanged, slave.isUpdateUnchangedItems())) {
-                    logger.trace(
-                            "internalUpdateItem(Register): Updating slave {} item {}, state {} (changed={}) matched ItemIOConnection {}.",
-                            slaveName, itemName, newState, stateChanged, connection);
-                    Transformation transformation = connection.getTransformation();
-                    State transformedState = transformation == null ? newState
-                            : transformation.transformState(config.getItemAcceptedDataTypes(), newState);
-                    eventPublisher.postUpdate(itemName, transformedState);
-                    connection.setPreviouslyPolledState(newState);
-                } else {
-                    logger.trace(
-                            "internalUpdateItem(Register): Not updating slave {} item {} since state {} (changed={}) not supported by ItemIOConnection {}.",
-                            slaveName, itemName, newState, stateChanged, connection);
-                }
+            boolean stateChanged = !newState.equals(connection.getPreviouslyPolledState());
+            if (connection.supportsState(newState, stateChanged, slave.isUpdateUnchangedItems())) {
+                logger.trace(
+                        "internalUpdateItem(Register): Updating slave {} item {}, state {} (changed={}) matched ItemIOConnection {}.",
+                        slaveName, itemName, newState, stateChanged, connection);
+                Transformation transformation = connection.getTransformation();
+                State transformedState = transformation == null ? newState
+                        : transformation.transformState(config.getItemAcceptedDataTypes(), newState);
+                eventPublisher.postUpdate(itemName, transformedState);
+                connection.setPreviouslyPolledState(newState);
+            } else {
+                logger.trace(
+                        "internalUpdateItem(Register): Not updating slave {} item {} since state {} (changed={}) not supported by ItemIOConnection {}.",
+                        slaveName, itemName, newState, stateChanged, connection);
             }
         }
     }
 
     /**
-     * Posts update event to OpenHAB bus for all types of slaves when there is a read error
+     * Posts update events to OpenHAB bus for the items bound to a slave when there is a read error
      *
-     * @param binding ModbusBinding to get item configuration from BindingProviding
+     * @param slaveName name of the polled slave
      * @param error
-     * @param itemName item to update
      */
-    protected void internalUpdateReadErrorItem(String slaveName, Exception error, String itemName) {
+    protected void internalUpdateReadErrorItems(String slaveName, Exception error) {
         ModbusSlave slave = modbusSlaves.get(slaveName);
-        if (!slave.isPostUndefinedOnReadError()) {
+        if (slave == null || !slave.isPostUndefinedOnReadError()) {
             return;
         }
         State newState = UnDefType.UNDEF;
-        for (ModbusBindingProvider provider : providers) {
-            if (!provider.providesBindingFor(itemName)) {
-                continue;
-            }
-
-            ModbusBindingConfig config = provider.getConfig(itemName);
-            List<ItemIOConnection> connections = config.getReadConnectionsBySlaveName(slaveName);
-            for (ItemIOConnection connection : connections) {
-                boolean stateChanged = !newState.equals(connection.getPreviouslyPolledState());
-                if (connection.supportsState(newState, stateChanged, slave.isUpdateUnchangedItems())) {
-                    logger.trace(
-                            "internalUpdateReadErrorItem: Updating slave {} item {}, state {} (changed={}) matched ItemIOConnection {}.",
-                            slaveName, itemName, newState, stateChanged, connection);
-                    // Note: no transformation with errors, always emit the UNDEFINED
-                    eventPublisher.postUpdate(itemName, newState);
-                    connection.setPreviouslyPolledState(newState);
-                } else {
-                    logger.trace(
-                            "internalUpdateReadErrorItem: Not updating slave {} item {} since state {} (changed={}) not supported by ItemIOConnection {}.",
-                            slaveName, itemName, newState, stateChanged, connection);
-                }
+        for (ReadBinding readBinding : getReadBindings(slaveName)) {
+            String itemName = readBinding.itemName;
+            ItemIOConnection connection = readBinding.connection;
+            boolean stateChanged = !newState.equals(connection.getPreviouslyPolledState());
+            if (connection.supportsState(newState, stateChanged, slave.isUpdateUnchangedItems())) {
+                logger.trace(
+                        "internalUpdateReadErrorItem: Updating slave {} item {}, state {} (changed={}) matched ItemIOConnection {}.",
+                        slaveName, itemName, newState, stateChanged, connection);
+                // Note: no transformation with errors, always emit the UNDEFINED
+                eventPublisher.postUpdate(itemName, newState);
+                connection.setPreviouslyPolledState(newState);
+            } else {
+                logger.trace(
+                        "internalUpdateReadErrorItem: Not updating slave {} item {} since state {} (changed={}) not supported by ItemIOConnection {}.",
+                        slaveName, itemName, newState, stateChanged, connection);
             }
         }
     }
@@ -354,107 +451,91 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>
      *
      */
     private DecimalType extractStateFromRegisters(InputRegister[] registers, int index, String type) {
+        // values are decoded directly from the unsigned register values, which are in most significant bit first order
         if (type.equals(ModbusBindingProvider.VALUE_TYPE_BIT)) {
             return new DecimalType((registers[index / 16].toUnsignedShort() >> (index % 16)) & 1);
         } else if (type.equals(ModbusBindingProvider.VALUE_TYPE_INT8)) {
-            return new DecimalType(registers[index / 2].toBytes()[1 - (index % 2)]);
+            return new DecimalType((byte) (registers[index / 2].toUnsignedShort() >> (8 * (index % 2))));
         } else if (type.equals(ModbusBindingProvider.VALUE_TYPE_UINT8)) {
             return new DecimalType((registers[index / 2].toUnsignedShort() >> (8 * (index % 2))) & 0xff);
         } else if (type.equals(ModbusBindingProvider.VALUE_TYPE_INT16)) {
-            ByteBuffer buff = ByteBuffer.allocate(2);
-            buff.put(registers[index].toBytes());
-            return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getShort(0));
+            return new DecimalType((short) registers[index].toUnsignedShort());
         } else if (type.equals(ModbusBindingProvider.VALUE_TYPE_UINT16)) {
             return new DecimalType(registers[index].toUnsignedShort());
         } else if (type.equals(ModbusBindingProvider.VALUE_TYPE_INT32)) {
-            ByteBuffer buff = ByteBuffer.allocate(4);
-            buff.put(registers[index * 2 + 0].toBytes());
-            buff.put(registers[index * 2 + 1].toBytes());
-            return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0));
+            return new DecimalType(registerPair(registers[index * 2 + 0], registers[index * 2 + 1]));
         } else if (type.equals(ModbusBindingProvider.VALUE_TYPE_UINT32)) {
-            ByteBuffer buff = ByteBuffer.allocate(8);
-            buff.position(4);
-            buff.put(registers[index * 2 + 0].toBytes());
-            buff.put(registers[index * 2 + 1].toBytes());
-            return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
+            return new DecimalType(registerPair(registers[index * 2 + 0], registers[index * 2 + 1]) & 0xffffffffL);
         } else if (type.equals(ModbusBindingProvider.VALUE_TYPE_FLOAT32)) {
-            ByteBuffer buff = ByteBuffer.allocate(4);
-            buff.put(registers[index * 2 + 0].toBytes());
-            buff.put(registers[index * 2 + 1].toBytes());
-            return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0));
+            return new DecimalType(
+                    Float.intBitsToFloat(registerPair(registers[index * 2 + 0], registers[index * 2 + 1])));
         } else if (type.equals(ModbusBindingProvider.VALUE_TYPE_INT32_SWAP)) {
-            ByteBuffer buff = ByteBuffer.allocate(4);
-            buff.put(registers[index * 2 + 1].toBytes());
-            buff.put(registers[index * 2 + 0].toBytes());
-            return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0));
+            return new DecimalType(registerPair(registers[index * 2 + 1], registers[index * 2 + 0]));
         } else if (type.equals(ModbusBindingProvider.VALUE_TYPE_UINT32_SWAP)) {
-            ByteBuffer buff = ByteBuffer.allocate(8);
-            buff.position(4);
-            buff.put(registers[index * 2 + 1].toBytes());
-            buff.put(registers[index * 2 + 0].toBytes());
-            return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
+            return new DecimalType(registerPair(registers[index * 2 + 1], registers[index * 2 + 0]) & 0xffffffffL);
         } else if (type.equals(ModbusBindingProvider.VALUE_TYPE_FLOAT32_SWAP)) {
-            ByteBuffer buff = ByteBuffer.allocate(4);
-            buff.put(registers[index * 2 + 1].toBytes());
-            buff.put(registers[index * 2 + 0].toBytes());
-            return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0));
+            return new DecimalType(
+                    Float.intBitsToFloat(registerPair(registers[index * 2 + 1], registers[index * 2 + 0])));
         } else {
             throw new IllegalArgumentException();
         }
     }
 
     /**
-     * Posts update event to OpenHAB bus for "coil" and "discrete input" type slaves
+     * Combines two registers to 32 bits, the first register containing the most significant 16 bits
+     */
+    private static int registerPair(InputRegister high, InputRegister low) {
+        return (high.toUnsignedShort() << 16) | low.toUnsignedShort();
+    }
+
+    /**
+     * Posts update events to OpenHAB bus for the items bound to "coil" and "discrete input" type slaves
      *
-     * @param binding ModbusBinding to get item configuration from BindingProviding
-     * @param registers data received from slave device in the last pollInterval
-     * @param item item to update
+     * @param slaveName name of the polled slave
+     * @param coils data received from slave device in the last pollInterval
      */
-    protected void internalUpdateItem(String slaveName, BitVector coils, String itemName) {
-        for (ModbusBindingProvider provider : providers) {
-            if (!provider.providesBindingFor(itemName)) {
+    protected void internalUpdateItems(String slaveName, BitVector coils) {
+        ModbusSlave slave = modbusSlaves.get(slaveName);
+        if (slave == null) {
+            return;
+        }
+        for (ReadBinding readBinding : getReadBindings(slaveName)) {
+            String itemName = readBinding.itemName;
+            ModbusBindingConfig config = readBinding.config;
+            ItemIOConnection connection = readBinding.connection;
+
+            if (connection.getIndex() >= slave.getLength()) {
+                logger.warn(
+                        "Item '{}' read index '{}' is out-of-bounds. Slave '{}' has been configured "
+                                + "to read only '{}' bits. Check your configuration!",
+                        itemName, connection.getIndex(), slaveName, slave.getLength());
                 continue;
             }
-            ModbusBindingConfig config = provider.getConfig(itemName);
-            List<ItemIOConnection> connections = config.getReadConnectionsBySlaveName(slaveName);
-            for (ItemIOConnection connection : connections) {
-                ModbusSlave slave = modbusSlaves.get(slaveName);
-
-                if (connection.getIndex() >= slave.getLength()) {
-                    logger.warn(
-                            "Item '{}' read index '{}' is out-of-bounds. Slave '{}' has been configured "
-                                    + "to read only '{}' bits. Check your configuration!",
-                            itemName, connection.getIndex(), slaveName, slave.getLength());
-                    continue;
-                }
-
-                boolean state = coils.getBit(connection.getIndex());
-                State newState = config.translateBoolean2State(connection.getPreviouslyPolledState(), state);
-                // For types not taking in OpenClosedType or OnOffType (e.g. Number items)
-                // We fall back to DecimalType
-                if (newState.equals(UnDefType.UNDEF)) {
-                    newState = state ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
-                }
-
-                boolean stateChanged = !newState.equals(connection.getPreviouslyPolledState());
-
-                if (connection.supportsState(newState, stateChanged, slave.isUpdateUnchangedItems())) {
-                    Transformation transformation = connection.getTransformation();
-                    State transformedState = transformation == null ? newState
-                            : transformation.transformState(config.getItemAcceptedDataTypes(), newState);
-                    logger.trace(
-                            "internalUpdateItem(BitVector): Updating slave {} item {}, state {} (changed={}) matched ItemIOConnection {}.",
-                            slaveName, itemName, newState, stateChanged, connection);
-                    eventPublisher.postUpdate(itemName, transformedState);
-                    connection.setPreviouslyPolledState(newState);
-                } else {
-                    logger.trace(
-                            "internalUpdateItem(BitVector): Not updating slave {} item {} since state {} (changed={}) not supported by ItemIOConnection {}.",
-                            slaveName, itemName, newState, stateChanged, connection);
-                }
 
+            boolean state = coils.getBit(connection.getIndex());
+            State newState = config.translateBoolean2State(connection.getPreviouslyPolledState(), state);
+            // For types not taking in OpenClosedType or OnOffType (e.g. Number items)
+            // We fall back to DecimalType
+            if (newState.equals(UnDefType.UNDEF)) {
+                newState = state ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
             }
 
+            boolean stateChanged = !newState.equals(connection.getPreviouslyPolledState());
+
+            if (connection.supportsState(newState, stateChanged, slave.isUpdateUnchangedItems())) {
+                Transformation transformation = connection.getTransformation();
+                State transformedState = transformation == null ? newState
+                        : transformation.transformState(config.getItemAcceptedDataTypes(), newState);
+                logger.trace(
+                        "internalUpdateItem(BitVector): Updating slave {} item {}, state {} (changed={}) matched ItemIOConnection {}.",
+                        slaveName, itemName, newState, stateChanged, connection);
+                eventPublisher.postUpdate(itemName, transformedState);
+                connection.setPreviouslyPolledState(newState);
+            } else {
+                logger.trace(
+                        "internalUpdateItem(BitVector): Not updating slave {} item {} since state {} (changed={}) not supported by ItemIOConnection {}.",
+                        slaveName, itemName, newState, stateChanged, connection);
+            }
         }
     }
 
@@ -476,16 +557,74 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>
     }
 
     /**
-     * updates all slaves from the modbusSlaves
+     * updates all slaves from the modbusSlaves that are due
+     *
+     * Slaves sharing an endpoint are polled one after another, since only one transaction can be ongoing per
+     * endpoint. Different endpoints are polled in parallel so that a slow or unresponsive endpoint does not delay
+     * the others. Returns once all the slaves have been polled.
      */
     @Override
     protected void execute() {
-        Collection<ModbusSlave> slaves = new HashSet<>();
-        synchronized (slaves) {
-            slaves.addAll(modbusSlaves.values());
+        long started = System.currentTimeMillis();
+        Map<ModbusSlaveEndpoint, List<ModbusSlave>> dueSlavesByEndpoint = new HashMap<>();
+        int dueSlaves = 0;
+        for (ModbusSlave slave : modbusSlaves.values()) {
+            if (slave.isPollDue(started)) {
+                dueSlavesByEndpoint.computeIfAbsent(slave.getEndpoint(), endpoint -> new ArrayList<>()).add(slave);
+                dueSlaves++;
+            }
         }
-        for (ModbusSlave slave : slaves) {
-            slave.update(this);
+        if (dueSlavesByEndpoint.isEmpty()) {
+            return;
+        }
+
+        if (dueSlavesByEndpoint.size() == 1) {
+            // nothing to parallelize, avoid the hand-off to the executor
+            pollSlaves(dueSlavesByEndpoint.values().iterator().next());
+        } else {
+            ExecutorService executor = getPollExecutor();
+            List<Future<?>> polls = new ArrayList<>(dueSlavesByEndpoint.size());
+            for (List<ModbusSlave> slaves : dueSlavesByEndpoint.values()) {
+                polls.add(executor.submit(() -> pollSlaves(slaves)));
+            }
+            for (Future<?> poll : polls) {
+                try {
+                    poll.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException e) {
+                    logger.error("Unexpected error when polling slaves", e.getCause());
+                }
+            }
+        }
+        long duration = System.currentTimeMillis() - started;
+        if (duration > pollInterval) {
+            logger.debug("Polled {} slaves of {} endpoints in {} ms, exceeding the poll period of {} ms", dueSlaves,
+                    dueSlavesByEndpoint.size(), duration, pollInterval);
+        } else {
+            logger.trace("Polled {} slaves of {} endpoints in {} ms", dueSlaves, dueSlavesByEndpoint.size(),
+                    duration);
+        }
+    }
+
+    /**
+     * Polls the given slaves of a single endpoint one after another, recording the poll statistics of each slave
+     */
+    private void pollSlaves(List<ModbusSlave> slaves) {
+        for (ReadBlock block : ModbusReadPlanner.plan(slaves, coalesceGap)) {
+            List<ModbusSlave> blockSlaves = block.getSlaves();
+            long started = System.currentTimeMillis();
+            if (blockSlaves.size() == 1) {
+                blockSlaves.get(0).update(this);
+            } else {
+                logger.trace("Reading {} slaves with a single request {}", blockSlaves.size(), block);
+                ModbusSlave.update(this, blockSlaves, block.getStart(), block.getLength());
+            }
+            long finished = System.currentTimeMillis();
+            for (ModbusSlave slave : blockSlaves) {
+                slave.pollCompleted(started, finished, pollInterval);
+            }
         }
     }
 
@@ -511,6 +650,7 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>
             // remove all known items if configuration changed
             clearAndClose();
             reconstructConnectionPool();
+            coalesceGap = DEFAULT_COALESCE_GAP;
             if (config == null) {
                 logger.debug("Got null config!");
                 return;
@@ -534,6 +674,10 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>
                             if (StringUtils.isNotBlank((String) config.get(key))) {
                                 pollInterval = Integer.valueOf((String) config.get(key));
                             }
+                        } else if ("coalescegap".equals(key)) {
+                            if (StringUtils.isNotBlank((String) config.get(key))) {
+                                coalesceGap = Integer.valueOf((String) config.get(key));
+                            }
                         } else if ("writemultipleregisters".equals(key)) {
                             // XXX: ugly to touch base class but kept here for backwards compat
                             // FIXME: should this be deprecated as introduced as slave specific parameter?
@@ -689,6 +833,8 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>
                         modbusSlave.setUpdateUnchangedItems(Boolean.valueOf(value.toString()));
                     } else if ("postundefinedonreaderror".equals(configKey)) {
                         modbusSlave.setPostUndefinedOnReadError(Boolean.valueOf(value.toString()));
+                    } else if ("poll".equals(configKey)) {
+                        modbusSlave.setPollInterval(Long.valueOf(value));
                     } else {
                         throw new ConfigurationException(configKey,
                                 "the given configKey '" + configKey + "' is unknown");
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openhab.binding.modbus.ModbusBindingProvider;
+
+/**
+ * Plans the read requests of slaves sharing an endpoint.
+ *
+ * Slaves reading the same object type from the same slave id are read with a single request when their ranges
+ * overlap or are at most <tt>maxGap</tt> coils/discrete inputs/registers apart, as long as the request stays within
+ * the limits of the Modbus protocol data unit.
+ *
+ * @author Sven Schreier
+ * @since 1.11.0
+ */
+class ModbusReadPlanner {
+
+    /**
+     * Maximum number of coils or discrete inputs read with a single request (FC 1 and 2)
+     */
+    static final int MAX_BITS_PER_READ = 2000;
+
+    /**
+     * Maximum number of registers read with a single request (FC 3 and 4)
+     */
+    static final int MAX_REGISTERS_PER_READ = 125;
+
+    /**
+     * Consecutive range read with a single request, and the slaves covered by it
+     */
+    static class ReadBlock {
+        private final List<ModbusSlave> slaves = new ArrayList<>();
+        private final int start;
+        private int end;
+
+        private ReadBlock(ModbusSlave slave) {
+            slaves.add(slave);
+            start = slave.getStart();
+            end = slave.getStart() + slave.getLength();
+        }
+
+        public List<ModbusSlave> getSlaves() {
+            return slaves;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getLength() {
+            return end - start;
+        }
+
+        @Override
+        public String toString() {
+            return "ReadBlock [start=" + start + ", length=" + getLength() + ", slaves=" + slaves.size() + "]";
+        }
+    }
+
+    private static final Comparator<ModbusSlave> BY_START = Comparator.comparingInt(ModbusSlave::getStart)
+            .thenComparingInt(ModbusSlave::getLength);
+
+    /**
+     * Groups slaves of a single endpoint to read blocks
+     *
+     * @param slaves slaves sharing the endpoint
+     * @param maxGap maximum number of unused coils/discrete inputs/registers between the ranges of two slaves read
+     *            with a single request. Negative value disables coalescing
+     * @return read blocks, each slave belonging to exactly one block
+     */
+    static List<ReadBlock> plan(List<ModbusSlave> slaves, int maxGap) {
+        List<ReadBlock> blocks = new ArrayList<>();
+        if (maxGap < 0) {
+            for (ModbusSlave slave : slaves) {
+                blocks.add(new ReadBlock(slave));
+            }
+            return blocks;
+        }
+
+        Map<String, List<ModbusSlave>> slavesByFunction = new LinkedHashMap<>();
+        for (ModbusSlave slave : slaves) {
+            slavesByFunction.computeIfAbsent(slave.getId() + ":" + slave.getType(), key -> new ArrayList<>())
+                    .add(slave);
+        }
+        for (List<ModbusSlave> functionSlaves : slavesByFunction.values()) {
+            functionSlaves.sort(BY_START);
+            int maxLength = getMaxReadLength(functionSlaves.get(0).getType());
+            ReadBlock block = null;
+            for (ModbusSlave slave : functionSlaves) {
+                int slaveEnd = slave.getStart() + slave.getLength();
+                if (block != null && slave.getStart() - block.end <= maxGap
+                        && Math.max(block.end, slaveEnd) - block.start <= maxLength) {
+                    block.slaves.add(slave);
+                    block.end = Math.max(block.end, slaveEnd);
+                } else {
+                    block = new ReadBlock(slave);
+                    blocks.add(block);
+                }
+            }
+        }
+        return blocks;
+    }
+
+    private static int getMaxReadLength(String type) {
+        if (ModbusBindingProvider.TYPE_COIL.equals(type) || ModbusBindingProvider.TYPE_DISCRETE.equals(type)) {
+            return MAX_BITS_PER_READ;
+        } else if (ModbusBindingProvider.TYPE_HOLDING.equals(type) || ModbusBindingProvider.TYPE_INPUT.equals(type)) {
+            return MAX_REGISTERS_PER_READ;
+        }
+        // unknown type, never combine
+        return 0;
+    }
+}
@@ -8,8 +8,10 @@
  */
 package org.openhab.binding.modbus.internal;
 
-import java.util.Collection;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.pool2.KeyedObjectPool;
 import org.openhab.binding.modbus.ModbusBindingProvider;
@@ -123,6 +125,25 @@ public abstract class ModbusSlave {
      */
     private boolean postUndefinedOnReadError = false;
 
+    /**
+     * Poll period of this slave in milliseconds. Zero polls the slave on every poll round of the binding. As the
+     * binding polls in rounds of the global poll period, slave specific periods are effectively rounded up to a
+     * multiple of it.
+     *
+     * default is 0
+     */
+    private long pollInterval = 0;
+
+    /**
+     * Time (in epoch milliseconds) the next poll is due. Zero if the slave has not been polled yet.
+     */
+    private volatile long nextPollTime = 0;
+
+    private volatile long lastPollDuration = -1;
+    private final AtomicLong totalPollDuration = new AtomicLong();
+    private final AtomicLong pollCount = new AtomicLong();
+    private final AtomicLong missedDeadlines = new AtomicLong();
+
     /**
      * @param slave slave name from cfg file used for item binding
      * @connectionPool pool to create connections
@@ -391,26 +412,7 @@ public abstract class ModbusSlave {
             Object local = null;
             Exception localReadError = null;
             try {
-                if (ModbusBindingProvider.TYPE_COIL.equals(getType())) {
-                    ModbusRequest request = new ReadCoilsRequest(getStart(), getLength());
-                    if (this instanceof ModbusSerialSlave) {
-                        request.setHeadless();
-                    }
-                    ReadCoilsResponse response = (ReadCoilsResponse) getModbusData(request);
-                    local = response.getCoils();
-                } else if (ModbusBindingProvider.TYPE_DISCRETE.equals(getType())) {
-                    ModbusRequest request = new ReadInputDiscretesRequest(getStart(), getLength());
-                    ReadInputDiscretesResponse response = (ReadInputDiscretesResponse) getModbusData(request);
-                    local = response.getDiscretes();
-                } else if (ModbusBindingProvider.TYPE_HOLDING.equals(getType())) {
-                    ModbusRequest request = new ReadMultipleRegistersRequest(getStart(), getLength());
-                    ReadMultipleRegistersResponse response = (ReadMultipleRegistersResponse) getModbusData(request);
-                    local = response.getRegisters();
-                } else if (ModbusBindingProvider.TYPE_INPUT.equals(getType())) {
-                    ModbusRequest request = new ReadInputRegistersRequest(getStart(), getLength());
-                    ReadInputRegistersResponse response = (ReadInputRegistersResponse) getModbusData(request);
-                    local = response.getRegisters();
-                }
+                local = readData(getStart(), getLength());
             } catch (ModbusException e) {
                 // Logging already done in getModbusData
                 localReadError = e;
@@ -422,19 +424,7 @@ public abstract class ModbusSlave {
                 localReadError = e;
             }
 
-            if (storage == null) {
-                storage = local;
-                readError = localReadError;
-            } else {
-                synchronized (storage) {
-                    storage = local;
-                    readError = localReadError;
-                }
-            }
-            Collection<String> items = binding.getItemNames();
-            for (String item : items) {
-                updateItem(binding, item);
-            }
+            setPolledData(binding, local, localReadError);
         } catch (Exception e) {
             logger.error("ModbusSlave ({}) error getting response from slave", name, e);
         }
@@ -442,26 +432,203 @@ public abstract class ModbusSlave {
     }
 
     /**
-     * Updates OpenHAB item with data read from slave device
-     * works only for type "coil" and "holding"
+     * Reads data of several slaves with a single request, and updates items of each slave with its part of the data.
+     *
+     * The slaves must share the endpoint, slave id and type. The request is made using the first slave.
+     *
+     * @param binding ModbusBindig that stores providers information
+     * @param slaves slaves to update
+     * @param start address of first coil/discrete input/register to read
+     * @param length number of coils/discrete inputs/registers to read, covering the ranges of all the slaves
+     */
+    static void update(ModbusBinding binding, List<ModbusSlave> slaves, int start, int length) {
+        Object local = null;
+        Exception localReadError = null;
+        try {
+            local = slaves.get(0).readData(start, length);
+        } catch (ModbusException e) {
+            // Logging already done in getModbusData
+            localReadError = e;
+        } catch (ModbusConnectionException e) {
+            // Logging already done in getModbusData
+            localReadError = e;
+        } catch (ModbusUnexpectedTransactionIdException e) {
+            // Logging already done in getModbusData
+            localReadError = e;
+        } catch (Exception e) {
+            logger.error("ModbusSlave ({}) error getting response from slave", slaves.get(0).name, e);
+            return;
+        }
+
+        for (ModbusSlave slave : slaves) {
+            try {
+                Object slaveData = localReadError == null
+                        ? slice(local, slave.getStart() - start, slave.getLength()) : null;
+                slave.setPolledData(binding, slaveData, localReadError);
+            } catch (Exception e) {
+                logger.error("ModbusSlave ({}) error processing response from slave", slave.name, e);
+            }
+        }
+    }
+
+    /**
+     * Reads coils/discrete inputs/registers from the device, depending on the type of this slave
+     *
+     * @return BitVector for coils and discrete inputs, InputRegister[] for registers
+     */
+    private Object readData(int start, int length)
+            throws ModbusException, ModbusConnectionException, ModbusUnexpectedTransactionIdException {
+        if (ModbusBindingProvider.TYPE_COIL.equals(getType())) {
+            ModbusRequest request = new ReadCoilsRequest(start, length);
+            if (this instanceof ModbusSerialSlave) {
+                request.setHeadless();
+            }
+            ReadCoilsResponse response = (ReadCoilsResponse) getModbusData(request);
+            return response.getCoils();
+        } else if (ModbusBindingProvider.TYPE_DISCRETE.equals(getType())) {
+            ModbusRequest request = new ReadInputDiscretesRequest(start, length);
+            ReadInputDiscretesResponse response = (ReadInputDiscretesResponse) getModbusData(request);
+            return response.getDiscretes();
+        } else if (ModbusBindingProvider.TYPE_HOLDING.equals(getType())) {
+            ModbusRequest request = new ReadMultipleRegistersRequest(start, length);
+            ReadMultipleRegistersResponse response = (ReadMultipleRegistersResponse) getModbusData(request);
+            return response.getRegisters();
+        } else if (ModbusBindingProvider.TYPE_INPUT.equals(getType())) {
+            ModbusRequest request = new ReadInputRegistersRequest(start, length);
+            ReadInputRegistersResponse response = (ReadInputRegistersResponse) getModbusData(request);
+            return response.getRegisters();
+        }
+        return null;
+    }
+
+    /**
+     * Extracts part of the data read with a single request
+     *
+     * @param data BitVector or InputRegister[]
+     * @param offset index of the first coil/discrete input/register to extract
+     * @param length number of coils/discrete inputs/registers to extract
+     */
+    private static Object slice(Object data, int offset, int length) {
+        if (data instanceof BitVector) {
+            BitVector bits = (BitVector) data;
+            BitVector slice = new BitVector(length);
+            for (int i = 0; i < length && offset + i < bits.size(); i++) {
+                slice.setBit(i, bits.getBit(offset + i));
+            }
+            return slice;
+        } else if (data instanceof InputRegister[]) {
+            return Arrays.copyOfRange((InputRegister[]) data, offset, offset + length);
+        }
+        return data;
+    }
+
+    private void setPolledData(ModbusBinding binding, Object local, Exception localReadError) {
+        if (storage == null) {
+            storage = local;
+            readError = localReadError;
+        } else {
+            synchronized (storage) {
+                storage = local;
+                readError = localReadError;
+            }
+        }
+        updateItems(binding, local, localReadError);
+    }
+
+    /**
+     * Updates the OpenHAB items bound to this slave with data read from slave device
      *
      * @param binding ModbusBinding
-     * @param item item to update
+     * @param data data read from the slave
+     * @param error read error, or null if the read succeeded
      */
-    private void updateItem(ModbusBinding binding, String item) {
-        if (readError == null) {
+    private void updateItems(ModbusBinding binding, Object data, Exception error) {
+        if (error == null) {
             if (ModbusBindingProvider.TYPE_COIL.equals(getType())
                     || ModbusBindingProvider.TYPE_DISCRETE.equals(getType())) {
-                binding.internalUpdateItem(name, (BitVector) storage, item);
+                binding.internalUpdateItems(name, (BitVector) data);
             } else if (ModbusBindingProvider.TYPE_HOLDING.equals(getType())
                     || ModbusBindingProvider.TYPE_INPUT.equals(getType())) {
-                binding.internalUpdateItem(name, (InputRegister[]) storage, item);
+                binding.internalUpdateItems(name, (InputRegister[]) data);
             }
         } else {
-            binding.internalUpdateReadErrorItem(name, readError, item);
+            binding.internalUpdateReadErrorItems(name, error);
+        }
+    }
+
+    /**
+     * Whether this slave should be polled in a poll round starting at the given time
+     *
+     * @param now start time of the poll round, in epoch milliseconds
+     */
+    public boolean isPollDue(long now) {
+        return pollInterval <= 0 || now >= nextPollTime;
+    }
+
+    /**
+     * Records the duration of a completed poll and schedules the next one. A deadline is missed when the poll
+     * finishes after the next poll should have started.
+     *
+     * @param started time the poll started, in epoch milliseconds
+     * @param finished time the poll finished, in epoch milliseconds
+     * @param defaultPollInterval poll period of the binding, used as the deadline of slaves without own poll period
+     */
+    void pollCompleted(long started, long finished, long defaultPollInterval) {
+        long duration = finished - started;
+        lastPollDuration = duration;
+        totalPollDuration.addAndGet(duration);
+        long polls = pollCount.incrementAndGet();
+
+        long scheduled = pollInterval > 0 && nextPollTime > 0 ? nextPollTime : started;
+        long deadline = scheduled + (pollInterval > 0 ? pollInterval : defaultPollInterval);
+        if (finished > deadline) {
+            long missed = missedDeadlines.incrementAndGet();
+            logger.debug("ModbusSlave ({}): poll took {} ms, missing its deadline by {} ms ({} of {} polls missed)",
+                    name, duration, finished - deadline, missed, polls);
+            // do not try to catch up the missed polls
+            deadline = finished;
+        } else {
+            logger.trace("ModbusSlave ({}): poll took {} ms", name, duration);
+        }
+        if (pollInterval > 0) {
+            nextPollTime = deadline;
         }
     }
 
+    public long getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(long pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * @return duration of the latest poll in milliseconds, or -1 if not polled yet
+     */
+    public long getLastPollDuration() {
+        return lastPollDuration;
+    }
+
+    /**
+     * @return average duration of the polls in milliseconds, or -1 if not polled yet
+     */
+    public long getAveragePollDuration() {
+        long polls = pollCount.get();
+        return polls == 0 ? -1 : totalPollDuration.get() / polls;
+    }
+
+    public long getPollCount() {
+        return pollCount.get();
+    }
+
+    /**
+     * @return number of polls that finished after the next poll should have started
+     */
+    public long getMissedDeadlines() {
+        return missedDeadlines.get();
+    }
+
     public boolean isUpdateUnchangedItems() {
         return updateUnchangedItems;
     }
@@ -9,12 +9,14 @@
 package org.openhab.binding.mqtt.internal;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.openhab.binding.mqtt.internal.AbstractMqttMessagePubSub.MessageType;
+import org.openhab.core.events.EventPublisher;
 import org.openhab.core.library.items.ColorItem;
 import org.openhab.core.library.items.DimmerItem;
 import org.openhab.core.library.items.LocationItem;
@@ -41,6 +43,9 @@ public class MqttMessageSubscriberTest {
     @Mock
     private TransformationService transformer;
 
+    @Mock
+    private EventPublisher eventPublisher;
+
     private void validateConfig(String configString, String broker, String topic, MessageType type,
             String transformString) throws BindingConfigParseException {
 
@@ -107,6 +112,7 @@ public class MqttMessageSubscriberTest {
         validateBadConfig("");
         validateBadConfig("  mybroker : /mytopic : command : * : .* : file(/tmp/myfile.txt)");
         validateBadConfig("mybroker:/mytopic:comand:ON:1");
+        validateBadConfig("mybroker:/mytopic:state:default:[unclosed");
     }
 
     @Test
@@ -153,4 +159,34 @@ public class MqttMessageSubscriberTest {
                 .getState(PointType.valueOf("53.3239919,-6.5258807").toString(), locationItem.getAcceptedDataTypes()));
     }
 
+    @Test
+    public void canProcessFilteredMessages() throws Exception {
+
+        SwitchItem switchItem = new SwitchItem("SwitchItem");
+        MqttMessageSubscriber subscriber = new MqttMessageSubscriber("mybroker:/mytopic:state:default:O.*",
+                switchItem);
+        subscriber.setItemName("SwitchItem");
+        subscriber.setEventPublisher(eventPublisher);
+
+        subscriber.processMessage("/mytopic", "ON".getBytes());
+        subscriber.processMessage("/mytopic", "skipped".getBytes());
+
+        verify(eventPublisher).postUpdate("SwitchItem", OnOffType.ON);
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    public void canProcessMessagesWithFixedValue() throws Exception {
+
+        StringItem stringItem = new StringItem("StringItem");
+        MqttMessageSubscriber subscriber = new MqttMessageSubscriber("mybroker:/mytopic:command:${itemName} pressed",
+                stringItem);
+        subscriber.setItemName("StringItem");
+        subscriber.setEventPublisher(eventPublisher);
+
+        subscriber.processMessage("/mytopic", "anything".getBytes());
+
+        verify(eventPublisher).postCommand("StringItem", StringType.valueOf("StringItem pressed"));
+    }
+
 }
@@ -10,13 +10,14 @@ package org.openhab.binding.mqtt.internal;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.core.events.EventPublisher;
 import org.openhab.core.items.Item;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.State;
-import org.openhab.core.types.TypeParser;
 import org.openhab.io.transport.mqtt.MqttMessageConsumer;
 import org.openhab.model.item.binding.BindingConfigParseException;
 import org.slf4j.Logger;
@@ -33,13 +34,23 @@ public class MqttMessageSubscriber extends AbstractMqttMessagePubSub implements
 
     private static Logger logger = LoggerFactory.getLogger(MqttMessageSubscriber.class);
 
+    private static final String ITEM_NAME_PLACEHOLDER = "${itemName}";
+
     private EventPublisher eventPublisher;
 
     private String msgFilter = null;
+    private Pattern msgFilterPattern = null;
 
     private List<Class<? extends State>> acceptedDataTypes = null;
     private List<Class<? extends Command>> acceptedCommandTypes = null;
 
+    // processing steps prepared from the configuration, so that they are not derived for each message
+    private MqttPayloadParser<State> stateParser = null;
+    private MqttPayloadParser<Command> commandParser = null;
+    private String transformationServiceName = null;
+    private String transformationServiceParam = null;
+    private String fixedValue = null;
+
     /**
      * Create new MqttMessageSubscriber from config string.
      * 
@@ -68,6 +79,8 @@ public class MqttMessageSubscriber extends AbstractMqttMessagePubSub implements
             // copy the accepted data types and commands from the specific item we will be updating
             this.acceptedDataTypes = new ArrayList<Class<? extends State>>(item.getAcceptedDataTypes());
             this.acceptedCommandTypes = new ArrayList<Class<? extends Command>>(item.getAcceptedCommandTypes());
+            this.stateParser = MqttPayloadParser.forTypes(acceptedDataTypes);
+            this.commandParser = MqttPayloadParser.forTypes(acceptedCommandTypes);
         }
 
         String[] config = splitConfigurationString(configuration);
@@ -107,7 +120,11 @@ public class MqttMessageSubscriber extends AbstractMqttMessagePubSub implements
                 initTransformService();
             }
             if (config.length > 4) {
-                setMsgFilter(config[4].trim());
+                try {
+                    setMsgFilter(config[4].trim());
+                } catch (PatternSyntaxException e) {
+                    throw new BindingConfigParseException("Invalid message filter: " + e.getDescription());
+                }
             }
 
         } catch (BindingConfigParseException e) {
@@ -122,8 +139,9 @@ public class MqttMessageSubscriber extends AbstractMqttMessagePubSub implements
 
         try {
 
-            if (getTransformationServiceName() != null && getTransformationService() == null) {
-                logger.debug("Received message before transformation service '{}' was initialized.");
+            if (transformationServiceName != null && getTransformationService() == null) {
+                logger.debug("Received message before transformation service '{}' was initialized.",
+                        transformationServiceName);
                 initTransformService();
             }
 
@@ -135,18 +153,20 @@ public class MqttMessageSubscriber extends AbstractMqttMessagePubSub implements
             }
 
             if (getTransformationService() != null) {
-                value = getTransformationService().transform(getTransformationServiceParam(), value);
-            } else if (getTransformationRule() != null && !getTransformationRule().equalsIgnoreCase("default")) {
-                value = getTransformationRule();
+                value = getTransformationService().transform(transformationServiceParam, value);
+                value = StringUtils.replace(value, ITEM_NAME_PLACEHOLDER, getItemName());
+            } else if (fixedValue != null) {
+                value = fixedValue;
+            } else {
+                value = StringUtils.replace(value, ITEM_NAME_PLACEHOLDER, getItemName());
             }
 
-            value = StringUtils.replace(value, "${itemName}", getItemName());
-
             if (getMessageType().equals(MessageType.COMMAND)) {
-                Command command = getCommand(value, this.acceptedCommandTypes);
+                Command command = commandParser != null ? commandParser.parse(value)
+                        : getCommand(value, this.acceptedCommandTypes);
                 eventPublisher.postCommand(getItemName(), command);
             } else {
-                State state = getState(value, this.acceptedDataTypes);
+                State state = stateParser != null ? stateParser.parse(value) : getState(value, this.acceptedDataTypes);
                 eventPublisher.postUpdate(getItemName(), state);
             }
         } catch (Exception e) {
@@ -175,9 +195,38 @@ public class MqttMessageSubscriber extends AbstractMqttMessagePubSub implements
      *            Regular Expression String
      */
     public void setMsgFilter(String filter) {
+        this.msgFilterPattern = filter != null ? Pattern.compile(filter) : null;
         this.msgFilter = filter;
     }
 
+    @Override
+    public void setItemName(String itemName) {
+        super.setItemName(itemName);
+        prepareTransformation();
+    }
+
+    @Override
+    public void setTransformationRule(String transformationRule) {
+        super.setTransformationRule(transformationRule);
+        prepareTransformation();
+    }
+
+    /**
+     * Derives the transformation service and its parameter from the
+     * transformation rule, and the value to use for rules which are neither
+     * a transformation nor 'default'.
+     */
+    private void prepareTransformation() {
+        transformationServiceName = getTransformationServiceName();
+        transformationServiceParam = getTransformationServiceParam();
+        String rule = getTransformationRule();
+        if (rule != null && !rule.equalsIgnoreCase("default")) {
+            fixedValue = StringUtils.replace(rule, ITEM_NAME_PLACEHOLDER, getItemName());
+        } else {
+            fixedValue = null;
+        }
+    }
+
     public String getMsgFilter() {
         return this.msgFilter;
     }
@@ -193,10 +242,10 @@ public class MqttMessageSubscriber extends AbstractMqttMessagePubSub implements
     private boolean msgFilterApplies(String msg) {
         if (msg == null) {
             return false;
-        } else if (msgFilter == null) {
+        } else if (msgFilterPattern == null) {
             return true;
         } else {
-            return msg.matches(msgFilter);
+            return msgFilterPattern.matcher(msg).matches();
         }
     }
 
@@ -211,7 +260,7 @@ public class MqttMessageSubscriber extends AbstractMqttMessagePubSub implements
      */
     protected State getState(String value, List<Class<? extends State>> acceptedDataTypes) {
 
-        return TypeParser.parseState(acceptedDataTypes, value);
+        return MqttPayloadParser.forTypes(acceptedDataTypes).parse(value);
     }
 
     /**
@@ -225,7 +274,7 @@ public class MqttMessageSubscriber extends AbstractMqttMessagePubSub implements
      */
     protected Command getCommand(String value, List<Class<? extends Command>> acceptedCommands) {
 
-        return TypeParser.parseCommand(acceptedCommands, value);
+        return MqttPayloadParser.forTypes(acceptedCommands).parse(value);
     }
 
     @Override
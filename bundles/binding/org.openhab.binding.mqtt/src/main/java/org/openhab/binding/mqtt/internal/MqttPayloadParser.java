@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.mqtt.internal;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.types.Type;
+
+/**
+ * Converts message payloads into the first of a list of accepted types that can represent them, with the same
+ * result as the {@link org.openhab.core.types.TypeParser}. The valueOf methods are looked up once, enum constants
+ * such as ON and OFF are found in a map, and numeric types are skipped for payloads that can't be numbers, so that
+ * common payloads are converted without reflective calls failing with an exception.
+ *
+ * @author Sven Schreier
+ * @since 1.11.0
+ *
+ * @param <T> State or Command
+ */
+class MqttPayloadParser<T extends Type> {
+
+    /** parsers by list of accepted types, the lists of accepted types are shared by the items of a kind */
+    private static final ConcurrentMap<List<?>, MqttPayloadParser<?>> parsers;
+
+    static {
+        parsers = new ConcurrentHashMap<List<?>, MqttPayloadParser<?>>();
+    }
+
+    private final List<TypeConverter<T>> converters;
+
+    /**
+     * Returns the parser for a list of accepted types.
+     *
+     * @param acceptedTypes the accepted types, in the order of preference
+     * @return the parser
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Type> MqttPayloadParser<T> forTypes(List<Class<? extends T>> acceptedTypes) {
+        MqttPayloadParser<T> parser = (MqttPayloadParser<T>) parsers.get(acceptedTypes);
+        if (parser == null) {
+            parser = new MqttPayloadParser<T>(acceptedTypes);
+            MqttPayloadParser<?> existing = parsers.putIfAbsent(new ArrayList<Class<? extends T>>(acceptedTypes),
+                    parser);
+            if (existing != null) {
+                parser = (MqttPayloadParser<T>) existing;
+            }
+        }
+        return parser;
+    }
+
+    private MqttPayloadParser(List<Class<? extends T>> acceptedTypes) {
+        converters = new ArrayList<TypeConverter<T>>(acceptedTypes.size());
+        for (Class<? extends T> type : acceptedTypes) {
+            converters.add(new TypeConverter<T>(type));
+        }
+    }
+
+    /**
+     * Converts a payload into the first accepted type that can represent it.
+     *
+     * @param value the payload
+     * @return the converted value, or null if none of the accepted types can represent it
+     */
+    T parse(String value) {
+        for (TypeConverter<T> converter : converters) {
+            T result = converter.convert(value);
+            if (result != null) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    private static boolean canBeNumber(String value) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+        char c = value.charAt(0);
+        return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.';
+    }
+
+    private static class TypeConverter<T extends Type> {
+        private final Class<? extends T> type;
+        private final Map<String, T> constants;
+        private final boolean numeric;
+        private final Method valueOf;
+
+        TypeConverter(Class<? extends T> type) {
+            this.type = type;
+            if (type.isEnum()) {
+                constants = new HashMap<String, T>();
+                for (T constant : type.getEnumConstants()) {
+                    constants.put(((Enum<?>) constant).name(), constant);
+                }
+            } else {
+                constants = null;
+            }
+            numeric = type == DecimalType.class || type == PercentType.class;
+
+            Method method = null;
+            try {
+                method = type.getMethod("valueOf", String.class);
+            } catch (NoSuchMethodException e) {
+                // the type can't be parsed, as with the TypeParser
+            }
+            valueOf = method;
+        }
+
+        T convert(String value) {
+            if (constants != null) {
+                return constants.get(value);
+            }
+            if (valueOf == null || (numeric && !canBeNumber(value))) {
+                return null;
+            }
+            try {
+                return type.cast(valueOf.invoke(type, value));
+            } catch (IllegalAccessException e) {
+                return null;
+            } catch (IllegalArgumentException e) {
+                return null;
+            } catch (InvocationTargetException e) {
+                return null;
+            } catch (ClassCastException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -15,7 +15,9 @@ import static org.quartz.TriggerBuilder.newTrigger;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
 import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
 import java.nio.channels.DatagramChannel;
 import java.nio.channels.NotYetConnectedException;
 import java.nio.channels.SelectionKey;
@@ -26,9 +28,15 @@ import java.util.Collections;
 import java.util.Dictionary;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.core.binding.AbstractActiveBinding;
+import org.openhab.core.binding.BindingProvider;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.State;
@@ -83,16 +91,28 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
     protected boolean useAddressMask = true;
     // refresh interval for the worker thread
     protected long refreshInterval = 250;
+    // handle network events in a dedicated thread as soon as they occur, instead of polling them every refresh interval
+    protected boolean useSelectorThread = true;
 
     protected DatagramChannel listenerChannel = null;
     protected SelectionKey listenerKey = null;
 
     // Queue to store BufferElements that need to be written to the network
-    protected List<WriteBufferElement> writeQueue = Collections.synchronizedList(new ArrayList<WriteBufferElement>());
+    protected ConcurrentMap<DatagramChannel, Queue<WriteBufferElement>> writeQueues = new ConcurrentHashMap<DatagramChannel, Queue<WriteBufferElement>>();
+
+    // recycled direct buffers to read from the network
+    private final ByteBufferPool readBuffers = new ByteBufferPool(8);
 
     // Simple datastructure to track the state of Channels
     protected ChannelTracker<Channel> channels = new ChannelTracker<Channel>();
 
+    // the thread blocking on the selector, null if the selector is polled by execute()
+    private Thread selectorThread = null;
+    private volatile boolean selectorThreadRunning = false;
+
+    // set when the item bindings or the configuration changed, so that the channels have to be set up again
+    private volatile boolean channelsChanged = true;
+
     /**
      * Datastructure to represent that state of a communications channel
      * 
@@ -110,17 +130,20 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
         // the direction, in our out, of this channel
         public Direction direction;
         // flag to indicate if the channel is in a blocking write/read operation
-        public boolean isBlocking;
+        public volatile boolean isBlocking;
         // placeholder to store the received data as the result of a blocking write/read operation
         public ByteBuffer buffer;
         // flag to indicate if the channel is reconnecting / recovering from a previous communication error
-        public boolean isReconnecting;
+        public volatile boolean isReconnecting;
         // reference to the underlying Java NIO DatagramChannel that represents this UDP/IP connection
-        public DatagramChannel channel;
+        // has to be changed with setChannel(), as the ChannelTracker indexes the Channels by it
+        public volatile DatagramChannel channel;
         // remote host name to use. Could be "*" when using masked addresses
         public String host;
         // remote port number to use. Could be "*" when using masked addresses
         public String port;
+        // position of this Channel in the ChannelTracker, -1 as long as it is not tracked
+        long sequence = -1;
         // the address of the last remote host:ip that this Channel received data from
         public InetSocketAddress lastRemote;
 
@@ -153,6 +176,19 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
             this.port = port;
         }
 
+        /**
+         * Binds this Channel to another Java NIO channel
+         *
+         * @param channel the new channel, or null if the Channel is not bound anymore
+         */
+        public void setChannel(DatagramChannel channel) {
+            DatagramChannel oldChannel = this.channel;
+            channels.update(this, channel);
+            if (oldChannel != channel) {
+                transferWrites(this, oldChannel, channel);
+            }
+        }
+
         @Override
         public String toString() {
             try {
@@ -210,428 +246,368 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
      * contains() - return true if a channel that matches the provided criteria exists in the ChannelTracker
      * replace() - replaces the underlying Java NIO channel on the Channels that match the provided criteria
      * 
+     * The Channels are indexed by Item name, by remote address and by the Java NIO channel they are bound to, so that
+     * a lookup only visits the few Channels of one Item, address or connection. The indexes are copy-on-write, hence
+     * the lookups, which happen for every received buffer and every command, do not take a lock.
+     * 
      * @author Karel Goderis
      * @since 1.4.0
      * 
      **/
-    protected class ChannelTracker<C extends Channel> extends ArrayList<C> {
-
-        private static final long serialVersionUID = 1543958347565096785L;
-
-        public boolean contains(String item, Command command, Direction direction, InetSocketAddress remote) {
+    protected class ChannelTracker<C extends Channel> implements Iterable<Channel> {
+
+        // all Channels, in the order they have been added
+        private final List<Channel> allChannels = new CopyOnWriteArrayList<Channel>();
+        // the Channels by the name of their Item
+        private final ConcurrentMap<String, List<Channel>> itemIndex = new ConcurrentHashMap<String, List<Channel>>();
+        // the Channels by their resolved remote address
+        private final ConcurrentMap<InetSocketAddress, List<Channel>> remoteIndex = new ConcurrentHashMap<InetSocketAddress, List<Channel>>();
+        // the Channels by the Java NIO channel they are currently bound to
+        private final ConcurrentMap<DatagramChannel, List<Channel>> channelIndex = new ConcurrentHashMap<DatagramChannel, List<Channel>>();
+        // the Channels that use a masked host or port
+        private final List<Channel> maskedChannels = new CopyOnWriteArrayList<Channel>();
+        // sequence number of the next Channel that is added
+        private long nextSequence = 0;
+
+        public boolean add(C aChannel) {
             synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (item.equals(aChannel.item) && command.equals(aChannel.command)
-                            && direction.equals(aChannel.direction) && remote.equals(aChannel.remote)) {
-                        return true;
-                    }
+                aChannel.sequence = nextSequence++;
+                allChannels.add(aChannel);
+                addToIndex(itemIndex, aChannel.item, aChannel);
+                addToIndex(remoteIndex, aChannel.remote, aChannel);
+                addToIndex(channelIndex, aChannel.channel, aChannel);
+                if ("*".equals(aChannel.host) || "*".equals(aChannel.port)) {
+                    maskedChannels.add(aChannel);
                 }
-
-                return false;
+                return true;
             }
         }
 
-        public Channel get(String item, Command command, Direction direction, InetSocketAddress remote) {
+        public int size() {
+            return allChannels.size();
+        }
+
+        @Override
+        public Iterator<Channel> iterator() {
+            return allChannels.iterator();
+        }
+
+        /**
+         * Binds a Channel to another Java NIO channel, and moves it within the index accordingly
+         */
+        private void update(Channel aChannel, DatagramChannel channel) {
             synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (item.equals(aChannel.item) && command.equals(aChannel.command)
-                            && direction.equals(aChannel.direction) && remote.equals(aChannel.remote)) {
-                        return aChannel;
-                    }
+                DatagramChannel oldChannel = aChannel.channel;
+                aChannel.channel = channel;
+                if (aChannel.sequence >= 0 && oldChannel != channel) {
+                    removeFromIndex(channelIndex, oldChannel, aChannel);
+                    addToIndex(channelIndex, channel, aChannel);
                 }
+            }
+        }
 
-                return null;
+        private <K> void addToIndex(ConcurrentMap<K, List<Channel>> index, K key, Channel aChannel) {
+            if (key == null) {
+                return;
+            }
+            List<Channel> indexedChannels = index.get(key);
+            if (indexedChannels == null) {
+                indexedChannels = new CopyOnWriteArrayList<Channel>();
+                index.put(key, indexedChannels);
+            }
+            // keep the order in which the Channels have been added, as the getFirst...() methods rely on it
+            int position = indexedChannels.size();
+            while (position > 0 && indexedChannels.get(position - 1).sequence > aChannel.sequence) {
+                position--;
             }
+            indexedChannels.add(position, aChannel);
         }
 
-        public Channel get(String item, Command command, Direction direction, String host, String port) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (item.equals(aChannel.item) && command.equals(aChannel.command)
-                            && direction.equals(aChannel.direction)) {
-                        if (aChannel.host.equals(host) && aChannel.port.equals(port)) {
-                            return aChannel;
-                        }
-                    }
+        private <K> void removeFromIndex(ConcurrentMap<K, List<Channel>> index, K key, Channel aChannel) {
+            if (key == null) {
+                return;
+            }
+            List<Channel> indexedChannels = index.get(key);
+            if (indexedChannels != null) {
+                indexedChannels.remove(aChannel);
+                if (indexedChannels.isEmpty()) {
+                    index.remove(key);
                 }
+            }
+        }
 
-                return null;
+        private List<Channel> byItem(String item) {
+            List<Channel> indexedChannels = item != null ? itemIndex.get(item) : null;
+            return indexedChannels != null ? indexedChannels : Collections.<Channel> emptyList();
+        }
 
-            }
+        private List<Channel> byRemote(InetSocketAddress remote) {
+            List<Channel> indexedChannels = remote != null ? remoteIndex.get(remote) : null;
+            return indexedChannels != null ? indexedChannels : Collections.<Channel> emptyList();
         }
 
-        public Channel get(DatagramChannel theDatagramChannel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theDatagramChannel.equals(aChannel.channel)) {
-                        return aChannel;
-                    }
+        private List<Channel> byChannel(DatagramChannel channel) {
+            List<Channel> indexedChannels = channel != null ? channelIndex.get(channel) : null;
+            return indexedChannels != null ? indexedChannels : Collections.<Channel> emptyList();
+        }
+
+        public boolean contains(String item, Command command, Direction direction, InetSocketAddress remote) {
+            return get(item, command, direction, remote) != null;
+        }
+
+        public Channel get(String item, Command command, Direction direction, InetSocketAddress remote) {
+            for (Channel aChannel : byItem(item)) {
+                if (command.equals(aChannel.command) && direction.equals(aChannel.direction)
+                        && remote.equals(aChannel.remote)) {
+                    return aChannel;
                 }
-                return null;
             }
+
+            return null;
         }
 
-        public Channel getFirst(Direction direction, InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (remoteAddress.equals(aChannel.remote) && aChannel.channel == null
-                            && direction.equals(aChannel.direction)) {
+        public Channel get(String item, Command command, Direction direction, String host, String port) {
+            for (Channel aChannel : byItem(item)) {
+                if (command.equals(aChannel.command) && direction.equals(aChannel.direction)) {
+                    if (aChannel.host.equals(host) && aChannel.port.equals(port)) {
                         return aChannel;
                     }
                 }
+            }
 
-                Iterator<C> it2 = iterator();
-                while (it2.hasNext()) {
-                    C aChannel = it2.next();
-                    if (remoteAddress.equals(aChannel.remote)) {
-                        return aChannel;
-                    }
+            return null;
+        }
+
+        public Channel get(DatagramChannel theDatagramChannel) {
+            for (Channel aChannel : byChannel(theDatagramChannel)) {
+                return aChannel;
+            }
+
+            return null;
+        }
+
+        public Channel getFirst(Direction direction, InetSocketAddress remoteAddress) {
+            List<Channel> remoteChannels = byRemote(remoteAddress);
+            for (Channel aChannel : remoteChannels) {
+                if (aChannel.channel == null && direction.equals(aChannel.direction)) {
+                    return aChannel;
                 }
+            }
 
-                return null;
+            for (Channel aChannel : remoteChannels) {
+                return aChannel;
             }
+
+            return null;
         }
 
         public Channel getFirst(String itemName, Direction direction, InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
-                            && direction.equals(aChannel.direction)) {
-                        return aChannel;
-                    }
+            for (Channel aChannel : byItem(itemName)) {
+                if (remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public Channel getFirstServed(String itemName, Direction direction, InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
-                            && aChannel.channel != null && direction.equals(aChannel.direction)) {
-                        return aChannel;
-                    }
+            for (Channel aChannel : byItem(itemName)) {
+                if (remoteAddress.equals(aChannel.remote) && aChannel.channel != null
+                        && direction.equals(aChannel.direction)) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
-        public void replace(String itemName, Direction direction, DatagramChannel theDatagramChannel,
+        public void replace(String itemName, Direction direction, DatagramChannel oldDatagramChannel,
                 DatagramChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && theDatagramChannel.equals(aChannel.channel)
-                            && direction.equals(aChannel.direction)) {
-                        aChannel.channel = channel;
-                    }
+            for (Channel aChannel : byItem(itemName)) {
+                if (oldDatagramChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
+                    aChannel.setChannel(channel);
                 }
-
             }
         }
 
         public void replace(String itemName, Direction direction, InetSocketAddress remoteAddress,
                 DatagramChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
-                            && direction.equals(aChannel.direction) && !channel.equals(aChannel.channel)) {
-                        aChannel.channel = channel;
-                    }
+            for (Channel aChannel : byItem(itemName)) {
+                if (remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)
+                        && !channel.equals(aChannel.channel)) {
+                    aChannel.setChannel(channel);
                 }
             }
-
         }
 
-        public ArrayList<Channel> getAll(String itemName, Direction direction, DatagramChannel theDatagramChannel) {
-            synchronized (this) {
-
-                ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
+        public ArrayList<Channel> getAll(Direction direction, InetSocketAddress remote) {
+            ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
 
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && theDatagramChannel.equals(aChannel.channel)
-                            && direction.equals(aChannel.direction)) {
+            if (useAddressMask) {
+                for (Channel aChannel : maskedChannels) {
+                    if (direction.equals(aChannel.direction)) {
+                        if (aChannel.host.equals("*") && aChannel.port.equals(Integer.toString(remote.getPort()))) {
+                            selectedChannels.add(aChannel);
+                        } else if (aChannel.port.equals("*") && aChannel.host.equals(remote.getHostString())) {
+                            selectedChannels.add(aChannel);
+                        } else if (aChannel.port.equals("*") && aChannel.host.equals("*")) {
+                            selectedChannels.add(aChannel);
+                        }
+                    }
+                }
+            } else {
+                for (Channel aChannel : byRemote(remote)) {
+                    if (direction.equals(aChannel.direction)) {
                         selectedChannels.add(aChannel);
                     }
                 }
-
-                return selectedChannels;
             }
-        }
 
-        public ArrayList<Channel> getAll(Direction direction, InetSocketAddress remote) {
-            synchronized (this) {
+            return selectedChannels;
+        }
 
-                ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
+        public ArrayList<Channel> getAll(String itemName, Direction direction, DatagramChannel theDatagramChannel) {
+            ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
 
-                if (useAddressMask) {
-                    Iterator<C> it = iterator();
-                    while (it.hasNext()) {
-                        C aChannel = it.next();
-                        if (direction.equals(aChannel.direction)) {
-                            if (aChannel.host.equals("*") && aChannel.port.equals(Integer.toString(remote.getPort()))) {
-                                selectedChannels.add(aChannel);
-                            } else if (aChannel.port.equals("*") && aChannel.host.equals(remote.getHostString())) {
-                                selectedChannels.add(aChannel);
-                            } else if (aChannel.port.equals("*") && aChannel.host.equals("*")) {
-                                selectedChannels.add(aChannel);
-                            }
-                        }
-                    }
-                } else {
-                    Iterator<C> it = iterator();
-                    while (it.hasNext()) {
-                        C aChannel = it.next();
-                        if (remote.equals(aChannel.remote) && direction.equals(aChannel.direction)) {
-                            selectedChannels.add(aChannel);
-                        }
-                    }
+            for (Channel aChannel : byItem(itemName)) {
+                if (theDatagramChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
+                    selectedChannels.add(aChannel);
                 }
-
-                return selectedChannels;
             }
+
+            return selectedChannels;
         }
 
         public void setAll(String itemName, Direction direction, DatagramChannel theDatagramChannel, boolean b) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && theDatagramChannel.equals(aChannel.channel)
-                            && direction.equals(aChannel.direction)) {
-                        aChannel.isBlocking = b;
-                    }
+            for (Channel aChannel : byItem(itemName)) {
+                if (theDatagramChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
+                    aChannel.isBlocking = b;
                 }
             }
         }
 
         public Channel getFirstServed(InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (remoteAddress.equals(aChannel.remote) && aChannel.channel != null) {
-                        return aChannel;
-                    }
+            for (Channel aChannel : byRemote(remoteAddress)) {
+                if (aChannel.channel != null) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public void replace(Direction direction, SocketChannel oldSocketChannel, DatagramChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (oldSocketChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
-                        aChannel.channel = channel;
-                    }
+            for (Channel aChannel : allChannels) {
+                if (oldSocketChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
+                    aChannel.setChannel(channel);
                 }
             }
         }
 
         public void replace(Direction direction, InetSocketAddress remoteAddress, DatagramChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)
-                            && !channel.equals(aChannel.channel)) {
-                        aChannel.channel = channel;
-                    }
+            for (Channel aChannel : byRemote(remoteAddress)) {
+                if (direction.equals(aChannel.direction) && !channel.equals(aChannel.channel)) {
+                    aChannel.setChannel(channel);
                 }
             }
         }
 
         public ArrayList<Channel> getAll(Direction direction, DatagramChannel theDatagramChannel) {
-            synchronized (this) {
-                ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
+            ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
 
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theDatagramChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
-                        selectedChannels.add(aChannel);
-                    }
+            for (Channel aChannel : byChannel(theDatagramChannel)) {
+                if (direction.equals(aChannel.direction)) {
+                    selectedChannels.add(aChannel);
                 }
-
-                return selectedChannels;
             }
+
+            return selectedChannels;
         }
 
         public void setAllBlocking(Direction direction, DatagramChannel theDatagramChannel, boolean b) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theDatagramChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
-                        aChannel.isBlocking = true;
-                    }
+            for (Channel aChannel : byChannel(theDatagramChannel)) {
+                if (direction.equals(aChannel.direction)) {
+                    aChannel.isBlocking = true;
                 }
             }
         }
 
         public Channel getFirstServed(Direction direction, InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (remoteAddress.equals(aChannel.remote) && aChannel.channel != null
-                            && direction.equals(aChannel.direction)) {
-                        return aChannel;
-                    }
+            for (Channel aChannel : byRemote(remoteAddress)) {
+                if (aChannel.channel != null && direction.equals(aChannel.direction)) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public void replace(DatagramChannel oldDatagramChannel, DatagramChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (oldDatagramChannel.equals(aChannel.channel)) {
-                        aChannel.channel = channel;
-                    }
-                }
-
+            for (Channel aChannel : byChannel(oldDatagramChannel)) {
+                aChannel.setChannel(channel);
             }
         }
 
         public void replace(InetSocketAddress remoteAddress, DatagramChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (remoteAddress.equals(aChannel.remote) && !channel.equals(aChannel.channel)) {
-                        aChannel.channel = channel;
-                    }
+            for (Channel aChannel : byRemote(remoteAddress)) {
+                if (!channel.equals(aChannel.channel)) {
+                    aChannel.setChannel(channel);
                 }
             }
-
         }
 
         public ArrayList<Channel> getAll(DatagramChannel theDatagramChannel) {
-            synchronized (this) {
-                ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
-
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theDatagramChannel.equals(aChannel.channel)) {
-                        selectedChannels.add(aChannel);
-                    }
-                }
-
-                return selectedChannels;
-            }
+            return new ArrayList<Channel>(byChannel(theDatagramChannel));
         }
 
         public void setAllBlocking(DatagramChannel theDatagramChannel, boolean b) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theDatagramChannel.equals(aChannel.channel)) {
-                        aChannel.isBlocking = b;
-                    }
-                }
+            for (Channel aChannel : byChannel(theDatagramChannel)) {
+                aChannel.isBlocking = b;
             }
         }
 
         public void setAllReconnecting(DatagramChannel theDatagramChannel, boolean b) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theDatagramChannel.equals(aChannel.channel)) {
-                        aChannel.isReconnecting = b;
-                    }
-                }
+            for (Channel aChannel : byChannel(theDatagramChannel)) {
+                aChannel.isReconnecting = b;
             }
         }
 
         public Channel getFirstNotServed(Direction direction, InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)
-                            && (aChannel.channel == null || !aChannel.channel.isOpen())) {
-                        return aChannel;
-                    }
+            for (Channel aChannel : byRemote(remoteAddress)) {
+                if (direction.equals(aChannel.direction) && (aChannel.channel == null || !aChannel.channel.isOpen())) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public ArrayList<Channel> getAll(Direction direction, DatagramChannel theDatagramChannel,
                 InetSocketAddress clientAddress) {
-            synchronized (this) {
-
-                ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
+            ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
 
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (clientAddress.equals(aChannel.remote) && theDatagramChannel.equals(aChannel.channel)
-                            && direction.equals(aChannel.direction)) {
-                        selectedChannels.add(aChannel);
-                    }
+            for (Channel aChannel : byChannel(theDatagramChannel)) {
+                if (clientAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)) {
+                    selectedChannels.add(aChannel);
                 }
-
-                return selectedChannels;
             }
+
+            return selectedChannels;
         }
 
         public boolean isBlocking(DatagramChannel theDatagramChannel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theDatagramChannel.equals(aChannel.channel) && aChannel.isBlocking) {
-                        return true;
-                    }
-                }
-                return false;
-            }
+            return getBlocking(theDatagramChannel) != null;
         }
 
         public Channel getBlocking(DatagramChannel theDatagramChannel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theDatagramChannel.equals(aChannel.channel) && aChannel.isBlocking) {
-                        return aChannel;
-                    }
+            for (Channel aChannel : byChannel(theDatagramChannel)) {
+                if (aChannel.isBlocking) {
+                    return aChannel;
                 }
-                return null;
             }
+
+            return null;
         }
 
     }
@@ -690,7 +666,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
             synchronized (selector) {
                 selector.wakeup();
                 try {
-                    listenerKey = listenerChannel.register(selector, listenerChannel.validOps());
+                    listenerKey = listenerChannel.register(selector, selectableOps(listenerChannel.validOps()));
                 } catch (ClosedChannelException e1) {
                     logger.error("An exception occurred while registering a selector: {}", e1.getMessage());
                 }
@@ -721,6 +697,8 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
     @Override
     public void deactivate() {
 
+        stopSelectorThread();
+
         try {
             selector.close();
         } catch (IOException e) {
@@ -863,15 +841,182 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                         refreshInterval);
             }
 
+            String selectorThreadString = (String) config.get("selectorthread");
+            if (StringUtils.isNotBlank(selectorThreadString)) {
+                useSelectorThread = Boolean.parseBoolean(selectorThreadString);
+            } else {
+                logger.info(
+                        "The setting to handle network events in a dedicated thread will be set to the default value of {}",
+                        useSelectorThread);
+            }
+
             if (listenerPort != 0) {
                 configureListenerChannel();
             }
 
+            channelsChanged = true;
+            if (useSelectorThread) {
+                startSelectorThread();
+            } else {
+                stopSelectorThread();
+            }
+
             setProperlyConfigured(true);
 
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void bindingChanged(BindingProvider provider, String itemName) {
+        super.bindingChanged(provider, itemName);
+        channelsChanged = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void allBindingsChanged(BindingProvider provider) {
+        super.allBindingsChanged(provider);
+        channelsChanged = true;
+    }
+
+    /**
+     * Starts the thread that handles the network events as soon as they occur. The channels registered so far lose
+     * their OP_WRITE interest, unless data is queued for them.
+     */
+    private void startSelectorThread() {
+        if (selectorThread != null || selector == null) {
+            return;
+        }
+
+        selectorThreadRunning = true;
+        synchronized (selector) {
+            for (SelectionKey key : new ArrayList<SelectionKey>(selector.keys())) {
+                if (key.channel() instanceof DatagramChannel) {
+                    updateWriteInterest((DatagramChannel) key.channel());
+                }
+            }
+        }
+
+        selectorThread = new Thread("Datagram Channel Selector") {
+            @Override
+            public void run() {
+                logger.debug("The selector thread has been started");
+                while (selectorThreadRunning) {
+                    try {
+                        // a thread registering a channel holds the lock while it wakes up the selector, so wait
+                        // until the registration is done before blocking again
+                        synchronized (selector) {
+                        }
+                        selector.select();
+                    } catch (ClosedSelectorException e) {
+                        break;
+                    } catch (IOException e) {
+                        logger.error("An exception occurred while Selecting ({})", e.getMessage());
+                    }
+
+                    try {
+                        processSelectedKeys();
+                    } catch (RuntimeException e) {
+                        logger.error("An exception occurred while processing the selected channels: {}",
+                                e.getMessage());
+                    }
+                }
+                logger.debug("The selector thread has been stopped");
+            }
+        };
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+    }
+
+    /**
+     * Stops the selector thread. The channels get their OP_WRITE interest back, as the polled selector picks the
+     * queued data of every writable channel.
+     */
+    private void stopSelectorThread() {
+        Thread thread = selectorThread;
+        if (thread == null) {
+            return;
+        }
+
+        selectorThreadRunning = false;
+        selectorThread = null;
+        selector.wakeup();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (selector.isOpen()) {
+            synchronized (selector) {
+                for (SelectionKey key : new ArrayList<SelectionKey>(selector.keys())) {
+                    try {
+                        if ((key.channel().validOps() & SelectionKey.OP_WRITE) != 0) {
+                            key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                        }
+                    } catch (CancelledKeyException e) {
+                        // the channel has been closed in the meantime
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the interest set to register a channel with. With the selector thread, OP_WRITE is only set while data
+     * is queued for a channel, as a writable channel would wake up the selector continuously.
+     *
+     * @param interestSet the operations the channel is used for
+     * @return the operations to register
+     */
+    protected int selectableOps(int interestSet) {
+        if (selectorThreadRunning) {
+            return interestSet & ~SelectionKey.OP_WRITE;
+        }
+        return interestSet;
+    }
+
+    /**
+     * Sets OP_WRITE on the selection key of the channel if data is queued for it and no blocking write/read operation
+     * is in progress, and clears it otherwise. Nothing is done when the selector is polled.
+     *
+     * @param theDatagramChannel the channel data has been queued for or written to
+     */
+    protected void updateWriteInterest(DatagramChannel theDatagramChannel) {
+        if (!selectorThreadRunning || theDatagramChannel == null) {
+            return;
+        }
+
+        SelectionKey key = theDatagramChannel.keyFor(selector);
+        if (key == null) {
+            return;
+        }
+
+        boolean pending = false;
+        if (!channels.isBlocking(theDatagramChannel)) {
+            Queue<WriteBufferElement> queue = writeQueues.get(theDatagramChannel);
+            pending = queue != null && !queue.isEmpty();
+        }
+
+        synchronized (selector) {
+            selector.wakeup();
+            try {
+                if (pending) {
+                    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                } else {
+                    key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+                }
+            } catch (CancelledKeyException e) {
+                // the channel has been closed in the meantime
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1039,15 +1184,19 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
         if (isBlockingWriteRead) {
 
             if (theBuffer != null) {
-                writeQueue.add(new WriteBufferElement(theChannel, theBuffer, true));
+                queueWrite(new WriteBufferElement(theChannel, theBuffer, true));
 
-                long currentElapsedTimeMillis = System.currentTimeMillis();
-
-                while (theChannel.buffer == null && (System.currentTimeMillis() - currentElapsedTimeMillis) < timeOut) {
-                    try {
-                        Thread.sleep(50);
-                    } catch (InterruptedException e) {
-                        logger.warn("An Exception occurred while waiting during a blocking buffer write");
+                // the thread reading the response notifies us as soon as it is there
+                long deadline = System.currentTimeMillis() + timeOut;
+                synchronized (theChannel) {
+                    long remaining = timeOut;
+                    while (theChannel.buffer == null && remaining > 0) {
+                        try {
+                            theChannel.wait(remaining);
+                        } catch (InterruptedException e) {
+                            logger.warn("An Exception occurred while waiting during a blocking buffer write");
+                        }
+                        remaining = deadline - System.currentTimeMillis();
                     }
                 }
 
@@ -1057,6 +1206,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                     theChannel.buffer = null;
                     theChannel.isBlocking = false;
                 }
+                updateWriteInterest(theChannel.channel);
                 return responseBuffer;
             } else {
                 return theBuffer;
@@ -1065,13 +1215,63 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
         } else {
 
             if (theBuffer != null) {
-                writeQueue.add(new WriteBufferElement(theChannel, theBuffer, false));
+                queueWrite(new WriteBufferElement(theChannel, theBuffer, false));
             }
 
             return theBuffer;
         }
     }
 
+    /**
+     * Appends an element to the write queue of the Java NIO channel its Channel is bound to
+     *
+     * @param theElement the element to write
+     */
+    protected void queueWrite(WriteBufferElement theElement) {
+        DatagramChannel theDatagramChannel = theElement.channel.channel;
+        if (theDatagramChannel == null) {
+            return;
+        }
+
+        Queue<WriteBufferElement> queue = writeQueues.get(theDatagramChannel);
+        if (queue == null) {
+            queue = new ConcurrentLinkedQueue<WriteBufferElement>();
+            Queue<WriteBufferElement> existingQueue = writeQueues.putIfAbsent(theDatagramChannel, queue);
+            if (existingQueue != null) {
+                queue = existingQueue;
+            }
+        }
+        queue.offer(theElement);
+
+        updateWriteInterest(theDatagramChannel);
+    }
+
+    /**
+     * Moves the queued elements of a Channel to the write queue of the Java NIO channel it is bound to now, e.g.
+     * after a reconnection. The elements are discarded if the Channel is not bound anymore.
+     */
+    private void transferWrites(Channel theChannel, DatagramChannel oldChannel, DatagramChannel newChannel) {
+        Queue<WriteBufferElement> oldQueue = oldChannel != null ? writeQueues.get(oldChannel) : null;
+        if (oldQueue == null) {
+            return;
+        }
+
+        Iterator<WriteBufferElement> iterator = oldQueue.iterator();
+        while (iterator.hasNext()) {
+            WriteBufferElement anElement = iterator.next();
+            if (anElement.channel == theChannel) {
+                iterator.remove();
+                if (newChannel != null) {
+                    queueWrite(anElement);
+                }
+            }
+        }
+
+        if (oldQueue.isEmpty() && !oldChannel.isOpen()) {
+            writeQueues.remove(oldChannel, oldQueue);
+        }
+    }
+
     /**
      * Quartz Job to reconnect a channel
      * 
@@ -1106,7 +1306,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                         }
 
                         try {
-                            theChannel.channel = DatagramChannel.open();
+                            theChannel.setChannel(DatagramChannel.open());
                         } catch (IOException e) {
                             logger.error("An exception occurred while opening a channel: {}", e.getMessage());
                         }
@@ -1125,7 +1325,8 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                             theBinding.selector.wakeup();
                             try {
                                 if (theChannel.channel != null) {
-                                    theChannel.channel.register(theBinding.selector, theChannel.channel.validOps());
+                                    theChannel.channel.register(theBinding.selector,
+                                            theBinding.selectableOps(theChannel.channel.validOps()));
                                 }
                             } catch (ClosedChannelException e1) {
                                 logger.error("An exception occurred while registering a selector: {}", e1.getMessage());
@@ -1200,7 +1401,31 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
     @Override
     protected void execute() {
 
-        // Cycle through the Items and setup channels if required
+        // the channels only have to be set up again when the item bindings or the configuration changed
+        if (channelsChanged) {
+            channelsChanged = false;
+            setupChannels();
+        }
+
+        if (!selectorThreadRunning) {
+            // Check on channels for which we have to process data
+            synchronized (selector) {
+                try {
+                    // Wait for an event
+                    selector.selectNow();
+                } catch (IOException e) {
+                    logger.error("An exception occurred while Selecting ({})", e.getMessage());
+                }
+            }
+
+            processSelectedKeys();
+        }
+    }
+
+    /**
+     * Cycles through the Items and sets up the channels that do not exist yet
+     */
+    protected void setupChannels() {
         for (P provider : providers) {
             for (String itemName : provider.getItemNames()) {
                 for (Command aCommand : provider.getAllCommands(itemName)) {
@@ -1246,7 +1471,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                                         Channel firstChannel = channels.getFirstServed(itemName, direction,
                                                 remoteAddress);
                                         if (firstChannel != null) {
-                                            newChannel.channel = firstChannel.channel;
+                                            newChannel.setChannel(firstChannel.channel);
                                             assigned = true;
                                         }
                                     }
@@ -1254,7 +1479,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                                     if (bindingShareChannels) {
                                         Channel firstChannel = channels.getFirstServed(direction, remoteAddress);
                                         if (firstChannel != null) {
-                                            newChannel.channel = firstChannel.channel;
+                                            newChannel.setChannel(firstChannel.channel);
                                             assigned = true;
                                         }
                                     }
@@ -1262,7 +1487,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                                     if (directionsShareChannels) {
                                         Channel firstChannel = channels.getFirstServed(remoteAddress);
                                         if (firstChannel != null) {
-                                            newChannel.channel = firstChannel.channel;
+                                            newChannel.setChannel(firstChannel.channel);
                                             assigned = true;
                                         }
                                     }
@@ -1270,7 +1495,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                             }
 
                             if (!assigned) {
-                                newChannel.channel = listenerChannel;
+                                newChannel.setChannel(listenerChannel);
                             }
 
                             if (useAddressMask && (remoteHost.equals("*") || remotePort.equals("*"))) {
@@ -1299,7 +1524,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                                         Channel firstChannel = channels.getFirstServed(itemName, direction,
                                                 remoteAddress);
                                         if (firstChannel != null) {
-                                            newChannel.channel = firstChannel.channel;
+                                            newChannel.setChannel(firstChannel.channel);
                                             assigned = true;
                                         }
                                     }
@@ -1307,7 +1532,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                                     if (bindingShareChannels) {
                                         Channel firstChannel = channels.getFirstServed(direction, remoteAddress);
                                         if (firstChannel != null) {
-                                            newChannel.channel = firstChannel.channel;
+                                            newChannel.setChannel(firstChannel.channel);
                                             assigned = true;
                                         }
                                     }
@@ -1352,14 +1577,15 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                                         synchronized (selector) {
                                             selector.wakeup();
                                             try {
-                                                newDatagramChannel.register(selector, newDatagramChannel.validOps());
+                                                newDatagramChannel.register(selector,
+                                                        selectableOps(newDatagramChannel.validOps()));
                                             } catch (ClosedChannelException e1) {
                                                 logger.error("An exception occurred while registering a selector: {}",
                                                         e1.getMessage());
                                             }
                                         }
 
-                                        newChannel.channel = newDatagramChannel;
+                                        newChannel.setChannel(newDatagramChannel);
                                         logger.debug("Setting up the outbound channel {}", newChannel);
 
                                         try {
@@ -1380,17 +1606,12 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                 }
             }
         }
+    }
 
-        // Check on channels for which we have to process data
-        synchronized (selector) {
-            try {
-                // Wait for an event
-                selector.selectNow();
-            } catch (IOException e) {
-                logger.error("An exception occurred while Selecting ({})", e.getMessage());
-            }
-        }
-
+    /**
+     * Processes the selection keys with pending events, i.e. reads and writes the channels
+     */
+    protected void processSelectedKeys() {
         // Get list of selection keys with pending events
         Iterator<SelectionKey> it = selector.selectedKeys().iterator();
 
@@ -1405,16 +1626,20 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
                 if (selKey.isReadable()) {
                     InetSocketAddress clientAddress = null;
-                    ByteBuffer readBuffer = ByteBuffer.allocate(maximumBufferSize);
+                    ByteBuffer directBuffer = readBuffers.acquire(maximumBufferSize);
+                    ByteBuffer readBuffer = null;
                     int numberBytesRead = 0;
                     boolean error = false;
 
                     if (selKey == listenerKey) {
                         try {
-                            clientAddress = (InetSocketAddress) theDatagramChannel.receive(readBuffer);
+                            clientAddress = (InetSocketAddress) theDatagramChannel.receive(directBuffer);
+                            // the protocol implementations get a heap buffer of the received size
+                            directBuffer.flip();
+                            readBuffer = ByteBufferPool.copyOf(directBuffer);
                             logger.debug("Received {} on the listener port from {}", new String(readBuffer.array()),
                                     clientAddress);
-                            numberBytesRead = readBuffer.position();
+                            numberBytesRead = readBuffer.limit();
                         } catch (Exception e) {
                             error = true;
                         }
@@ -1426,7 +1651,9 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                             // remote end is not correctly fragemented. Could be handed of to implementation class if
                             // for example, the buffer needs to be split based on a special character like line feed or
                             // carriage return
-                            numberBytesRead = theDatagramChannel.read(readBuffer);
+                            numberBytesRead = theDatagramChannel.read(directBuffer);
+                            directBuffer.flip();
+                            readBuffer = ByteBufferPool.copyOf(directBuffer);
                             logger.debug("Received {} bytes ({}) on the channel {}->{}",
                                     new Object[] { numberBytesRead, new String(readBuffer.array()),
                                             theDatagramChannel.getLocalAddress(),
@@ -1455,6 +1682,8 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                         }
                     }
 
+                    readBuffers.release(directBuffer);
+
                     if (numberBytesRead == -1) {
                         try {
                             if (selKey != listenerKey) {
@@ -1531,8 +1760,6 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
                         if (channelsToServe.size() > 0) {
 
-                            readBuffer.flip();
-
                             if (channels.isBlocking(theDatagramChannel)) {
                                 // if we are in a blocking operation, we get are now finished and we have to reset the
                                 // flag. The read buffer will be returned to the instance
@@ -1540,7 +1767,10 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
                                 // find the Channel with this DGC that is holding a Blocking flag
                                 theChannel = channels.getBlocking(theDatagramChannel);
-                                theChannel.buffer = readBuffer;
+                                synchronized (theChannel) {
+                                    theChannel.buffer = readBuffer;
+                                    theChannel.notifyAll();
+                                }
 
                             } else {
                                 for (Channel aChannel : channelsToServe) {
@@ -1573,16 +1803,8 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
                     WriteBufferElement theElement = null;
 
-                    if (selKey == listenerKey) {
-                        Iterator<WriteBufferElement> iterator = writeQueue.iterator();
-                        while (iterator.hasNext()) {
-                            WriteBufferElement anElement = iterator.next();
-                            if (anElement.channel.channel.equals(listenerChannel)) {
-                                theElement = anElement;
-                                break;
-                            }
-                        }
-                    }
+                    // every element is sent as a datagram of its own, hence the elements are not gathered
+                    Queue<WriteBufferElement> queue = writeQueues.get(theDatagramChannel);
 
                     // check if any of the Channel using the DatagramChannel is blocking the DGC in a R/W operation
                     boolean isBlocking = channels.isBlocking(theDatagramChannel);
@@ -1592,15 +1814,8 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                         // selKey
                     } else {
 
-                        if (selKey != listenerKey) {
-                            Iterator<WriteBufferElement> iterator = writeQueue.iterator();
-                            while (iterator.hasNext()) {
-                                WriteBufferElement anElement = iterator.next();
-                                if (anElement.channel.channel.equals(theDatagramChannel)) {
-                                    theElement = anElement;
-                                    break;
-                                }
-                            }
+                        if (queue != null) {
+                            theElement = queue.peek();
                         }
 
                         if (theElement != null && theElement.buffer != null) {
@@ -1720,13 +1935,13 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                                     }
                                 }
                             } else {
-                                if (theElement != null) {
-                                    writeQueue.remove(theElement);
-                                }
+                                queue.remove(theElement);
 
                             }
                         }
                     }
+
+                    updateWriteInterest(theDatagramChannel);
                 }
             }
         }
@@ -16,7 +16,9 @@ import static org.quartz.TriggerBuilder.newTrigger;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
 import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
 import java.nio.channels.NoConnectionPendingException;
 import java.nio.channels.NotYetConnectedException;
 import java.nio.channels.SelectionKey;
@@ -28,9 +30,15 @@ import java.util.Collections;
 import java.util.Dictionary;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.core.binding.AbstractActiveBinding;
+import org.openhab.core.binding.BindingProvider;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.State;
@@ -65,6 +73,9 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractSocketChannelBinding.class);
 
+    // maximum number of queued buffers that are written to a channel at once
+    private static final int MAXIMUM_GATHERED_WRITES = 64;
+
     // Configurable parameters
     protected Selector selector;
     // maximum size of buffer whilst reading from a channel
@@ -87,16 +98,28 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
     protected boolean useAddressMask = true;
     // refresh interval for the worker thread
     protected long refreshInterval = 250;
+    // handle network events in a dedicated thread as soon as they occur, instead of polling them every refresh interval
+    protected boolean useSelectorThread = true;
 
     protected ServerSocketChannel listenerChannel = null;
     protected SelectionKey listenerKey = null;
 
-    // Queue to store BufferElements that need to be written to the network
-    protected List<WriteBufferElement> writeQueue = Collections.synchronizedList(new ArrayList<WriteBufferElement>());
+    // Queues to store BufferElements that need to be written to the network, one per Java NIO channel
+    protected ConcurrentMap<SocketChannel, Queue<WriteBufferElement>> writeQueues = new ConcurrentHashMap<SocketChannel, Queue<WriteBufferElement>>();
+
+    // recycled direct buffers to read from the network
+    private final ByteBufferPool readBuffers = new ByteBufferPool(8);
 
     // Simple datastructure to track the state of Channels
     protected ChannelTracker<Channel> channels = new ChannelTracker<Channel>();
 
+    // the thread blocking on the selector, null if the selector is polled by execute()
+    private Thread selectorThread = null;
+    private volatile boolean selectorThreadRunning = false;
+
+    // set when the item bindings or the configuration changed, so that the channels have to be set up again
+    private volatile boolean channelsChanged = true;
+
     /**
      * Datastructure to represent that state of a communications channel
      * 
@@ -114,17 +137,20 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
         // the direction, in our out, of this channel
         public Direction direction;
         // flag to indicate if the channel is in a blocking write/read operation
-        public boolean isBlocking;
+        public volatile boolean isBlocking;
         // placeholder to store the received data as the result of a blocking write/read operation
         public ByteBuffer buffer;
         // flag to indicate if the channel is reconnecting / recovering from a previous communication error
-        public boolean isReconnecting;
+        public volatile boolean isReconnecting;
         // reference to the underlying Java NIO SocketChannel that represents this TCP/IP connection
-        public SocketChannel channel;
+        // has to be changed with setChannel(), as the ChannelTracker indexes the Channels by it
+        public volatile SocketChannel channel;
         // remote host name to use. Could be "*" when using masked addresses
         public String host;
         // remote port number to use. Could be "*" when using masked addresses
         public String port;
+        // position of this Channel in the ChannelTracker, -1 as long as it is not tracked
+        long sequence = -1;
 
         public Channel(String item, Command command, InetSocketAddress remote, Direction direction, boolean isBlocking,
                 ByteBuffer buffer, boolean isReconnecting, SocketChannel channel) {
@@ -155,6 +181,19 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
             this.port = port;
         }
 
+        /**
+         * Binds this Channel to another Java NIO channel
+         *
+         * @param channel the new channel, or null if the Channel is not bound anymore
+         */
+        public void setChannel(SocketChannel channel) {
+            SocketChannel oldChannel = this.channel;
+            channels.update(this, channel);
+            if (oldChannel != channel) {
+                transferWrites(this, oldChannel, channel);
+            }
+        }
+
         @Override
         public String toString() {
             try {
@@ -213,419 +252,396 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
      * contains() - return true if a channel that matches the provided criteria exists in the ChannelTracker
      * replace() - replaces the underlying Java NIO channel on the Channels that match the provided criteria
      * 
+     * The Channels are indexed by Item name, by remote address and by the Java NIO channel they are bound to, so that
+     * a lookup only visits the few Channels of one Item, address or connection. The indexes are copy-on-write, hence
+     * the lookups, which happen for every received buffer and every command, do not take a lock.
+     * 
      * @author Karel Goderis
      * @since 1.4.0
      * 
      **/
-    protected class ChannelTracker<C extends Channel> extends ArrayList<C> {
+    protected class ChannelTracker<C extends Channel> implements Iterable<Channel> {
+
+        // all Channels, in the order they have been added
+        private final List<Channel> allChannels = new CopyOnWriteArrayList<Channel>();
+        // the Channels by the name of their Item
+        private final ConcurrentMap<String, List<Channel>> itemIndex = new ConcurrentHashMap<String, List<Channel>>();
+        // the Channels by their resolved remote address
+        private final ConcurrentMap<InetSocketAddress, List<Channel>> remoteIndex = new ConcurrentHashMap<InetSocketAddress, List<Channel>>();
+        // the Channels by the Java NIO channel they are currently bound to
+        private final ConcurrentMap<SocketChannel, List<Channel>> channelIndex = new ConcurrentHashMap<SocketChannel, List<Channel>>();
+        // the Channels that use a masked host or port
+        private final List<Channel> maskedChannels = new CopyOnWriteArrayList<Channel>();
+        // sequence number of the next Channel that is added
+        private long nextSequence = 0;
+
+        public boolean add(C aChannel) {
+            synchronized (this) {
+                aChannel.sequence = nextSequence++;
+                allChannels.add(aChannel);
+                addToIndex(itemIndex, aChannel.item, aChannel);
+                addToIndex(remoteIndex, aChannel.remote, aChannel);
+                addToIndex(channelIndex, aChannel.channel, aChannel);
+                if ("*".equals(aChannel.host) || "*".equals(aChannel.port)) {
+                    maskedChannels.add(aChannel);
+                }
+                return true;
+            }
+        }
 
-        private static final long serialVersionUID = 1543958347565096785L;
+        public int size() {
+            return allChannels.size();
+        }
 
-        public boolean contains(String item, Command command, Direction direction, InetSocketAddress remote) {
+        @Override
+        public Iterator<Channel> iterator() {
+            return allChannels.iterator();
+        }
+
+        /**
+         * Binds a Channel to another Java NIO channel, and moves it within the index accordingly
+         */
+        private void update(Channel aChannel, SocketChannel channel) {
             synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (item.equals(aChannel.item) && command.equals(aChannel.command)
-                            && direction.equals(aChannel.direction) && remote.equals(aChannel.remote)) {
-                        return true;
-                    }
+                SocketChannel oldChannel = aChannel.channel;
+                aChannel.channel = channel;
+                if (aChannel.sequence >= 0 && oldChannel != channel) {
+                    removeFromIndex(channelIndex, oldChannel, aChannel);
+                    addToIndex(channelIndex, channel, aChannel);
                 }
+            }
+        }
 
-                return false;
+        private <K> void addToIndex(ConcurrentMap<K, List<Channel>> index, K key, Channel aChannel) {
+            if (key == null) {
+                return;
+            }
+            List<Channel> indexedChannels = index.get(key);
+            if (indexedChannels == null) {
+                indexedChannels = new CopyOnWriteArrayList<Channel>();
+                index.put(key, indexedChannels);
             }
+            // keep the order in which the Channels have been added, as the getFirst...() methods rely on it
+            int position = indexedChannels.size();
+            while (position > 0 && indexedChannels.get(position - 1).sequence > aChannel.sequence) {
+                position--;
+            }
+            indexedChannels.add(position, aChannel);
         }
 
-        public Channel get(String item, Command command, Direction direction, InetSocketAddress remote) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (item.equals(aChannel.item) && command.equals(aChannel.command)
-                            && direction.equals(aChannel.direction) && remote.equals(aChannel.remote)) {
-                        return aChannel;
-                    }
+        private <K> void removeFromIndex(ConcurrentMap<K, List<Channel>> index, K key, Channel aChannel) {
+            if (key == null) {
+                return;
+            }
+            List<Channel> indexedChannels = index.get(key);
+            if (indexedChannels != null) {
+                indexedChannels.remove(aChannel);
+                if (indexedChannels.isEmpty()) {
+                    index.remove(key);
                 }
-
-                return null;
             }
         }
 
-        public Channel get(String item, Command command, Direction direction, String host, String port) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (item.equals(aChannel.item) && command.equals(aChannel.command)
-                            && direction.equals(aChannel.direction)) {
-                        if (aChannel.host.equals(host) && aChannel.port.equals(port)) {
-                            return aChannel;
-                        }
+        private List<Channel> byItem(String item) {
+            List<Channel> indexedChannels = item != null ? itemIndex.get(item) : null;
+            return indexedChannels != null ? indexedChannels : Collections.<Channel> emptyList();
+        }
+
+        private List<Channel> byRemote(InetSocketAddress remote) {
+            List<Channel> indexedChannels = remote != null ? remoteIndex.get(remote) : null;
+            return indexedChannels != null ? indexedChannels : Collections.<Channel> emptyList();
+        }
+
+        private List<Channel> byChannel(SocketChannel channel) {
+            List<Channel> indexedChannels = channel != null ? channelIndex.get(channel) : null;
+            return indexedChannels != null ? indexedChannels : Collections.<Channel> emptyList();
+        }
+
+        /**
+         * Returns the Channels with the given remote address, followed by the Channels with a masked address if
+         * masks are in use, all in the order they have been added
+         */
+        private List<Channel> byRemoteOrMask(InetSocketAddress remote) {
+            List<Channel> remoteChannels = byRemote(remote);
+            if (!useAddressMask || maskedChannels.isEmpty()) {
+                return remoteChannels;
+            }
+
+            List<Channel> candidates = new ArrayList<Channel>(remoteChannels.size() + maskedChannels.size());
+            Iterator<Channel> remoteIt = remoteChannels.iterator();
+            Iterator<Channel> maskedIt = maskedChannels.iterator();
+            Channel nextRemote = remoteIt.hasNext() ? remoteIt.next() : null;
+            Channel nextMasked = maskedIt.hasNext() ? maskedIt.next() : null;
+            while (nextRemote != null || nextMasked != null) {
+                if (nextMasked == null || (nextRemote != null && nextRemote.sequence < nextMasked.sequence)) {
+                    candidates.add(nextRemote);
+                    nextRemote = remoteIt.hasNext() ? remoteIt.next() : null;
+                } else {
+                    if (nextMasked != nextRemote) {
+                        candidates.add(nextMasked);
                     }
+                    nextMasked = maskedIt.hasNext() ? maskedIt.next() : null;
                 }
+            }
+            return candidates;
+        }
 
-                return null;
+        public boolean contains(String item, Command command, Direction direction, InetSocketAddress remote) {
+            return get(item, command, direction, remote) != null;
+        }
 
+        public Channel get(String item, Command command, Direction direction, InetSocketAddress remote) {
+            for (Channel aChannel : byItem(item)) {
+                if (command.equals(aChannel.command) && direction.equals(aChannel.direction)
+                        && remote.equals(aChannel.remote)) {
+                    return aChannel;
+                }
             }
+
+            return null;
         }
 
-        public Channel get(SocketChannel theChannel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theChannel.equals(aChannel.channel)) {
+        public Channel get(String item, Command command, Direction direction, String host, String port) {
+            for (Channel aChannel : byItem(item)) {
+                if (command.equals(aChannel.command) && direction.equals(aChannel.direction)) {
+                    if (aChannel.host.equals(host) && aChannel.port.equals(port)) {
                         return aChannel;
                     }
                 }
-                return null;
             }
+
+            return null;
         }
 
-        public Channel getFirst(Direction direction, InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (remoteAddress.equals(aChannel.remote) && aChannel.channel == null
-                            && direction.equals(aChannel.direction)) {
-                        return aChannel;
-                    }
-                }
+        public Channel get(SocketChannel theChannel) {
+            for (Channel aChannel : byChannel(theChannel)) {
+                return aChannel;
+            }
 
-                Iterator<C> it2 = iterator();
-                while (it2.hasNext()) {
-                    C aChannel = it2.next();
-                    if (remoteAddress.equals(aChannel.remote)) {
-                        return aChannel;
-                    }
+            return null;
+        }
+
+        public Channel getFirst(Direction direction, InetSocketAddress remoteAddress) {
+            List<Channel> remoteChannels = byRemote(remoteAddress);
+            for (Channel aChannel : remoteChannels) {
+                if (aChannel.channel == null && direction.equals(aChannel.direction)) {
+                    return aChannel;
                 }
+            }
 
-                return null;
+            for (Channel aChannel : remoteChannels) {
+                return aChannel;
             }
+
+            return null;
         }
 
         public Channel getFirst(String itemName, Direction direction, InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
-                            && direction.equals(aChannel.direction)) {
-                        return aChannel;
-                    }
+            for (Channel aChannel : byItem(itemName)) {
+                if (remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public Channel getFirstServed(String itemName, Direction direction, InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
-                            && aChannel.channel != null && direction.equals(aChannel.direction)) {
-                        return aChannel;
-                    }
+            for (Channel aChannel : byItem(itemName)) {
+                if (remoteAddress.equals(aChannel.remote) && aChannel.channel != null
+                        && direction.equals(aChannel.direction)) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public void replace(String itemName, Direction direction, SocketChannel oldSocketChannel,
                 SocketChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && oldSocketChannel.equals(aChannel.channel)
-                            && direction.equals(aChannel.direction)) {
-                        aChannel.channel = channel;
-                    }
+            for (Channel aChannel : byItem(itemName)) {
+                if (oldSocketChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
+                    aChannel.setChannel(channel);
                 }
-
             }
         }
 
         public void replace(String itemName, Direction direction, InetSocketAddress remoteAddress,
                 SocketChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (useAddressMask && (aChannel.host.equals("*") || aChannel.port.equals("*"))
-                            && direction.equals(aChannel.direction) && itemName.equals(aChannel.item)
-                            && !channel.equals(aChannel.channel)) {
-                        if (aChannel.host.equals("*")
-                                && aChannel.port.equals(Integer.toString(remoteAddress.getPort()))) {
-                            aChannel.channel = channel;
-                        } else if (aChannel.port.equals("*") && aChannel.host.equals(remoteAddress.getHostString())) {
-                            aChannel.channel = channel;
-                        } else if (aChannel.port.equals("*") && aChannel.host.equals("*")) {
-                            aChannel.channel = channel;
-                        }
-                    } else if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
-                            && direction.equals(aChannel.direction) && !channel.equals(aChannel.channel)) {
-                        aChannel.channel = channel;
+            for (Channel aChannel : byItem(itemName)) {
+                if (useAddressMask && (aChannel.host.equals("*") || aChannel.port.equals("*"))
+                        && direction.equals(aChannel.direction) && !channel.equals(aChannel.channel)) {
+                    if (aChannel.host.equals("*") && aChannel.port.equals(Integer.toString(remoteAddress.getPort()))) {
+                        aChannel.setChannel(channel);
+                    } else if (aChannel.port.equals("*") && aChannel.host.equals(remoteAddress.getHostString())) {
+                        aChannel.setChannel(channel);
+                    } else if (aChannel.port.equals("*") && aChannel.host.equals("*")) {
+                        aChannel.setChannel(channel);
                     }
+                } else if (remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)
+                        && !channel.equals(aChannel.channel)) {
+                    aChannel.setChannel(channel);
                 }
             }
-
         }
 
         public ArrayList<Channel> getAll(String itemName, Direction direction, SocketChannel theSocketChannel) {
-            synchronized (this) {
+            ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
 
-                ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
-
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && theSocketChannel.equals(aChannel.channel)
-                            && direction.equals(aChannel.direction)) {
-                        selectedChannels.add(aChannel);
-                    }
+            for (Channel aChannel : byItem(itemName)) {
+                if (theSocketChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
+                    selectedChannels.add(aChannel);
                 }
-
-                return selectedChannels;
             }
+
+            return selectedChannels;
         }
 
         public void setAllBlocking(String itemName, Direction direction, SocketChannel theSocketChannel, boolean b) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (itemName.equals(aChannel.item) && theSocketChannel.equals(aChannel.channel)
-                            && direction.equals(aChannel.direction)) {
-                        aChannel.isBlocking = b;
-                    }
+            for (Channel aChannel : byItem(itemName)) {
+                if (theSocketChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
+                    aChannel.isBlocking = b;
                 }
             }
         }
 
         public Channel getFirstServed(InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (remoteAddress.equals(aChannel.remote) && aChannel.channel != null) {
-                        return aChannel;
-                    }
+            for (Channel aChannel : byRemote(remoteAddress)) {
+                if (aChannel.channel != null) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public void replace(Direction direction, SocketChannel oldSocketChannel, SocketChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (oldSocketChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
-                        aChannel.channel = channel;
-                    }
+            for (Channel aChannel : byChannel(oldSocketChannel)) {
+                if (direction.equals(aChannel.direction)) {
+                    aChannel.setChannel(channel);
                 }
             }
         }
 
         public void replace(Direction direction, InetSocketAddress remoteAddress, SocketChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (useAddressMask && (aChannel.host.equals("*") || aChannel.port.equals("*"))
-                            && remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)
-                            && !channel.equals(aChannel.channel)) {
-                        if (aChannel.host.equals("*")
-                                && aChannel.port.equals(Integer.toString(remoteAddress.getPort()))) {
-                            aChannel.channel = channel;
-                        } else if (aChannel.port.equals("*") && aChannel.host.equals(remoteAddress.getHostString())) {
-                            aChannel.channel = channel;
-                        } else if (aChannel.port.equals("*") && aChannel.host.equals("*")) {
-                            aChannel.channel = channel;
-                        }
-                    } else if (remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)
-                            && !channel.equals(aChannel.channel)) {
-                        aChannel.channel = channel;
+            for (Channel aChannel : byRemote(remoteAddress)) {
+                if (useAddressMask && (aChannel.host.equals("*") || aChannel.port.equals("*"))
+                        && direction.equals(aChannel.direction) && !channel.equals(aChannel.channel)) {
+                    if (aChannel.host.equals("*") && aChannel.port.equals(Integer.toString(remoteAddress.getPort()))) {
+                        aChannel.setChannel(channel);
+                    } else if (aChannel.port.equals("*") && aChannel.host.equals(remoteAddress.getHostString())) {
+                        aChannel.setChannel(channel);
+                    } else if (aChannel.port.equals("*") && aChannel.host.equals("*")) {
+                        aChannel.setChannel(channel);
                     }
+                } else if (direction.equals(aChannel.direction) && !channel.equals(aChannel.channel)) {
+                    aChannel.setChannel(channel);
                 }
             }
         }
 
         public ArrayList<Channel> getAll(Direction direction, SocketChannel theSocketChannel) {
-            synchronized (this) {
-                ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
+            ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
 
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theSocketChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
-                        selectedChannels.add(aChannel);
-                    }
+            for (Channel aChannel : byChannel(theSocketChannel)) {
+                if (direction.equals(aChannel.direction)) {
+                    selectedChannels.add(aChannel);
                 }
-
-                return selectedChannels;
             }
+
+            return selectedChannels;
         }
 
         public void setAllBlocking(Direction direction, SocketChannel theSocketChannel, boolean b) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theSocketChannel.equals(aChannel.channel) && direction.equals(aChannel.direction)) {
-                        aChannel.isBlocking = b;
-                    }
+            for (Channel aChannel : byChannel(theSocketChannel)) {
+                if (direction.equals(aChannel.direction)) {
+                    aChannel.isBlocking = b;
                 }
             }
         }
 
         public Channel getFirstServed(Direction direction, InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (remoteAddress.equals(aChannel.remote) && aChannel.channel != null
-                            && direction.equals(aChannel.direction)) {
-                        return aChannel;
-                    }
+            for (Channel aChannel : byRemote(remoteAddress)) {
+                if (aChannel.channel != null && direction.equals(aChannel.direction)) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public void replace(SocketChannel oldSocketChannel, SocketChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (oldSocketChannel.equals(aChannel.channel)) {
-                        aChannel.channel = channel;
-                    }
-                }
-
+            for (Channel aChannel : byChannel(oldSocketChannel)) {
+                aChannel.setChannel(channel);
             }
         }
 
         public void replace(InetSocketAddress remoteAddress, SocketChannel channel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (useAddressMask && (aChannel.host.equals("*") || aChannel.port.equals("*"))
-                            && !channel.equals(aChannel.channel)) {
-                        if (aChannel.host.equals("*")
-                                && aChannel.port.equals(Integer.toString(remoteAddress.getPort()))) {
-                            aChannel.channel = channel;
-                        } else if (aChannel.port.equals("*") && aChannel.host.equals(remoteAddress.getHostString())) {
-                            aChannel.channel = channel;
-                        } else if (aChannel.port.equals("*") && aChannel.host.equals("*")) {
-                            aChannel.channel = channel;
-                        }
-                    } else if (remoteAddress.equals(aChannel.remote) && !channel.equals(aChannel.channel)) {
-                        aChannel.channel = channel;
+            for (Channel aChannel : byRemoteOrMask(remoteAddress)) {
+                if (useAddressMask && (aChannel.host.equals("*") || aChannel.port.equals("*"))
+                        && !channel.equals(aChannel.channel)) {
+                    if (aChannel.host.equals("*") && aChannel.port.equals(Integer.toString(remoteAddress.getPort()))) {
+                        aChannel.setChannel(channel);
+                    } else if (aChannel.port.equals("*") && aChannel.host.equals(remoteAddress.getHostString())) {
+                        aChannel.setChannel(channel);
+                    } else if (aChannel.port.equals("*") && aChannel.host.equals("*")) {
+                        aChannel.setChannel(channel);
                     }
+                } else if (remoteAddress.equals(aChannel.remote) && !channel.equals(aChannel.channel)) {
+                    aChannel.setChannel(channel);
                 }
             }
-
         }
 
         public ArrayList<Channel> getAll(SocketChannel theSocketChannel) {
-            synchronized (this) {
-                ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
-
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theSocketChannel.equals(aChannel.channel)) {
-                        selectedChannels.add(aChannel);
-                    }
-                }
-
-                return selectedChannels;
-            }
+            return new ArrayList<Channel>(byChannel(theSocketChannel));
         }
 
         public void setAllBlocking(SocketChannel theSocketChannel, boolean b) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theSocketChannel.equals(aChannel.channel)) {
-                        aChannel.isBlocking = b;
-                    }
-                }
+            for (Channel aChannel : byChannel(theSocketChannel)) {
+                aChannel.isBlocking = b;
             }
         }
 
         public void setAllReconnecting(SocketChannel theSocketChannel, boolean b) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theSocketChannel.equals(aChannel.channel)) {
-                        aChannel.isReconnecting = b;
-                    }
-                }
+            for (Channel aChannel : byChannel(theSocketChannel)) {
+                aChannel.isReconnecting = b;
             }
         }
 
         public Channel getFirstNotServed(Direction direction, InetSocketAddress remoteAddress) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (useAddressMask && (aChannel.host.equals("*") || aChannel.port.equals("*"))
-                            && direction.equals(aChannel.direction)
-                            && (aChannel.channel == null || !aChannel.channel.isOpen())) {
-                        if (aChannel.host.equals("*")
-                                && aChannel.port.equals(Integer.toString(remoteAddress.getPort()))) {
-                            return aChannel;
-                        } else if (aChannel.port.equals("*") && aChannel.host.equals(remoteAddress.getHostString())) {
-                            return aChannel;
-                        } else if (aChannel.port.equals("*") && aChannel.host.equals("*")) {
-                            return aChannel;
-                        }
-                    } else if (remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)
-                            && (aChannel.channel == null || !aChannel.channel.isOpen())) {
+            for (Channel aChannel : byRemoteOrMask(remoteAddress)) {
+                if (useAddressMask && (aChannel.host.equals("*") || aChannel.port.equals("*"))
+                        && direction.equals(aChannel.direction)
+                        && (aChannel.channel == null || !aChannel.channel.isOpen())) {
+                    if (aChannel.host.equals("*") && aChannel.port.equals(Integer.toString(remoteAddress.getPort()))) {
+                        return aChannel;
+                    } else if (aChannel.port.equals("*") && aChannel.host.equals(remoteAddress.getHostString())) {
+                        return aChannel;
+                    } else if (aChannel.port.equals("*") && aChannel.host.equals("*")) {
                         return aChannel;
                     }
+                } else if (remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)
+                        && (aChannel.channel == null || !aChannel.channel.isOpen())) {
+                    return aChannel;
                 }
-
-                return null;
             }
+
+            return null;
         }
 
         public boolean isBlocking(SocketChannel theSocketChannel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theSocketChannel.equals(aChannel.channel) && aChannel.isBlocking) {
-                        return true;
-                    }
-                }
-                return false;
-            }
+            return getBlocking(theSocketChannel) != null;
         }
 
         public Channel getBlocking(SocketChannel theSocketChannel) {
-            synchronized (this) {
-                Iterator<C> it = iterator();
-                while (it.hasNext()) {
-                    C aChannel = it.next();
-                    if (theSocketChannel.equals(aChannel.channel) && aChannel.isBlocking) {
-                        return aChannel;
-                    }
+            for (Channel aChannel : byChannel(theSocketChannel)) {
+                if (aChannel.isBlocking) {
+                    return aChannel;
                 }
-                return null;
             }
+
+            return null;
         }
 
     }
@@ -717,6 +733,8 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
     @Override
     public void deactivate() {
 
+        stopSelectorThread();
+
         try {
             selector.close();
         } catch (IOException e) {
@@ -869,16 +887,183 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                         refreshInterval);
             }
 
+            String selectorThreadString = (String) config.get("selectorthread");
+            if (StringUtils.isNotBlank(selectorThreadString)) {
+                useSelectorThread = Boolean.parseBoolean(selectorThreadString);
+            } else {
+                logger.info(
+                        "The setting to handle network events in a dedicated thread will be set to the default value of {}",
+                        useSelectorThread);
+            }
+
             if (listenerPort != 0) {
                 configureListenerChannel();
             }
 
+            channelsChanged = true;
+            if (useSelectorThread) {
+                startSelectorThread();
+            } else {
+                stopSelectorThread();
+            }
+
             setProperlyConfigured(true);
 
         }
 
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void bindingChanged(BindingProvider provider, String itemName) {
+        super.bindingChanged(provider, itemName);
+        channelsChanged = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void allBindingsChanged(BindingProvider provider) {
+        super.allBindingsChanged(provider);
+        channelsChanged = true;
+    }
+
+    /**
+     * Starts the thread that handles the network events as soon as they occur. The channels registered so far lose
+     * their OP_WRITE interest, unless data is queued for them.
+     */
+    private void startSelectorThread() {
+        if (selectorThread != null || selector == null) {
+            return;
+        }
+
+        selectorThreadRunning = true;
+        synchronized (selector) {
+            for (SelectionKey key : new ArrayList<SelectionKey>(selector.keys())) {
+                if (key.channel() instanceof SocketChannel) {
+                    updateWriteInterest((SocketChannel) key.channel());
+                }
+            }
+        }
+
+        selectorThread = new Thread("Socket Channel Selector") {
+            @Override
+            public void run() {
+                logger.debug("The selector thread has been started");
+                while (selectorThreadRunning) {
+                    try {
+                        // a thread registering a channel holds the lock while it wakes up the selector, so wait
+                        // until the registration is done before blocking again
+                        synchronized (selector) {
+                        }
+                        selector.select();
+                    } catch (ClosedSelectorException e) {
+                        break;
+                    } catch (IOException e) {
+                        logger.error("An exception occurred while Selecting ({})", e.getMessage());
+                    }
+
+                    try {
+                        processSelectedKeys();
+                    } catch (RuntimeException e) {
+                        logger.error("An exception occurred while processing the selected channels: {}",
+                                e.getMessage());
+                    }
+                }
+                logger.debug("The selector thread has been stopped");
+            }
+        };
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+    }
+
+    /**
+     * Stops the selector thread. The channels get their OP_WRITE interest back, as the polled selector picks the
+     * queued data of every writable channel.
+     */
+    private void stopSelectorThread() {
+        Thread thread = selectorThread;
+        if (thread == null) {
+            return;
+        }
+
+        selectorThreadRunning = false;
+        selectorThread = null;
+        selector.wakeup();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (selector.isOpen()) {
+            synchronized (selector) {
+                for (SelectionKey key : new ArrayList<SelectionKey>(selector.keys())) {
+                    try {
+                        if ((key.channel().validOps() & SelectionKey.OP_WRITE) != 0) {
+                            key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                        }
+                    } catch (CancelledKeyException e) {
+                        // the channel has been closed in the meantime
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the interest set to register a channel with. With the selector thread, OP_WRITE is only set while data
+     * is queued for a channel, as a writable channel would wake up the selector continuously.
+     *
+     * @param interestSet the operations the channel is used for
+     * @return the operations to register
+     */
+    protected int selectableOps(int interestSet) {
+        if (selectorThreadRunning) {
+            return interestSet & ~SelectionKey.OP_WRITE;
+        }
+        return interestSet;
+    }
+
+    /**
+     * Sets OP_WRITE on the selection key of the channel if data is queued for it and no blocking write/read operation
+     * is in progress, and clears it otherwise. Nothing is done when the selector is polled.
+     *
+     * @param theSocketChannel the channel data has been queued for or written to
+     */
+    protected void updateWriteInterest(SocketChannel theSocketChannel) {
+        if (!selectorThreadRunning || theSocketChannel == null) {
+            return;
+        }
+
+        SelectionKey key = theSocketChannel.keyFor(selector);
+        if (key == null) {
+            return;
+        }
+
+        boolean pending = false;
+        if (!channels.isBlocking(theSocketChannel)) {
+            Queue<WriteBufferElement> queue = writeQueues.get(theSocketChannel);
+            pending = queue != null && !queue.isEmpty();
+        }
+
+        synchronized (selector) {
+            selector.wakeup();
+            try {
+                if (pending) {
+                    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                } else {
+                    key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+                }
+            } catch (CancelledKeyException e) {
+                // the channel has been closed in the meantime
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1057,17 +1242,21 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
         if (isBlockingWriteRead) {
 
             if (theBuffer != null) {
-                if (theSocketChannel.isConnected() || queueUntilConnected) {
-                    writeQueue.add(new WriteBufferElement(theChannel, theBuffer, true));
+                if (theSocketChannel.isConnected() || theSocketChannel.isConnectionPending() || queueUntilConnected) {
+                    queueWrite(new WriteBufferElement(theChannel, theBuffer, true));
                 }
 
-                long currentElapsedTimeMillis = System.currentTimeMillis();
-
-                while (theChannel.buffer == null && (System.currentTimeMillis() - currentElapsedTimeMillis) < timeOut) {
-                    try {
-                        Thread.sleep(100);
-                    } catch (InterruptedException e) {
-                        logger.warn("Exception occurred while waiting during a blocking buffer write");
+                // the thread reading the response notifies us as soon as it is there
+                long deadline = System.currentTimeMillis() + timeOut;
+                synchronized (theChannel) {
+                    long remaining = timeOut;
+                    while (theChannel.buffer == null && remaining > 0) {
+                        try {
+                            theChannel.wait(remaining);
+                        } catch (InterruptedException e) {
+                            logger.warn("Exception occurred while waiting during a blocking buffer write");
+                        }
+                        remaining = deadline - System.currentTimeMillis();
                     }
                 }
 
@@ -1077,6 +1266,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                     theChannel.buffer = null;
                     theChannel.isBlocking = false;
                 }
+                updateWriteInterest(theSocketChannel);
                 return responseBuffer;
             } else {
                 return theBuffer;
@@ -1085,8 +1275,9 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
         } else {
 
             if (theBuffer != null) {
-                if (theSocketChannel.isConnected() || queueUntilConnected) {
-                    writeQueue.add(new WriteBufferElement(theChannel, theBuffer, false));
+                // data for a channel that is still connecting is queued, and written once it is connected
+                if (theSocketChannel.isConnected() || theSocketChannel.isConnectionPending() || queueUntilConnected) {
+                    queueWrite(new WriteBufferElement(theChannel, theBuffer, false));
                 }
             }
 
@@ -1094,6 +1285,60 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
         }
     }
 
+    /**
+     * Appends an element to the write queue of the Java NIO channel its Channel is bound to. The buffer is written
+     * from its beginning, independent of the position the caller left it at.
+     *
+     * @param theElement the element to write
+     */
+    protected void queueWrite(WriteBufferElement theElement) {
+        SocketChannel theSocketChannel = theElement.channel.channel;
+        if (theSocketChannel == null) {
+            return;
+        }
+
+        theElement.buffer = theElement.buffer.duplicate();
+        theElement.buffer.rewind();
+
+        Queue<WriteBufferElement> queue = writeQueues.get(theSocketChannel);
+        if (queue == null) {
+            queue = new ConcurrentLinkedQueue<WriteBufferElement>();
+            Queue<WriteBufferElement> existingQueue = writeQueues.putIfAbsent(theSocketChannel, queue);
+            if (existingQueue != null) {
+                queue = existingQueue;
+            }
+        }
+        queue.offer(theElement);
+
+        updateWriteInterest(theSocketChannel);
+    }
+
+    /**
+     * Moves the queued elements of a Channel to the write queue of the Java NIO channel it is bound to now, e.g.
+     * after a reconnection. The elements are discarded if the Channel is not bound anymore.
+     */
+    private void transferWrites(Channel theChannel, SocketChannel oldChannel, SocketChannel newChannel) {
+        Queue<WriteBufferElement> oldQueue = oldChannel != null ? writeQueues.get(oldChannel) : null;
+        if (oldQueue == null) {
+            return;
+        }
+
+        Iterator<WriteBufferElement> iterator = oldQueue.iterator();
+        while (iterator.hasNext()) {
+            WriteBufferElement anElement = iterator.next();
+            if (anElement.channel == theChannel) {
+                iterator.remove();
+                if (newChannel != null) {
+                    queueWrite(anElement);
+                }
+            }
+        }
+
+        if (oldQueue.isEmpty() && !oldChannel.isOpen()) {
+            writeQueues.remove(oldChannel, oldQueue);
+        }
+    }
+
     /**
      * Quartz Job to reconnect a channel
      * 
@@ -1127,7 +1372,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                     }
 
                     try {
-                        theChannel.channel = SocketChannel.open();
+                        theChannel.setChannel(SocketChannel.open());
                     } catch (IOException e) {
                         logger.error("An exception occurred while opening a channel: {}", e.getMessage());
                     }
@@ -1147,7 +1392,8 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                         int interestSet = SelectionKey.OP_READ | SelectionKey.OP_WRITE | SelectionKey.OP_CONNECT;
                         try {
                             if (theChannel.channel != null) {
-                                theChannel.channel.register(theBinding.selector, interestSet);
+                                theChannel.channel.register(theBinding.selector,
+                                        theBinding.selectableOps(interestSet));
                             }
                         } catch (ClosedChannelException e1) {
                             logger.error("An exception occurred while registering a selector: {}", e1.getMessage());
@@ -1200,7 +1446,31 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
     @Override
     protected void execute() {
 
-        // Cycle through the Items and setup channels if required
+        // the channels only have to be set up again when the item bindings or the configuration changed
+        if (channelsChanged) {
+            channelsChanged = false;
+            setupChannels();
+        }
+
+        if (!selectorThreadRunning) {
+            // Check on channels for which we have to process data
+            synchronized (selector) {
+                try {
+                    // Wait for an event
+                    selector.selectNow();
+                } catch (IOException e) {
+                    logger.error("An exception occurred while Selecting ({})", e.getMessage());
+                }
+            }
+
+            processSelectedKeys();
+        }
+    }
+
+    /**
+     * Cycles through the Items and sets up the channels that do not exist yet
+     */
+    protected void setupChannels() {
         for (P provider : providers) {
             for (String itemName : provider.getItemNames()) {
                 for (Command aCommand : provider.getAllCommands(itemName)) {
@@ -1244,7 +1514,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                                 if (itemShareChannels) {
                                     Channel firstChannel = channels.getFirstServed(itemName, direction, remoteAddress);
                                     if (firstChannel != null) {
-                                        newChannel.channel = firstChannel.channel;
+                                        newChannel.setChannel(firstChannel.channel);
                                         assigned = true;
                                     }
                                 }
@@ -1252,7 +1522,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                                 if (bindingShareChannels) {
                                     Channel firstChannel = channels.getFirstServed(direction, remoteAddress);
                                     if (firstChannel != null) {
-                                        newChannel.channel = firstChannel.channel;
+                                        newChannel.setChannel(firstChannel.channel);
                                         assigned = true;
                                     }
                                 }
@@ -1260,7 +1530,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                                 if (directionsShareChannels) {
                                     Channel firstChannel = channels.getFirstServed(remoteAddress);
                                     if (firstChannel != null) {
-                                        newChannel.channel = firstChannel.channel;
+                                        newChannel.setChannel(firstChannel.channel);
                                         assigned = true;
                                     }
                                 }
@@ -1295,7 +1565,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                                         Channel firstChannel = channels.getFirstServed(itemName, direction,
                                                 remoteAddress);
                                         if (firstChannel != null) {
-                                            newChannel.channel = firstChannel.channel;
+                                            newChannel.setChannel(firstChannel.channel);
                                             assigned = true;
                                         }
                                     }
@@ -1303,7 +1573,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                                     if (bindingShareChannels) {
                                         Channel firstChannel = channels.getFirstServed(direction, remoteAddress);
                                         if (firstChannel != null) {
-                                            newChannel.channel = firstChannel.channel;
+                                            newChannel.setChannel(firstChannel.channel);
                                             assigned = true;
                                         }
                                     }
@@ -1311,7 +1581,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                                     if (directionsShareChannels) {
                                         Channel firstChannel = channels.getFirstServed(remoteAddress);
                                         if (firstChannel != null) {
-                                            newChannel.channel = firstChannel.channel;
+                                            newChannel.setChannel(firstChannel.channel);
                                             assigned = true;
                                         }
                                     }
@@ -1345,7 +1615,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                                                 int interestSet = SelectionKey.OP_READ | SelectionKey.OP_WRITE
                                                         | SelectionKey.OP_CONNECT;
                                                 try {
-                                                    newSocketChannel.register(selector, interestSet);
+                                                    newSocketChannel.register(selector, selectableOps(interestSet));
                                                 } catch (ClosedChannelException e1) {
                                                     logger.error(
                                                             "An exception occurred while registering a selector: {}",
@@ -1353,7 +1623,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                                                 }
                                             }
 
-                                            newChannel.channel = newSocketChannel;
+                                            newChannel.setChannel(newSocketChannel);
                                             logger.debug("Setting up the outbound channel {}", newChannel);
 
                                             try {
@@ -1375,17 +1645,12 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                 }
             }
         }
+    }
 
-        // Check on channels for which we have to process data
-        synchronized (selector) {
-            try {
-                // Wait for an event
-                selector.selectNow();
-            } catch (IOException e) {
-                logger.error("An exception occurred while Selecting ({})", e.getMessage());
-            }
-        }
-
+    /**
+     * Processes the selection keys with pending events, i.e. accepts, connects, reads and writes the channels
+     */
+    protected void processSelectedKeys() {
         // Get list of selection keys with pending events
         Iterator<SelectionKey> it = selector.selectedKeys().iterator();
 
@@ -1421,7 +1686,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
                                     if (firstChannel.channel == null || !firstChannel.channel.isOpen()) {
 
-                                        firstChannel.channel = newChannel;
+                                        firstChannel.setChannel(newChannel);
                                         firstChannel.isBlocking = false;
                                         firstChannel.buffer = null;
 
@@ -1453,7 +1718,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                                         synchronized (selector) {
                                             selector.wakeup();
                                             try {
-                                                newChannel.register(selector, newChannel.validOps());
+                                                newChannel.register(selector, selectableOps(newChannel.validOps()));
                                             } catch (ClosedChannelException e1) {
                                                 logger.error("An exception occurred while registering a selector: {}",
                                                         e1.getMessage());
@@ -1596,6 +1861,9 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
                                 logger.info("The channel for {} is now connected", remote);
 
+                                // data might have been queued while the channel was connecting
+                                updateWriteInterest(theSocketChannel);
+
                                 if (itemShareChannels) {
                                     channels.replace(theChannel.item, theChannel.direction, remote, theChannel.channel);
                                 }
@@ -1664,7 +1932,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
                     } else if (selKey.isReadable()) {
 
-                        ByteBuffer readBuffer = ByteBuffer.allocate(maximumBufferSize);
+                        ByteBuffer directBuffer = readBuffers.acquire(maximumBufferSize);
                         int numberBytesRead = 0;
                         boolean error = false;
 
@@ -1673,7 +1941,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                             // remote end is not correctly fragemented. Could be handed of to implementation class if
                             // for example, the buffer needs to be split based on a special character like line feed or
                             // carriage return
-                            numberBytesRead = theSocketChannel.read(readBuffer);
+                            numberBytesRead = theSocketChannel.read(directBuffer);
                         } catch (NotYetConnectedException e) {
                             logger.warn("The channel for {} has no connection pending ({})", theChannel.remote,
                                     e.getMessage());
@@ -1687,6 +1955,11 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                             error = true;
                         }
 
+                        // the protocol implementations get a heap buffer of the received size
+                        directBuffer.flip();
+                        ByteBuffer readBuffer = ByteBufferPool.copyOf(directBuffer);
+                        readBuffers.release(directBuffer);
+
                         if (numberBytesRead == -1) {
                             try {
                                 theSocketChannel.close();
@@ -1737,7 +2010,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                                 }
 
                             } else {
-                                theChannel.channel = null;
+                                theChannel.setChannel(null);
                             }
                         } else {
 
@@ -1747,8 +2020,6 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
                             if (channelsToServe.size() > 0) {
 
-                                readBuffer.flip();
-
                                 boolean isBlocking = channels.isBlocking(theSocketChannel);
 
                                 if (isBlocking) {
@@ -1757,8 +2028,12 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                                     // that initiated the write opreation - it has to parse the buffer itself
 
                                     theChannel = channels.getBlocking(theSocketChannel);
-                                    theChannel.buffer = readBuffer;
+                                    synchronized (theChannel) {
+                                        theChannel.buffer = readBuffer;
+                                        theChannel.notifyAll();
+                                    }
                                     theChannel.isBlocking = false;
+                                    updateWriteInterest(theSocketChannel);
 
                                 } else {
                                     for (Channel aChannel : channelsToServe) {
@@ -1788,22 +2063,27 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                             // this selKey
                         } else {
 
-                            // pick up a QueueElement for this channel, if any
+                            // pick up the QueueElements for this channel, if any. Consecutive non-blocking elements are
+                            // written at once, whereas a blocking element is written on its own, as it waits for a reply
 
-                            WriteBufferElement theElement = null;
+                            Queue<WriteBufferElement> queue = writeQueues.get(theSocketChannel);
+                            WriteBufferElement theElement = queue != null ? queue.peek() : null;
 
-                            Iterator<WriteBufferElement> iterator = writeQueue.iterator();
-                            while (iterator.hasNext()) {
-                                WriteBufferElement anElement = iterator.next();
-                                if (anElement.channel.channel.equals(theSocketChannel)) {
-                                    theElement = anElement;
-                                    break;
-                                }
-                            }
+                            if (theElement != null) {
 
-                            if (theElement != null && theElement.buffer != null) {
+                                List<WriteBufferElement> theElements = new ArrayList<WriteBufferElement>();
+                                if (theElement.isBlocking) {
+                                    theElements.add(theElement);
+                                } else {
+                                    for (WriteBufferElement anElement : queue) {
+                                        if (anElement.isBlocking || theElements.size() == MAXIMUM_GATHERED_WRITES) {
+                                            break;
+                                        }
+                                        theElements.add(anElement);
+                                    }
+                                }
 
-                                logger.debug("Picked {} from the queue", theElement);
+                                logger.debug("Picked {} from the queue", theElements);
 
                                 if (theElement.isBlocking) {
                                     theElement.channel.isBlocking = true;
@@ -1811,13 +2091,21 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
                                 boolean error = false;
 
-                                theElement.buffer.rewind();
+                                ByteBuffer[] theBuffers = new ByteBuffer[theElements.size()];
+                                for (int i = 0; i < theBuffers.length; i++) {
+                                    theBuffers[i] = theElements.get(i).buffer;
+                                }
+
                                 try {
-                                    logger.debug("Sending {} for the outbound channel {}->{}",
-                                            new Object[] { new String(theElement.buffer.array()),
-                                                    theElement.channel.channel.getLocalAddress(),
-                                                    theElement.channel.channel.getRemoteAddress() });
-                                    theSocketChannel.write(theElement.buffer);
+                                    if (logger.isDebugEnabled()) {
+                                        for (WriteBufferElement anElement : theElements) {
+                                            logger.debug("Sending {} for the outbound channel {}->{}",
+                                                    new Object[] { new String(anElement.buffer.array()),
+                                                            anElement.channel.channel.getLocalAddress(),
+                                                            anElement.channel.channel.getRemoteAddress() });
+                                        }
+                                    }
+                                    theSocketChannel.write(theBuffers);
                                 } catch (NotYetConnectedException e) {
                                     logger.warn("The channel for {} has no connection pending ({})", theChannel.remote,
                                             e.getMessage());
@@ -1877,16 +2165,21 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                                         }
 
                                     } else {
-                                        theElement.channel.channel = null;
+                                        theElement.channel.setChannel(null);
                                     }
                                 } else {
-                                    if (theElement != null) {
-                                        writeQueue.remove(theElement);
+                                    // an element that could only be written partially stays at the head of the queue
+                                    for (WriteBufferElement anElement : theElements) {
+                                        if (anElement.buffer.hasRemaining()) {
+                                            break;
+                                        }
+                                        queue.remove(anElement);
                                     }
-
                                 }
                             }
                         }
+
+                        updateWriteInterest(theSocketChannel);
                     }
                 }
             }
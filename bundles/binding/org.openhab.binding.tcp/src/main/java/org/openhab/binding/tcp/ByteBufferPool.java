@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.tcp;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A small pool of direct ByteBuffers that are used to read from the network. Direct buffers are expensive to
+ * allocate but avoid the copy the JDK makes when a channel is read into a heap buffer, hence they are recycled.
+ *
+ * @author Sven Schreier
+ * @since 1.11.0
+ */
+class ByteBufferPool {
+
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<ByteBuffer>();
+    private final AtomicInteger pooled = new AtomicInteger();
+    private final int maximumPooled;
+
+    /**
+     * @param maximumPooled the maximum number of idle buffers that are kept
+     */
+    ByteBufferPool(int maximumPooled) {
+        this.maximumPooled = maximumPooled;
+    }
+
+    /**
+     * Returns a cleared buffer with the given capacity, either a recycled one or a new one
+     */
+    ByteBuffer acquire(int capacity) {
+        ByteBuffer buffer;
+        while ((buffer = buffers.poll()) != null) {
+            pooled.decrementAndGet();
+            // buffers of a previous buffer size configuration are left to the garbage collector
+            if (buffer.capacity() == capacity) {
+                buffer.clear();
+                return buffer;
+            }
+        }
+        return ByteBuffer.allocateDirect(capacity);
+    }
+
+    /**
+     * Hands a buffer back to the pool. The buffer must not be used by the caller anymore.
+     */
+    void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect()) {
+            return;
+        }
+        if (pooled.incrementAndGet() <= maximumPooled) {
+            buffers.offer(buffer);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+
+    /**
+     * Copies the remaining bytes of a buffer into a new heap buffer, which is flipped and ready to be read. Heap
+     * buffers are handed to the protocol implementations, as they access the backing array.
+     */
+    static ByteBuffer copyOf(ByteBuffer buffer) {
+        ByteBuffer copy = ByteBuffer.allocate(buffer.remaining());
+        copy.put(buffer);
+        copy.flip();
+        return copy;
+    }
+}
@@ -8,6 +8,9 @@
  */
 package org.openhab.binding.zwave;
 
+import java.util.List;
+
+import org.openhab.binding.zwave.internal.protocol.commandclass.ZWaveCommandClass.CommandClass;
 import org.openhab.core.autoupdate.AutoUpdateBindingProvider;
 import org.openhab.core.items.Item;
 
@@ -36,4 +39,18 @@ public interface ZWaveBindingProvider extends AutoUpdateBindingProvider {
      * @return the item.
      */
     public Item getItem(String itemName);
+
+    /**
+     * Returns the names of the items that are bound to an endpoint of a node
+     * and that handle values of the specified command class. These are the
+     * items bound to the command class, the items without a command class
+     * and, for the BASIC command class, the items responding to BASIC.
+     *
+     * @param nodeId the node ID.
+     * @param endpoint the endpoint.
+     * @param commandClass the command class, or null for all the items
+     *            bound to the endpoint.
+     * @return the item names, an empty list if there are none.
+     */
+    public List<String> getItemNames(int nodeId, int endpoint, CommandClass commandClass);
 }
@@ -27,6 +27,7 @@ import org.openhab.binding.zwave.internal.protocol.event.ZWaveCommandClassValueE
 import org.openhab.binding.zwave.internal.protocol.event.ZWaveEvent;
 import org.openhab.binding.zwave.internal.protocol.event.ZWaveInitializationCompletedEvent;
 import org.openhab.binding.zwave.internal.protocol.initialization.ZWaveNodeInitStage;
+import org.openhab.binding.zwave.internal.protocol.initialization.ZWaveNodeSerializer;
 import org.openhab.core.binding.AbstractActiveBinding;
 import org.openhab.core.binding.BindingProvider;
 import org.openhab.core.types.Command;
@@ -410,6 +411,11 @@ public class ZWaveActiveBinding extends AbstractActiveBinding<ZWaveBindingProvid
                 logger.error("Error parsing 'masterController'. This must be boolean.");
             }
         }
+        if (StringUtils.isNotBlank((String) config.get("binaryNodeCache"))) {
+            boolean binaryNodeCache = Boolean.parseBoolean((String) config.get("binaryNodeCache"));
+            ZWaveNodeSerializer.setBinaryFormat(binaryNodeCache);
+            logger.info("Update config, binaryNodeCache = {}", binaryNodeCache);
+        }
         if (StringUtils.isNotBlank((String) config.get("networkKey"))) {
             String keyString = (String) config.get("networkKey");
             // All errors will be caught and logged by
@@ -474,20 +480,23 @@ public class ZWaveActiveBinding extends AbstractActiveBinding<ZWaveBindingProvid
                         event.getValue() });
 
         for (ZWaveBindingProvider provider : providers) {
-            for (String itemName : provider.getItemNames()) {
-                ZWaveBindingConfig bindingConfig = provider.getZwaveBindingConfig(itemName);
-
-                if (bindingConfig.getNodeId() != event.getNodeId()
-                        || bindingConfig.getEndpoint() != event.getEndpoint()) {
-                    continue;
-                }
-
+            for (String itemName : provider.getItemNames(event.getNodeId(), event.getEndpoint(),
+                    event.getCommandClass())) {
                 converterHandler.handleEvent(provider, itemName, event);
                 handled = true;
             }
         }
 
         if (!handled) {
+            for (ZWaveBindingProvider provider : providers) {
+                if (!provider.getItemNames(event.getNodeId(), event.getEndpoint(), null).isEmpty()) {
+                    logger.trace("NODE {}: No item bound to command class {} on endpoint {}, ignoring.",
+                            new Object[] { event.getNodeId(), event.getCommandClass().getLabel(),
+                                    event.getEndpoint() });
+                    return;
+                }
+            }
+
             logger.warn("NODE {}: No item bound for event, endpoint = {}, command class = {}, value = {}, ignoring.",
                     new Object[] { event.getNodeId(), event.getEndpoint(), event.getCommandClass().getLabel(),
                             event.getValue() });
@@ -8,12 +8,20 @@
  */
 package org.openhab.binding.zwave.internal;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.openhab.binding.zwave.ZWaveBindingConfig;
 import org.openhab.binding.zwave.ZWaveBindingProvider;
 import org.openhab.binding.zwave.internal.protocol.commandclass.ZWaveCommandClass;
+import org.openhab.binding.zwave.internal.protocol.commandclass.ZWaveCommandClass.CommandClass;
+import org.openhab.core.binding.BindingConfig;
 import org.openhab.core.items.Item;
 import org.openhab.model.item.binding.AbstractGenericBindingProvider;
 import org.openhab.model.item.binding.BindingConfigParseException;
@@ -33,6 +41,12 @@ public class ZWaveGenericBindingProvider extends AbstractGenericBindingProvider
     private static final Logger logger = LoggerFactory.getLogger(ZWaveGenericBindingProvider.class);
     private final Map<String, Item> items = new HashMap<String, Item>();
 
+    /**
+     * the bound items, indexed by node and endpoint. The lists are never modified but replaced, so that value
+     * events can be dispatched without locking.
+     */
+    private final ConcurrentMap<Long, List<BoundItem>> endpointItems = new ConcurrentHashMap<Long, List<BoundItem>>();
+
     /**
      * {@inheritDoc}
      */
@@ -133,6 +147,98 @@ public class ZWaveGenericBindingProvider extends AbstractGenericBindingProvider
         return (ZWaveBindingConfig) this.bindingConfigs.get(itemName);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void addBindingConfig(Item item, BindingConfig config) {
+        synchronized (endpointItems) {
+            removeFromIndex(item.getName(), bindingConfigs.get(item.getName()));
+            addToIndex(item.getName(), config);
+        }
+        super.addBindingConfig(item, config);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeConfigurations(String context) {
+        Set<Item> contextItems = contextMap.get(context);
+        if (contextItems != null) {
+            synchronized (endpointItems) {
+                for (Item item : contextItems) {
+                    removeFromIndex(item.getName(), bindingConfigs.get(item.getName()));
+                }
+            }
+        }
+        super.removeConfigurations(context);
+    }
+
+    private void addToIndex(String itemName, BindingConfig config) {
+        if (!(config instanceof ZWaveBindingConfig)) {
+            return;
+        }
+        ZWaveBindingConfig bindingConfig = (ZWaveBindingConfig) config;
+        Long key = endpointKey(bindingConfig.getNodeId(), bindingConfig.getEndpoint());
+        List<BoundItem> boundItems = new ArrayList<BoundItem>(getBoundItems(key));
+        boundItems.add(new BoundItem(itemName, bindingConfig));
+        endpointItems.put(key, Collections.unmodifiableList(boundItems));
+    }
+
+    private void removeFromIndex(String itemName, BindingConfig config) {
+        if (!(config instanceof ZWaveBindingConfig)) {
+            return;
+        }
+        ZWaveBindingConfig bindingConfig = (ZWaveBindingConfig) config;
+        Long key = endpointKey(bindingConfig.getNodeId(), bindingConfig.getEndpoint());
+        List<BoundItem> boundItems = new ArrayList<BoundItem>(getBoundItems(key));
+        for (int i = 0; i < boundItems.size(); i++) {
+            if (boundItems.get(i).itemName.equals(itemName)) {
+                boundItems.remove(i);
+                break;
+            }
+        }
+        if (boundItems.isEmpty()) {
+            endpointItems.remove(key);
+        } else {
+            endpointItems.put(key, Collections.unmodifiableList(boundItems));
+        }
+    }
+
+    private List<BoundItem> getBoundItems(Long key) {
+        List<BoundItem> boundItems = endpointItems.get(key);
+        if (boundItems == null) {
+            return Collections.emptyList();
+        }
+        return boundItems;
+    }
+
+    private static Long endpointKey(int nodeId, int endpoint) {
+        return ((long) nodeId << 32) | (endpoint & 0xffffffffL);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getItemNames(int nodeId, int endpoint, CommandClass commandClass) {
+        List<BoundItem> boundItems = getBoundItems(endpointKey(nodeId, endpoint));
+        if (boundItems.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String commandClassName = commandClass == null ? null : commandClass.getLabel();
+        List<String> itemNames = new ArrayList<String>(boundItems.size());
+        for (BoundItem boundItem : boundItems) {
+            if (commandClass == null || boundItem.commandClassName == null
+                    || boundItem.commandClassName.equalsIgnoreCase(commandClassName)
+                    || (boundItem.respondToBasic && commandClass == CommandClass.BASIC)) {
+                itemNames.add(boundItem.itemName);
+            }
+        }
+        return itemNames;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -149,4 +255,18 @@ public class ZWaveGenericBindingProvider extends AbstractGenericBindingProvider
         return items.get(itemName);
     }
 
+    /**
+     * An item in the endpoint index, with the arguments needed to match the command class of value events
+     */
+    private static class BoundItem {
+        final String itemName;
+        final String commandClassName;
+        final boolean respondToBasic;
+
+        BoundItem(String itemName, ZWaveBindingConfig bindingConfig) {
+            this.itemName = itemName;
+            this.commandClassName = bindingConfig.getArguments().get("command");
+            this.respondToBasic = "true".equalsIgnoreCase(bindingConfig.getArguments().get("respond_to_basic"));
+        }
+    }
 }
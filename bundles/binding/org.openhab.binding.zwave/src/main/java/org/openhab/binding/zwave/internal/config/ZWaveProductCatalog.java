@@ -0,0 +1,219 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.zwave.internal.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.osgi.framework.FrameworkUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.annotations.XStreamImplicit;
+import com.thoughtworks.xstream.io.xml.StaxDriver;
+
+/**
+ * Holds the XML product database in memory. The database is loaded once, on first use, and is indexed by
+ * manufacturer and by product reference. Product files are loaded on demand and kept as well.
+ * The catalog is shared by all {@link ZWaveProductDatabase} instances, which only hold the selection of a
+ * manufacturer and product. The loaded data must therefore not be modified.
+ *
+ * @author Sven Schreier
+ * @since 1.11.0
+ */
+class ZWaveProductCatalog {
+    private static final Logger logger = LoggerFactory.getLogger(ZWaveProductCatalog.class);
+
+    private final List<ZWaveDbManufacturer> manufacturers;
+    private final Map<Integer, ZWaveDbManufacturer> manufacturersById = new HashMap<Integer, ZWaveDbManufacturer>();
+    private final Map<Long, ZWaveDbProduct> productsByReference = new HashMap<Long, ZWaveDbProduct>();
+
+    private final XStream productFileXStream;
+    private final ConcurrentMap<String, ZWaveDbProductFile> productFiles;
+
+    /**
+     * Returns the catalog, loading the product database on first use.
+     *
+     * @return the catalog
+     */
+    static ZWaveProductCatalog getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    private ZWaveProductCatalog() {
+        manufacturers = loadDatabase();
+        for (ZWaveDbManufacturer manufacturer : manufacturers) {
+            if (manufacturer.Id == null || manufacturersById.containsKey(manufacturer.Id)) {
+                continue;
+            }
+            manufacturersById.put(manufacturer.Id, manufacturer);
+            if (manufacturer.Product == null) {
+                continue;
+            }
+            // The first product listing a reference wins
+            for (ZWaveDbProduct product : manufacturer.Product) {
+                if (product.Reference == null) {
+                    continue;
+                }
+                for (ZWaveDbProductReference reference : product.Reference) {
+                    if (reference.Type == null || reference.Id == null) {
+                        continue;
+                    }
+                    Long key = productKey(manufacturer.Id, reference.Type, reference.Id);
+                    if (!productsByReference.containsKey(key)) {
+                        productsByReference.put(key, product);
+                    }
+                }
+            }
+        }
+        logger.debug("ZWave product database loaded: {} manufacturers, {} product references", manufacturers.size(),
+                productsByReference.size());
+
+        productFiles = new ConcurrentHashMap<String, ZWaveDbProductFile>();
+        productFileXStream = new XStream(new StaxDriver());
+        productFileXStream.alias("Product", ZWaveDbProductFile.class);
+        productFileXStream.alias("Configuration", ZWaveDbProductFile.ZWaveDbConfiguration.class);
+        productFileXStream.alias("Parameter", ZWaveDbConfigurationParameter.class);
+        productFileXStream.alias("Item", ZWaveDbConfigurationListItem.class);
+        productFileXStream.alias("Associations", ZWaveDbProductFile.ZWaveDbAssociation.class);
+        productFileXStream.alias("Group", ZWaveDbAssociationGroup.class);
+        productFileXStream.alias("CommandClass", ZWaveDbProductFile.ZWaveDbCommandClassList.class);
+        productFileXStream.alias("Class", ZWaveDbCommandClass.class);
+        productFileXStream.processAnnotations(ZWaveDbProductFile.class);
+    }
+
+    private static List<ZWaveDbManufacturer> loadDatabase() {
+        URL entry = FrameworkUtil.getBundle(ZWaveProductCatalog.class).getEntry("database/products.xml");
+        if (entry == null) {
+            logger.error("Unable to load ZWave product database!");
+            return Collections.emptyList();
+        }
+
+        XStream xstream = new XStream(new StaxDriver());
+        xstream.alias("Manufacturers", ZWaveDbRoot.class);
+        xstream.alias("Manufacturer", ZWaveDbManufacturer.class);
+        xstream.alias("Product", ZWaveDbProduct.class);
+        xstream.alias("Reference", ZWaveDbProductReference.class);
+
+        xstream.processAnnotations(ZWaveDbRoot.class);
+
+        InputStream x = null;
+        try {
+            x = entry.openStream();
+            ZWaveDbRoot database = (ZWaveDbRoot) xstream.fromXML(x);
+            if (database == null || database.Manufacturer == null) {
+                return Collections.emptyList();
+            }
+            return Collections.unmodifiableList(database.Manufacturer);
+        } catch (IOException e) {
+            logger.error("Unable to load ZWave product database: {}", e.toString());
+            return Collections.emptyList();
+        } finally {
+            closeQuietly(x);
+        }
+    }
+
+    /**
+     * @return all the manufacturers of the database
+     */
+    List<ZWaveDbManufacturer> getManufacturers() {
+        return manufacturers;
+    }
+
+    /**
+     * Finds a manufacturer.
+     *
+     * @param manufacturerId the manufacturer ID
+     * @return the manufacturer, or null if not found
+     */
+    ZWaveDbManufacturer getManufacturer(int manufacturerId) {
+        return manufacturersById.get(manufacturerId);
+    }
+
+    /**
+     * Finds a product.
+     *
+     * @param manufacturerId the manufacturer ID
+     * @param productType the product type
+     * @param productId the product ID
+     * @return the product, or null if not found
+     */
+    ZWaveDbProduct getProduct(int manufacturerId, int productType, int productId) {
+        return productsByReference.get(productKey(manufacturerId, productType, productId));
+    }
+
+    /**
+     * Returns a product file, loading it on first use.
+     *
+     * @param cfgFile the name of the product file, relative to the database folder
+     * @return the product file, or null if it can't be loaded
+     */
+    ZWaveDbProductFile getProductFile(String cfgFile) {
+        ZWaveDbProductFile productFile = productFiles.get(cfgFile);
+        if (productFile != null) {
+            return productFile;
+        }
+
+        URL entry = FrameworkUtil.getBundle(ZWaveProductCatalog.class).getEntry("database/" + cfgFile);
+        if (entry == null) {
+            logger.error("Unable to load ZWave product file: '{}'", cfgFile);
+            return null;
+        }
+
+        InputStream x = null;
+        try {
+            x = entry.openStream();
+            productFile = (ZWaveDbProductFile) productFileXStream.fromXML(x);
+        } catch (IOException e) {
+            logger.error("Unable to load ZWave product file '{}' : {}", cfgFile, e.toString());
+            return null;
+        } finally {
+            closeQuietly(x);
+        }
+        if (productFile == null) {
+            return null;
+        }
+
+        // Another thread may have loaded the file in the meantime
+        ZWaveDbProductFile loaded = productFiles.putIfAbsent(cfgFile, productFile);
+        return loaded != null ? loaded : productFile;
+    }
+
+    private static Long productKey(int manufacturerId, int productType, int productId) {
+        return ((long) (manufacturerId & 0xffff) << 32) | ((long) (productType & 0xffff) << 16) | (productId & 0xffff);
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        if (stream == null) {
+            return;
+        }
+        try {
+            stream.close();
+        } catch (IOException e) {
+            logger.debug("Error closing ZWave product database stream: {}", e.toString());
+        }
+    }
+
+    private static class ZWaveDbRoot {
+        @XStreamImplicit
+        List<ZWaveDbManufacturer> Manufacturer;
+    }
+
+    private static class InstanceHolder {
+        private static final ZWaveProductCatalog INSTANCE = new ZWaveProductCatalog();
+    }
+}
@@ -8,33 +8,22 @@
  */
 package org.openhab.binding.zwave.internal.config;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.net.URL;
 import java.util.Collections;
 import java.util.List;
 
-import org.osgi.framework.FrameworkUtil;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import com.thoughtworks.xstream.XStream;
-import com.thoughtworks.xstream.annotations.XStreamImplicit;
-import com.thoughtworks.xstream.io.xml.StaxDriver;
-
 /**
  * Implements the top level functions for the XML product database This class
  * includes helper functions to manipulate the database and facilitate access to
  * the database.
+ * The database itself is loaded once and shared by all instances, see {@link ZWaveProductCatalog}, so
+ * instances are cheap to create.
  *
  * @author Chris Jackson
  * @since 1.4.0
  *
  */
 public class ZWaveProductDatabase {
-    private static final Logger logger = LoggerFactory.getLogger(ZWaveProductDatabase.class);
-
-    ZWaveDbRoot database = null;
+    ZWaveProductCatalog database = null;
     Languages language = Languages.ENGLISH;
 
     ZWaveDbManufacturer selManufacturer = null;
@@ -70,31 +59,7 @@ public class ZWaveProductDatabase {
     }
 
     private void loadDatabase() {
-        URL entry = FrameworkUtil.getBundle(ZWaveProductDatabase.class).getEntry("database/products.xml");
-        if (entry == null) {
-            database = null;
-            logger.error("Unable to load ZWave product database!");
-            return;
-        }
-
-        XStream xstream = new XStream(new StaxDriver());
-        xstream.alias("Manufacturers", ZWaveDbRoot.class);
-        xstream.alias("Manufacturer", ZWaveDbManufacturer.class);
-        xstream.alias("Product", ZWaveDbProduct.class);
-        xstream.alias("Reference", ZWaveDbProductReference.class);
-
-        xstream.processAnnotations(ZWaveDbRoot.class);
-
-        try {
-            // this.Manufacturer = (ZWaveDbManufacturer)
-            InputStream x = entry.openStream();
-            database = (ZWaveDbRoot) xstream.fromXML(x);
-            if (database == null) {
-                return;
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        database = ZWaveProductCatalog.getInstance();
     }
 
     /**
@@ -119,41 +84,12 @@ public class ZWaveProductDatabase {
             return null;
         }
 
-        URL entry = FrameworkUtil.getBundle(ZWaveProductDatabase.class).getEntry("database/" + cfgFile);
-        if (entry == null) {
-            database = null;
-            logger.error("Unable to load ZWave product file: '{}'", cfgFile);
-            return null;
-        }
-
-        XStream xstream = new XStream(new StaxDriver());
-        xstream.alias("Product", ZWaveDbProductFile.class);
-        xstream.alias("Configuration", ZWaveDbProductFile.ZWaveDbConfiguration.class);
-        xstream.alias("Parameter", ZWaveDbConfigurationParameter.class);
-        xstream.alias("Item", ZWaveDbConfigurationListItem.class);
-        xstream.alias("Associations", ZWaveDbProductFile.ZWaveDbAssociation.class);
-        xstream.alias("Group", ZWaveDbAssociationGroup.class);
-        xstream.alias("CommandClass", ZWaveDbProductFile.ZWaveDbCommandClassList.class);
-        xstream.alias("Class", ZWaveDbCommandClass.class);
-
-        xstream.processAnnotations(ZWaveDbProductFile.class);
-
-        try {
-            // this.Manufacturer = (ZWaveDbManufacturer)
-            InputStream x = entry.openStream();
-            productFile = (ZWaveDbProductFile) xstream.fromXML(x);
-        } catch (IOException e) {
-            logger.error("Unable to load ZWave product file '{}' : {}", cfgFile, e.toString());
-        }
-
+        productFile = database.getProductFile(cfgFile);
         return productFile;
     }
 
     public List<ZWaveDbManufacturer> GetManufacturers() {
-        if (database == null || database.Manufacturer == null) {
-            return Collections.emptyList();
-        }
-        return database.Manufacturer;
+        return database.getManufacturers();
     }
 
     public List<ZWaveDbProduct> GetProducts() {
@@ -171,21 +107,11 @@ public class ZWaveProductDatabase {
      * @return true if the manufacturer was found
      */
     public boolean FindManufacturer(int manufacturerId) {
-        if (database == null || database.Manufacturer == null) {
-            return false;
-        }
-
-        selManufacturer = null;
         selProduct = null;
         productFile = null;
 
-        for (ZWaveDbManufacturer manufacturer : database.Manufacturer) {
-            if (manufacturer.Id == manufacturerId) {
-                selManufacturer = manufacturer;
-                return true;
-            }
-        }
-        return false;
+        selManufacturer = database.getManufacturer(manufacturerId);
+        return selManufacturer != null;
     }
 
     /**
@@ -223,15 +149,12 @@ public class ZWaveProductDatabase {
         }
         productVersion = version;
 
-        for (ZWaveDbProduct product : selManufacturer.Product) {
-            for (ZWaveDbProductReference reference : product.Reference) {
-                if (reference.Type == productType && reference.Id == productId) {
-                    selProduct = product;
-                    return true;
-                }
-            }
+        ZWaveDbProduct product = database.getProduct(selManufacturer.Id, productType, productId);
+        if (product == null) {
+            return false;
         }
-        return false;
+        selProduct = product;
+        return true;
     }
 
     /**
@@ -374,11 +297,6 @@ public class ZWaveProductDatabase {
         return productFile.getAssociations();
     }
 
-    private class ZWaveDbRoot {
-        @XStreamImplicit
-        List<ZWaveDbManufacturer> Manufacturer;
-    }
-
     /**
      * Helper function to find the label associated with the specified database
      * language If no language is defined, or if the label cant be found in the
@@ -8,14 +8,23 @@
  */
 package org.openhab.binding.zwave.internal.protocol.initialization;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.openhab.binding.zwave.internal.protocol.ZWaveDeviceClass;
 import org.openhab.binding.zwave.internal.protocol.ZWaveEndpoint;
@@ -27,11 +36,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.XStreamException;
+import com.thoughtworks.xstream.io.binary.BinaryStreamReader;
+import com.thoughtworks.xstream.io.binary.BinaryStreamWriter;
 import com.thoughtworks.xstream.io.xml.PrettyPrintWriter;
 import com.thoughtworks.xstream.io.xml.StaxDriver;
 
 /**
  * ZWaveNodeSerializer class. Serializes nodes to XML and back again.
+ * Optionally nodes are serialized to a compact binary format instead, which is considerably faster to restore. The
+ * binary files start with a header holding the format version, files of another version are ignored. When reading,
+ * the configured format is tried first, then the other one.
+ * The XStream instance is configured once and shared by all serializers, so that nodes can be restored in parallel.
+ * A node is only written if its serialized form has changed since it was last read or written.
  *
  * @author Jan-Willem Spuij
  * @since 1.4.0
@@ -39,7 +56,22 @@ import com.thoughtworks.xstream.io.xml.StaxDriver;
 public class ZWaveNodeSerializer {
 
     private static final Logger logger = LoggerFactory.getLogger(ZWaveNodeSerializer.class);
-    private final XStream stream = new XStream(new StaxDriver());
+
+    /** "ZWNC", the start of a binary node file */
+    private static final int BINARY_MAGIC = 0x5A574E43;
+
+    /** the version of the binary node file format, to be increased on incompatible changes */
+    private static final int BINARY_VERSION = 1;
+
+    /** whether nodes are written in the binary format */
+    private static volatile boolean binaryFormat = false;
+
+    /** the contents of the node files as last read or written, to skip writing unchanged nodes */
+    private static final ConcurrentMap<Integer, byte[]> nodeContents = new ConcurrentHashMap<Integer, byte[]>();
+
+    /** locks to serialize the file accesses per node */
+    private static final ConcurrentMap<Integer, Object> nodeLocks = new ConcurrentHashMap<Integer, Object>();
+
     private String folderName = "etc/zwave";
 
     /**
@@ -47,8 +79,6 @@ public class ZWaveNodeSerializer {
      * class.
      */
     public ZWaveNodeSerializer() {
-        logger.trace("Initializing ZWaveNodeSerializer.");
-
         // Change the folder for OH2
         // ConfigConstants.getUserDataFolder();
         final String USERDATA_DIR_PROG_ARGUMENT = "smarthome.userdata";
@@ -64,6 +94,25 @@ public class ZWaveNodeSerializer {
             logger.debug("Creating directory {}", folderName);
             folder.mkdirs();
         }
+    }
+
+    /**
+     * Sets the format in which nodes are written.
+     *
+     * @param binary
+     *            true to write nodes in the binary format, false to write them as XML
+     */
+    public static void setBinaryFormat(boolean binary) {
+        binaryFormat = binary;
+    }
+
+    private static XStream getStream() {
+        return StreamHolder.STREAM;
+    }
+
+    private static XStream createStream() {
+        logger.trace("Initializing ZWaveNodeSerializer.");
+        XStream stream = new XStream(new StaxDriver());
         stream.processAnnotations(ZWaveNode.class);
         stream.processAnnotations(ZWaveEndpoint.class);
         stream.processAnnotations(ZWaveDeviceClass.class);
@@ -83,6 +132,27 @@ public class ZWaveNodeSerializer {
         }
         stream.processAnnotations(MeterScale.class);
         logger.trace("Initialized ZWaveNodeSerializer.");
+        return stream;
+    }
+
+    private static Object getLock(int nodeId) {
+        Object lock = nodeLocks.get(nodeId);
+        if (lock == null) {
+            Object newLock = new Object();
+            lock = nodeLocks.putIfAbsent(nodeId, newLock);
+            if (lock == null) {
+                lock = newLock;
+            }
+        }
+        return lock;
+    }
+
+    private File getXmlFile(int nodeId) {
+        return new File(this.folderName, String.format("node%d.xml", nodeId));
+    }
+
+    private File getBinaryFile(int nodeId) {
+        return new File(this.folderName, String.format("node%d.bin", nodeId));
     }
 
     /**
@@ -92,7 +162,7 @@ public class ZWaveNodeSerializer {
      *            the node to serialize
      */
     public void SerializeNode(ZWaveNode node) {
-        synchronized (stream) {
+        synchronized (getLock(node.getNodeId())) {
             // Don't serialise if the stage is not at least finished static
             // If we do serialise when we haven't completed the static stages
             // then when the binding starts it will have incomplete information!
@@ -101,21 +171,52 @@ public class ZWaveNodeSerializer {
                 return;
             }
 
-            File file = new File(this.folderName, String.format("node%d.xml", node.getNodeId()));
-            BufferedWriter writer = null;
+            boolean binary = binaryFormat;
+            File file = binary ? getBinaryFile(node.getNodeId()) : getXmlFile(node.getNodeId());
+            File otherFile = binary ? getXmlFile(node.getNodeId()) : getBinaryFile(node.getNodeId());
+
+            byte[] content;
+            try {
+                content = binary ? toBinary(node) : toXml(node);
+            } catch (IOException e) {
+                logger.error("NODE {}: Error serializing to file: {}", node.getNodeId(), e.getMessage());
+                return;
+            }
+
+            if (file.exists() && Arrays.equals(content, nodeContents.get(node.getNodeId()))) {
+                logger.debug("NODE {}: Serialise skipped as node is unchanged", node.getNodeId());
+                return;
+            }
 
             logger.debug("NODE {}: Serializing to file {}", node.getNodeId(), file.getPath());
 
+            // Write to a temporary file first, so that a failed write doesn't destroy the previous file
+            File tempFile = new File(file.getPath() + ".tmp");
+            FileOutputStream out = null;
             try {
-                writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
-                stream.marshal(node, new PrettyPrintWriter(writer));
-                writer.flush();
+                out = new FileOutputStream(tempFile);
+                out.write(content);
+                out.close();
+                out = null;
+                if (file.exists() && !file.delete()) {
+                    throw new IOException("Unable to replace " + file.getPath());
+                }
+                if (!tempFile.renameTo(file)) {
+                    throw new IOException("Unable to rename " + tempFile.getPath());
+                }
+                nodeContents.put(node.getNodeId(), content);
+
+                // Only one format is kept, so a stale file is never restored
+                if (otherFile.exists()) {
+                    otherFile.delete();
+                }
             } catch (IOException e) {
                 logger.error("NODE {}: Error serializing to file: {}", node.getNodeId(), e.getMessage());
+                nodeContents.remove(node.getNodeId());
             } finally {
-                if (writer != null) {
+                if (out != null) {
                     try {
-                        writer.close();
+                        out.close();
                     } catch (IOException e) {
                     }
                 }
@@ -123,6 +224,26 @@ public class ZWaveNodeSerializer {
         }
     }
 
+    private byte[] toXml(ZWaveNode node) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16384);
+        Writer writer = new OutputStreamWriter(out, "UTF-8");
+        getStream().marshal(node, new PrettyPrintWriter(writer));
+        writer.flush();
+        return out.toByteArray();
+    }
+
+    private byte[] toBinary(ZWaveNode node) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(BINARY_MAGIC);
+        data.writeInt(BINARY_VERSION);
+        data.flush();
+        BinaryStreamWriter writer = new BinaryStreamWriter(new BufferedOutputStream(out));
+        getStream().marshal(node, writer);
+        writer.close();
+        return out.toByteArray();
+    }
+
     /**
      * Deserializes an XML tree of a {@link ZWaveNode}
      *
@@ -131,31 +252,88 @@ public class ZWaveNodeSerializer {
      * @return returns the Node or null in case Serialization failed.
      */
     public ZWaveNode DeserializeNode(int nodeId) {
-        synchronized (stream) {
-            File file = new File(this.folderName, String.format("node%d.xml", nodeId));
-            BufferedReader reader = null;
+        synchronized (getLock(nodeId)) {
+            ZWaveNode node = null;
+            if (binaryFormat) {
+                node = deserializeBinary(nodeId);
+            }
+            if (node == null) {
+                node = deserializeXml(nodeId);
+            }
+            if (node == null && !binaryFormat) {
+                node = deserializeBinary(nodeId);
+            }
+            return node;
+        }
+    }
 
-            logger.debug("NODE {}: Serializing from file {}", nodeId, file.getPath());
+    private ZWaveNode deserializeXml(int nodeId) {
+        File file = getXmlFile(nodeId);
 
-            if (!file.exists()) {
-                logger.debug("NODE {}: Error serializing from file: file does not exist.", nodeId);
+        logger.debug("NODE {}: Serializing from file {}", nodeId, file.getPath());
+
+        if (!file.exists()) {
+            logger.debug("NODE {}: Error serializing from file: file does not exist.", nodeId);
+            return null;
+        }
+
+        try {
+            byte[] content = readFile(file);
+            ZWaveNode node = (ZWaveNode) getStream()
+                    .fromXML(new InputStreamReader(new ByteArrayInputStream(content), "UTF-8"));
+            nodeContents.put(nodeId, content);
+            return node;
+        } catch (IOException e) {
+            logger.error("NODE {}: Error serializing from file: {}", nodeId, e.getMessage());
+        }
+        return null;
+    }
+
+    private ZWaveNode deserializeBinary(int nodeId) {
+        File file = getBinaryFile(nodeId);
+
+        if (!file.exists()) {
+            return null;
+        }
+
+        logger.debug("NODE {}: Serializing from file {}", nodeId, file.getPath());
+
+        try {
+            byte[] content = readFile(file);
+            DataInputStream data = new DataInputStream(new ByteArrayInputStream(content));
+            if (data.readInt() != BINARY_MAGIC) {
+                logger.warn("NODE {}: Ignoring file {}: not a node file.", nodeId, file.getPath());
+                return null;
+            }
+            int version = data.readInt();
+            if (version != BINARY_VERSION) {
+                logger.info("NODE {}: Ignoring file {}: format version {} is not supported.", nodeId,
+                        file.getPath(), version);
                 return null;
             }
+            ZWaveNode node = (ZWaveNode) getStream().unmarshal(new BinaryStreamReader(data));
+            nodeContents.put(nodeId, content);
+            return node;
+        } catch (IOException e) {
+            logger.error("NODE {}: Error serializing from file: {}", nodeId, e.getMessage());
+        } catch (XStreamException e) {
+            logger.error("NODE {}: Error serializing from file {}: {}", nodeId, file.getPath(), e.getMessage());
+        }
+        return null;
+    }
 
-            try {
-                reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
-                return (ZWaveNode) stream.fromXML(reader);
-            } catch (IOException e) {
-                logger.error("NODE {}: Error serializing from file: {}", nodeId, e.getMessage());
-            } finally {
-                if (reader != null) {
-                    try {
-                        reader.close();
-                    } catch (IOException e) {
-                    }
-                }
+    private static byte[] readFile(File file) throws IOException {
+        InputStream in = new BufferedInputStream(new FileInputStream(file));
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream((int) file.length());
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
             }
-            return null;
+            return out.toByteArray();
+        } finally {
+            in.close();
         }
     }
 
@@ -166,10 +344,14 @@ public class ZWaveNodeSerializer {
      * @return true if the file was deleted
      */
     public boolean DeleteNode(int nodeId) {
-        synchronized (stream) {
-            File file = new File(this.folderName, String.format("node%d.xml", nodeId));
-
-            return file.delete();
+        synchronized (getLock(nodeId)) {
+            nodeContents.remove(nodeId);
+            boolean deletedBinary = getBinaryFile(nodeId).delete();
+            return getXmlFile(nodeId).delete() || deletedBinary;
         }
     }
+
+    private static class StreamHolder {
+        private static final XStream STREAM = createStream();
+    }
 }
@@ -104,6 +104,16 @@ public class MqttService implements ManagedService {
                 conn.setLastWill(will);
             } else if (property.equals("keepAlive")) {
                 conn.setKeepAliveInterval(Integer.parseInt(value));
+            } else if (property.equals("maxInFlight")) {
+                conn.setMaxInFlight(Integer.parseInt(value));
+            } else if (property.equals("queueSize")) {
+                conn.setMaxQueueSize(Integer.parseInt(value));
+            } else if (property.equals("coalesceRetained")) {
+                conn.setCoalesceRetained(Boolean.parseBoolean(value));
+            } else if (property.equals("consumerThreads")) {
+                conn.setConsumerThreads(Integer.parseInt(value));
+            } else if (property.equals("consumerQueueSize")) {
+                conn.setConsumerQueueSize(Integer.parseInt(value));
             } else {
                 logger.warn("Unrecognized property: {}", key);
             }
@@ -24,10 +24,8 @@ import org.eclipse.paho.client.mqttv3.IMqttDeliveryToken;
 import org.eclipse.paho.client.mqttv3.MqttCallback;
 import org.eclipse.paho.client.mqttv3.MqttClient;
 import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
-import org.eclipse.paho.client.mqttv3.MqttDeliveryToken;
 import org.eclipse.paho.client.mqttv3.MqttException;
 import org.eclipse.paho.client.mqttv3.MqttMessage;
-import org.eclipse.paho.client.mqttv3.MqttTopic;
 import org.eclipse.paho.client.mqttv3.persist.MqttDefaultFilePersistence;
 import org.openhab.io.transport.mqtt.MqttMessageConsumer;
 import org.openhab.io.transport.mqtt.MqttMessageProducer;
@@ -66,9 +64,12 @@ public class MqttBrokerConnection implements MqttCallback {
     private MqttClient client;
     private boolean started;
     private List<MqttMessageConsumer> consumers = new CopyOnWriteArrayList<MqttMessageConsumer>();
+    private MqttTopicTrie<MqttMessageConsumer> subscriptions = new MqttTopicTrie<MqttMessageConsumer>();
     private List<MqttMessageProducer> producers = new CopyOnWriteArrayList<MqttMessageProducer>();
     private Timer reconnectTimer;
     private int keepAliveInterval = 60;
+    private MqttPublishPipeline pipeline;
+    private MqttMessageDispatcher dispatcher;
 
     /**
      * Create a new connection with the given name.
@@ -78,6 +79,8 @@ public class MqttBrokerConnection implements MqttCallback {
      */
     public MqttBrokerConnection(String name) {
         this.name = name;
+        this.pipeline = new MqttPublishPipeline(name);
+        this.dispatcher = new MqttMessageDispatcher(name);
     }
 
     /**
@@ -97,6 +100,8 @@ public class MqttBrokerConnection implements MqttCallback {
 
         logger.info("Starting MQTT broker connection '{}'", name);
         openConnection();
+        pipeline.start(client);
+        dispatcher.start();
 
         if (reconnectTimer != null) {
             // we are active, so stop trying to reconnect
@@ -230,16 +235,97 @@ public class MqttBrokerConnection implements MqttCallback {
     }
 
     /**
-     * Set whether messages should be sent synchronously (the message is sent
-     * and the thread waits until delivery to the broker has completed) or
-     * asynchronously (the message is sent and the sendign thread does not wait
-     * for delivery completion). In the case of async, the sending thread
-     * currently does not receive any feedback when delivery is completed.
+     * Set whether messages should be sent synchronously (a message is only
+     * sent once the delivery of the previous one to the broker has completed)
+     * or asynchronously (up to maxInFlight messages are awaiting their
+     * delivery at the same time). In both cases, publishing only queues the
+     * message and the publishing thread does not wait for the delivery.
      * 
      * @param async
      */
     public void setAsync(boolean async) {
         this.async = async;
+        pipeline.setSynchronous(!async);
+    }
+
+    /**
+     * Set the maximum number of QoS 1 and 2 messages that are awaiting their
+     * delivery to the broker at the same time, if messages are sent
+     * asynchronously. Defaults to 10.
+     * 
+     * @param maxInFlight
+     *            size of the in-flight window.
+     */
+    public void setMaxInFlight(int maxInFlight) {
+        pipeline.setMaxInFlight(maxInFlight);
+    }
+
+    /**
+     * Set the maximum number of messages waiting to be sent. If the queue is
+     * full, the oldest message is dropped. Defaults to 1000.
+     * 
+     * @param maxQueueSize
+     *            maximum number of queued messages.
+     */
+    public void setMaxQueueSize(int maxQueueSize) {
+        pipeline.setMaxQueueSize(maxQueueSize);
+    }
+
+    /**
+     * Set whether a retained message replaces a retained message to the same
+     * topic which is still waiting to be sent.
+     * 
+     * @param coalesceRetained
+     *            true to only send the latest retained message of a topic.
+     */
+    public void setCoalesceRetained(boolean coalesceRetained) {
+        pipeline.setCoalesceRetained(coalesceRetained);
+    }
+
+    /**
+     * Set the number of threads processing received messages. The messages
+     * of a topic are always processed by the same thread, in the order they
+     * were received.
+     * 
+     * @param consumerThreads
+     *            number of threads.
+     */
+    public void setConsumerThreads(int consumerThreads) {
+        dispatcher.setThreads(consumerThreads);
+    }
+
+    /**
+     * Set the maximum number of received messages waiting for a consumer
+     * thread. If the queue of a thread is full, its oldest message is
+     * dropped.
+     * 
+     * @param consumerQueueSize
+     *            maximum number of queued messages per thread.
+     */
+    public void setConsumerQueueSize(int consumerQueueSize) {
+        dispatcher.setMaxQueueSize(consumerQueueSize);
+    }
+
+    /**
+     * @return the number of messages waiting to be sent.
+     */
+    public int getQueueSize() {
+        return pipeline.getQueueSize();
+    }
+
+    /**
+     * @return the number of messages awaiting their delivery to the broker.
+     */
+    public int getInFlightCount() {
+        return pipeline.getInFlightCount();
+    }
+
+    /**
+     * @return the average time in milliseconds until the delivery of a
+     *         message to the broker completed, -1 if none was sent yet.
+     */
+    public long getAveragePublishLatency() {
+        return pipeline.getAverageLatency();
     }
 
     /**
@@ -345,6 +431,7 @@ public class MqttBrokerConnection implements MqttCallback {
         }
 
         options.setKeepAliveInterval(keepAliveInterval);
+        options.setMaxInflight(Math.max(MqttConnectOptions.MAX_INFLIGHT_DEFAULT, pipeline.getMaxInFlight()));
 
         client.connect(options);
     }
@@ -421,21 +508,8 @@ public class MqttBrokerConnection implements MqttCallback {
                 message.setQos(qos);
                 message.setRetained(retain);
 
-                // publish message asynchronously
-                MqttTopic mqttTopic = client.getTopic(topic);
-                MqttDeliveryToken deliveryToken = mqttTopic.publish(message);
-
-                logger.debug("Publishing message {} to topic '{}'", deliveryToken.getMessageId(), topic);
-                if (!async) {
-                    // wait for publish confirmation
-                    deliveryToken.waitForCompletion(10000);
-                    if (!deliveryToken.isComplete()) {
-                        logger.error(
-                                "Did not receive completion message within timeout limit whilst publishing to topic '{}'",
-                                topic);
-                    }
-                }
-
+                // queue the message, it is published by the pipeline
+                pipeline.publish(topic, message);
             }
         });
 
@@ -449,6 +523,7 @@ public class MqttBrokerConnection implements MqttCallback {
      */
     public synchronized void addConsumer(MqttMessageConsumer subscriber) {
         consumers.add(subscriber);
+        subscriptions.add(subscriber.getTopic(), subscriber);
         if (started) {
             startConsumer(subscriber);
         }
@@ -501,6 +576,7 @@ public class MqttBrokerConnection implements MqttCallback {
             logger.error("Error unsubscribing topic from broker", e);
         }
         consumers.remove(subscriber);
+        subscriptions.remove(subscriber.getTopic(), subscriber);
 
     }
 
@@ -516,6 +592,8 @@ public class MqttBrokerConnection implements MqttCallback {
         } catch (MqttException e) {
             logger.error("Error closing connection to broker", e);
         }
+        pipeline.shutdown();
+        dispatcher.shutdown();
         started = false;
     }
 
@@ -534,6 +612,7 @@ public class MqttBrokerConnection implements MqttCallback {
         }
 
         started = false;
+        pipeline.stop();
         logger.info("Starting connection helper to periodically try restore connection to broker '{}'", name);
 
         MqttBrokerConnectionHelper helper = new MqttBrokerConnectionHelper(this);
@@ -545,50 +624,19 @@ public class MqttBrokerConnection implements MqttCallback {
     @Override
     public void deliveryComplete(IMqttDeliveryToken token) {
         logger.trace("Message with id {} delivered.", token.getMessageId());
+        pipeline.deliveryComplete(token);
     }
 
     @Override
     public void messageArrived(String topic, MqttMessage message) throws Exception {
 
-        logger.trace("Received message on topic '{}' : {}", topic, new String(message.getPayload()));
-        for (MqttMessageConsumer consumer : consumers) {
-            if (isTopicMatch(topic, consumer.getTopic())) {
-                consumer.processMessage(topic, message.getPayload());
-            }
-        }
-    }
-
-    /**
-     * Check if the topic on which a message was received matches provided
-     * target topic. The matching will take into account the + and # wildcards.
-     * 
-     * @param source
-     *            topic from received message
-     * @param target
-     *            topic as defined with possible wildcards.
-     * @return true if both topics match.
-     */
-    private boolean isTopicMatch(String source, String target) {
-        if (source.equals(target)) {
-            return true;
+        if (logger.isTraceEnabled()) {
+            logger.trace("Received message on topic '{}' : {}", topic, new String(message.getPayload()));
         }
-        if (target.indexOf('+') == -1 && target.indexOf('#') == -1) {
-            return false;
-        } else {
-
-            String regex = target;
-            regex = StringUtils.replace(regex, "+", "[^/]*");
-            regex = StringUtils.replace(regex, "#", ".*");
-            boolean result = source.matches(regex);
-            if (result) {
-                logger.trace("Topic match for '{}' and '{}' using regex {}", source, target, regex);
-                return true;
-            } else {
-                logger.trace("No topic match for '{}' and '{}' using regex {}", source, target, regex);
-                return false;
-            }
+        List<MqttMessageConsumer> matches = subscriptions.getMatches(topic);
+        if (!matches.isEmpty()) {
+            dispatcher.dispatch(topic, message.getPayload(), matches);
         }
-
     }
 
     /**
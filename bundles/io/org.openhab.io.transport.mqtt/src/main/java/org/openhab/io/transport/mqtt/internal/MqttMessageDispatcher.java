@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.mqtt.internal;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openhab.io.transport.mqtt.MqttMessageConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hands received messages to their consumers on worker threads, so that the thread of the MQTT client is not
+ * blocked by the processing. Each worker has its own queue and all the messages of a topic are handled by the same
+ * worker, so the messages of a topic are processed in the order they were received.
+ *
+ * The queue of a worker is bounded. When it is full, the oldest message is dropped, as with the publish queue.
+ *
+ * @author Sven Schreier
+ * @since 1.11.0
+ */
+class MqttMessageDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(MqttMessageDispatcher.class);
+
+    private final String name;
+    private int threads = Math.min(4, Runtime.getRuntime().availableProcessors());
+    private int maxQueueSize = 1000;
+    private ThreadPoolExecutor[] workers;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /**
+     * @param name the name of the broker connection
+     */
+    MqttMessageDispatcher(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Set the number of worker threads. Takes effect when the dispatcher is started.
+     *
+     * @param threads the number of worker threads
+     */
+    synchronized void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Set the maximum number of messages waiting for a worker thread. Takes effect when the dispatcher is started.
+     *
+     * @param maxQueueSize the maximum number of queued messages per worker thread
+     */
+    synchronized void setMaxQueueSize(int maxQueueSize) {
+        this.maxQueueSize = Math.max(1, maxQueueSize);
+    }
+
+    /**
+     * Starts the worker threads, unless they are running.
+     */
+    synchronized void start() {
+        if (workers != null) {
+            return;
+        }
+        RejectedExecutionHandler dropOldest = new RejectedExecutionHandler() {
+            @Override
+            public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+                if (executor.isShutdown()) {
+                    logger.debug("Dispatcher of broker '{}' stopped, dropping message on topic '{}'", name,
+                            ((Dispatch) runnable).topic);
+                    return;
+                }
+                Runnable dropped = executor.getQueue().poll();
+                if (dropped != null) {
+                    droppedCount.incrementAndGet();
+                    logger.warn("Consumer queue of broker '{}' is full, dropping message on topic '{}'", name,
+                            ((Dispatch) dropped).topic);
+                }
+                executor.execute(runnable);
+            }
+        };
+        workers = new ThreadPoolExecutor[threads];
+        for (int i = 0; i < workers.length; i++) {
+            final String threadName = "MQTT consumer '" + name + "' #" + i;
+            workers[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<Runnable>(maxQueueSize), new ThreadFactory() {
+                        @Override
+                        public Thread newThread(Runnable runnable) {
+                            Thread thread = new Thread(runnable, threadName);
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    }, dropOldest);
+        }
+    }
+
+    /**
+     * Stops the worker threads. Messages that have not been processed yet are dropped.
+     */
+    synchronized void shutdown() {
+        if (workers == null) {
+            return;
+        }
+        for (ThreadPoolExecutor worker : workers) {
+            worker.shutdownNow();
+        }
+        workers = null;
+        logger.debug("Dispatcher of broker '{}' stopped, {} messages dropped", name, droppedCount.get());
+    }
+
+    /**
+     * @return the number of received messages dropped because the queue of their worker was full
+     */
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Queues a message for processing by its consumers.
+     *
+     * @param topic the topic the message was received on
+     * @param payload the message payload
+     * @param consumers the consumers whose subscriptions match the topic
+     */
+    void dispatch(String topic, byte[] payload, List<MqttMessageConsumer> consumers) {
+        ThreadPoolExecutor worker;
+        synchronized (this) {
+            if (workers == null) {
+                logger.debug("Dispatcher of broker '{}' not started, dropping message on topic '{}'", name, topic);
+                return;
+            }
+            worker = workers[(topic.hashCode() & Integer.MAX_VALUE) % workers.length];
+        }
+        try {
+            worker.execute(new Dispatch(topic, payload, consumers));
+        } catch (RejectedExecutionException e) {
+            logger.debug("Dispatcher of broker '{}' stopped, dropping message on topic '{}'", name, topic);
+        }
+    }
+
+    /**
+     * Processes a message by its consumers.
+     */
+    private static class Dispatch implements Runnable {
+        final String topic;
+        final byte[] payload;
+        final List<MqttMessageConsumer> consumers;
+
+        Dispatch(String topic, byte[] payload, List<MqttMessageConsumer> consumers) {
+            this.topic = topic;
+            this.payload = payload;
+            this.consumers = consumers;
+        }
+
+        @Override
+        public void run() {
+            for (MqttMessageConsumer consumer : consumers) {
+                try {
+                    consumer.processMessage(topic, payload);
+                } catch (RuntimeException e) {
+                    logger.error("Error processing message on topic '{}'", topic, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,361 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.mqtt.internal;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.paho.client.mqttv3.IMqttDeliveryToken;
+import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.MqttDeliveryToken;
+import org.eclipse.paho.client.mqttv3.MqttMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The outbound messages of a broker connection. Publishing only queues a message, a sender thread hands the
+ * messages to the MQTT client. The number of QoS 1 and 2 messages waiting for their delivery to complete is
+ * limited by the in-flight window; the completion is reported through {@link #deliveryComplete(IMqttDeliveryToken)}
+ * instead of waiting for it.
+ *
+ * When the queue is full, the oldest message is dropped. Optionally, a retained message replaces a retained
+ * message for the same topic that is still queued, as only the latest state of a topic matters.
+ *
+ * @author Sven Schreier
+ * @since 1.11.0
+ */
+class MqttPublishPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(MqttPublishPipeline.class);
+
+    /** the time in milliseconds to wait for the delivery of a message to complete */
+    static final long COMPLETION_TIMEOUT = 10000;
+
+    /** weight of a publish latency in the average publish latency */
+    private static final double LATENCY_WEIGHT = 0.1;
+
+    private final String name;
+
+    private int maxQueueSize = 1000;
+    private int maxInFlight = MqttConnectOptions.MAX_INFLIGHT_DEFAULT;
+    private boolean coalesceRetained = false;
+    private boolean synchronous = false;
+
+    private final Deque<OutboundMessage> queue = new ArrayDeque<OutboundMessage>();
+
+    /** the queued retained messages by topic, used to coalesce them */
+    private final Map<String, OutboundMessage> queuedRetained = new HashMap<String, OutboundMessage>();
+
+    /** the messages waiting for their delivery to complete, oldest first */
+    private final Map<IMqttDeliveryToken, OutboundMessage> inFlight;
+
+    private MqttClient client;
+    private Thread sender;
+
+    private long publishedCount;
+    private long droppedCount;
+    private long coalescedCount;
+    private double averageLatency = -1;
+    private long maxLatency;
+
+    /**
+     * @param name the name of the broker connection
+     */
+    MqttPublishPipeline(String name) {
+        this.name = name;
+        this.inFlight = new LinkedHashMap<IMqttDeliveryToken, OutboundMessage>();
+    }
+
+    /**
+     * Set the maximum number of queued messages.
+     *
+     * @param maxQueueSize the maximum number of queued messages
+     */
+    synchronized void setMaxQueueSize(int maxQueueSize) {
+        this.maxQueueSize = Math.max(1, maxQueueSize);
+    }
+
+    /**
+     * Set the maximum number of QoS 1 and 2 messages waiting for their delivery to complete.
+     *
+     * @param maxInFlight the size of the in-flight window
+     */
+    synchronized void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        notifyAll();
+    }
+
+    /**
+     * Set whether messages are sent one after another, i.e. the in-flight window only holds a single message.
+     *
+     * @param synchronous true to send messages synchronously
+     */
+    synchronized void setSynchronous(boolean synchronous) {
+        this.synchronous = synchronous;
+        notifyAll();
+    }
+
+    /**
+     * @return the configured size of the in-flight window
+     */
+    synchronized int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Set whether a retained message replaces a queued retained message for the same topic.
+     *
+     * @param coalesceRetained true to coalesce retained messages
+     */
+    synchronized void setCoalesceRetained(boolean coalesceRetained) {
+        this.coalesceRetained = coalesceRetained;
+        if (!coalesceRetained) {
+            queuedRetained.clear();
+        }
+    }
+
+    /**
+     * Starts sending the queued messages through the given client.
+     *
+     * @param client the connected client
+     */
+    synchronized void start(MqttClient client) {
+        this.client = client;
+        if (sender == null) {
+            sender = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    sendMessages();
+                }
+            }, "MQTT publisher '" + name + "'");
+            sender.setDaemon(true);
+            sender.start();
+        }
+        notifyAll();
+    }
+
+    /**
+     * Stops sending messages, e.g. when the connection has been lost. Queued messages are kept and sent once the
+     * pipeline is started again; messages waiting for their delivery to complete are given up.
+     */
+    synchronized void stop() {
+        client = null;
+        if (!inFlight.isEmpty()) {
+            logger.debug("Giving up {} undelivered messages for broker '{}'", inFlight.size(), name);
+            inFlight.clear();
+        }
+        notifyAll();
+    }
+
+    /**
+     * Stops the sender thread and drops all the queued messages.
+     */
+    synchronized void shutdown() {
+        stop();
+        if (sender != null) {
+            sender.interrupt();
+            sender = null;
+        }
+        queue.clear();
+        queuedRetained.clear();
+        logger.debug("Publisher for broker '{}' stopped: {}", name, getStatistics());
+    }
+
+    /**
+     * Queues a message for publishing.
+     *
+     * @param topic the topic to publish to
+     * @param message the message
+     */
+    synchronized void publish(String topic, MqttMessage message) {
+        if (coalesceRetained && message.isRetained()) {
+            OutboundMessage queued = queuedRetained.get(topic);
+            if (queued != null) {
+                logger.trace("Replacing queued retained message to topic '{}'", topic);
+                queued.message = message;
+                coalescedCount++;
+                return;
+            }
+        }
+
+        if (queue.size() >= maxQueueSize) {
+            OutboundMessage dropped = queue.poll();
+            forgetRetained(dropped);
+            droppedCount++;
+            logger.warn("Publish queue of broker '{}' is full, dropping message to topic '{}'", name, dropped.topic);
+        }
+
+        OutboundMessage outbound = new OutboundMessage(topic, message);
+        queue.add(outbound);
+        if (coalesceRetained && message.isRetained()) {
+            queuedRetained.put(topic, outbound);
+        }
+        notifyAll();
+    }
+
+    /**
+     * Records that the delivery of a message has completed.
+     *
+     * @param token the delivery token of the message
+     */
+    synchronized void deliveryComplete(IMqttDeliveryToken token) {
+        OutboundMessage outbound = inFlight.remove(token);
+        if (outbound == null) {
+            return;
+        }
+        long latency = System.currentTimeMillis() - outbound.publishTime;
+        recordLatency(latency);
+        logger.trace("Message {} to topic '{}' delivered after {} ms", token.getMessageId(), outbound.topic, latency);
+        notifyAll();
+    }
+
+    /**
+     * @return the number of queued messages
+     */
+    synchronized int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * @return the number of messages waiting for their delivery to complete
+     */
+    synchronized int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * @return the average time in milliseconds from handing a message to the client until its delivery completed,
+     *         -1 if there was none yet
+     */
+    synchronized long getAverageLatency() {
+        return Math.round(averageLatency);
+    }
+
+    /**
+     * @return the statistics of the pipeline as text, for logging
+     */
+    synchronized String getStatistics() {
+        return "queued=" + queue.size() + ", inFlight=" + inFlight.size() + ", published=" + publishedCount
+                + ", dropped=" + droppedCount + ", coalesced=" + coalescedCount + ", averageLatency="
+                + getAverageLatency() + "ms, maxLatency=" + maxLatency + "ms";
+    }
+
+    private void sendMessages() {
+        try {
+            while (true) {
+                OutboundMessage outbound;
+                MqttClient currentClient;
+                synchronized (this) {
+                    outbound = takeNext();
+                    if (outbound == null) {
+                        return;
+                    }
+                    currentClient = client;
+                }
+                send(currentClient, outbound);
+            }
+        } catch (InterruptedException e) {
+            logger.trace("Publisher for broker '{}' interrupted", name);
+        }
+    }
+
+    /**
+     * Waits until there is a message to send, the client is connected and, for QoS 1 and 2, there is room in the
+     * in-flight window.
+     *
+     * @return the next message, or null if the pipeline has been shut down
+     */
+    private OutboundMessage takeNext() throws InterruptedException {
+        while (sender == Thread.currentThread()) {
+            OutboundMessage next = queue.peek();
+            if (next == null || client == null) {
+                wait();
+                continue;
+            }
+            int window = synchronous ? 1 : maxInFlight;
+            if (next.message.getQos() > 0 && inFlight.size() >= window) {
+                expireInFlight();
+                if (inFlight.size() >= window) {
+                    wait(COMPLETION_TIMEOUT);
+                    continue;
+                }
+            }
+            queue.poll();
+            forgetRetained(next);
+            return next;
+        }
+        return null;
+    }
+
+    private void send(MqttClient currentClient, OutboundMessage outbound) {
+        MqttMessage message = outbound.message;
+        try {
+            outbound.publishTime = System.currentTimeMillis();
+            MqttDeliveryToken deliveryToken = currentClient.getTopic(outbound.topic).publish(message);
+            synchronized (this) {
+                // the token is complete before deliveryComplete is called, so a delivery that completed in the
+                // meantime is not left in the window
+                publishedCount++;
+                if (message.getQos() > 0 && !deliveryToken.isComplete()) {
+                    inFlight.put(deliveryToken, outbound);
+                } else {
+                    recordLatency(System.currentTimeMillis() - outbound.publishTime);
+                }
+            }
+            logger.debug("Publishing message {} to topic '{}'", deliveryToken.getMessageId(), outbound.topic);
+        } catch (Exception e) {
+            logger.error("Error publishing message to topic '{}' of broker '{}': {}", outbound.topic, name,
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Gives up the messages whose delivery didn't complete within the timeout.
+     */
+    private void expireInFlight() {
+        long now = System.currentTimeMillis();
+        Iterator<OutboundMessage> iterator = inFlight.values().iterator();
+        while (iterator.hasNext()) {
+            OutboundMessage outbound = iterator.next();
+            if (now - outbound.publishTime < COMPLETION_TIMEOUT) {
+                break;
+            }
+            iterator.remove();
+            logger.error("Did not receive completion message within timeout limit whilst publishing to topic '{}'",
+                    outbound.topic);
+        }
+    }
+
+    private void forgetRetained(OutboundMessage outbound) {
+        if (queuedRetained.get(outbound.topic) == outbound) {
+            queuedRetained.remove(outbound.topic);
+        }
+    }
+
+    private void recordLatency(long latency) {
+        averageLatency = averageLatency < 0 ? latency : averageLatency + LATENCY_WEIGHT * (latency - averageLatency);
+        maxLatency = Math.max(maxLatency, latency);
+    }
+
+    private static class OutboundMessage {
+        final String topic;
+        MqttMessage message;
+        long publishTime;
+
+        OutboundMessage(String topic, MqttMessage message) {
+            this.topic = topic;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.mqtt.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * Subscriptions of a broker connection, organized as a tree of topic levels. Finding the subscriptions matching the
+ * topic of a received message takes one lookup per topic level, regardless of the number of subscriptions.
+ *
+ * Topic filters are split at '/' into levels. A '+' level matches exactly one level of a topic, a '#' level as the
+ * last level matches the parent level and any number of levels below it. Filters that use the wildcards in another
+ * way, e.g. 'a/b+' or 'a/#/b', are not valid MQTT filters; they are matched with regular expressions as before.
+ *
+ * @author Sven Schreier
+ * @since 1.11.0
+ *
+ * @param <T> the type of the subscribers
+ */
+class MqttTopicTrie<T> {
+
+    private static final String SEPARATOR = "/";
+    private static final String SINGLE_LEVEL_WILDCARD = "+";
+    private static final String MULTI_LEVEL_WILDCARD = "#";
+
+    private final Node<T> root = new Node<T>();
+
+    /** subscriptions with invalid topic filters, matched by regular expressions */
+    private final Map<String, Pattern> patterns = new HashMap<String, Pattern>();
+    private final Map<String, List<T>> patternSubscribers = new LinkedHashMap<String, List<T>>();
+
+    /**
+     * Adds a subscription.
+     *
+     * @param topicFilter
+     *            topic to subscribe to, may contain + or # wildcards.
+     * @param subscriber
+     *            the subscriber.
+     */
+    synchronized void add(String topicFilter, T subscriber) {
+        if (!isValidFilter(topicFilter)) {
+            List<T> subscribers = patternSubscribers.get(topicFilter);
+            if (subscribers == null) {
+                subscribers = new ArrayList<T>(1);
+                patternSubscribers.put(topicFilter, subscribers);
+                patterns.put(topicFilter, toPattern(topicFilter));
+            }
+            subscribers.add(subscriber);
+            return;
+        }
+
+        Node<T> node = root;
+        for (String level : topicFilter.split(SEPARATOR, -1)) {
+            Node<T> child = node.children.get(level);
+            if (child == null) {
+                child = new Node<T>();
+                node.children.put(level, child);
+            }
+            node = child;
+        }
+        node.subscribers.add(subscriber);
+    }
+
+    /**
+     * Removes a subscription.
+     *
+     * @param topicFilter
+     *            topic the subscriber was added with.
+     * @param subscriber
+     *            the subscriber.
+     * @return true if the subscription was found.
+     */
+    synchronized boolean remove(String topicFilter, T subscriber) {
+        if (!isValidFilter(topicFilter)) {
+            List<T> subscribers = patternSubscribers.get(topicFilter);
+            if (subscribers == null || !subscribers.remove(subscriber)) {
+                return false;
+            }
+            if (subscribers.isEmpty()) {
+                patternSubscribers.remove(topicFilter);
+                patterns.remove(topicFilter);
+            }
+            return true;
+        }
+
+        String[] levels = topicFilter.split(SEPARATOR, -1);
+        List<Node<T>> path = new ArrayList<Node<T>>(levels.length + 1);
+        Node<T> node = root;
+        path.add(node);
+        for (String level : levels) {
+            node = node.children.get(level);
+            if (node == null) {
+                return false;
+            }
+            path.add(node);
+        }
+        if (!node.subscribers.remove(subscriber)) {
+            return false;
+        }
+
+        // prune the nodes that became empty
+        for (int i = levels.length; i > 0 && path.get(i).isEmpty(); i--) {
+            path.get(i - 1).children.remove(levels[i - 1]);
+        }
+        return true;
+    }
+
+    /**
+     * Finds the subscribers of all the subscriptions matching a topic.
+     *
+     * @param topic
+     *            topic on which a message was received.
+     * @return the subscribers, an empty list if there are none. A subscriber
+     *         is contained once per matching subscription.
+     */
+    synchronized List<T> getMatches(String topic) {
+        List<T> matches = new ArrayList<T>();
+        collectMatches(root, topic.split(SEPARATOR, -1), 0, matches);
+        if (!patternSubscribers.isEmpty()) {
+            for (Map.Entry<String, List<T>> entry : patternSubscribers.entrySet()) {
+                if (topic.equals(entry.getKey()) || patterns.get(entry.getKey()).matcher(topic).matches()) {
+                    matches.addAll(entry.getValue());
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * @return true if there are no subscriptions.
+     */
+    synchronized boolean isEmpty() {
+        return root.isEmpty() && patternSubscribers.isEmpty();
+    }
+
+    private static <T> void collectMatches(Node<T> node, String[] levels, int index, List<T> matches) {
+        Node<T> multiLevel = node.children.get(MULTI_LEVEL_WILDCARD);
+        if (multiLevel != null) {
+            matches.addAll(multiLevel.subscribers);
+        }
+        if (index == levels.length) {
+            matches.addAll(node.subscribers);
+            return;
+        }
+        Node<T> child = node.children.get(levels[index]);
+        if (child != null) {
+            collectMatches(child, levels, index + 1, matches);
+        }
+        Node<T> singleLevel = node.children.get(SINGLE_LEVEL_WILDCARD);
+        if (singleLevel != null && !SINGLE_LEVEL_WILDCARD.equals(levels[index])) {
+            collectMatches(singleLevel, levels, index + 1, matches);
+        }
+    }
+
+    /**
+     * Checks whether wildcards are only used as whole levels, and '#' only as
+     * the last level.
+     */
+    private static boolean isValidFilter(String topicFilter) {
+        String[] levels = topicFilter.split(SEPARATOR, -1);
+        for (int i = 0; i < levels.length; i++) {
+            String level = levels[i];
+            if (level.equals(MULTI_LEVEL_WILDCARD)) {
+                if (i != levels.length - 1) {
+                    return false;
+                }
+            } else if (!level.equals(SINGLE_LEVEL_WILDCARD)
+                    && (level.contains(SINGLE_LEVEL_WILDCARD) || level.contains(MULTI_LEVEL_WILDCARD))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Pattern toPattern(String topicFilter) {
+        String regex = topicFilter;
+        regex = StringUtils.replace(regex, "+", "[^/]*");
+        regex = StringUtils.replace(regex, "#", ".*");
+        return Pattern.compile(regex);
+    }
+
+    private static class Node<T> {
+        final Map<String, Node<T>> children = new HashMap<String, Node<T>>(4);
+        final List<T> subscribers = new ArrayList<T>(1);
+
+        boolean isEmpty() {
+            return children.isEmpty() && subscribers.isEmpty();
+        }
+    }
+}
@@ -17,10 +17,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
-import org.joda.time.DateTime;
-import org.joda.time.format.DateTimeFormat;
-import org.joda.time.format.DateTimeFormatter;
+import org.apache.commons.lang.StringUtils;
 import org.knowm.yank.Yank;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
@@ -45,6 +46,7 @@ import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.types.State;
 import org.openhab.persistence.jdbc.model.ItemVO;
 import org.openhab.persistence.jdbc.model.ItemsVO;
+import org.openhab.persistence.jdbc.model.JdbcAggregate;
 import org.openhab.persistence.jdbc.model.JdbcItem;
 import org.openhab.persistence.jdbc.utils.DbMetaData;
 import org.openhab.persistence.jdbc.utils.StringUtilsExt;
@@ -63,6 +65,8 @@ public class JdbcBaseDAO {
     public Properties databaseProps = new Properties();
     protected String urlSuffix = "";
     public Map<String, String> sqlTypes = new HashMap<String, String>();
+    // item class -> key of sqlTypes, only item types with a configured sqlType are cached
+    private final Map<Class<?>, String> itemTypes = new ConcurrentHashMap<Class<?>, String>();
 
     // Get Database Meta data
     protected DbMetaData dbMeta;
@@ -164,6 +168,7 @@ public class JdbcBaseDAO {
         sqlTypes.put("SWITCHITEM", "VARCHAR(6)");
         sqlTypes.put("tablePrimaryKey", "TIMESTAMP");
         sqlTypes.put("tablePrimaryValue", "NOW()");
+        sqlTypes.put("tablePrimaryParameter", "?");
     }
 
     /**
@@ -313,6 +318,7 @@ public class JdbcBaseDAO {
     public void doUpdateItemTableNames(List<ItemVO> vol) {
         String sql = updateItemTableNamesProvider(vol);
         Yank.execute(sql, null);
+        tableStatements.clear();
     }
 
     public void doCreateItemTable(ItemVO vo) {
@@ -324,61 +330,321 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, ItemVO vo) {
         vo = storeItemValueProvider(item, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(SQL_INSERT_ITEM_VALUE,
-                new String[] { "#tableName#", "#tablePrimaryValue#" },
-                new String[] { vo.getTableName(), sqlTypes.get("tablePrimaryValue") });
-        Object[] params = new Object[] { vo.getValue(), vo.getValue() };
+        TableStatements statements = getTableStatements(vo.getTableName());
+        String sql = statements.insertItemValue;
+        if (sql == null) {
+            sql = insertItemValueProvider(vo, sqlTypes.get("tablePrimaryValue"));
+            statements.insertItemValue = sql;
+        }
+        Object[] params = insertItemValueParams(vo, null);
         logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, vo.getValue());
         Yank.execute(sql, params);
     }
 
+    /**
+     * Stores several values of one item table with a single JDBC batch. In contrast to
+     * {@link #doStoreItemValue(Item, ItemVO)} the time of each value is taken from {@link ItemVO#getTime()} and bound
+     * as a parameter, as the values have been collected before.
+     * <p>
+     * If the batch fails, e.g. because one value violates a constraint, the values are inserted one by one, so that
+     * only the failing values are lost. Values the batch has already inserted fail again as duplicates then.
+     *
+     * @param vol values of the same table, each prepared by {@link #storeItemValueProvider(Item, ItemVO)}
+     * @return the number of values inserted
+     */
+    public int doStoreItemValues(List<ItemVO> vol) {
+        TableStatements statements = getTableStatements(vol.get(0).getTableName());
+        String sql = statements.insertItemValues;
+        if (sql == null) {
+            sql = insertItemValueProvider(vol.get(0), sqlTypes.get("tablePrimaryParameter"));
+            statements.insertItemValues = sql;
+        }
+        Object[][] params = new Object[vol.size()][];
+        for (int i = 0; i < vol.size(); i++) {
+            ItemVO vo = vol.get(i);
+            params[i] = insertItemValueParams(vo, timeParameter(vo.getTime()));
+        }
+        logger.debug("JDBC::doStoreItemValues sql={} count={}", sql, params.length);
+        if (Yank.executeBatch(sql, params) != null) {
+            return params.length;
+        }
+
+        logger.debug("JDBC::doStoreItemValues batch failed, inserting {} values one by one", params.length);
+        int stored = 0;
+        for (Object[] rowParams : params) {
+            if (Yank.execute(sql, rowParams) > 0) {
+                stored++;
+            }
+        }
+        return stored;
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name) {
-        String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name);
+        int variant = histItemFilterQueryVariant(filter, numberDecimalcount, name);
+        String sql = histItemFilterQuery(variant, numberDecimalcount, table);
         logger.debug("JDBC::doGetHistItemFilterQuery sql={}", sql);
-        List<Object[]> m = Yank.queryObjectArrays(sql, null);
+        List<Object[]> m = Yank.queryObjectArrays(sql, histItemFilterParams(filter, variant));
+        if (m == null) {
+            return new ArrayList<HistoricItem>(0);
+        }
 
-        List<HistoricItem> items = new ArrayList<HistoricItem>();
+        List<HistoricItem> items = new ArrayList<HistoricItem>(m.size());
         for (int i = 0; i < m.size(); i++) {
             items.add(new JdbcItem(item.getName(), getState(item, m.get(i)[1]), objectAsDate(m.get(i)[0])));
         }
         return items;
     }
 
+    /**
+     * Like {@link #doGetHistItemFilterQuery(Item, FilterCriteria, int, String, String)}, but the rows are loaded
+     * page by page while the result is iterated, so that a long time range is never held in memory at once. The
+     * paging parameters of the filter are ignored.
+     *
+     * @param pageSize the number of rows loaded with one query
+     */
+    public Iterable<HistoricItem> doGetHistItemFilterIterable(Item item, FilterCriteria filter, int numberDecimalcount,
+            String table, String name, int pageSize) {
+        return new JdbcHistoricItemPages(this, item, filter, numberDecimalcount, table, name, pageSize);
+    }
+
+    /**
+     * Loads one page of {@link JdbcHistoricItemPages}.
+     *
+     * @param lastTime the raw time of the last row of the previous page, null for the first page
+     * @return the rows or null, if the query failed
+     */
+    List<Object[]> doGetHistItemPage(FilterCriteria filter, int numberDecimalcount, String table, String name,
+            Object lastTime, int pageSize) {
+        int variant = histItemFilterQueryVariant(filter, numberDecimalcount, name) | QUERY_PAGED;
+        Object begin = filter.getBeginDate() != null ? timeParameter(filter.getBeginDate()) : null;
+        Object end = filter.getEndDate() != null ? timeParameter(filter.getEndDate()) : null;
+        if (lastTime != null) {
+            if ((variant & QUERY_ASCENDING) != 0) {
+                begin = lastTime;
+                variant |= QUERY_BEGIN;
+            } else {
+                end = lastTime;
+                variant |= QUERY_END;
+            }
+        }
+        String sql = histItemFilterQuery(variant, numberDecimalcount, table);
+        logger.debug("JDBC::doGetHistItemPage sql={} after={}", sql, lastTime);
+        return Yank.queryObjectArrays(sql, histItemFilterParams(variant, begin, end, 0, pageSize));
+    }
+
+    /**
+     * Calculates an aggregate of the values between begin and end date of the filter in the database, so that only
+     * a single row has to be transferred.
+     *
+     * @return the aggregated state or null, if there is no value in the time range
+     */
+    public State doGetAggregate(Item item, JdbcAggregate aggregate, FilterCriteria filter, String table) {
+        int variant = histItemFilterQueryVariant(filter, -1, null) & (QUERY_BEGIN | QUERY_END);
+        Object begin = filter.getBeginDate() != null ? timeParameter(filter.getBeginDate()) : null;
+        Object end = filter.getEndDate() != null ? timeParameter(filter.getEndDate()) : null;
+        if (aggregate == JdbcAggregate.LAST) {
+            String sql = histItemFilterQuery(variant | QUERY_PAGED, -1, table);
+            logger.debug("JDBC::doGetAggregate sql={}", sql);
+            List<Object[]> m = Yank.queryObjectArrays(sql,
+                    histItemFilterParams(variant | QUERY_PAGED, begin, end, 0, 1));
+            return m == null || m.isEmpty() ? null : getState(item, m.get(0)[1]);
+        }
+
+        AtomicReferenceArray<String> queries = getTableStatements(table).aggregateQueries;
+        int index = aggregate.ordinal() * TIME_FILTER_VARIANTS + variant;
+        String sql = queries.get(index);
+        if (sql == null) {
+            sql = aggregateQueryProvider(aggregate, variant, table);
+            queries.set(index, sql);
+        }
+        logger.debug("JDBC::doGetAggregate sql={}", sql);
+        Object v = Yank.queryScalar(sql, Object.class, histItemFilterParams(variant, begin, end, 0, 0));
+        if (v == null) {
+            return null;
+        }
+        switch (aggregate) {
+            case AVG:
+            case COUNT:
+                return v instanceof Number ? new DecimalType(((Number) v).doubleValue())
+                        : DecimalType.valueOf(v.toString());
+            default:
+                return getState(item, v);
+        }
+    }
+
     /*************
      * Providers *
      *************/
-    static final DateTimeFormatter jdbcDateFormat = DateTimeFormat.forPattern("yyyy-MM-dd HH:mm:ss");
 
-    private String histItemFilterQueryProvider(FilterCriteria filter, int numberDecimalcount, String table,
-            String simpleName) {
-        logger.debug(
-                "JDBC::getHistItemFilterQueryProvider filter = {}, numberDecimalcount = {}, table = {}, simpleName = {}",
-                filter.toString(), numberDecimalcount, table, simpleName);
+    /**
+     * The SQL statements of one item table. They are generated on first use and reused afterwards, so that the same
+     * SQL string is sent for every call and the parsed statement can be taken from the statement cache of the
+     * driver or the database.
+     */
+    protected static class TableStatements {
+        volatile String insertItemValue;
+        volatile String insertItemValues;
+        final AtomicReferenceArray<String> histItemFilterQueries = new AtomicReferenceArray<String>(
+                QUERY_VARIANTS);
+        final AtomicReferenceArray<String> aggregateQueries = new AtomicReferenceArray<String>(
+                JdbcAggregate.values().length * TIME_FILTER_VARIANTS);
+    }
 
-        String filterString = "";
+    // Flags describing the shape of a historic item query, the time range and paging are bound as parameters.
+    protected static final int QUERY_BEGIN = 1;
+    protected static final int QUERY_END = 2;
+    protected static final int QUERY_ASCENDING = 4;
+    protected static final int QUERY_PAGED = 8;
+    protected static final int QUERY_ROUNDED = 16;
+    private static final int QUERY_VARIANTS = 32;
+    private static final int TIME_FILTER_VARIANTS = 4;
+
+    private final ConcurrentMap<String, TableStatements> tableStatements = new ConcurrentHashMap<String, TableStatements>();
+
+    protected TableStatements getTableStatements(String table) {
+        TableStatements statements = tableStatements.get(table);
+        if (statements == null) {
+            TableStatements newStatements = new TableStatements();
+            statements = tableStatements.putIfAbsent(table, newStatements);
+            if (statements == null) {
+                statements = newStatements;
+            }
+        }
+        return statements;
+    }
+
+    protected int histItemFilterQueryVariant(FilterCriteria filter, int numberDecimalcount, String simpleName) {
+        int variant = 0;
         if (filter.getBeginDate() != null) {
-            filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME>'" + jdbcDateFormat.print(new DateTime(filter.getBeginDate().getTime())) + "'";
+            variant |= QUERY_BEGIN;
         }
         if (filter.getEndDate() != null) {
-            filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME<'" + jdbcDateFormat.print(new DateTime(filter.getEndDate().getTime())) + "'";
+            variant |= QUERY_END;
+        }
+        if (filter.getOrdering() == Ordering.ASCENDING) {
+            variant |= QUERY_ASCENDING;
         }
-        filterString += (filter.getOrdering() == Ordering.ASCENDING) ? " ORDER BY time ASC" : " ORDER BY time DESC ";
         if (filter.getPageSize() != 0x7fffffff) {
-            filterString += " LIMIT " + filter.getPageNumber() * filter.getPageSize() + "," + filter.getPageSize();
+            variant |= QUERY_PAGED;
+        }
+        if ("NUMBERITEM".equalsIgnoreCase(simpleName) && numberDecimalcount > -1) {
+            variant |= QUERY_ROUNDED;
         }
+        return variant;
+    }
+
+    /**
+     * Returns the cached query of the given table and variant. The number of decimals is part of the configuration,
+     * hence it does not change during the lifetime of a DAO.
+     */
+    protected String histItemFilterQuery(int variant, int numberDecimalcount, String table) {
+        AtomicReferenceArray<String> queries = getTableStatements(table).histItemFilterQueries;
+        String sql = queries.get(variant);
+        if (sql == null) {
+            sql = histItemFilterQueryProvider(variant, numberDecimalcount, table);
+            queries.set(variant, sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Parameters of a query created by {@link #histItemFilterQueryProvider(int, int, String)}: begin and end time if
+     * present, followed by offset and count of a page.
+     */
+    protected Object[] histItemFilterParams(FilterCriteria filter, int variant) {
+        return histItemFilterParams(variant, (variant & QUERY_BEGIN) != 0 ? timeParameter(filter.getBeginDate()) : null,
+                (variant & QUERY_END) != 0 ? timeParameter(filter.getEndDate()) : null,
+                filter.getPageNumber() * filter.getPageSize(), filter.getPageSize());
+    }
+
+    protected Object[] histItemFilterParams(int variant, Object begin, Object end, int offset, int count) {
+        int size = ((variant & QUERY_BEGIN) != 0 ? 1 : 0) + ((variant & QUERY_END) != 0 ? 1 : 0)
+                + ((variant & QUERY_PAGED) != 0 ? 2 : 0);
+        Object[] params = new Object[size];
+        int i = 0;
+        if ((variant & QUERY_BEGIN) != 0) {
+            params[i++] = begin;
+        }
+        if ((variant & QUERY_END) != 0) {
+            params[i++] = end;
+        }
+        if ((variant & QUERY_PAGED) != 0) {
+            params[i++] = offset;
+            params[i++] = count;
+        }
+        return params;
+    }
+
+    protected String histItemFilterQueryProvider(int variant, int numberDecimalcount, String table) {
+        logger.debug("JDBC::getHistItemFilterQueryProvider variant = {}, numberDecimalcount = {}, table = {}", variant,
+                numberDecimalcount, table);
         // SELECT time, ROUND(value,3) FROM number_item_0114 ORDER BY time DESC LIMIT 0,1
         // rounding HALF UP
-        String queryString = "NUMBERITEM".equalsIgnoreCase(simpleName) && numberDecimalcount > -1
-                ? "SELECT time, ROUND(value," + numberDecimalcount + ") FROM " + table
-                : "SELECT time, value FROM " + table;
-        if (!filterString.isEmpty()) {
-            queryString += filterString;
+        StringBuilder queryString = new StringBuilder();
+        if ((variant & QUERY_ROUNDED) != 0) {
+            queryString.append("SELECT time, ROUND(value,").append(numberDecimalcount).append(") FROM ").append(table);
+        } else {
+            queryString.append("SELECT time, value FROM ").append(table);
+        }
+        appendTimeFilter(queryString, variant);
+        queryString.append((variant & QUERY_ASCENDING) != 0 ? " ORDER BY time ASC" : " ORDER BY time DESC");
+        if ((variant & QUERY_PAGED) != 0) {
+            queryString.append(" LIMIT ?,?");
         }
         logger.debug("JDBC::query queryString = {}", queryString);
-        return queryString;
+        return queryString.toString();
+    }
+
+    /**
+     * @param variant {@link #QUERY_BEGIN} and {@link #QUERY_END} define the time filter
+     */
+    protected String aggregateQueryProvider(JdbcAggregate aggregate, int variant, String table) {
+        StringBuilder queryString = new StringBuilder("SELECT ").append(aggregateExpression(aggregate))
+                .append(" FROM ").append(table);
+        appendTimeFilter(queryString, variant);
+        logger.debug("JDBC::query queryString = {}", queryString);
+        return queryString.toString();
+    }
+
+    protected String aggregateExpression(JdbcAggregate aggregate) {
+        switch (aggregate) {
+            case AVG:
+                return "AVG(value)";
+            case MIN:
+                return "MIN(value)";
+            case MAX:
+                return "MAX(value)";
+            default:
+                return "COUNT(*)";
+        }
+    }
+
+    protected void appendTimeFilter(StringBuilder queryString, int variant) {
+        if ((variant & QUERY_BEGIN) != 0) {
+            queryString.append(" WHERE TIME>?");
+        }
+        if ((variant & QUERY_END) != 0) {
+            queryString.append((variant & QUERY_BEGIN) != 0 ? " AND" : " WHERE").append(" TIME<?");
+        }
+    }
+
+    /**
+     * @param tablePrimaryValue SQL expression of the time column, either the current time of the database or a
+     *            parameter placeholder
+     */
+    protected String insertItemValueProvider(ItemVO vo, String tablePrimaryValue) {
+        return StringUtilsExt.replaceArrayMerge(SQL_INSERT_ITEM_VALUE,
+                new String[] { "#tableName#", "#tablePrimaryValue#" },
+                new String[] { vo.getTableName(), tablePrimaryValue });
+    }
+
+    /**
+     * @param time the time parameter or null, if the time is set by the database
+     */
+    protected Object[] insertItemValueParams(ItemVO vo, Object time) {
+        return time == null ? new Object[] { vo.getValue(), vo.getValue() }
+                : new Object[] { time, vo.getValue(), vo.getValue() };
     }
 
     private String updateItemTableNamesProvider(List<ItemVO> namesList) {
@@ -392,30 +658,27 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
-    protected ItemVO storeItemValueProvider(Item item, ItemVO vo) {
+    public ItemVO storeItemValueProvider(Item item, ItemVO vo) {
         String itemType = getItemType(item);
 
         logger.debug("JDBC::storeItemValueProvider: item '{}' as Type '{}' in '{}' with state '{}'", item.getName(),
-                itemType, vo.getTableName(), item.getState().toString());
-
-        // insertItemValue
-        logger.debug("JDBC::storeItemValueProvider: getState: '{}'", item.getState().toString());
+                itemType, vo.getTableName(), item.getState());
         if ("COLORITEM".equals(itemType)) {
             vo.setValueTypes(getSqlTypes().get(itemType), java.lang.String.class);
             vo.setValue(item.getState().toString());
         } else if ("NUMBERITEM".equals(itemType)) {
             String it = getSqlTypes().get(itemType);
-            if (it.toUpperCase().contains("DOUBLE")) {
+            if (StringUtils.containsIgnoreCase(it, "DOUBLE")) {
                 vo.setValueTypes(it, java.lang.Double.class);
                 Number newVal = ((DecimalType) item.getState());
                 logger.debug("JDBC::storeItemValueProvider: newVal.doubleValue: '{}'", newVal.doubleValue());
                 vo.setValue(newVal.doubleValue());
-            } else if (it.toUpperCase().contains("DECIMAL") || it.toUpperCase().contains("NUMERIC")) {
+            } else if (StringUtils.containsIgnoreCase(it, "DECIMAL") || StringUtils.containsIgnoreCase(it, "NUMERIC")) {
                 vo.setValueTypes(it, java.math.BigDecimal.class);
                 DecimalType newVal = ((DecimalType) item.getState());
                 logger.debug("JDBC::storeItemValueProvider: newVal.toBigDecimal: '{}'", newVal.toBigDecimal());
                 vo.setValue(newVal.toBigDecimal());
-            } else if (it.toUpperCase().contains("INT")) {
+            } else if (StringUtils.containsIgnoreCase(it, "INT")) {
                 vo.setValueTypes(it, java.lang.Integer.class);
                 Number newVal = ((DecimalType) item.getState());
                 logger.debug("JDBC::storeItemValueProvider: newVal.intValue: '{}'", newVal.intValue());
@@ -455,8 +718,7 @@ public class JdbcBaseDAO {
              */
             // All other items should return the best format by default
             vo.setValueTypes(getSqlTypes().get(itemType), java.lang.String.class);
-            logger.debug("JDBC::storeItemValueProvider: other: item.getState().toString(): '{}'",
-                    item.getState().toString());
+            logger.debug("JDBC::storeItemValueProvider: other: item.getState().toString(): '{}'", item.getState());
             vo.setValue(item.getState().toString());
         }
         return vo;
@@ -466,16 +728,14 @@ public class JdbcBaseDAO {
      * H E L P E R S *
      *****************/
     protected State getState(Item item, Object v) {
-        String clazz = v.getClass().getSimpleName();
-        logger.debug("JDBC::ItemResultHandler::handleResult getState value = '{}', getClass = '{}', clazz = '{}'",
-                v.toString(), v.getClass(), clazz);
+        logger.debug("JDBC::ItemResultHandler::handleResult getState value = '{}', getClass = '{}'", v, v.getClass());
         if (item instanceof NumberItem) {
             String it = getSqlTypes().get("NUMBERITEM");
-            if (it.toUpperCase().contains("DOUBLE")) {
+            if (StringUtils.containsIgnoreCase(it, "DOUBLE")) {
                 return new DecimalType(((Number) v).doubleValue());
-            } else if (it.toUpperCase().contains("DECIMAL") || it.toUpperCase().contains("NUMERIC")) {
+            } else if (StringUtils.containsIgnoreCase(it, "DECIMAL") || StringUtils.containsIgnoreCase(it, "NUMERIC")) {
                 return new DecimalType((BigDecimal) v);
-            } else if (it.toUpperCase().contains("INT")) {
+            } else if (StringUtils.containsIgnoreCase(it, "INT")) {
                 return new DecimalType(((Integer) v).intValue());
             }
             return DecimalType.valueOf(((String) v).toString());
@@ -509,6 +769,10 @@ public class JdbcBaseDAO {
         }
     }
 
+    protected Object timeParameter(Date time) {
+        return new Timestamp(time.getTime());
+    }
+
     protected Date objectAsDate(Object v) {
         if (v instanceof java.lang.String) {
             // toInstant is Java8 only: return Date.from(Timestamp.valueOf(v.toString()).toInstant());
@@ -557,7 +821,11 @@ public class JdbcBaseDAO {
                 }
             }
         }
-        String itemType = item.getClass().getSimpleName().toUpperCase();
+        String itemType = itemTypes.get(item.getClass());
+        if (itemType != null) {
+            return itemType;
+        }
+        itemType = item.getClass().getSimpleName().toUpperCase();
         logger.debug("JDBC::getItemType: Try to use ItemType {} for Item {}", itemType, i.getName());
         if (sqlTypes.get(itemType) == null) {
             logger.warn(
@@ -565,6 +833,7 @@ public class JdbcBaseDAO {
                     itemType, i.getName());
             return def;
         }
+        itemTypes.put(item.getClass(), itemType);
         return itemType;
     }
 
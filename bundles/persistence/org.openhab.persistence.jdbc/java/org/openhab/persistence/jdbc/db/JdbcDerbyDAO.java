@@ -8,20 +8,10 @@
  */
 package org.openhab.persistence.jdbc.db;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import org.joda.time.DateTime;
-import org.joda.time.format.DateTimeFormat;
-import org.joda.time.format.DateTimeFormatter;
 import org.knowm.yank.Yank;
-import org.openhab.core.items.Item;
-import org.openhab.core.persistence.FilterCriteria;
-import org.openhab.core.persistence.FilterCriteria.Ordering;
-import org.openhab.core.persistence.HistoricItem;
 import org.openhab.persistence.jdbc.model.ItemVO;
 import org.openhab.persistence.jdbc.model.ItemsVO;
-import org.openhab.persistence.jdbc.model.JdbcItem;
+import org.openhab.persistence.jdbc.model.JdbcAggregate;
 import org.openhab.persistence.jdbc.utils.StringUtilsExt;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -143,95 +133,58 @@ public class JdbcDerbyDAO extends JdbcBaseDAO {
         Yank.execute(sql, null);
     }
 
+    /****************************
+     * SQL generation Providers *
+     ****************************/
     @Override
-    public void doStoreItemValue(Item item, ItemVO vo) {
-        vo = storeItemValueProvider(item, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(SQL_INSERT_ITEM_VALUE,
+    protected String insertItemValueProvider(ItemVO vo, String tablePrimaryValue) {
+        return StringUtilsExt.replaceArrayMerge(SQL_INSERT_ITEM_VALUE,
                 new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
-                new String[] { vo.getTableName().toUpperCase(), vo.getDbType(), sqlTypes.get("tablePrimaryValue") });
-        Object[] params = new Object[] { vo.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, vo.getValue());
-        Yank.execute(sql, params);
+                new String[] { vo.getTableName().toUpperCase(), vo.getDbType(), tablePrimaryValue });
     }
 
     @Override
-    public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
-            String table, String name) {
-        String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name);
-        List<Object[]> m = Yank.queryObjectArrays(sql, null);
-
-        logger.debug("JDBC::doGetHistItemFilterQuery got Array length={}", m.size());
-
-        List<HistoricItem> items = new ArrayList<HistoricItem>();
-        for (int i = 0; i < m.size(); i++) {
-            logger.debug("JDBC::doGetHistItemFilterQuery 0='{}' 1='{}'", m.get(i)[0], m.get(i)[1]);
-            items.add(new JdbcItem(item.getName(), getState(item, m.get(i)[1]), objectAsDate(m.get(i)[0])));
-        }
-        return items;
+    protected Object[] insertItemValueParams(ItemVO vo, Object time) {
+        return time == null ? new Object[] { vo.getValue() } : new Object[] { time, vo.getValue() };
     }
 
-    /****************************
-     * SQL generation Providers *
-     ****************************/
-    static final DateTimeFormatter jdbcDateFormat = DateTimeFormat.forPattern("yyyy-MM-dd HH:mm:ss");
-
-    /**
-     * @param filter
-     * @param numberDecimalcount
-     * @param table
-     * @return
-     */
-    private String histItemFilterQueryProvider(FilterCriteria filter, int numberDecimalcount, String table,
-            String simpleName) {
-        logger.debug(
-                "JDBC::getHistItemFilterQueryProvider filter = {}, numberDecimalcount = {}, table = {}, simpleName = {}",
-                StringUtilsExt.filterToString(filter), numberDecimalcount, table, simpleName);
-
-        String filterString = "";
-        if (filter.getBeginDate() != null) {
-            filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME>'" + jdbcDateFormat.print(new DateTime(filter.getBeginDate().getTime())) + "'";
-        }
-        if (filter.getEndDate() != null) {
-            filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME<'" + jdbcDateFormat.print(new DateTime(filter.getEndDate().getTime())) + "'";
-        }
-        filterString += (filter.getOrdering() == Ordering.ASCENDING) ? " ORDER BY time ASC" : " ORDER BY time DESC";
-        if (filter.getPageSize() != 0x7fffffff) {
-            // TODO: TESTING!!!
-            // filterString += " LIMIT " + filter.getPageNumber() *
-            // filter.getPageSize() + "," + filter.getPageSize();
-            // SELECT time, value FROM ohscriptfiles_sw_ace_paths_0001 ORDER BY
-            // time DESC OFFSET 1 ROWS FETCH NEXT 0 ROWS ONLY
-            // filterString += " OFFSET " + filter.getPageSize() +" ROWS FETCH
-            // FIRST||NEXT " + filter.getPageNumber() * filter.getPageSize() + "
-            // ROWS ONLY";
-            filterString += " OFFSET " + filter.getPageSize() + " ROWS FETCH FIRST "
-                    + (filter.getPageNumber() * filter.getPageSize() + 1) + " ROWS ONLY";
-        }
+    @Override
+    protected String histItemFilterQueryProvider(int variant, int numberDecimalcount, String table) {
+        logger.debug("JDBC::getHistItemFilterQueryProvider variant = {}, numberDecimalcount = {}, table = {}", variant,
+                numberDecimalcount, table);
 
         // http://www.seemoredata.com/en/showthread.php?132-Round-function-in-Apache-Derby
-        // simulated round function in Derby: CAST(value 0.0005 AS DECIMAL(15,3))
-        // simulated round function in Derby: "CAST(value 0.0005 AS DECIMAL(15,"+numberDecimalcount+"))"
-
-        String queryString = "SELECT time,";
-        if ("NUMBERITEM".equalsIgnoreCase(simpleName) && numberDecimalcount > -1) {
+        // simulated round function in Derby: CAST(value + 0.0005 AS DECIMAL(15,3))
+        // simulated round function in Derby: "CAST(value + 0.0005 AS DECIMAL(15,"+numberDecimalcount+"))"
+        StringBuilder queryString = new StringBuilder("SELECT time, ");
+        if ((variant & QUERY_ROUNDED) != 0) {
             // rounding HALF UP
-            queryString += "CAST(value 0.";
+            queryString.append("CAST(value + 0.");
             for (int i = 0; i < numberDecimalcount; i++) {
-                queryString += "0";
+                queryString.append('0');
             }
-            queryString += "5 AS DECIMAL(31," + numberDecimalcount + "))"; // 31 is DECIMAL max precision
-                                                                           // https://db.apache.org/derby/docs/10.0/manuals/develop/develop151.html
+            // 31 is DECIMAL max precision https://db.apache.org/derby/docs/10.0/manuals/develop/develop151.html
+            queryString.append("5 AS DECIMAL(31,").append(numberDecimalcount).append("))");
         } else {
-            queryString += " value FROM " + table.toUpperCase();
+            queryString.append("value");
         }
-
-        if (!filterString.isEmpty()) {
-            queryString += filterString;
+        queryString.append(" FROM ").append(table.toUpperCase());
+        appendTimeFilter(queryString, variant);
+        queryString.append((variant & QUERY_ASCENDING) != 0 ? " ORDER BY time ASC" : " ORDER BY time DESC");
+        if ((variant & QUERY_PAGED) != 0) {
+            queryString.append(" OFFSET ? ROWS FETCH FIRST ? ROWS ONLY");
         }
         logger.debug("JDBC::query queryString = {}", queryString);
-        return queryString;
+        return queryString.toString();
+    }
+
+    @Override
+    protected String aggregateQueryProvider(JdbcAggregate aggregate, int variant, String table) {
+        StringBuilder queryString = new StringBuilder("SELECT ").append(aggregateExpression(aggregate))
+                .append(" FROM ").append(table.toUpperCase());
+        appendTimeFilter(queryString, variant);
+        logger.debug("JDBC::query queryString = {}", queryString);
+        return queryString.toString();
     }
 
     /*****************
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.persistence.jdbc.db;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.openhab.core.items.Item;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.jdbc.model.JdbcItem;
+
+/**
+ * The result of a historic item query, which is loaded page by page while it is iterated.
+ * <p>
+ * Every page is a query of its own, which continues after the time of the last row of the previous page (keyset
+ * paging on the primary key). Hence no connection is kept open between two pages and an iterator which is not read
+ * to the end does not leak any resources. Every call of {@link #iterator()} starts a new query.
+ *
+ * @author Sven Schreier
+ * @since 1.11.0
+ */
+class JdbcHistoricItemPages implements Iterable<HistoricItem> {
+
+    private final JdbcBaseDAO dao;
+    private final Item item;
+    private final FilterCriteria filter;
+    private final int numberDecimalcount;
+    private final String table;
+    private final String name;
+    private final int pageSize;
+
+    JdbcHistoricItemPages(JdbcBaseDAO dao, Item item, FilterCriteria filter, int numberDecimalcount, String table,
+            String name, int pageSize) {
+        this.dao = dao;
+        this.item = item;
+        this.filter = filter;
+        this.numberDecimalcount = numberDecimalcount;
+        this.table = table;
+        this.name = name;
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    @Override
+    public Iterator<HistoricItem> iterator() {
+        return new Iterator<HistoricItem>() {
+            private List<Object[]> page;
+            private int position;
+            private Object lastTime;
+            private boolean lastPage;
+
+            @Override
+            public boolean hasNext() {
+                if (page != null && position < page.size()) {
+                    return true;
+                }
+                if (lastPage) {
+                    return false;
+                }
+                page = dao.doGetHistItemPage(filter, numberDecimalcount, table, name, lastTime, pageSize);
+                position = 0;
+                // an incomplete page (or an error) ends the iteration
+                lastPage = page == null || page.size() < pageSize;
+                return page != null && !page.isEmpty();
+            }
+
+            @Override
+            public HistoricItem next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Object[] row = page.get(position++);
+                // the raw value is kept, so that the next page starts exactly after this row
+                lastTime = row[0];
+                return new JdbcItem(item.getName(), dao.getState(item, row[1]), dao.objectAsDate(row[0]));
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
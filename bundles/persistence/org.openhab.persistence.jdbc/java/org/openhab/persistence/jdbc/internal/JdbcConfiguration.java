@@ -55,6 +55,15 @@ public class JdbcConfiguration {
 
     private int errReconnectThreshold = 0;
 
+    // asynchronous writes, enabled with writeBatchSize>0
+    private int writeBatchSize = 0;
+    private int writeMaxDelay = 1000;
+    private int writeQueueSize = 10000;
+    private JdbcWriteQueue.OverflowPolicy writeQueueFullPolicy = JdbcWriteQueue.OverflowPolicy.BLOCK;
+
+    // unpaged queries are loaded in pages of this size, disabled with queryPageSize=0
+    private int queryPageSize = 1000;
+
     public int timerCount = 0;
     public int time1000Statements = 0;
     public long timer1000 = 0;
@@ -164,6 +173,36 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: rebuildTableNames={}", rebuildTableNames);
         }
 
+        String wb = (String) configuration.get("writeBatchSize");
+        if (StringUtils.isNotBlank(wb) && StringUtils.isNumeric(wb)) {
+            writeBatchSize = Integer.parseInt(wb);
+            logger.debug("JDBC::updateConfig: writeBatchSize={}", writeBatchSize);
+        }
+
+        String wd = (String) configuration.get("writeMaxDelay");
+        if (StringUtils.isNotBlank(wd) && StringUtils.isNumeric(wd)) {
+            writeMaxDelay = Integer.parseInt(wd);
+            logger.debug("JDBC::updateConfig: writeMaxDelay={}", writeMaxDelay);
+        }
+
+        String wq = (String) configuration.get("writeQueueSize");
+        if (StringUtils.isNotBlank(wq) && StringUtils.isNumeric(wq)) {
+            writeQueueSize = Integer.parseInt(wq);
+            logger.debug("JDBC::updateConfig: writeQueueSize={}", writeQueueSize);
+        }
+
+        String wp = (String) configuration.get("writeQueueFullPolicy");
+        if (StringUtils.isNotBlank(wp)) {
+            writeQueueFullPolicy = JdbcWriteQueue.OverflowPolicy.fromConfig(wp.trim());
+            logger.debug("JDBC::updateConfig: writeQueueFullPolicy={}", writeQueueFullPolicy);
+        }
+
+        String qp = (String) configuration.get("queryPageSize");
+        if (StringUtils.isNotBlank(qp) && StringUtils.isNumeric(qp)) {
+            queryPageSize = Integer.parseInt(qp);
+            logger.debug("JDBC::updateConfig: queryPageSize={}", queryPageSize);
+        }
+
         // undocumented
         String ac = (String) configuration.get("maximumPoolSize");
         if (StringUtils.isNotBlank(ac)) {
@@ -340,6 +379,26 @@ public class JdbcConfiguration {
         return tableIdDigitCount;
     }
 
+    public int getWriteBatchSize() {
+        return writeBatchSize;
+    }
+
+    public int getWriteMaxDelay() {
+        return writeMaxDelay;
+    }
+
+    public int getWriteQueueSize() {
+        return writeQueueSize;
+    }
+
+    public JdbcWriteQueue.OverflowPolicy getWriteQueueFullPolicy() {
+        return writeQueueFullPolicy;
+    }
+
+    public int getQueryPageSize() {
+        return queryPageSize;
+    }
+
     public JdbcBaseDAO getDBDAO() {
         return dBDAO;
     }
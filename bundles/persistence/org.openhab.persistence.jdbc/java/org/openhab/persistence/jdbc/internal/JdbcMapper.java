@@ -9,16 +9,20 @@
 package org.openhab.persistence.jdbc.internal;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.knowm.yank.Yank;
 import org.openhab.core.items.Item;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
+import org.openhab.core.types.State;
 import org.openhab.persistence.jdbc.model.ItemVO;
 import org.openhab.persistence.jdbc.model.ItemsVO;
+import org.openhab.persistence.jdbc.model.JdbcAggregate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,14 +31,15 @@ import org.slf4j.LoggerFactory;
  * @author Helmut Lehmeyer
  * @since 1.8.0
  */
-public class JdbcMapper {
+public class JdbcMapper implements JdbcWriteQueue.BatchWriter {
     static final Logger logger = LoggerFactory.getLogger(JdbcMapper.class);
 
     // Error counter - used to reconnect to database on error
     protected int errCnt;
     protected boolean initialized = false;
     protected JdbcConfiguration conf = null;
-    protected Map<String, String> sqlTables = new HashMap<String, String>();
+    protected Map<String, String> sqlTables = new ConcurrentHashMap<String, String>();
+    protected volatile JdbcWriteQueue writeQueue = null;
     private long afterAccessMin = 10000;
     private long afterAccessMax = 0;
     private static final String ITEM_NAME_PATTERN = "[^a-zA-Z_0-9\\-]";
@@ -131,12 +136,23 @@ public class JdbcMapper {
     }
 
     public Item storeItemValue(Item item) {
-        logger.debug("JDBC::storeItemValue: item={}", item.toString());
+        logger.debug("JDBC::storeItemValue: item={}", item);
         String tableName = getTable(item);
         if (tableName == null) {
             logger.error("JDBC::store: Unable to store item '{}'.", item.getName());
             return item;
         }
+        JdbcWriteQueue queue = writeQueue;
+        if (queue != null) {
+            // the value has to be taken now, the state of the item may change until the queue is flushed
+            ItemVO vo = conf.getDBDAO().storeItemValueProvider(item, new ItemVO(tableName, null));
+            vo.setTime(new Date());
+            if (!queue.add(vo)) {
+                logger.warn("JDBC::storeItemValue: write queue is full, value of item '{}' discarded.",
+                        item.getName());
+            }
+            return item;
+        }
         long timerStart = System.currentTimeMillis();
         conf.getDBDAO().doStoreItemValue(item, new ItemVO(tableName, null));
         logTime("storeItemValue", timerStart, System.currentTimeMillis());
@@ -144,6 +160,31 @@ public class JdbcMapper {
         return item;
     }
 
+    /**
+     * Writes values collected by the {@link JdbcWriteQueue}, all of them belong to the same table.
+     */
+    @Override
+    public int storeItemValues(List<ItemVO> vol) {
+        logger.debug("JDBC::storeItemValues: table={} count={}", vol.get(0).getTableName(), vol.size());
+        long timerStart = System.currentTimeMillis();
+        int stored = conf.getDBDAO().doStoreItemValues(vol);
+        logTime("storeItemValues", timerStart, System.currentTimeMillis());
+        if (stored > 0) {
+            errCnt = 0;
+        } else {
+            errCnt++;
+        }
+        if (stored < vol.size()) {
+            logger.warn("JDBC::storeItemValues: Unable to store {} of {} values in table '{}'.", vol.size() - stored,
+                    vol.size(), vol.get(0).getTableName());
+        }
+        JdbcWriteQueue queue = writeQueue;
+        if (conf.enableLogTime && queue != null) {
+            logger.info("JDBC::storeItemValues: {}", queue);
+        }
+        return stored;
+    }
+
     public List<HistoricItem> getHistItemFilterQuery(FilterCriteria filter, int numberDecimalcount, String table,
             Item item) {
         logger.debug(
@@ -161,6 +202,32 @@ public class JdbcMapper {
         return null;
     }
 
+    public Iterable<HistoricItem> getHistItemFilterIterable(FilterCriteria filter, int numberDecimalcount,
+            String table, Item item) {
+        logger.debug("JDBC::getHistItemFilterIterable numberDecimalcount='{}' table='{}' itemName='{}'",
+                numberDecimalcount, table, item.getName());
+        if (table != null) {
+            return conf.getDBDAO().doGetHistItemFilterIterable(item, filter, numberDecimalcount, table,
+                    item.getName(), conf.getQueryPageSize());
+        } else {
+            logger.error("JDBC::getHistItemFilterIterable: TABLE is NULL; cannot get data from non-existent table.");
+        }
+        return null;
+    }
+
+    public State getAggregate(JdbcAggregate aggregate, FilterCriteria filter, String table, Item item) {
+        logger.debug("JDBC::getAggregate aggregate='{}' table='{}' itemName='{}'", aggregate, table, item.getName());
+        if (table != null) {
+            long timerStart = System.currentTimeMillis();
+            State r = conf.getDBDAO().doGetAggregate(item, aggregate, filter, table);
+            logTime("getAggregate", timerStart, System.currentTimeMillis());
+            return r;
+        } else {
+            logger.error("JDBC::getAggregate: TABLE is NULL; cannot get data from non-existent table.");
+        }
+        return null;
+    }
+
     /***********************
      * DATABASE CONNECTION *
      ***********************/
@@ -204,6 +271,34 @@ public class JdbcMapper {
         }
     }
 
+    /***************
+     * WRITE QUEUE *
+     ***************/
+    protected void startWriteQueue() {
+        stopWriteQueue();
+        if (conf.getWriteBatchSize() > 0) {
+            logger.debug("JDBC::startWriteQueue: batchSize={} maxDelay={} queueSize={} policy={}",
+                    conf.getWriteBatchSize(), conf.getWriteMaxDelay(), conf.getWriteQueueSize(),
+                    conf.getWriteQueueFullPolicy());
+            JdbcWriteQueue queue = new JdbcWriteQueue(this, conf.getWriteQueueSize(), conf.getWriteBatchSize(),
+                    conf.getWriteMaxDelay(), conf.getWriteQueueFullPolicy());
+            queue.start();
+            writeQueue = queue;
+        }
+    }
+
+    /**
+     * Stops the write queue, values still waiting are written before this method returns.
+     */
+    protected void stopWriteQueue() {
+        JdbcWriteQueue queue = writeQueue;
+        if (queue != null) {
+            writeQueue = null;
+            queue.shutdown();
+            logger.debug("JDBC::stopWriteQueue: {}", queue);
+        }
+    }
+
     /**************************
      * DATABASE TABLEHANDLING *
      **************************/
@@ -8,8 +8,8 @@
  */
 package org.openhab.persistence.jdbc.internal;
 
-import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -21,7 +21,9 @@ import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceService;
 import org.openhab.core.persistence.QueryablePersistenceService;
+import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
+import org.openhab.persistence.jdbc.model.JdbcAggregate;
 import org.osgi.framework.BundleContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -80,6 +82,7 @@ public class JdbcPersistenceService extends JdbcMapper implements QueryablePersi
      */
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
+        stopWriteQueue();
         // closeConnection();
         this.bundleContext = null;
         initialized = false;
@@ -155,16 +158,81 @@ public class JdbcPersistenceService extends JdbcMapper implements QueryablePersi
             return Collections.emptyList();
         }
 
-        // Get the item name from the filter
-        // Also get the Item object so we can determine the type
-        Item item = null;
         String itemName = filter.getItemName();
+        Item item = getQueryItem(itemName);
+        if (item == null) {
+            return Collections.emptyList();
+        }
+        String table = getQueryTable(itemName, item);
+        if (table == null) {
+            return Collections.emptyList();
+        }
+
+        if (filter.getPageSize() == Integer.MAX_VALUE && conf.getQueryPageSize() > 0) {
+            // unpaged queries may return a long time range, which is loaded page by page while it is iterated
+            logger.debug("JDBC::query: query for {} is loaded in pages of {} rows", itemName, conf.getQueryPageSize());
+            errCnt = 0;
+            return getHistItemFilterIterable(filter, conf.getNumberDecimalcount(), table, item);
+        }
+
+        long timerStart = System.currentTimeMillis();
+        List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
+
+        logger.debug("JDBC::query: query for {} returned {} rows in {} ms", item.getName(), items.size(),
+                System.currentTimeMillis() - timerStart);
+
+        // Success
+        errCnt = 0;
+        return items;
+    }
+
+    /**
+     * Calculates an aggregate of the values of an item in the database, so that the single values do not have to be
+     * loaded. AVG is the arithmetic mean of the stored values, it is not weighted by the time a value was valid.
+     *
+     * @param itemName the name of the item
+     * @param aggregate the aggregate function
+     * @param begin the begin of the time range or null
+     * @param end the end of the time range or null
+     * @return the aggregated state or null, if there is no value in the time range or the query failed
+     */
+    public State aggregate(String itemName, JdbcAggregate aggregate, Date begin, Date end) {
+        if (!checkDBAccessability()) {
+            logger.warn("JDBC::aggregate: database not connected, query aborted for item '{}'", itemName);
+            return null;
+        }
+        if (itemRegistry == null) {
+            logger.error("JDBC::aggregate: itemRegistry == null. Ignore and give up!");
+            return null;
+        }
+        Item item = getQueryItem(itemName);
+        if (item == null) {
+            return null;
+        }
+        String table = getQueryTable(itemName, item);
+        if (table == null) {
+            return null;
+        }
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(itemName);
+        filter.setBeginDate(begin);
+        filter.setEndDate(end);
+        State state = getAggregate(aggregate, filter, table, item);
+        logger.debug("JDBC::aggregate: {} of {} is {}", aggregate, itemName, state);
+        return state;
+    }
+
+    /**
+     * Get the Item object of a query, so we can determine the type. For a group item this is its base item.
+     */
+    private Item getQueryItem(String itemName) {
         logger.debug("JDBC::query: item is {}", itemName);
+        Item item;
         try {
             item = itemRegistry.getItem(itemName);
         } catch (ItemNotFoundException e1) {
             logger.error("JDBC::query: unable to get item for itemName: '{}'. Ignore and give up!", itemName);
-            return Collections.emptyList();
+            return null;
         }
 
         if (item instanceof GroupItem) {
@@ -173,39 +241,27 @@ public class JdbcPersistenceService extends JdbcMapper implements QueryablePersi
             logger.debug("JDBC::query: item is instanceof GroupItem '{}'", itemName);
             if (item == null) {
                 logger.debug("JDBC::query: BaseItem of GroupItem is null. Ignore and give up!");
-                return Collections.emptyList();
+                return null;
             }
             if (item instanceof GroupItem) {
                 logger.debug("JDBC::query: BaseItem of GroupItem is a GroupItem too. Ignore and give up!");
-                return Collections.emptyList();
+                return null;
             }
         }
+        return item;
+    }
 
+    private String getQueryTable(String itemName, Item item) {
         String table = sqlTables.get(itemName);
         if (table == null) {
             logger.warn(
                     "JDBC::query: unable to find table for query, no data in database for item '{}'. Current number of tables in the database: {}",
                     itemName, sqlTables.size());
             // if enabled, table will be created immediately
-            if (item != null) {
-                logger.warn("JDBC::query: try to generate the table for item '{}'", itemName);
-                table = getTable(item);
-            } else {
-                logger.warn("JDBC::query: no way to generate the table for item '{}'", itemName);
-                return Collections.emptyList();
-            }
+            logger.warn("JDBC::query: try to generate the table for item '{}'", itemName);
+            table = getTable(item);
         }
-
-        long timerStart = System.currentTimeMillis();
-        List<HistoricItem> items = new ArrayList<HistoricItem>();
-        items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
-
-        logger.debug("JDBC::query: query for {} returned {} rows in {} ms", item.getName(), items.size(),
-                System.currentTimeMillis() - timerStart);
-
-        // Success
-        errCnt = 0;
-        return items;
+        return table;
     }
 
     /**
@@ -214,6 +270,8 @@ public class JdbcPersistenceService extends JdbcMapper implements QueryablePersi
     public void updateConfig(Map<Object, Object> configuration) {
         logger.debug("JDBC::updateConfig");
 
+        // write pending values with the previous configuration
+        stopWriteQueue();
         conf = new JdbcConfiguration(configuration);
         if (checkDBAccessability()) {
             checkDBSchema();
@@ -222,6 +280,7 @@ public class JdbcPersistenceService extends JdbcMapper implements QueryablePersi
         } else {
             initialized = false;
         }
+        startWriteQueue();
 
         logger.debug("JDBC::updateConfig: configuration complete for service={}.", getName());
     }
@@ -0,0 +1,302 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openhab.persistence.jdbc.model.ItemVO;
+import org.openhab.persistence.jdbc.utils.MovingAverage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded queue of item values, which are written to the database by a background thread.
+ * <p>
+ * The values are collected until either the configured batch size is reached or the oldest value has been waiting
+ * for the configured maximum delay. The collected values are then grouped by their item table and each group is
+ * written with one JDBC batch. Hence the thread storing an item never waits for the database, as long as the queue
+ * is not full. What happens to a value which does not fit into the queue is defined by the {@link OverflowPolicy}.
+ *
+ * @author Sven Schreier
+ * @since 1.11.0
+ */
+public class JdbcWriteQueue {
+    private static final Logger logger = LoggerFactory.getLogger(JdbcWriteQueue.class);
+
+    private static final long IDLE_POLL_TIME = 1000;
+
+    /**
+     * Callback used by the queue to write the values of one item table.
+     */
+    public interface BatchWriter {
+
+        /**
+         * @param vol values of the same table, in the order they have been added
+         * @return the number of values written
+         */
+        int storeItemValues(List<ItemVO> vol);
+    }
+
+    /**
+     * Defines how a value is handled, when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** wait until the background thread has made room */
+        BLOCK,
+        /** discard the new value */
+        DROP_NEWEST,
+        /** discard the oldest value in the queue */
+        DROP_OLDEST;
+
+        public static OverflowPolicy fromConfig(String value) {
+            if ("dropNewest".equalsIgnoreCase(value)) {
+                return DROP_NEWEST;
+            } else if ("dropOldest".equalsIgnoreCase(value)) {
+                return DROP_OLDEST;
+            }
+            return BLOCK;
+        }
+    }
+
+    private final BatchWriter writer;
+    private final BlockingQueue<ItemVO> queue;
+    private final int batchSize;
+    private final long maxDelay;
+    private final OverflowPolicy overflowPolicy;
+
+    private final AtomicLong valuesAdded = new AtomicLong();
+    private final AtomicLong valuesDropped = new AtomicLong();
+    private final AtomicLong valuesFailed = new AtomicLong();
+    private long batchesWritten = 0;
+    private int maxQueueDepth = 0;
+    private final MovingAverage batchSizeAverage = new MovingAverage(100);
+    private final MovingAverage flushTimeAverage = new MovingAverage(100);
+
+    private Thread flushThread;
+    private volatile boolean running = false;
+
+    /**
+     * @param writer the callback writing the values
+     * @param capacity the maximum number of values waiting in the queue
+     * @param batchSize the number of values which triggers a flush
+     * @param maxDelay the time in milliseconds a value waits at most before it is flushed
+     * @param overflowPolicy the handling of values which do not fit into the queue
+     */
+    public JdbcWriteQueue(BatchWriter writer, int capacity, int batchSize, long maxDelay,
+            OverflowPolicy overflowPolicy) {
+        this.writer = writer;
+        this.queue = new ArrayBlockingQueue<ItemVO>(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.maxDelay = Math.max(0, maxDelay);
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Starts the background thread.
+     */
+    public synchronized void start() {
+        if (flushThread != null) {
+            return;
+        }
+        running = true;
+        flushThread = new Thread("JDBC Writer") {
+            @Override
+            public void run() {
+                List<ItemVO> batch = new ArrayList<ItemVO>(batchSize);
+                while (running) {
+                    try {
+                        collect(batch);
+                    } catch (InterruptedException e) {
+                        running = false;
+                    }
+                    try {
+                        flush(batch);
+                    } catch (Exception e) {
+                        logger.error("JDBC::JdbcWriteQueue: error writing values: {}", e.getMessage());
+                    }
+                    batch.clear();
+                }
+            }
+        };
+        flushThread.setDaemon(true);
+        flushThread.start();
+    }
+
+    /**
+     * Stops the background thread and writes all values remaining in the queue. The thread is not interrupted, so
+     * that a batch being written is not aborted.
+     */
+    public void shutdown() {
+        Thread thread;
+        synchronized (this) {
+            thread = flushThread;
+            flushThread = null;
+            running = false;
+        }
+        if (thread != null) {
+            try {
+                thread.join(maxDelay + 10000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<ItemVO> batch = new ArrayList<ItemVO>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Adds a value, which already contains its table name and time.
+     *
+     * @return false if the value has been discarded
+     */
+    public boolean add(ItemVO vo) {
+        valuesAdded.incrementAndGet();
+        if (queue.offer(vo)) {
+            return true;
+        }
+        switch (overflowPolicy) {
+            case DROP_NEWEST:
+                valuesDropped.incrementAndGet();
+                logger.debug("JDBC::JdbcWriteQueue: queue full, discarding value of table '{}'", vo.getTableName());
+                return false;
+            case DROP_OLDEST:
+                while (!queue.offer(vo)) {
+                    if (queue.poll() != null) {
+                        valuesDropped.incrementAndGet();
+                    }
+                }
+                return true;
+            default:
+                try {
+                    queue.put(vo);
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    valuesDropped.incrementAndGet();
+                    return false;
+                }
+        }
+    }
+
+    /**
+     * Waits for the first value and collects further values, until the batch is full or the first value has reached
+     * the maximum delay. The wait for the first value is limited, so that a shutdown is noticed.
+     */
+    private void collect(List<ItemVO> batch) throws InterruptedException {
+        ItemVO first = queue.poll(IDLE_POLL_TIME, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        synchronized (this) {
+            maxQueueDepth = Math.max(maxQueueDepth, queue.size() + 1);
+        }
+        long deadline = first.getTime().getTime() + maxDelay;
+        while (batch.size() < batchSize) {
+            long wait = deadline - System.currentTimeMillis();
+            if (wait <= 0) {
+                queue.drainTo(batch, batchSize - batch.size());
+                return;
+            }
+            ItemVO vo = queue.poll(wait, TimeUnit.MILLISECONDS);
+            if (vo == null) {
+                return;
+            }
+            batch.add(vo);
+        }
+    }
+
+    private void flush(List<ItemVO> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long timerStart = System.currentTimeMillis();
+        Map<String, List<ItemVO>> tables = new LinkedHashMap<String, List<ItemVO>>();
+        for (ItemVO vo : batch) {
+            List<ItemVO> vol = tables.get(vo.getTableName());
+            if (vol == null) {
+                vol = new ArrayList<ItemVO>();
+                tables.put(vo.getTableName(), vol);
+            }
+            // the time is the primary key, only the last value of the same millisecond is kept
+            if (!vol.isEmpty() && vol.get(vol.size() - 1).getTime().equals(vo.getTime())) {
+                vol.set(vol.size() - 1, vo);
+            } else {
+                vol.add(vo);
+            }
+        }
+        for (List<ItemVO> vol : tables.values()) {
+            int written = writer.storeItemValues(vol);
+            if (written < vol.size()) {
+                valuesFailed.addAndGet(vol.size() - written);
+            }
+        }
+        long flushTime = System.currentTimeMillis() - timerStart;
+        synchronized (this) {
+            batchesWritten++;
+            batchSizeAverage.add(batch.size());
+            flushTimeAverage.add(flushTime);
+        }
+        logger.debug("JDBC::JdbcWriteQueue: wrote {} values to {} tables in {} ms, queue depth {}", batch.size(),
+                tables.size(), flushTime, queue.size());
+    }
+
+    /******************************
+     * public Getters and Setters *
+     ******************************/
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public synchronized int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    public long getValuesAdded() {
+        return valuesAdded.get();
+    }
+
+    public long getValuesDropped() {
+        return valuesDropped.get();
+    }
+
+    public long getValuesFailed() {
+        return valuesFailed.get();
+    }
+
+    public synchronized long getBatchesWritten() {
+        return batchesWritten;
+    }
+
+    public synchronized double getAverageBatchSize() {
+        return batchSizeAverage.getAverageDouble();
+    }
+
+    public synchronized double getAverageFlushTime() {
+        return flushTimeAverage.getAverageDouble();
+    }
+
+    @Override
+    public String toString() {
+        return "JdbcWriteQueue [queueDepth=" + getQueueDepth() + ", maxQueueDepth=" + getMaxQueueDepth()
+                + ", valuesAdded=" + getValuesAdded() + ", valuesDropped=" + getValuesDropped() + ", valuesFailed="
+                + getValuesFailed() + ", batchesWritten=" + getBatchesWritten() + ", averageBatchSize="
+                + getAverageBatchSize() + ", averageFlushTime=" + getAverageFlushTime() + "ms]";
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.persistence.jdbc.model;
+
+/**
+ * Aggregate functions which are calculated by the database over the values of a time range.
+ *
+ * @author Sven Schreier
+ * @since 1.11.0
+ */
+public enum JdbcAggregate {
+    /** arithmetic mean of the stored values, not weighted by time */
+    AVG,
+    MIN,
+    MAX,
+    /** number of stored values */
+    COUNT,
+    /** the most recent value */
+    LAST
+}
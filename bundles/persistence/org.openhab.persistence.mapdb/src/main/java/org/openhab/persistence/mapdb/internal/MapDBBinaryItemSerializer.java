@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import org.mapdb.DataInput2;
+import org.mapdb.DataOutput2;
+import org.mapdb.Serializer;
+import org.openhab.core.library.types.DateTimeType;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.types.State;
+
+/**
+ * Serializer to serialize items to and from a compact binary Mapdb format.
+ * <p>
+ * The type of the state is written as a single byte. Numbers are written as
+ * packed unscaled value and scale, so that they do not have to be parsed when
+ * the database is loaded, and times as milliseconds since the epoch. States of
+ * other types are written as string, like {@link MapDBitemSerializer} does.
+ *
+ * @author Sven Schreier
+ * @since 1.11.0
+ */
+public class MapDBBinaryItemSerializer implements Serializer<MapDBItem>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final byte TYPE_STRING = 0;
+    private static final byte TYPE_DECIMAL = 1;
+    private static final byte TYPE_PERCENT = 2;
+    private static final byte TYPE_HSB = 3;
+    private static final byte TYPE_ON = 4;
+    private static final byte TYPE_OFF = 5;
+    private static final byte TYPE_OPEN = 6;
+    private static final byte TYPE_CLOSED = 7;
+    private static final byte TYPE_DATETIME = 8;
+
+    /** marks a number whose unscaled value does not fit into a long */
+    private static final int BIG_SCALE = Integer.MIN_VALUE;
+
+    @Override
+    public void serialize(DataOutput out, MapDBItem item) throws IOException {
+        out.writeUTF(item.getName());
+        DataOutput2.packLong(out, item.getTime());
+
+        State state = item.getState();
+        if (state instanceof HSBType) {
+            HSBType hsb = (HSBType) state;
+            out.writeByte(TYPE_HSB);
+            writeDecimal(out, hsb.getHue().toBigDecimal());
+            writeDecimal(out, hsb.getSaturation().toBigDecimal());
+            writeDecimal(out, hsb.getBrightness().toBigDecimal());
+        } else if (state instanceof PercentType) {
+            out.writeByte(TYPE_PERCENT);
+            writeDecimal(out, ((PercentType) state).toBigDecimal());
+        } else if (state instanceof DecimalType) {
+            out.writeByte(TYPE_DECIMAL);
+            writeDecimal(out, ((DecimalType) state).toBigDecimal());
+        } else if (state == OnOffType.ON) {
+            out.writeByte(TYPE_ON);
+        } else if (state == OnOffType.OFF) {
+            out.writeByte(TYPE_OFF);
+        } else if (state == OpenClosedType.OPEN) {
+            out.writeByte(TYPE_OPEN);
+        } else if (state == OpenClosedType.CLOSED) {
+            out.writeByte(TYPE_CLOSED);
+        } else if (state instanceof DateTimeType) {
+            Calendar calendar = ((DateTimeType) state).getCalendar();
+            out.writeByte(TYPE_DATETIME);
+            DataOutput2.packLong(out, zigZag(calendar.getTimeInMillis()));
+            out.writeUTF(calendar.getTimeZone().getID());
+        } else {
+            out.writeByte(TYPE_STRING);
+            out.writeUTF(state.toString());
+        }
+    }
+
+    @Override
+    public MapDBItem deserialize(DataInput in, int available) throws IOException {
+        String name = in.readUTF();
+        long timestamp = DataInput2.unpackLong(in);
+
+        State state;
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_DECIMAL:
+                state = new DecimalType(readDecimal(in));
+                break;
+            case TYPE_PERCENT:
+                state = new PercentType(readDecimal(in));
+                break;
+            case TYPE_HSB:
+                state = new HSBType(new DecimalType(readDecimal(in)), new PercentType(readDecimal(in)),
+                        new PercentType(readDecimal(in)));
+                break;
+            case TYPE_ON:
+                state = OnOffType.ON;
+                break;
+            case TYPE_OFF:
+                state = OnOffType.OFF;
+                break;
+            case TYPE_OPEN:
+                state = OpenClosedType.OPEN;
+                break;
+            case TYPE_CLOSED:
+                state = OpenClosedType.CLOSED;
+                break;
+            case TYPE_DATETIME:
+                long time = unZigZag(DataInput2.unpackLong(in));
+                Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone(in.readUTF()));
+                calendar.setTimeInMillis(time);
+                state = new DateTimeType(calendar);
+                break;
+            case TYPE_STRING:
+                state = StringType.valueOf(in.readUTF());
+                break;
+            default:
+                throw new IOException("Unknown state type " + type + " of item '" + name + "'");
+        }
+        return new MapDBItem(name, state, timestamp);
+    }
+
+    @Override
+    public int fixedSize() {
+        return -1;
+    }
+
+    private static void writeDecimal(DataOutput out, BigDecimal value) throws IOException {
+        BigInteger unscaled = value.unscaledValue();
+        // packed values must not be negative, hence the zig-zag encoded value has to fit into 63 bits
+        if (unscaled.bitLength() < 63 && value.scale() != BIG_SCALE) {
+            DataOutput2.packLong(out, zigZag(value.scale()));
+            DataOutput2.packLong(out, zigZag(unscaled.longValue()));
+        } else {
+            DataOutput2.packLong(out, zigZag(BIG_SCALE));
+            out.writeUTF(value.toString());
+        }
+    }
+
+    private static BigDecimal readDecimal(DataInput in) throws IOException {
+        int scale = (int) unZigZag(DataInput2.unpackLong(in));
+        if (scale == BIG_SCALE) {
+            return new BigDecimal(in.readUTF());
+        }
+        return BigDecimal.valueOf(unZigZag(DataInput2.unpackLong(in)), scale);
+    }
+
+    /**
+     * Maps signed values to unsigned ones, so that values near zero are packed
+     * into few bytes regardless of their sign.
+     */
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+}
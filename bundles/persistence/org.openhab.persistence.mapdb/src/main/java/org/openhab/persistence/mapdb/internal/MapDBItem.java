@@ -31,7 +31,16 @@ public class MapDBItem implements HistoricItem, Serializable {
 
     private State state;
 
-    private Date timestamp;
+    private long timestamp;
+
+    public MapDBItem() {
+    }
+
+    public MapDBItem(String name, State state, long timestamp) {
+        this.name = name;
+        this.state = state;
+        this.timestamp = timestamp;
+    }
 
     @Override
     public String getName() {
@@ -53,16 +62,23 @@ public class MapDBItem implements HistoricItem, Serializable {
 
     @Override
     public Date getTimestamp() {
-        return timestamp;
+        return new Date(timestamp);
     }
 
     public void setTimestamp(Date timestamp) {
-        this.timestamp = timestamp;
+        this.timestamp = timestamp.getTime();
+    }
+
+    /**
+     * @return the timestamp in milliseconds since the epoch
+     */
+    public long getTime() {
+        return timestamp;
     }
 
     @Override
     public String toString() {
-        return DateFormat.getDateTimeInstance().format(timestamp) + ": " + name + " -> " + state.toString();
+        return DateFormat.getDateTimeInstance().format(getTimestamp()) + ": " + name + " -> " + state.toString();
     }
 
 }
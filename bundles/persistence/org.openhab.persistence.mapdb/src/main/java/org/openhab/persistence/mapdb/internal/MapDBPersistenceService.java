@@ -16,9 +16,11 @@ import static org.quartz.impl.matchers.GroupMatcher.jobGroupEquals;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang.StringUtils;
 import org.mapdb.DB;
@@ -72,14 +74,24 @@ public class MapDBPersistenceService implements QueryablePersistenceService {
 
     private static boolean commitSameState = false;
 
-    private static boolean needsCommit = false;
-
     private static final Logger logger = LoggerFactory.getLogger(MapDBPersistenceService.class);
 
+    /** name of the map written by previous versions with {@link MapDBitemSerializer} */
+    private static final String LEGACY_MAP_NAME = "itemStore";
+
+    private static final String MAP_NAME = "itemStates";
+
     /** holds the local instance of the MapDB database */
     private static DB db;
     private static Map<String, MapDBItem> map;
 
+    /** the last stored state of every item, which answers all queries */
+    private static final Map<String, MapDBItem> cache = new ConcurrentHashMap<String, MapDBItem>();
+
+    /** the items whose entry in the cache has to be written to the database with the next commit */
+    private static final Set<String> dirtyItems = Collections
+            .newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
     public void activate(final BundleContext bundleContext, final Map<String, Object> config) {
         logger.debug("mapdb persistence service is being activated");
 
@@ -111,18 +123,55 @@ public class MapDBPersistenceService implements QueryablePersistenceService {
 
         File dbFile = new File(DB_FOLDER_NAME, DB_FILE_NAME);
         db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-        Serializer<MapDBItem> serializer = new MapDBitemSerializer();
-        map = db.createTreeMap("itemStore").valueSerializer(serializer).makeOrGet();
+        Serializer<MapDBItem> serializer = new MapDBBinaryItemSerializer();
+        map = db.createTreeMap(MAP_NAME).valueSerializer(serializer).makeOrGet();
+        migrateLegacyMap();
+        loadCache();
         scheduleJob();
         logger.debug("mapdb persistence service is now activated");
     }
 
     public void deactivate(final int reason) {
         logger.debug("mapdb persistence service deactivated");
+        cancelAllJobs();
         if (db != null) {
+            commit();
             db.close();
         }
-        cancelAllJobs();
+        cache.clear();
+    }
+
+    /**
+     * Copies the items of a database written by a previous version into the
+     * map using the binary format and deletes the old map.
+     */
+    private void migrateLegacyMap() {
+        if (!db.exists(LEGACY_MAP_NAME)) {
+            return;
+        }
+        try {
+            Map<String, MapDBItem> legacyMap = db.getTreeMap(LEGACY_MAP_NAME);
+            map.putAll(legacyMap);
+            db.delete(LEGACY_MAP_NAME);
+            db.commit();
+            logger.info("Converted {} items of the mapdb database to the binary format", map.size());
+        } catch (Exception e) {
+            logger.warn("Error converting the mapdb database: {}", e.getMessage());
+            db.rollback();
+        }
+    }
+
+    /**
+     * Reads all items of the database with one sequential pass, so that
+     * restoreOnStartup does not query the database item by item.
+     */
+    private void loadCache() {
+        long startTime = System.currentTimeMillis();
+        cache.clear();
+        dirtyItems.clear();
+        cache.putAll(map);
+        logger.debug("Loaded {} items from mapdb database in {}ms", cache.size(),
+                System.currentTimeMillis() - startTime);
     }
 
     @Override
@@ -154,25 +203,18 @@ public class MapDBPersistenceService implements QueryablePersistenceService {
         } else if (item instanceof DimmerItem || item instanceof RollershutterItem) {
             state = item.getStateAs(PercentType.class);
         }
-        MapDBItem mItem = new MapDBItem();
-        mItem.setName(alias);
-        mItem.setState(state);
-        mItem.setTimestamp(new Date());
-        MapDBItem oldItem = map.put(alias, mItem);
-
-        if (!commitSameState) {
-            if (oldItem != null) {
-                if (!oldItem.getState().toString().equals(state.toString())) {
-                    needsCommit = true;
-                }
-            }
+        MapDBItem oldItem = cache.put(alias, new MapDBItem(alias, state, System.currentTimeMillis()));
+
+        // the timestamp of an unchanged state is written only along with a change
+        if (commitSameState || oldItem == null || !oldItem.getState().equals(state)) {
+            dirtyItems.add(alias);
         }
-        logger.debug("Stored '{}' with state '{}' in mapdb database", alias, state.toString());
+        logger.debug("Stored '{}' with state '{}' in mapdb database", alias, state);
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        HistoricItem item = map.get(filter.getItemName());
+        HistoricItem item = cache.get(filter.getItemName());
         if (item != null) {
             return Collections.singletonList(item);
         }
@@ -229,26 +271,51 @@ public class MapDBPersistenceService implements QueryablePersistenceService {
 
         @Override
         public void execute(JobExecutionContext context) throws JobExecutionException {
-            long startTime = System.currentTimeMillis();
-            try {
-                if (!db.isClosed() && (needsCommit || commitSameState)) {
-                    needsCommit = false;
-                    db.commit();
-                    logger.trace("successfully commited mapdb transaction in {}ms",
-                            System.currentTimeMillis() - startTime);
+            commit();
+        }
+
+    }
+
+    /**
+     * Writes the items which have changed since the last commit and commits
+     * the mapdb transaction.
+     */
+    private static synchronized void commit() {
+        if (db == null || db.isClosed() || dirtyItems.isEmpty()) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        List<String> names = new ArrayList<String>(dirtyItems);
+        Map<String, MapDBItem> written = new HashMap<String, MapDBItem>();
+        try {
+            for (String name : names) {
+                MapDBItem item = cache.get(name);
+                if (item != null) {
+                    map.put(name, item);
+                    written.put(name, item);
                 }
-            } catch (Exception e) {
-                try {
-                    logger.warn("Error committing transaction : {}", e.getMessage());
-                    if (!db.isClosed()) {
-                        db.rollback();
-                    }
-                } catch (Exception re) {
-                    logger.debug("Rollback Exception: {}", e.getMessage());
+            }
+            db.commit();
+            // an item stored again in the meantime stays dirty for the next commit
+            for (String name : names) {
+                MapDBItem item = written.get(name);
+                if (item == null || cache.get(name) == item) {
+                    dirtyItems.remove(name);
                 }
             }
+            logger.trace("successfully commited {} items in mapdb transaction in {}ms", written.size(),
+                    System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            // the items stay dirty and are written again with the next commit
+            try {
+                logger.warn("Error committing transaction : {}", e.getMessage());
+                if (!db.isClosed()) {
+                    db.rollback();
+                }
+            } catch (Exception re) {
+                logger.debug("Rollback Exception: {}", e.getMessage());
+            }
         }
-
     }
 
     private static String getUserDataFolder() {
@@ -26,6 +26,9 @@ import org.openhab.core.types.State;
 
 /**
  * Serializer to serialize items to and from Mapdb format
+ * <p>
+ * This format was used up to 1.10. It is only kept to read existing
+ * databases, which are converted to {@link MapDBBinaryItemSerializer}.
  *
  * @author Jens Viebig
  * @since 1.7.0
@@ -0,0 +1,270 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.rrd4j.core.RrdDb;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of open {@link RrdDb} handles, keyed by the item alias.
+ * <p>
+ * Handles are kept open between calls, so that the RRD header does not have to
+ * be parsed again for every single store or query. The pool is bounded by a
+ * maximum number of open files, the least recently used idle handles are
+ * closed first. Handles which have not been used for the configured idle
+ * timeout are closed by a periodic sweep.
+ * <p>
+ * Every handle is guarded by its own lock, which is held between
+ * {@link #acquire(String)} and {@link #release(String)}. Hence operations on
+ * different files run in parallel, whereas operations on the same file are
+ * serialized.
+ *
+ * @author Sven Schreier
+ * @since 1.11.0
+ */
+public class RRD4jDbPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(RRD4jDbPool.class);
+
+    public static final int DEFAULT_MAX_OPEN_FILES = 256;
+    public static final int DEFAULT_IDLE_TIMEOUT = 300;
+
+    /**
+     * Callback used by the pool to open (or create) the database of an alias.
+     */
+    public interface DbOpener {
+        RrdDb open(String alias) throws IOException;
+    }
+
+    private static class PoolEntry {
+        final ReentrantLock lock = new ReentrantLock();
+        RrdDb db;
+        int usageCount;
+        long lastAccess;
+    }
+
+    private final DbOpener opener;
+
+    /** access ordered, so that iteration starts with the least recently used entry */
+    private final LinkedHashMap<String, PoolEntry> entries = new LinkedHashMap<String, PoolEntry>(16, 0.75f, true);
+
+    private int maxOpenFiles = DEFAULT_MAX_OPEN_FILES;
+    private long idleTimeout = TimeUnit.SECONDS.toMillis(DEFAULT_IDLE_TIMEOUT);
+
+    private ScheduledFuture<?> sweepJob;
+
+    public RRD4jDbPool(DbOpener opener) {
+        this.opener = opener;
+    }
+
+    /**
+     * Sets the maximum number of database files kept open at the same time.
+     * Handles in use are never closed, so the limit may be exceeded
+     * temporarily.
+     */
+    public synchronized void setMaxOpenFiles(int maxOpenFiles) {
+        this.maxOpenFiles = Math.max(1, maxOpenFiles);
+        evictIfNeeded();
+    }
+
+    /**
+     * Sets the time in seconds after which an unused handle is closed.
+     */
+    public synchronized void setIdleTimeout(int seconds) {
+        this.idleTimeout = TimeUnit.SECONDS.toMillis(Math.max(1, seconds));
+    }
+
+    /**
+     * Starts the periodic sweep which closes idle handles.
+     *
+     * @param scheduler the scheduler to run the sweep on
+     */
+    public synchronized void start(ScheduledExecutorService scheduler) {
+        if (sweepJob != null) {
+            sweepJob.cancel(false);
+        }
+        long period = Math.max(1000, idleTimeout / 2);
+        sweepJob = scheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                closeIdle();
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the open database of the given alias and locks it for the
+     * calling thread. Every successful call must be followed by a call to
+     * {@link #release(String)} with the same alias.
+     *
+     * @param alias the alias (item name) of the database
+     * @return the open database
+     * @throws IOException if the database could not be opened
+     */
+    public RrdDb acquire(String alias) throws IOException {
+        PoolEntry entry;
+        synchronized (this) {
+            entry = entries.get(alias);
+            if (entry == null) {
+                entry = new PoolEntry();
+                entries.put(alias, entry);
+            }
+            entry.usageCount++;
+        }
+        entry.lock.lock();
+        try {
+            if (entry.db == null || entry.db.isClosed()) {
+                entry.db = opener.open(alias);
+                evictIfNeeded();
+            }
+            return entry.db;
+        } catch (IOException e) {
+            release(alias);
+            throw e;
+        } catch (RuntimeException e) {
+            release(alias);
+            throw e;
+        }
+    }
+
+    /**
+     * Unlocks the database of the given alias, which has been obtained by
+     * {@link #acquire(String)} before.
+     *
+     * @param alias the alias (item name) of the database
+     */
+    public void release(String alias) {
+        synchronized (this) {
+            PoolEntry entry = entries.get(alias);
+            if (entry == null) {
+                logger.debug("Released rrd4j database '{}' which is not in the pool", alias);
+                return;
+            }
+            entry.usageCount--;
+            entry.lastAccess = System.currentTimeMillis();
+            if (entry.lock.isHeldByCurrentThread()) {
+                entry.lock.unlock();
+            }
+            if (entry.db == null && entry.usageCount == 0) {
+                entries.remove(alias);
+            }
+        }
+    }
+
+    /**
+     * Closes all handles which are not in use and have been idle for longer
+     * than the configured timeout.
+     */
+    public void closeIdle() {
+        long threshold = System.currentTimeMillis() - idleTimeout;
+        List<RrdDb> toClose = new ArrayList<RrdDb>();
+        synchronized (this) {
+            Iterator<PoolEntry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                PoolEntry entry = it.next();
+                if (entry.usageCount == 0 && entry.lastAccess < threshold) {
+                    it.remove();
+                    if (entry.db != null) {
+                        toClose.add(entry.db);
+                    }
+                }
+            }
+        }
+        if (!toClose.isEmpty()) {
+            logger.trace("Closing {} idle rrd4j database(s)", toClose.size());
+            closeAll(toClose);
+        }
+    }
+
+    /**
+     * Closes all handles and stops the idle sweep. Handles which are in use
+     * are closed as well, so this must only be called on shutdown.
+     */
+    public void shutdown() {
+        List<RrdDb> toClose = new ArrayList<RrdDb>();
+        synchronized (this) {
+            if (sweepJob != null) {
+                sweepJob.cancel(false);
+                sweepJob = null;
+            }
+            for (PoolEntry entry : entries.values()) {
+                if (entry.db != null) {
+                    toClose.add(entry.db);
+                }
+            }
+            entries.clear();
+        }
+        closeAll(toClose);
+    }
+
+    /**
+     * @return the number of currently open database handles
+     */
+    public synchronized int getOpenCount() {
+        int count = 0;
+        for (PoolEntry entry : entries.values()) {
+            if (entry.db != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Closes the least recently used handles which are not in use, until
+     * the number of open files is within the limit. Entries are removed from
+     * the pool under the pool monitor, hence a concurrent
+     * {@link #acquire(String)} of the same alias always reopens the file.
+     */
+    private synchronized void evictIfNeeded() {
+        int open = getOpenCount();
+        if (open <= maxOpenFiles) {
+            return;
+        }
+        Iterator<Map.Entry<String, PoolEntry>> it = entries.entrySet().iterator();
+        while (open > maxOpenFiles && it.hasNext()) {
+            Map.Entry<String, PoolEntry> e = it.next();
+            PoolEntry entry = e.getValue();
+            if (entry.usageCount == 0 && entry.db != null) {
+                it.remove();
+                closeQuietly(entry.db);
+                logger.trace("Evicted rrd4j database '{}' from pool", e.getKey());
+                open--;
+            }
+        }
+    }
+
+    private void closeAll(List<RrdDb> dbs) {
+        for (RrdDb db : dbs) {
+            closeQuietly(db);
+        }
+    }
+
+    private void closeQuietly(RrdDb db) {
+        try {
+            if (!db.isClosed()) {
+                db.close();
+            }
+        } catch (IOException e) {
+            logger.debug("Error closing rrd4j database: {}", e.getMessage());
+        }
+    }
+}
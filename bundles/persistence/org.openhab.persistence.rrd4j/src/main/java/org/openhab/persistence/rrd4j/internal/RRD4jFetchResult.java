@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The result of a query for several items, which is returned by
+ * {@link RRD4jService#fetch(java.util.Collection, long, long, int)}.
+ * <p>
+ * The values of all items are aligned to the same rows. The row with the
+ * timestamp t holds the consolidated value of the interval (t - step, t].
+ *
+ * @author Sven Schreier
+ * @since 1.11.0
+ */
+public class RRD4jFetchResult {
+
+    private final long firstTimestamp;
+    private final long step;
+    private final int rowCount;
+    private final Map<String, double[]> columns = new LinkedHashMap<String, double[]>();
+
+    RRD4jFetchResult(long firstTimestamp, long step, int rowCount) {
+        this.firstTimestamp = firstTimestamp;
+        this.step = step;
+        this.rowCount = rowCount;
+    }
+
+    void addColumn(String alias, double[] values) {
+        columns.put(alias, values);
+    }
+
+    /**
+     * @return the timestamp of the first row in seconds
+     */
+    public long getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    /**
+     * @return the time between two rows in seconds
+     */
+    public long getStep() {
+        return step;
+    }
+
+    /**
+     * @return the number of rows of every column
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return the timestamp of the given row in seconds
+     */
+    public long getTimestamp(int row) {
+        return firstTimestamp + row * step;
+    }
+
+    /**
+     * @return the aliases of all columns, in the order they have been requested
+     */
+    public Set<String> getAliases() {
+        return Collections.unmodifiableSet(columns.keySet());
+    }
+
+    /**
+     * @return the values of the given alias or <code>null</code> if the
+     *         database of this alias could not be read
+     */
+    public double[] getValues(String alias) {
+        return columns.get(alias);
+    }
+}
@@ -11,17 +11,17 @@ package org.openhab.persistence.rrd4j.internal;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -47,10 +47,11 @@ import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.types.State;
 import org.rrd4j.ConsolFun;
 import org.rrd4j.DsType;
-import org.rrd4j.core.FetchData;
-import org.rrd4j.core.FetchRequest;
+import org.rrd4j.core.Archive;
+import org.rrd4j.core.RrdBackendFactory;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.RrdNioBackendFactory;
 import org.rrd4j.core.Sample;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,17 +68,46 @@ import org.slf4j.LoggerFactory;
  */
 public class RRD4jService implements QueryablePersistenceService {
 
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(3, new NamedThreadFactory());
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1, new NamedThreadFactory());
 
     private ConcurrentHashMap<String, RrdDefConfig> rrdDefs = new ConcurrentHashMap<String, RrdDefConfig>();
 
     private static final String DATASOURCE_STATE = "state";
 
+    private static final String CONFIG_MAX_OPEN_FILES = "maxOpenFiles";
+    private static final String CONFIG_IDLE_TIMEOUT = "idleTimeout";
+    private static final String CONFIG_BACKEND = "backend";
+    private static final String CONFIG_SYNC_PERIOD = "syncPeriod";
+
+    private static final String BACKEND_FILE = "FILE";
+    private static final String BACKEND_NIO = "NIO";
+
     public final static String DB_FOLDER = getUserPersistenceDataFolder() + File.separator + "rrd4j";
 
     private static final Logger logger = LoggerFactory.getLogger(RRD4jService.class);
 
-    private Map<String, ScheduledFuture<?>> scheduledJobs = new HashMap<String, ScheduledFuture<?>>();
+    private final RRD4jDbPool dbPool = new RRD4jDbPool(new RRD4jDbPool.DbOpener() {
+        @Override
+        public RrdDb open(String alias) throws IOException {
+            return openDB(alias);
+        }
+    });
+
+    private final RRD4jWriteScheduler writeScheduler = new RRD4jWriteScheduler(new RRD4jWriteScheduler.SampleWriter() {
+        @Override
+        public long getStep(String alias) {
+            return RRD4jService.this.getStep(alias);
+        }
+
+        @Override
+        public boolean write(String alias, String itemName, double value, long time) {
+            return writeSample(alias, itemName, value, time);
+        }
+    });
+
+    private final Map<String, Long> lastWriteTimes = new ConcurrentHashMap<String, Long>();
+
+    private RrdBackendFactory backendFactory = RrdBackendFactory.getFactory(BACKEND_FILE);
 
     protected ItemRegistry itemRegistry;
 
@@ -101,84 +131,106 @@ public class RRD4jService implements QueryablePersistenceService {
      * @{inheritDoc}
      */
     @Override
-    public synchronized void store(final Item item, final String alias) {
+    public void store(final Item item, final String alias) {
         final String name = alias == null ? item.getName() : alias;
-        RrdDb db = getDB(name);
-        if (db != null) {
-            ConsolFun function = getConsolidationFunction(db);
+        DecimalType state = (DecimalType) item.getStateAs(DecimalType.class);
+        if (state != null) {
             long now = System.currentTimeMillis() / 1000;
+            writeScheduler.add(name, item.getName(), state.toBigDecimal().doubleValue(), now);
+            logger.trace("Queued '{}' with state '{}' for rrd4j database", name, state);
+        }
+    }
+
+    /**
+     * Writes a single sample to the database. This is called by the
+     * {@link RRD4jWriteScheduler} with the last value of an item per step.
+     *
+     * @return <code>true</code> if the sample has been written
+     */
+    private boolean writeSample(String name, String itemName, double value, long time) {
+        RrdDb db = acquireDB(name);
+        if (db == null) {
+            return false;
+        }
+        try {
+            ConsolFun function = getConsolidationFunction(db);
             if (function != ConsolFun.AVERAGE) {
                 try {
                     // we store the last value again, so that the value change
                     // in the database is not interpolated, but
                     // happens right at this spot
-                    if (now - 1 > db.getLastUpdateTime()) {
+                    if (time - 1 > db.getLastUpdateTime()) {
                         // only do it if there is not already a value
                         double lastValue = db.getLastDatasourceValue(DATASOURCE_STATE);
                         if (!Double.isNaN(lastValue)) {
                             Sample sample = db.createSample();
-                            sample.setTime(now - 1);
+                            sample.setTime(time - 1);
                             sample.setValue(DATASOURCE_STATE, lastValue);
                             sample.update();
                             logger.debug("Stored '{}' with state '{}' in rrd4j database (again)", name,
-                                    mapToState(lastValue, item.getName()));
+                                    mapToState(lastValue, itemName));
                         }
                     }
                 } catch (IOException e) {
                     logger.debug("Error storing last value (again): {}", e.getMessage());
                 }
             }
-            try {
-                Sample sample = db.createSample();
-                sample.setTime(now);
-
-                DecimalType state = (DecimalType) item.getStateAs(DecimalType.class);
-                if (state != null) {
-                    double value = state.toBigDecimal().doubleValue();
-                    if (db.getDatasource(DATASOURCE_STATE).getType() == DsType.COUNTER) { // counter
-                        // values
-                        // must
-                        // be
-                        // adjusted
-                        // by
-                        // stepsize
-                        value = value * db.getRrdDef().getStep();
-                    }
-                    sample.setValue(DATASOURCE_STATE, value);
-                    sample.update();
-                    logger.debug("Stored '{}' with state '{}' in rrd4j database", name, state);
-                }
-            } catch (IllegalArgumentException e) {
-                if (e.getMessage().contains("at least one second step is required")) {
-
-                    // we try to store the value one second later
-                    Runnable task = new Runnable() {
-                        @Override
-                        public void run() {
-                            store(item, name);
-                        }
-                    };
-                    ScheduledFuture<?> job = scheduledJobs.get(name);
-                    if (job != null) {
-                        job.cancel(true);
-                        scheduledJobs.remove(name);
-                    }
-                    job = scheduler.schedule(task, 1, TimeUnit.SECONDS);
-                    scheduledJobs.put(name, job);
-                } else {
-                    logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
-                }
-            } catch (Exception e) {
-                logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
+            if (time <= db.getLastUpdateTime()) {
+                logger.debug("Skipped '{}' at {}, the rrd4j database already has a value for this time", name, time);
+                return false;
             }
-            try {
-                db.close();
-            } catch (IOException e) {
-                logger.debug("Error closing rrd4j database: {}", e.getMessage());
+            if (db.getDatasource(DATASOURCE_STATE).getType() == DsType.COUNTER) {
+                // counter values must be adjusted by stepsize
+                value = value * db.getRrdDef().getStep();
             }
+            Sample sample = db.createSample();
+            sample.setTime(time);
+            sample.setValue(DATASOURCE_STATE, value);
+            sample.update();
+            lastWriteTimes.put(name, System.currentTimeMillis());
+            logger.debug("Stored '{}' with state '{}' in rrd4j database", name, value);
+            return true;
+        } catch (Exception e) {
+            logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
+            return false;
+        } finally {
+            dbPool.release(name);
         }
     }
 
+    /**
+     * Returns the step of the database of the given alias, which is also the
+     * interval in which the {@link RRD4jWriteScheduler} writes samples.
+     */
+    private long getStep(String alias) {
+        RrdDb db = acquireDB(alias);
+        if (db == null) {
+            return 1;
+        }
+        try {
+            return db.getHeader().getStep();
+        } catch (IOException e) {
+            logger.debug("Could not read step of rrd4j database '{}': {}", alias, e.getMessage());
+            return 1;
+        } finally {
+            dbPool.release(alias);
+        }
+    }
+
+    /**
+     * @return the number of samples received by this service
+     */
+    public long getSamplesReceived() {
+        return writeScheduler.getSamplesReceived();
+    }
+
+    /**
+     * @return the number of samples written to the rrd4j databases
+     */
+    public long getSamplesWritten() {
+        return writeScheduler.getSamplesWritten();
+    }
+
     /**
      * @{inheritDoc}
      */
@@ -190,86 +242,261 @@ public class RRD4jService implements QueryablePersistenceService {
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
         String itemName = filter.getItemName();
-        RrdDb db = getDB(itemName);
-        if (db != null) {
-            ConsolFun consolidationFunction = getConsolidationFunction(db);
-            long start = 0L;
-            long end = filter.getEndDate() == null ? System.currentTimeMillis() / 1000
-                    : filter.getEndDate().getTime() / 1000;
-
-            try {
-                if (filter.getBeginDate() == null) {
-                    // as rrd goes back for years and gets more and more
-                    // inaccurate, we only support descending order
-                    // and a single return value
-                    // if there is no begin date is given - this case is
-                    // required specifically for the historicState()
-                    // query, which we
-                    // want to support
-                    if (filter.getOrdering() == Ordering.DESCENDING && filter.getPageSize() == 1
-                            && filter.getPageNumber() == 0) {
-                        if (filter.getEndDate() == null) {
-                            // we are asked only for the most recent value!
-                            double lastValue = db.getLastDatasourceValue(DATASOURCE_STATE);
-                            if (!Double.isNaN(lastValue)) {
-                                HistoricItem rrd4jItem = new RRD4jItem(itemName, mapToState(lastValue, itemName),
-                                        new Date(db.getLastArchiveUpdateTime() * 1000));
-                                return Collections.singletonList(rrd4jItem);
-                            } else {
-                                return Collections.emptyList();
-                            }
-                        } else {
-                            start = end;
-                        }
-                    } else {
-                        throw new UnsupportedOperationException("rrd4j does not allow querys without a begin date, "
-                                + "unless order is descending and a single value is requested");
-                    }
+        long start = 0L;
+        long end = filter.getEndDate() == null ? System.currentTimeMillis() / 1000
+                : filter.getEndDate().getTime() / 1000;
+
+        if (filter.getBeginDate() == null) {
+            // as rrd goes back for years and gets more and more
+            // inaccurate, we only support descending order
+            // and a single return value
+            // if there is no begin date is given - this case is
+            // required specifically for the historicState()
+            // query, which we
+            // want to support
+            if (filter.getOrdering() == Ordering.DESCENDING && filter.getPageSize() == 1
+                    && filter.getPageNumber() == 0) {
+                if (filter.getEndDate() == null) {
+                    // we are asked only for the most recent value!
+                    return queryMostRecent(itemName);
                 } else {
-                    start = filter.getBeginDate().getTime() / 1000;
+                    start = end;
                 }
-                FetchRequest request = db.createFetchRequest(consolidationFunction, start, end, 1);
-
-                List<HistoricItem> items = new ArrayList<HistoricItem>();
-                FetchData result = request.fetchData();
-                long ts = result.getFirstTimestamp();
-                long step = result.getRowCount() > 1 ? result.getStep() : 0;
-                for (double value : result.getValues(DATASOURCE_STATE)) {
-                    if (!Double.isNaN(value) && (((ts >= start) && (ts <= end)) || (start == end))) {
-                        RRD4jItem rrd4jItem = new RRD4jItem(itemName, mapToState(value, itemName), new Date(ts * 1000));
-                        items.add(rrd4jItem);
-                    }
-                    ts += step;
+            } else {
+                throw new UnsupportedOperationException("rrd4j does not allow querys without a begin date, "
+                        + "unless order is descending and a single value is requested");
+            }
+        } else {
+            start = filter.getBeginDate().getTime() / 1000;
+        }
+
+        RRD4jFetchResult result = fetch(Collections.singleton(itemName), start, end, 0);
+        double[] values = result.getValues(itemName);
+        if (values == null) {
+            return Collections.emptyList();
+        }
+        List<HistoricItem> items = new ArrayList<HistoricItem>();
+        for (int row = 0; row < values.length; row++) {
+            long ts = result.getTimestamp(row);
+            double value = values[row];
+            if (!Double.isNaN(value) && (((ts >= start) && (ts <= end)) || (start == end))) {
+                RRD4jItem rrd4jItem = new RRD4jItem(itemName, mapToState(value, itemName), new Date(ts * 1000));
+                items.add(rrd4jItem);
+            }
+        }
+        return items;
+    }
+
+    private Iterable<HistoricItem> queryMostRecent(String itemName) {
+        RRD4jWriteScheduler.PendingSample pending = writeScheduler.getPending(itemName);
+        if (pending != null) {
+            HistoricItem rrd4jItem = new RRD4jItem(itemName, mapToState(pending.getValue(), itemName),
+                    new Date(pending.getTime() * 1000));
+            return Collections.singletonList(rrd4jItem);
+        }
+        RrdDb db = acquireDB(itemName);
+        if (db != null) {
+            try {
+                double lastValue = db.getLastDatasourceValue(DATASOURCE_STATE);
+                if (!Double.isNaN(lastValue)) {
+                    HistoricItem rrd4jItem = new RRD4jItem(itemName, mapToState(lastValue, itemName),
+                            new Date(db.getLastArchiveUpdateTime() * 1000));
+                    return Collections.singletonList(rrd4jItem);
                 }
-                return items;
             } catch (IOException e) {
                 logger.warn("Could not query rrd4j database for item '{}': {}", itemName, e.getMessage());
+            } finally {
+                dbPool.release(itemName);
             }
         }
         return Collections.emptyList();
     }
 
-    protected synchronized RrdDb getDB(String alias) {
-        RrdDb db = null;
-        File file = new File(DB_FOLDER + File.separator + alias + ".rrd");
+    /**
+     * Fetches the values of several items for the given time range at once.
+     * <p>
+     * For every item the archive is chosen which covers the time range with
+     * the smallest resolution that is still coarser than one row, so that no
+     * more rows are read than requested. If there is no such archive, the
+     * values of the coarsest covering archive are consolidated into the rows.
+     * The values of all items are aligned to the same rows.
+     *
+     * @param aliases the aliases (item names) of the databases
+     * @param start the start of the time range in seconds
+     * @param end the end of the time range in seconds
+     * @param width the number of rows wanted, e.g. the width of a chart in
+     *            pixels, or 0 for the resolution of the best matching archive
+     * @return the aligned values, a column is <code>null</code> if the
+     *         database of the alias could not be read
+     */
+    public RRD4jFetchResult fetch(Collection<String> aliases, long start, long end, int width) {
+        long targetStep = width > 0 ? Math.max(1, (end - start + width - 1) / width) : 1;
+        Map<String, ArchiveRows> archiveRows = new LinkedHashMap<String, ArchiveRows>();
+        long step = targetStep;
+        for (String alias : aliases) {
+            ArchiveRows rows = readArchiveRows(alias, start, end, targetStep);
+            archiveRows.put(alias, rows);
+            if (width <= 0 && rows != null) {
+                step = Math.max(step, rows.step);
+            }
+        }
+
+        long first = (start + step - 1) / step * step;
+        int rowCount = end >= first ? (int) ((end - first) / step) + 1 : 1;
+        RRD4jFetchResult result = new RRD4jFetchResult(first, step, rowCount);
+        for (Map.Entry<String, ArchiveRows> entry : archiveRows.entrySet()) {
+            ArchiveRows rows = entry.getValue();
+            result.addColumn(entry.getKey(), rows == null ? null : rows.resample(first, step, rowCount));
+        }
+        return result;
+    }
+
+    /**
+     * Reads the rows of the best matching archive for the given time range.
+     */
+    private ArchiveRows readArchiveRows(String alias, long start, long end, long targetStep) {
+        RrdDb db = acquireDB(alias);
+        if (db == null) {
+            return null;
+        }
         try {
-            if (file.exists()) {
-                // recreate the RrdDb instance from the file
-                db = new RrdDb(file.getAbsolutePath());
+            ConsolFun consolFun = getConsolidationFunction(db);
+            Archive archive = selectArchive(db, consolFun, start, targetStep);
+            if (archive == null) {
+                return null;
+            }
+            long arcStep = archive.getArcStep();
+            long arcStart = archive.getStartTime();
+            long rowStart = Math.max(arcStart, start / arcStep * arcStep);
+            long rowEnd = Math.min(archive.getEndTime(), (end + arcStep - 1) / arcStep * arcStep);
+            double[] values;
+            if (rowEnd < rowStart) {
+                values = new double[0];
             } else {
-                File folder = new File(DB_FOLDER);
-                if (!folder.exists()) {
-                    folder.mkdirs();
-                }
-                // create a new database file
-                // db = new RrdDb(getRrdDef(function, file));
-                db = new RrdDb(getRrdDef(alias, file));
+                int index = (int) ((rowStart - arcStart) / arcStep);
+                int count = (int) ((rowEnd - rowStart) / arcStep) + 1;
+                values = archive.getRobin(db.getDsIndex(DATASOURCE_STATE)).getValues(index, count);
+            }
+            return new ArchiveRows(consolFun, rowStart, arcStep, values);
+        } catch (IOException e) {
+            logger.warn("Could not query rrd4j database for item '{}': {}", alias, e.getMessage());
+            return null;
+        } finally {
+            dbPool.release(alias);
+        }
+    }
+
+    /**
+     * Selects the archive of the given consolidation function which covers
+     * the start time and has the smallest step not finer than the target
+     * step. If all covering archives are finer, the coarsest of them is used;
+     * if none covers the start time, the one reaching back the furthest.
+     */
+    private Archive selectArchive(RrdDb db, ConsolFun consolFun, long start, long targetStep) throws IOException {
+        Archive best = null;
+        boolean bestCovers = false;
+        long bestStep = 0;
+        long bestStart = 0;
+        for (int i = 0; i < db.getArcCount(); i++) {
+            Archive archive = db.getArchive(i);
+            if (archive.getConsolFun() != consolFun) {
+                continue;
+            }
+            long arcStep = archive.getArcStep();
+            long arcStart = archive.getStartTime();
+            boolean covers = arcStart - arcStep <= start;
+            boolean better;
+            if (best == null) {
+                better = true;
+            } else if (covers != bestCovers) {
+                better = covers;
+            } else if (!covers) {
+                better = arcStart < bestStart;
+            } else if ((arcStep >= targetStep) != (bestStep >= targetStep)) {
+                better = arcStep >= targetStep;
+            } else if (arcStep >= targetStep) {
+                better = arcStep < bestStep;
+            } else {
+                better = arcStep > bestStep;
+            }
+            if (better) {
+                best = archive;
+                bestCovers = covers;
+                bestStep = arcStep;
+                bestStart = arcStart;
             }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the consolidation function of the first archive of the given
+     * database, using the shared pool of database handles.
+     *
+     * @param alias the alias (item name) of the database
+     * @return the consolidation function or {@link ConsolFun#MAX} if the database cannot be read
+     */
+    public ConsolFun getConsolidationFunction(String alias) {
+        RrdDb db = acquireDB(alias);
+        if (db == null) {
+            return ConsolFun.MAX;
+        }
+        try {
+            return getConsolidationFunction(db);
+        } finally {
+            dbPool.release(alias);
+        }
+    }
+
+    /**
+     * Returns the time of the last sample written to the database of the given
+     * alias by this service.
+     *
+     * @param alias the alias (item name) of the database
+     * @return the time in milliseconds or 0 if nothing has been written yet
+     */
+    public long getLastWriteTime(String alias) {
+        Long time = lastWriteTimes.get(alias);
+        return time != null ? time : 0L;
+    }
+
+    /**
+     * Returns the pooled database of the given alias and locks it for the
+     * calling thread. If a database is returned, it must be released by
+     * <code>dbPool.release(alias)</code> afterwards.
+     *
+     * @param alias the alias (item name) of the database
+     * @return the database or <code>null</code> if it cannot be opened
+     */
+    protected RrdDb acquireDB(String alias) {
+        try {
+            return dbPool.acquire(alias);
         } catch (IOException e) {
-            logger.error("Could not create rrd4j database file '{}': {}", file.getAbsolutePath(), e.getMessage());
+            logger.error("Could not open rrd4j database '{}': {}", alias, e.getMessage());
         } catch (RejectedExecutionException e) {
             // this happens if the system is shut down
-            logger.debug("Could not create rrd4j database file '{}': {}", file.getAbsolutePath(), e.getMessage());
+            logger.debug("Could not open rrd4j database '{}': {}", alias, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Opens the database file of the given alias, or creates it if it does not
+     * exist yet. This is only called by the {@link RRD4jDbPool}.
+     */
+    private RrdDb openDB(String alias) throws IOException {
+        RrdDb db = null;
+        File file = new File(DB_FOLDER + File.separator + alias + ".rrd");
+        if (file.exists()) {
+            // recreate the RrdDb instance from the file
+            db = new RrdDb(file.getAbsolutePath(), backendFactory);
+        } else {
+            File folder = new File(DB_FOLDER);
+            if (!folder.exists()) {
+                folder.mkdirs();
+            }
+            // create a new database file
+            db = new RrdDb(getRrdDef(alias, file), backendFactory);
         }
         return db;
     }
@@ -360,6 +587,9 @@ public class RRD4jService implements QueryablePersistenceService {
      */
     public void activate(final Map<String, Object> config) {
 
+        dbPool.setMaxOpenFiles(RRD4jDbPool.DEFAULT_MAX_OPEN_FILES);
+        dbPool.setIdleTimeout(RRD4jDbPool.DEFAULT_IDLE_TIMEOUT);
+
         // add default configurations
         RrdDefConfig defaultNumeric = new RrdDefConfig("default_numeric");
         defaultNumeric.setDef("GAUGE,60,U,U,60");
@@ -375,6 +605,7 @@ public class RRD4jService implements QueryablePersistenceService {
 
         if ((config == null) || config.isEmpty()) {
             logger.debug("using default configuration only");
+            startJobs();
             return;
         }
 
@@ -388,6 +619,10 @@ public class RRD4jService implements QueryablePersistenceService {
                 continue;
             }
 
+            if (processGlobalConfig(key, config.get(key))) {
+                continue;
+            }
+
             String[] subkeys = key.split("\\.");
             if (subkeys.length != 2) {
                 logger.debug("config '{}' should have the format 'name.configkey'", key);
@@ -437,6 +672,137 @@ public class RRD4jService implements QueryablePersistenceService {
                 rrdDefs.remove(rrdDef.name);
             }
         }
+
+        startJobs();
+    }
+
+    public void deactivate() {
+        writeScheduler.shutdown();
+        logger.debug("rrd4j received {} samples and wrote {} samples", writeScheduler.getSamplesReceived(),
+                writeScheduler.getSamplesWritten());
+        dbPool.shutdown();
+    }
+
+    /**
+     * Processes the configuration keys which apply to the whole service
+     * rather than to a single database definition.
+     *
+     * @return <code>true</code> if the key has been processed
+     */
+    private boolean processGlobalConfig(String key, Object v) {
+        String value = String.valueOf(v).trim();
+        try {
+            if (key.equals(CONFIG_MAX_OPEN_FILES)) {
+                dbPool.setMaxOpenFiles(Integer.parseInt(value));
+            } else if (key.equals(CONFIG_IDLE_TIMEOUT)) {
+                dbPool.setIdleTimeout(Integer.parseInt(value));
+            } else if (key.equals(CONFIG_SYNC_PERIOD)) {
+                RrdNioBackendFactory.setSyncPeriod(Integer.parseInt(value));
+            } else if (key.equals(CONFIG_BACKEND)) {
+                String name = value.toUpperCase();
+                if (name.equals(BACKEND_FILE) || name.equals(BACKEND_NIO)) {
+                    backendFactory = RrdBackendFactory.getFactory(name);
+                    logger.debug("Using rrd4j backend {}", name);
+                } else {
+                    logger.warn("Ignoring unsupported rrd4j backend '{}'", value);
+                }
+            } else {
+                return false;
+            }
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring illegal configuration {} = {}", key, value);
+        }
+        return true;
+    }
+
+    private void startJobs() {
+        dbPool.start(scheduler);
+        writeScheduler.start();
+    }
+
+    /**
+     * The raw rows read from a single archive.
+     */
+    private static class ArchiveRows {
+        private final ConsolFun consolFun;
+        private final long firstTimestamp;
+        private final long step;
+        private final double[] values;
+
+        ArchiveRows(ConsolFun consolFun, long firstTimestamp, long step, double[] values) {
+            this.consolFun = consolFun;
+            this.firstTimestamp = firstTimestamp;
+            this.step = step;
+            this.values = values;
+        }
+
+        /**
+         * Maps the rows onto the given rows. If a target row covers several
+         * archive rows they are consolidated, if it lies within a single
+         * archive row, the value of that row is used.
+         */
+        double[] resample(long first, long targetStep, int rowCount) {
+            double[] result = new double[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                long ts = first + row * targetStep;
+                // archive rows with a timestamp within (ts - targetStep, ts]
+                int from = (int) Math.max(0, floorDiv(ts - targetStep - firstTimestamp, step) + 1);
+                int to = (int) Math.min(values.length - 1, floorDiv(ts - firstTimestamp, step));
+                if (from <= to) {
+                    result[row] = consolidate(from, to);
+                } else {
+                    // the archive row covering ts
+                    long index = floorDiv(ts - firstTimestamp + step - 1, step);
+                    result[row] = index >= 0 && index < values.length ? values[(int) index] : Double.NaN;
+                }
+            }
+            return result;
+        }
+
+        private double consolidate(int from, int to) {
+            double result = Double.NaN;
+            int count = 0;
+            for (int i = from; i <= to; i++) {
+                double value = values[i];
+                if (Double.isNaN(value)) {
+                    continue;
+                }
+                if (count == 0) {
+                    result = value;
+                } else {
+                    switch (consolFun) {
+                        case MIN:
+                            result = Math.min(result, value);
+                            break;
+                        case MAX:
+                            result = Math.max(result, value);
+                            break;
+                        case LAST:
+                            result = value;
+                            break;
+                        case FIRST:
+                            break;
+                        default:
+                            // AVERAGE and TOTAL
+                            result += value;
+                            break;
+                    }
+                }
+                count++;
+            }
+            if (consolFun == ConsolFun.AVERAGE && count > 1) {
+                result /= count;
+            }
+            return result;
+        }
+
+        private static long floorDiv(long x, long y) {
+            long q = x / y;
+            if ((x % y != 0) && ((x < 0) != (y < 0))) {
+                q--;
+            }
+            return q;
+        }
     }
 
     private class RrdArchiveDef {
@@ -0,0 +1,287 @@
+/**
+ * Copyright (c) 2010-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Schedules the writes of samples to the databases, so that only the last
+ * sample received within one RRD step is written.
+ * <p>
+ * The latest value of every item is kept in memory. The first sample of an
+ * item within a step schedules a single write at the end of this step, later
+ * samples in the same step only replace the pending value. The writes are
+ * done by a dedicated thread, which takes the items from a {@link DelayQueue}
+ * as soon as their step boundary has been reached. Hence the cost per item
+ * is bounded by one write per step, regardless of the update rate, and a
+ * sample is never written twice within one second.
+ *
+ * @author Sven Schreier
+ * @since 1.11.0
+ */
+public class RRD4jWriteScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RRD4jWriteScheduler.class);
+
+    /** the time in milliseconds to wait for the writer thread to stop */
+    private static final long SHUTDOWN_TIMEOUT = 5000;
+
+    /**
+     * Callback used by the scheduler to access the databases.
+     */
+    public interface SampleWriter {
+
+        /**
+         * @return the step of the database of the given alias in seconds
+         */
+        long getStep(String alias);
+
+        /**
+         * Writes a sample to the database of the given alias.
+         *
+         * @return <code>true</code> if the sample has been written
+         */
+        boolean write(String alias, String itemName, double value, long time);
+    }
+
+    /**
+     * The latest sample of an item. It is contained in the queue of the
+     * scheduler at most once, due at the end of the step of the sample.
+     */
+    public static class PendingSample implements Delayed {
+        private final String alias;
+        private final String itemName;
+        private final long step;
+        private double value;
+        private long time;
+        private long due;
+        private boolean pending;
+        private boolean scheduled;
+
+        PendingSample(String alias, String itemName, long step) {
+            this.alias = alias;
+            this.itemName = itemName;
+            this.step = Math.max(1, step);
+        }
+
+        public String getItemName() {
+            return itemName;
+        }
+
+        public synchronized double getValue() {
+            return value;
+        }
+
+        public synchronized long getTime() {
+            return time;
+        }
+
+        public synchronized boolean isPending() {
+            return pending;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(due * 1000 - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other instanceof PendingSample) {
+                long otherDue = ((PendingSample) other).due;
+                return due < otherDue ? -1 : (due == otherDue ? 0 : 1);
+            }
+            long diff = getDelay(TimeUnit.MILLISECONDS) - other.getDelay(TimeUnit.MILLISECONDS);
+            return diff < 0 ? -1 : (diff == 0 ? 0 : 1);
+        }
+    }
+
+    private final SampleWriter writer;
+
+    private final ConcurrentMap<String, PendingSample> samples = new ConcurrentHashMap<String, PendingSample>();
+
+    private final DelayQueue<PendingSample> queue = new DelayQueue<PendingSample>();
+
+    private final AtomicLong samplesReceived = new AtomicLong();
+    private final AtomicLong samplesWritten = new AtomicLong();
+
+    /**
+     * Queued by {@link #shutdown()} to stop the writer thread. It is due
+     * immediately, so it is taken once the current write has completed.
+     */
+    private final PendingSample stopMarker = new PendingSample(null, null, 1);
+
+    private Thread writerThread;
+
+    private volatile boolean stopping;
+
+    public RRD4jWriteScheduler(SampleWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Starts the writer thread.
+     */
+    public synchronized void start() {
+        if (writerThread != null) {
+            return;
+        }
+        stopping = false;
+        writerThread = new Thread("RRD4J Writer") {
+            @Override
+            public void run() {
+                while (!stopping) {
+                    try {
+                        PendingSample sample = queue.take();
+                        if (sample != stopMarker) {
+                            write(sample);
+                        }
+                    } catch (InterruptedException e) {
+                        logger.debug("rrd4j writer interrupted, samples which have not been written are lost");
+                        return;
+                    } catch (Exception e) {
+                        logger.warn("Error writing sample to rrd4j database: {}", e.getMessage());
+                    }
+                }
+                writeRemaining();
+            }
+        };
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Stops the writer thread and writes all samples which have not been
+     * written yet, regardless of their step.
+     * <p>
+     * The writer thread is not interrupted, as an interrupt closes the
+     * channel of a database it is writing to with the NIO backend. It is
+     * stopped by a flag and a marker in the queue, writes the remaining
+     * samples and ends. Only if it does not end within the timeout, it is
+     * interrupted.
+     */
+    public void shutdown() {
+        Thread thread;
+        synchronized (this) {
+            thread = writerThread;
+            writerThread = null;
+        }
+        if (thread == null) {
+            writeRemaining();
+            return;
+        }
+        stopping = true;
+        queue.add(stopMarker);
+        try {
+            thread.join(SHUTDOWN_TIMEOUT);
+            if (thread.isAlive()) {
+                logger.warn("rrd4j writer did not stop within {} ms, interrupting it", SHUTDOWN_TIMEOUT);
+                thread.interrupt();
+                thread.join(SHUTDOWN_TIMEOUT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Adds a sample. A sample of the same alias which has not been written yet
+     * is replaced, otherwise a write at the end of the current step is
+     * scheduled.
+     *
+     * @param alias the alias of the database
+     * @param itemName the name of the item
+     * @param value the value to store
+     * @param time the time of the sample in seconds
+     */
+    public void add(String alias, String itemName, double value, long time) {
+        samplesReceived.incrementAndGet();
+        PendingSample sample = samples.get(alias);
+        if (sample == null) {
+            PendingSample newSample = new PendingSample(alias, itemName, writer.getStep(alias));
+            sample = samples.putIfAbsent(alias, newSample);
+            if (sample == null) {
+                sample = newSample;
+            }
+        }
+        synchronized (sample) {
+            sample.value = value;
+            sample.time = time;
+            sample.pending = true;
+            if (!sample.scheduled) {
+                sample.scheduled = true;
+                sample.due = (time / sample.step + 1) * sample.step;
+                queue.add(sample);
+            }
+        }
+    }
+
+    /**
+     * @return the sample of the given alias which has not been written yet,
+     *         or <code>null</code> if there is none
+     */
+    public PendingSample getPending(String alias) {
+        PendingSample sample = samples.get(alias);
+        return sample != null && sample.isPending() ? sample : null;
+    }
+
+    /**
+     * @return the number of samples received since the service has been started
+     */
+    public long getSamplesReceived() {
+        return samplesReceived.get();
+    }
+
+    /**
+     * @return the number of samples written to the databases since the service
+     *         has been started
+     */
+    public long getSamplesWritten() {
+        return samplesWritten.get();
+    }
+
+    private void writeRemaining() {
+        List<PendingSample> remaining = new ArrayList<PendingSample>(samples.values());
+        queue.clear();
+        for (PendingSample sample : remaining) {
+            try {
+                write(sample);
+            } catch (Exception e) {
+                logger.warn("Error writing sample to rrd4j database: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void write(PendingSample sample) {
+        double value;
+        long time;
+        synchronized (sample) {
+            sample.scheduled = false;
+            if (!sample.pending) {
+                return;
+            }
+            value = sample.value;
+            time = sample.time;
+            sample.pending = false;
+        }
+        if (writer.write(sample.alias, sample.itemName, value, time)) {
+            samplesWritten.incrementAndGet();
+        }
+    }
+}
@@ -11,11 +11,15 @@ package org.openhab.persistence.rrd4j.internal.charts;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.image.BufferedImage;
-import java.io.File;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.imageio.ImageIO;
@@ -29,15 +33,16 @@ import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.persistence.PersistenceService;
 import org.openhab.io.net.http.SecureHttpContext;
+import org.openhab.persistence.rrd4j.internal.RRD4jFetchResult;
 import org.openhab.persistence.rrd4j.internal.RRD4jService;
 import org.openhab.ui.chart.ChartProvider;
 import org.openhab.ui.items.ItemUIRegistry;
 import org.osgi.service.http.HttpContext;
 import org.osgi.service.http.HttpService;
 import org.osgi.service.http.NamespaceException;
-import org.rrd4j.ConsolFun;
-import org.rrd4j.core.RrdDb;
+import org.rrd4j.data.Plottable;
 import org.rrd4j.graph.RrdGraph;
 import org.rrd4j.graph.RrdGraphDef;
 import org.slf4j.Logger;
@@ -74,6 +79,8 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
             new Color(0, 255, 255, 30), new Color(255, 0, 128, 30), new Color(255, 128, 128, 30),
             new Color(255, 255, 0, 30) };
 
+    private static final int MAX_CACHED_CHARTS = 32;
+
     protected static final Map<String, Long> PERIODS = new HashMap<String, Long>();
 
     static {
@@ -93,6 +100,18 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
 
     protected HttpService httpService;
     protected ItemUIRegistry itemUIRegistry;
+    protected RRD4jService persistenceService;
+
+    /** the most recently rendered charts, keyed by items, period and size */
+    private final Map<String, CachedChart> chartCache = Collections
+            .synchronizedMap(new LinkedHashMap<String, CachedChart>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedChart> eldest) {
+                    return size() > MAX_CACHED_CHARTS;
+                }
+            });
 
     public void setHttpService(HttpService httpService) {
         this.httpService = httpService;
@@ -110,6 +129,18 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
         this.itemUIRegistry = null;
     }
 
+    public void setPersistenceService(PersistenceService persistenceService) {
+        if (persistenceService instanceof RRD4jService) {
+            this.persistenceService = (RRD4jService) persistenceService;
+        }
+    }
+
+    public void unsetPersistenceService(PersistenceService persistenceService) {
+        if (this.persistenceService == persistenceService) {
+            this.persistenceService = null;
+        }
+    }
+
     protected void activate() {
         try {
             logger.debug("Starting up rrd chart servlet at " + SERVLET_NAME);
@@ -154,9 +185,11 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
         // Set the content type to that provided by the chart provider
         res.setContentType("image/" + getChartType());
         try {
-            BufferedImage chart = createChart(null, null, timeBegin, timeEnd, height, width, req.getParameter("items"),
+            CachedChart chart = getChart(timeBegin, timeEnd, height, width, req.getParameter("items"),
                     req.getParameter("groups"));
-            ImageIO.write(chart, getChartType().toString(), res.getOutputStream());
+            if (chart != null) {
+                res.getOutputStream().write(chart.getEncoded(getChartType().toString()));
+            }
         } catch (ItemNotFoundException e) {
             logger.debug("Item not found error while generating chart.");
         } catch (IllegalArgumentException e) {
@@ -172,29 +205,20 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
      * @param graphDef the graph definition to fill
      * @param item the item to add a line for
      * @param counter defines the number of the datasource and is used to determine the line color
+     * @param data the values of all items of the chart
      */
-    protected void addLine(RrdGraphDef graphDef, Item item, int counter) {
+    protected void addLine(RrdGraphDef graphDef, Item item, int counter, RRD4jFetchResult data) {
         Color color = LINECOLORS[counter % LINECOLORS.length];
         String label = itemUIRegistry.getLabel(item.getName());
-        String rrdName = RRD4jService.DB_FOLDER + File.separator + item.getName() + ".rrd";
-        ConsolFun consolFun;
         if (label != null && label.contains("[") && label.contains("]")) {
             label = label.substring(0, label.indexOf('['));
         }
-        try {
-            RrdDb db = new RrdDb(rrdName);
-            consolFun = db.getRrdDef().getArcDefs()[0].getConsolFun();
-            db.close();
-        } catch (IOException e) {
-            consolFun = ConsolFun.MAX;
-        }
+        graphDef.datasource(Integer.toString(counter), new ColumnPlottable(data, item.getName()));
         if (item instanceof NumberItem) {
             // we only draw a line
-            graphDef.datasource(Integer.toString(counter), rrdName, "state", consolFun); // RRD4jService.getConsolidationFunction(item));
             graphDef.line(Integer.toString(counter), color, label, 2);
         } else {
             // we draw a line and fill the area beneath it with a transparent color
-            graphDef.datasource(Integer.toString(counter), rrdName, "state", consolFun); // RRD4jService.getConsolidationFunction(item));
             Color areaColor = AREACOLORS[counter % LINECOLORS.length];
 
             graphDef.area(Integer.toString(counter), areaColor);
@@ -254,27 +278,26 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
     @Override
     public BufferedImage createChart(String service, String theme, Date startTime, Date endTime, int height, int width,
             String items, String groups) throws ItemNotFoundException {
-        RrdGraphDef graphDef = new RrdGraphDef();
-
-        long period = (startTime.getTime() - endTime.getTime()) / 1000;
+        CachedChart chart = getChart(startTime, endTime, height, width, items, groups);
+        return chart != null ? chart.image : null;
+    }
 
-        graphDef.setWidth(width);
-        graphDef.setHeight(height);
-        graphDef.setAntiAliasing(true);
-        graphDef.setImageFormat("PNG");
-        graphDef.setStartTime(period);
-        graphDef.setTextAntiAliasing(true);
-        graphDef.setLargeFont(new Font("SansSerif", Font.PLAIN, 15));
-        graphDef.setSmallFont(new Font("SansSerif", Font.PLAIN, 11));
+    /**
+     * Returns the chart from the cache, or renders it if there is no cached chart for the same items, time range and
+     * size, or if a new value has been written for one of its items in the meantime.
+     */
+    private CachedChart getChart(Date startTime, Date endTime, int height, int width, String items, String groups)
+            throws ItemNotFoundException {
+        long end = endTime.getTime() / 1000;
+        long start = startTime.getTime() / 1000;
 
-        int seriesCounter = 0;
+        List<Item> chartItems = new ArrayList<Item>();
 
         // Loop through all the items
         if (items != null) {
             String[] itemNames = items.split(",");
             for (String itemName : itemNames) {
-                Item item = itemUIRegistry.getItem(itemName);
-                addLine(graphDef, item, seriesCounter++);
+                chartItems.add(itemUIRegistry.getItem(itemName));
             }
         }
 
@@ -285,15 +308,49 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
                 Item item = itemUIRegistry.getItem(groupName);
                 if (item instanceof GroupItem) {
                     GroupItem groupItem = (GroupItem) item;
-                    for (Item member : groupItem.getMembers()) {
-                        addLine(graphDef, member, seriesCounter++);
-                    }
+                    chartItems.addAll(groupItem.getMembers());
                 } else {
                     throw new ItemNotFoundException("Item '" + item.getName() + "' defined in groups is not a group.");
                 }
             }
         }
 
+        // charts whose start and end fall into the same pixel of the time axis look the same
+        long resolution = Math.max(1, (end - start) / Math.max(1, width));
+        String key = items + "|" + groups + "|" + start / resolution + "|" + end / resolution + "|" + resolution + "|"
+                + width + "|" + height;
+        CachedChart chart = chartCache.get(key);
+        if (chart != null && chart.isValid(persistenceService)) {
+            logger.trace("Using cached chart for {}", key);
+            return chart;
+        }
+
+        List<String> itemNames = new ArrayList<String>(chartItems.size());
+        for (Item item : chartItems) {
+            itemNames.add(item.getName());
+        }
+        long renderTime = System.currentTimeMillis();
+        RRD4jFetchResult data = persistenceService != null
+                ? persistenceService.fetch(itemNames, start, end, width) : null;
+
+        RrdGraphDef graphDef = new RrdGraphDef();
+
+        graphDef.setWidth(width);
+        graphDef.setHeight(height);
+        graphDef.setAntiAliasing(true);
+        graphDef.setImageFormat("PNG");
+        // the time axis covers the fetched data, which is also the range of the cache key
+        graphDef.setStartTime(start);
+        graphDef.setEndTime(end);
+        graphDef.setTextAntiAliasing(true);
+        graphDef.setLargeFont(new Font("SansSerif", Font.PLAIN, 15));
+        graphDef.setSmallFont(new Font("SansSerif", Font.PLAIN, 11));
+
+        int seriesCounter = 0;
+        for (Item item : chartItems) {
+            addLine(graphDef, item, seriesCounter++, data);
+        }
+
         // Write the chart as a PNG image
         RrdGraph graph;
         try {
@@ -302,7 +359,13 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
                     graph.getRrdGraphInfo().getHeight(), BufferedImage.TYPE_INT_RGB);
             graph.render(bi.getGraphics());
 
-            return bi;
+            // the chart is outdated as soon as its time axis moves by a pixel
+            long maxAge = data != null ? data.getStep() * 1000 : 0;
+            chart = new CachedChart(bi, itemNames, renderTime, maxAge);
+            if (maxAge > 0) {
+                chartCache.put(key, chart);
+            }
+            return chart;
         } catch (IOException e) {
             logger.error("Error generating graph: {}", e);
         }
@@ -314,4 +377,77 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
     public ImageType getChartType() {
         return ImageType.png;
     }
+
+    /**
+     * A {@link Plottable} which serves the values of a single item of a {@link RRD4jFetchResult} to the graph.
+     * The value of a row with timestamp t covers the interval (t - step, t].
+     */
+    private static class ColumnPlottable extends Plottable {
+
+        private final long firstTimestamp;
+        private final long step;
+        private final double[] values;
+
+        public ColumnPlottable(RRD4jFetchResult data, String itemName) {
+            double[] column = data != null ? data.getValues(itemName) : null;
+            if (column != null) {
+                this.firstTimestamp = data.getFirstTimestamp();
+                this.step = Math.max(1, data.getStep());
+                this.values = column;
+            } else {
+                this.firstTimestamp = 0;
+                this.step = 1;
+                this.values = new double[0];
+            }
+        }
+
+        @Override
+        public double getValue(long timestamp) {
+            if (values.length == 0 || timestamp <= firstTimestamp - step) {
+                return Double.NaN;
+            }
+            long index = (timestamp - firstTimestamp + step - 1) / step;
+            return index < values.length ? values[(int) index] : Double.NaN;
+        }
+    }
+
+    /**
+     * A rendered chart together with the information needed to decide whether it is still up to date.
+     */
+    private static class CachedChart {
+
+        private final BufferedImage image;
+        private final List<String> itemNames;
+        private final long renderTime;
+        private final long maxAge;
+        private byte[] encoded;
+
+        public CachedChart(BufferedImage image, List<String> itemNames, long renderTime, long maxAge) {
+            this.image = image;
+            this.itemNames = itemNames;
+            this.renderTime = renderTime;
+            this.maxAge = maxAge;
+        }
+
+        public boolean isValid(RRD4jService persistenceService) {
+            if (persistenceService == null || System.currentTimeMillis() - renderTime >= maxAge) {
+                return false;
+            }
+            for (String itemName : itemNames) {
+                if (persistenceService.getLastWriteTime(itemName) >= renderTime) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public synchronized byte[] getEncoded(String format) throws IOException {
+            if (encoded == null) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                ImageIO.write(image, format, out);
+                encoded = out.toByteArray();
+            }
+            return encoded;
+        }
+    }
 }